@@ -0,0 +1,230 @@
+package com.rokue.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.rokue.game.entities.Hall;
+import com.rokue.game.entities.Hero;
+import com.rokue.game.events.EventManager;
+import com.rokue.game.events.GameEvent;
+import com.rokue.game.input.ScriptedInputProvider;
+import com.rokue.game.states.BuildMode;
+import com.rokue.game.states.PlayMode;
+import com.rokue.game.time.ManualClock;
+import com.rokue.game.util.GameLog;
+import com.rokue.game.util.LatencyHistogram;
+
+/**
+ * Command line entry point that plays many headless sessions in parallel.
+ *
+ * Each session builds four halls the same way BuildMode.randomlyFillCurrentHall
+ * does, then plays them through PlayMode with a ScriptedInputProvider on a
+ * ManualClock, so a whole game takes only as long as the CPU needs. Sessions
+ * run on a ForkJoinPool and report throughput, win rate and tick cost.
+ *
+ * Usage: BatchSimulation [sessions] [threads] [seed]
+ *   e.g. mvn exec:java -Dexec.mainClass=com.rokue.game.BatchSimulation -Dexec.args="2000 8 1"
+ */
+public class BatchSimulation {
+    private static final int DEFAULT_SESSIONS = 1000;
+    private static final int TICKS_PER_STEP = 6; // 10 hero actions per second of game time
+    private static final long MAX_TICKS_PER_HALL = (long) PlayMode.START_TIME * GameLoop.TICKS_PER_SECOND;
+
+    public enum Outcome {
+        WON, DIED, TIMED_OUT
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SESSIONS;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+
+        // The game comments on almost every tick; keep that out of the measurement
+        GameLog.setSink(null);
+        System.out.println(run(sessions, threads, seed));
+    }
+
+    /**
+     * Plays the given number of sessions on a pool of the given size.
+     *
+     * @requires
+     *   - sessions > 0
+     *   - threads > 0
+     *
+     * @effects
+     *   - Session i is seeded from seed and i only, so a batch is reproducible
+     *     regardless of thread count or scheduling
+     */
+    public static BatchReport run(int sessions, int threads, long seed) {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        List<SessionResult> results = new ArrayList<>(sessions);
+
+        long start = System.nanoTime();
+        try {
+            List<ForkJoinTask<SessionResult>> tasks = new ArrayList<>(sessions);
+            for (int i = 0; i < sessions; i++) {
+                long sessionSeed = seeds.nextLong();
+                tasks.add(pool.submit(() -> runSession(sessionSeed)));
+            }
+            for (ForkJoinTask<SessionResult> task : tasks) {
+                results.add(task.join());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        long wallNanos = System.nanoTime() - start;
+
+        return new BatchReport(results, threads, wallNanos);
+    }
+
+    /**
+     * Builds and plays one complete session on the calling thread.
+     */
+    public static SessionResult runSession(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        EventManager eventManager = new EventManager();
+
+        BuildMode buildMode = new BuildMode(eventManager, random.split());
+        for (int i = 0; i < buildMode.getHalls().size(); i++) {
+            buildMode.randomlyFillCurrentHall();
+            buildMode.switchToNextHall();
+        }
+
+        ManualClock clock = new ManualClock();
+        Hero hero = new Hero(PlayMode.START_POSITION, eventManager, new ArrayList<>());
+        PlayMode playMode = new PlayMode(buildMode.getHalls(), hero, eventManager,
+                                         PlayMode.START_TIME, clock, random.split());
+        ScriptedInputProvider input = new ScriptedInputProvider(playMode, TICKS_PER_STEP);
+
+        Outcome[] outcome = new Outcome[1];
+        eventManager.subscribe(GameEvent.GAME_COMPLETED, (eventType, data) -> outcome[0] = Outcome.WON);
+        eventManager.subscribe(GameEvent.GAME_OVER, (eventType, data) -> outcome[0] = Outcome.DIED);
+        eventManager.subscribe(GameEvent.TIME_EXPIRED, (eventType, data) -> outcome[0] = Outcome.TIMED_OUT);
+
+        LatencyHistogram tickCost = new LatencyHistogram();
+        long ticks = 0;
+        long hallTicks = 0;
+        Hall hall = playMode.getCurrentHall();
+
+        playMode.enter(null);
+        try {
+            while (outcome[0] == null) {
+                clock.tick();
+                long tickStart = System.nanoTime();
+                playMode.handleActions(input.pollActions());
+                playMode.update(null);
+                tickCost.record(System.nanoTime() - tickStart);
+                ticks++;
+
+                if (playMode.getCurrentHall() != hall) {
+                    hall = playMode.getCurrentHall();
+                    hallTicks = 0;
+                } else if (++hallTicks >= MAX_TICKS_PER_HALL && outcome[0] == null) {
+                    outcome[0] = Outcome.TIMED_OUT;
+                }
+            }
+        } finally {
+            // Cancels the countdown and any pending effects
+            playMode.exit(null);
+        }
+
+        int completedHalls = playMode.getCompletedHallsCount() + (outcome[0] == Outcome.WON ? 1 : 0);
+        return new SessionResult(outcome[0], ticks, completedHalls, tickCost);
+    }
+
+    public static final class SessionResult {
+        private final Outcome outcome;
+        private final long ticks;
+        private final int completedHalls;
+        private final LatencyHistogram tickCost;
+
+        public SessionResult(Outcome outcome, long ticks, int completedHalls, LatencyHistogram tickCost) {
+            this.outcome = outcome;
+            this.ticks = ticks;
+            this.completedHalls = completedHalls;
+            this.tickCost = tickCost;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public long getTicks() {
+            return ticks;
+        }
+
+        public int getCompletedHalls() {
+            return completedHalls;
+        }
+
+        public LatencyHistogram getTickCost() {
+            return tickCost;
+        }
+    }
+
+    public static final class BatchReport {
+        private final int sessions;
+        private final int threads;
+        private final long wallNanos;
+        private final long totalTicks;
+        private final int[] outcomes = new int[Outcome.values().length];
+        private final LatencyHistogram tickCost = new LatencyHistogram();
+
+        BatchReport(List<SessionResult> results, int threads, long wallNanos) {
+            this.sessions = results.size();
+            this.threads = threads;
+            this.wallNanos = wallNanos;
+
+            long ticks = 0;
+            for (SessionResult result : results) {
+                ticks += result.getTicks();
+                outcomes[result.getOutcome().ordinal()]++;
+                tickCost.add(result.getTickCost());
+            }
+            this.totalTicks = ticks;
+        }
+
+        public double getSessionsPerSecond() {
+            return sessions / (wallNanos / 1e9);
+        }
+
+        public double getTicksPerSecond() {
+            return totalTicks / (wallNanos / 1e9);
+        }
+
+        public double getWinRate() {
+            return sessions == 0 ? 0.0 : (double) outcomes[Outcome.WON.ordinal()] / sessions;
+        }
+
+        public int getOutcomeCount(Outcome outcome) {
+            return outcomes[outcome.ordinal()];
+        }
+
+        public long getTotalTicks() {
+            return totalTicks;
+        }
+
+        public LatencyHistogram getTickCost() {
+            return tickCost;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "Sessions:   %d on %d threads in %.2f s%n"
+                + "Throughput: %.1f sessions/s, %.0f ticks/s (%d ticks)%n"
+                + "Outcomes:   won %.1f%%, died %d, timed out %d%n"
+                + "Tick cost:  p50 %.2f us, p99 %.2f us, max %.2f us",
+                sessions, threads, wallNanos / 1e9,
+                getSessionsPerSecond(), getTicksPerSecond(), totalTicks,
+                getWinRate() * 100, getOutcomeCount(Outcome.DIED), getOutcomeCount(Outcome.TIMED_OUT),
+                tickCost.percentile(50) / 1e3, tickCost.percentile(99) / 1e3, tickCost.getMax() / 1e3);
+        }
+    }
+}
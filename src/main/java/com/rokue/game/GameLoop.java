@@ -0,0 +1,207 @@
+package com.rokue.game;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Fixed-timestep simulation loop.
+ *
+ * The loop advances the simulation at TICKS_PER_SECOND using an accumulator,
+ * independently of how often (or how slowly) the screen is painted. It owns its
+ * own thread when started with start(), and can also be stepped manually with
+ * runTicks() so the same simulation runs without any JFrame.
+ *
+ * @requires
+ *   - tickTask != null
+ *
+ * @effects
+ *   - Calls tickTask exactly once per simulated tick
+ *   - Never runs more than MAX_CATCH_UP_TICKS ticks per wake-up, so a long stall
+ *     does not turn into a spiral of catch-up work
+ *   - A tick that throws stops the loop: the game state is no longer known
+ *     to be consistent, so the next ticks would only repeat the failure
+ */
+public class GameLoop implements Runnable {
+    public static final int TICKS_PER_SECOND = 60;
+    public static final long NANOS_PER_TICK = 1_000_000_000L / TICKS_PER_SECOND;
+    private static final int MAX_CATCH_UP_TICKS = 5;
+
+    private final Runnable tickTask;
+    private final Consumer<RuntimeException> errorHandler;
+    private volatile boolean running = false;
+    private volatile long tickCount = 0;
+    private volatile long tickNanos = 0;
+    private volatile RuntimeException failure;
+    private Thread thread;
+
+    public GameLoop(Runnable tickTask) {
+        this(tickTask, RuntimeException::printStackTrace);
+    }
+
+    /**
+     * @requires
+     *   - errorHandler != null
+     *
+     * @effects
+     *   - errorHandler is called on the loop thread with the exception of a
+     *     tick that failed, after the loop has stopped
+     */
+    public GameLoop(Runnable tickTask, Consumer<RuntimeException> errorHandler) {
+        if (tickTask == null) {
+            throw new IllegalArgumentException("Tick task must not be null");
+        }
+        this.tickTask = tickTask;
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Starts the loop on its own daemon thread.
+     *
+     * @modifies
+     *   - this.running
+     *   - this.thread
+     *
+     * @effects
+     *   - Does nothing if the loop is already running
+     *   - Otherwise starts a thread named "game-loop" that runs run()
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this, "game-loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the loop and waits for the loop thread to finish its current tick.
+     */
+    public void stop() {
+        Thread loopThread;
+        synchronized (this) {
+            running = false;
+            loopThread = thread;
+            thread = null;
+        }
+        if (loopThread != null && loopThread != Thread.currentThread()) {
+            loopThread.interrupt();
+            try {
+                loopThread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        long previous = System.nanoTime();
+        long accumulator = 0;
+
+        while (running) {
+            long now = System.nanoTime();
+            accumulator += now - previous;
+            previous = now;
+
+            int ticksThisFrame = 0;
+            while (accumulator >= NANOS_PER_TICK && ticksThisFrame < MAX_CATCH_UP_TICKS) {
+                try {
+                    step();
+                } catch (RuntimeException e) {
+                    fail(e);
+                    return;
+                }
+                accumulator -= NANOS_PER_TICK;
+                ticksThisFrame++;
+            }
+
+            // Drop the remaining backlog instead of trying to catch up forever
+            if (ticksThisFrame == MAX_CATCH_UP_TICKS && accumulator >= NANOS_PER_TICK) {
+                accumulator = 0;
+            }
+
+            long sleepNanos = NANOS_PER_TICK - accumulator;
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(sleepNanos);
+            }
+        }
+    }
+
+    /**
+     * Runs the given number of ticks back to back on the calling thread, as fast
+     * as possible. Used for headless simulation where wall time does not matter.
+     *
+     * @requires
+     *   - ticks >= 0
+     *   - The loop thread is not running
+     *
+     * @effects
+     *   - Calls tickTask ticks times
+     *   - An exception from a tick is thrown to the caller, and no further
+     *     ticks run
+     */
+    public void runTicks(long ticks) {
+        if (running) {
+            throw new IllegalStateException("Cannot step manually while the loop thread is running");
+        }
+        for (long i = 0; i < ticks; i++) {
+            step();
+        }
+    }
+
+    private void step() {
+        long start = System.nanoTime();
+        try {
+            tickTask.run();
+        } finally {
+            tickNanos += System.nanoTime() - start;
+            tickCount++;
+        }
+    }
+
+    private void fail(RuntimeException e) {
+        synchronized (this) {
+            running = false;
+            thread = null;
+        }
+        failure = e;
+        errorHandler.accept(e);
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns the exception that stopped the loop thread, or null if no tick
+     * has failed.
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Returns the loop thread, or null if the loop is not running.
+     */
+    public synchronized Thread getThread() {
+        return thread;
+    }
+
+    public boolean isLoopThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Returns the total time spent inside tickTask, in nanoseconds. Divide by
+     * getTickCount() to get the average cost of one simulation tick.
+     */
+    public long getTotalTickNanos() {
+        return tickNanos;
+    }
+}
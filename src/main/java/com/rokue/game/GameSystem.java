@@ -5,10 +5,13 @@ import java.util.List;
 
 import javax.swing.JFrame;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 
 import com.rokue.game.entities.Hall;
 import com.rokue.game.entities.Hero;
 import com.rokue.game.events.EventManager;
+import com.rokue.game.events.GameEvent;
+import com.rokue.game.actions.IAction;
 import com.rokue.game.input.IInputProvider;
 import com.rokue.game.render.IRenderer;
 import com.rokue.game.save.GameSaveData;
@@ -16,17 +19,20 @@ import com.rokue.game.states.BuildMode;
 import com.rokue.game.states.GameState;
 import com.rokue.game.states.MainMenu;
 import com.rokue.game.states.PlayMode;
+import com.rokue.game.util.FrameProfiler;
+import com.rokue.game.util.LatencyHistogram;
 import com.rokue.ui.BuildModeUI;
 import com.rokue.ui.MainMenuUI;
 import com.rokue.ui.PlayModeUI;
 
 public class GameSystem {
-    private GameState currentState;
-    private IRenderer renderer;
-    private boolean isRunning;
+    private volatile GameState currentState;
+    private volatile IRenderer renderer;
+    private volatile boolean isRunning;
     private IInputProvider inputProvider;
     private EventManager eventManager;
     private JFrame gameWindow;
+    private final LatencyHistogram transitionTimes = new LatencyHistogram();
 
     public GameSystem(JFrame gameWindow, EventManager eventManager) {
         this.isRunning = true;
@@ -35,14 +41,22 @@ public class GameSystem {
         setupEventHandlers();
     }
 
+    /**
+     * Creates a headless GameSystem with no window. States can still be driven
+     * through setState(), tick() and update(); transitions never touch Swing.
+     */
+    public GameSystem(EventManager eventManager) {
+        this(null, eventManager);
+    }
+
     private void setupEventHandlers() {
-        eventManager.subscribe("START_GAME", (eventType, data) -> {
+        eventManager.subscribe(GameEvent.START_GAME, (eventType, data) -> runTransition(() -> {
             BuildMode buildMode = new BuildMode(eventManager);
             BuildModeUI buildModeUI = new BuildModeUI(buildMode);
             transitionTo(buildMode, buildModeUI);
-        });
+        }));
 
-        eventManager.subscribe("LOAD_GAME", (eventType, data) -> {
+        eventManager.subscribe(GameEvent.LOAD_GAME, (eventType, data) -> runTransition(() -> {
             if (data instanceof GameSaveData) {
                 GameSaveData saveData = (GameSaveData) data;
                 // Restore EventManager in Hero
@@ -52,74 +66,133 @@ public class GameSystem {
                                                saveData.getHero(), 
                                                eventManager,
                                                saveData.getRemainingTime());
+                playMode.enableAutosave();
                 
-                // Create UI and transition first to initialize PlayMode
+                // Enter PlayMode first, then load the saved state over it before the game loop sees it
                 PlayModeUI playModeUI = new PlayModeUI(playMode, gameWindow);
-                transitionTo(playMode, playModeUI);
-                
-                // Then load the saved state
-                playMode.loadFromSaveData(saveData);
+                transitionTo(playMode, playModeUI, () -> playMode.loadFromSaveData(saveData));
             }
-        });
+        }));
 
-        eventManager.subscribe("SWITCH_TO_PLAY_MODE", (eventType, data) -> {
+        eventManager.subscribe(GameEvent.SWITCH_TO_PLAY_MODE, (eventType, data) -> runTransition(() -> {
             List<Hall> halls = (List<Hall>) data;
             Hero hero = new Hero(PlayMode.START_POSITION, eventManager, new ArrayList<>());
             PlayMode playMode = new PlayMode(halls, hero, eventManager);
+            playMode.enableAutosave();
             PlayModeUI playModeUI = new PlayModeUI(playMode, gameWindow);
             transitionTo(playMode, playModeUI);
-        });
+        }));
 
-        eventManager.subscribe("GAME_COMPLETED", (eventType, data) -> {
-            if (currentState != null) {
-                currentState.exit(this);
+        eventManager.subscribe(GameEvent.GAME_COMPLETED, (eventType, data) -> runOnUiThread(() -> {
+            GameState state = currentState;
+            if (state != null) {
                 currentState = null;
+                state.exit(this);
             }
-            eventManager.notify("SHOW_CONGRATS_SCREEN", null);
-            
-        });
+            eventManager.notify(GameEvent.SHOW_CONGRATS_SCREEN, null);
+        }));
 
-        eventManager.subscribe("SHOW_MAIN_MENU", (eventType, data) -> {
+        eventManager.subscribe(GameEvent.SHOW_MAIN_MENU, (eventType, data) -> runTransition(() -> {
             MainMenu mainMenu = new MainMenu(eventManager);
             MainMenuUI mainMenuUI = new MainMenuUI(mainMenu);
             transitionTo(mainMenu, mainMenuUI);
-        });
+        }));
 
-        eventManager.subscribe("EXIT_PLAY_MODE", (eventType, data) -> {
-            if (currentState != null) {
-                currentState.exit(this);
+        eventManager.subscribe(GameEvent.EXIT_PLAY_MODE, (eventType, data) -> runOnUiThread(() -> {
+            GameState state = currentState;
+            if (state != null) {
                 currentState = null;
+                state.exit(this);
             }
             // Additional cleanup if necessary
-        });
+        }));
 
-        eventManager.subscribe("TIME_EXPIRED", (eventType, data) -> {
+        eventManager.subscribe(GameEvent.TIME_EXPIRED, (eventType, data) -> runTransition(() -> {
             MainMenu mainMenu = new MainMenu(eventManager);
             MainMenuUI mainMenuUI = new MainMenuUI(mainMenu);
             transitionTo(mainMenu, mainMenuUI);
-        });
+        }));
 
-        eventManager.subscribe("GAME_OVER", (eventType, data) -> {
+        eventManager.subscribe(GameEvent.GAME_OVER, (eventType, data) -> runTransition(() -> {
             MainMenu mainMenu = new MainMenu(eventManager);
             MainMenuUI mainMenuUI = new MainMenuUI(mainMenu);
             transitionTo(mainMenu, mainMenuUI);
-            
-            
+        }));
+
+        eventManager.subscribe(GameEvent.HALL_COMPLETED, (eventType, data) -> {
+            eventManager.notify(GameEvent.SHOW_HALL_COMPLETED_EFFECT, data);
         });
+    }
+
+    /**
+     * Runs a task that builds or swaps Swing components. The game loop raises
+     * events from its own thread, so UI work is handed to the EDT; without a
+     * window there is nothing to protect and the task runs inline.
+     */
+    private void runOnUiThread(Runnable task) {
+        if (gameWindow == null || SwingUtilities.isEventDispatchThread()) {
+            task.run();
+        } else {
+            SwingUtilities.invokeLater(task);
+        }
+    }
 
-        eventManager.subscribe("HALL_COMPLETED", (eventType, data) -> {
-            eventManager.notify("SHOW_HALL_COMPLETED_EFFECT", data);
+    /**
+     * Runs a task that builds the next screen and switches to it, like
+     * runOnUiThread.
+     *
+     * @effects Records the time from now until the task is done in
+     *          getTransitionTimes(): the wait for the EDT, building the new
+     *          UI and the swap itself
+     */
+    private void runTransition(Runnable transition) {
+        long requested = System.nanoTime();
+        runOnUiThread(() -> {
+            transition.run();
+            transitionTimes.record(System.nanoTime() - requested);
         });
     }
 
+    // Time each screen transition took, from its event to the new screen being in place
+    public LatencyHistogram getTransitionTimes() {
+        return transitionTimes;
+    }
+
+    /**
+     * Exits the current state, enters newState and puts newUI in the window.
+     */
     public void transitionTo(GameState newState, JPanel newUI) {
-        if (currentState != null) {
-            currentState.exit(this);
+        swapState(newState, newUI, null);
+    }
+
+    /**
+     * Like transitionTo(newState, newUI), but runs setUp after newState is
+     * entered and before it becomes the current state.
+     *
+     * @effects The game loop ticks no state while the swap is in progress, and
+     *          only ticks newState once its enter() and setUp have finished
+     */
+    private void transitionTo(GameState newState, JPanel newUI, Runnable setUp) {
+        swapState(newState, newUI, setUp);
+    }
+
+    private void swapState(GameState newState, JPanel newUI, Runnable setUp) {
+        GameState oldState = currentState;
+        currentState = null;
+        if (oldState != null) {
+            oldState.exit(this);
+        }
+
+        newState.enter(this);
+        if (setUp != null) {
+            setUp.run();
         }
-        
-        currentState = newState;
         renderer = (IRenderer) newUI;
-        currentState.enter(this);
+        currentState = newState;
+
+        if (gameWindow == null || newUI == null) {
+            return;
+        }
 
         gameWindow.getContentPane().removeAll();
         gameWindow.add(newUI);
@@ -132,6 +205,49 @@ public class GameSystem {
         newUI.setFocusable(true);
     }
 
+    /**
+     * Runs one simulation tick: polls input, feeds it to the active PlayMode and
+     * updates the current state. Called by the GameLoop, never by Swing.
+     *
+     * @effects
+     *   - If the current PlayMode is paused, discards pending input and skips the update
+     *   - Otherwise hands polled actions to PlayMode and calls update()
+     *   - Always ends by delivering the events coalesced during the tick
+     */
+    public void tick() {
+        // Run what other threads posted since the last tick before anything else
+        eventManager.drainQueued();
+        try {
+            step();
+        } finally {
+            eventManager.flushCoalesced();
+        }
+    }
+
+    private void step() {
+        GameState state = currentState;
+        if (state instanceof PlayMode && ((PlayMode) state).isPaused()) {
+            // Clear inputs when transitioning to paused state
+            if (inputProvider != null) {
+                inputProvider.clearActions();
+            }
+            return;
+        }
+
+        if (inputProvider != null) {
+            FrameProfiler profiler = state instanceof PlayMode ? ((PlayMode) state).getProfiler() : null;
+            long start = profiler != null ? profiler.start() : 0;
+            List<IAction> actions = inputProvider.pollActions();
+            if (profiler != null) {
+                profiler.stop(FrameProfiler.Phase.POLL_INPUT, start);
+                start = profiler.start();
+                ((PlayMode) state).handleActions(actions);
+                profiler.stop(FrameProfiler.Phase.HANDLE_ACTIONS, start);
+            }
+        }
+        update();
+    }
+
     public void update() {
         if (isRunning &&  currentState != null) {
             currentState.update(this);
@@ -139,13 +255,15 @@ public class GameSystem {
     }
 
     public void setState(GameState newState) {
-        if (currentState != null) {
-            currentState.exit(this);
+        GameState oldState = currentState;
+        currentState = null;
+        if (oldState != null) {
+            oldState.exit(this);
         }
-        currentState = newState;
-        if (currentState != null) {
-            currentState.enter(this);
+        if (newState != null) {
+            newState.enter(this);
         }
+        currentState = newState;
     }
 
     public void render() {
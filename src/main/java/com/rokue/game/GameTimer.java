@@ -1,25 +1,33 @@
 package com.rokue.game;
 
-import java.util.Timer;
-import java.util.TimerTask;
-
 import com.rokue.game.events.EventManager;
+import com.rokue.game.events.GameEvent;
+import com.rokue.game.time.GameScheduler;
+import com.rokue.game.time.ScheduledTask;
 
+/**
+ * Per-hall countdown, driven by the session's GameScheduler.
+ *
+ * The countdown only moves while the scheduler is advanced, so pausing the
+ * game pauses it too and no thread is created per hall.
+ */
 public class GameTimer {
 
     private static final int TICK_INTERVAL = 1000; // Timer ticks every second
     private volatile int remainingTime;
     private volatile boolean isPaused = false;
-    private Timer timer;
+    private ScheduledTask countdown;
     private final EventManager eventManager;
+    private final GameScheduler scheduler;
     private final Object lock = new Object();
 
-    public GameTimer(EventManager eventManager) {
+    public GameTimer(EventManager eventManager, GameScheduler scheduler) {
         this.eventManager = eventManager;
+        this.scheduler = scheduler;
         this.remainingTime = 0;
         this.isPaused = false;
 
-        eventManager.subscribe("ADD_TIME", (eventType, data) -> {
+        eventManager.subscribe(GameEvent.ADD_TIME, (eventType, data) -> {
             int timeToAdd = (int) data;
             addTime(timeToAdd);
           //  System.out.println("Added " + timeToAdd + " seconds to the timer.");
@@ -30,29 +38,18 @@ public class GameTimer {
         if (initialTime <= 0) {
             throw new IllegalArgumentException("Initial time must be positive");
         }
-        
+
         synchronized (lock) {
-            cleanup(); // Clean up existing timer
-            timer = new Timer();
+            cleanup(); // Cancel the previous countdown
             this.remainingTime = initialTime;
-            timer.scheduleAtFixedRate(new TimerTask() {
-                @Override
-                public void run() {
-                    synchronized (lock) {
-                        if (!isPaused) {
-                            tick();
-                        }
-                    }
-                }
-            }, 0, TICK_INTERVAL);
+            countdown = scheduler.scheduleAtFixedRate(0, TICK_INTERVAL, this::tick);
         }
     }
 
     private void cleanup() {
-        if (timer != null) {
-            timer.cancel();
-            timer.purge();
-            timer = null;
+        if (countdown != null) {
+            countdown.cancel();
+            countdown = null;
         }
     }
 
@@ -87,15 +84,25 @@ public class GameTimer {
     }
 
     private void tick() {
+        GameEvent event = null;
+        int remaining;
         synchronized (lock) {
+            remaining = remainingTime;
             if (!isPaused && remainingTime > 0) {
-                remainingTime--;
-                eventManager.notify("TIMER_TICK", remainingTime);
+                remaining = --remainingTime;
+                event = GameEvent.TIMER_TICK;
             } else if (!isPaused && remainingTime <= 0) {
                 stop();
-                eventManager.notify("TIME_EXPIRED", null);
+                event = GameEvent.TIME_EXPIRED;
             }
         }
+
+        // Notify outside the lock so listeners never run while holding it
+        if (event == GameEvent.TIMER_TICK) {
+            eventManager.notify(event, remaining);
+        } else if (event == GameEvent.TIME_EXPIRED) {
+            eventManager.notify(event, null);
+        }
     }
 
     public boolean isPaused() {
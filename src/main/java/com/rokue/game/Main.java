@@ -1,18 +1,27 @@
 package com.rokue.game;
 
 import javax.swing.JFrame;
+import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 
+import com.rokue.game.events.CoalescePolicy;
 import com.rokue.game.events.EventManager;
+import com.rokue.game.events.GameEvent;
 import com.rokue.game.input.GUIInputProvider;
-import com.rokue.game.states.GameState;
+import com.rokue.game.render.AssetManager;
 import com.rokue.game.states.MainMenu;
-import com.rokue.game.states.PlayMode;
+import com.rokue.game.util.LatencyHistogram;
 import com.rokue.ui.MainMenuUI;
 
 public class Main {
     public static void main(String[] args) {
+        // Decode every image on the loader threads while Swing starts up
+        AssetManager assets = AssetManager.getShared();
+        assets.preloadAll(AssetManager.IMAGES).thenRun(() -> System.out.printf(
+            "Preloaded %d assets in %.1f ms (slowest decode %.1f ms)%n",
+            assets.size(), assets.getPreloadNanos() / 1e6, assets.getDecodeTimes().getMax() / 1e6));
+
         SwingUtilities.invokeLater(() -> {
             // Setup window
             JFrame gameWindow = new JFrame("Rokue-like Game");
@@ -22,6 +31,8 @@ public class Main {
             
             // Setup core systems
             EventManager eventManager = new EventManager();
+            // -Drokue.eventMetrics=true times every event dispatch for the debug overlay
+            eventManager.setMetricsEnabled(Boolean.getBoolean("rokue.eventMetrics"));
             GameSystem gameSystem = new GameSystem(gameWindow, eventManager);
             
             // Setup input
@@ -38,30 +49,35 @@ public class Main {
             gameWindow.setLocationRelativeTo(null);
             gameWindow.setVisible(true);
 
-            // Start game loop
-            new Timer(16, e -> {
-                GameState currentState = gameSystem.getCurrentState();
-                boolean isPaused = false;
-
-                if (currentState instanceof PlayMode) {
-                    PlayMode currentPlayMode = (PlayMode) currentState;
-                    isPaused = currentPlayMode.isPaused();
-
-                    // Clear inputs when transitioning to paused state
-                    if (isPaused) {
-                        inputProvider.clearActions();
-                    }
+            // Simulation runs at a fixed rate on its own thread
+            // A failed tick stops the loop; say so instead of leaving a frozen window
+            GameLoop gameLoop = new GameLoop(gameSystem::tick, error -> {
+                error.printStackTrace();
+                SwingUtilities.invokeLater(() -> {
+                    JOptionPane.showMessageDialog(gameWindow,
+                            "The game stopped because of an unexpected error:\n" + error,
+                            "Rokue-like Game", JOptionPane.ERROR_MESSAGE);
+                    System.exit(1);
+                });
+            });
+            gameLoop.start();
+            // Report how long the screen transitions held up the EDT when the game closes
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                LatencyHistogram transitions = gameSystem.getTransitionTimes();
+                if (transitions.getCount() > 0) {
+                    System.out.printf("Screen transitions: %d, p50 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                        transitions.getCount(), transitions.percentile(50) / 1e6,
+                        transitions.percentile(99) / 1e6, transitions.getMax() / 1e6);
                 }
+            }, "exit-report"));
+            // Events posted from the EDT are handed to the loop thread and run at the start of its next tick
+            eventManager.bindDispatchThread(gameLoop.getThread());
+            // The log panel gets one batch of messages per tick instead of one repaint per message
+            eventManager.setCoalescing(GameEvent.LOG_MESSAGE, CoalescePolicy.MERGE);
 
-                if (!isPaused) {
-                    var actions = inputProvider.pollActions();
-                    if (currentState instanceof PlayMode) {
-                        ((PlayMode)currentState).handleActions(actions);
-                    }
-                    gameSystem.update();
-                }
-                gameSystem.render();
-            }).start();
+            // Rendering stays on the EDT and never blocks the simulation.
+            // With -Drokue.activeRendering=true play mode paints on its own render thread instead.
+            new Timer(16, e -> gameSystem.render()).start();
         });
     }
 }
\ No newline at end of file
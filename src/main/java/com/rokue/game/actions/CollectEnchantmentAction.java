@@ -0,0 +1,19 @@
+package com.rokue.game.actions;
+
+import com.rokue.game.util.Position;
+
+/**
+ * Picks up the enchantment lying at a cell of the current hall, the same
+ * thing a mouse click on an enchantment does in PlayModeUI.
+ */
+public class CollectEnchantmentAction implements IAction {
+    private Position target;
+
+    public CollectEnchantmentAction(Position target) {
+        this.target = target;
+    }
+
+    public Position getTarget() {
+        return target;
+    }
+}
@@ -0,0 +1,19 @@
+package com.rokue.game.actions;
+
+import com.rokue.game.util.Position;
+
+/**
+ * Searches the dungeon object at a cell next to the hero for the hidden rune,
+ * the same thing a mouse click on an object does in PlayModeUI.
+ */
+public class SearchAction implements IAction {
+    private Position target;
+
+    public SearchAction(Position target) {
+        this.target = target;
+    }
+
+    public Position getTarget() {
+        return target;
+    }
+}
@@ -0,0 +1,30 @@
+package com.rokue.game.actions;
+
+import com.rokue.game.util.Position;
+
+/**
+ * Uses an enchantment from the hero's inventory, the same thing the R, P and
+ * B shortcuts do in PlayModeUI. A Luring Gem is thrown towards a target cell.
+ */
+public class UseEnchantmentAction implements IAction {
+    private String type;
+    private Position target;
+
+    public UseEnchantmentAction(String type) {
+        this(type, null);
+    }
+
+    public UseEnchantmentAction(String type, Position target) {
+        this.type = type;
+        this.target = target;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    // Cell the Luring Gem is thrown to, or null for other enchantments
+    public Position getTarget() {
+        return target;
+    }
+}
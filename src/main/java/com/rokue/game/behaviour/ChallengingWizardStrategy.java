@@ -3,22 +3,33 @@ package com.rokue.game.behaviour;
 import com.rokue.game.entities.Hero;
 import com.rokue.game.entities.monsters.WizardMonster;
 import com.rokue.game.entities.Hall;
-import com.rokue.game.entities.Rune;
+import com.rokue.game.events.GameEvent;
+import com.rokue.game.time.GameClock;
+import com.rokue.game.time.SystemClock;
+import com.rokue.game.util.GameLog;
 
 public class ChallengingWizardStrategy implements WizardStrategy {
     private long lastTeleportTime = 0;
     private static final long TELEPORT_INTERVAL = 3000; // 3 seconds in milliseconds
+    private final GameClock clock;
 
+    public ChallengingWizardStrategy() {
+        this(SystemClock.INSTANCE);
+    }
+
+    public ChallengingWizardStrategy(GameClock clock) {
+        this.clock = clock;
+    }
 
     //spawn hero, not rune
     @Override
     public void executeStrategy(Hero hero, WizardMonster wizard) {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = clock.millis();
         if (currentTime - lastTeleportTime >= TELEPORT_INTERVAL) {
             Hall hall = wizard.getCurrentHall();
             if (hall != null && hall.getRune() != null && !hall.getRune().isCollected()) {
-                System.out.println("Wizard: Teleporting rune to challenge the hero");
-                wizard.getEventManager().notify("RUNE_TELEPORTED", hall);
+                GameLog.info("Wizard: Teleporting rune to challenge the hero");
+                wizard.getEventManager().notify(GameEvent.RUNE_TELEPORTED, hall);
                 lastTeleportTime = currentTime;
             }
         }
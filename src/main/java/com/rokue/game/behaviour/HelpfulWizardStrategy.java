@@ -3,37 +3,43 @@ package com.rokue.game.behaviour;
 import com.rokue.game.entities.Hero;
 import com.rokue.game.entities.monsters.WizardMonster;
 import com.rokue.game.entities.Hall;
+import com.rokue.game.time.GameClock;
+import com.rokue.game.time.SystemClock;
 import com.rokue.game.util.Position;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 
 public class HelpfulWizardStrategy implements WizardStrategy {
     private boolean hasHelped = false;
-    private Random random = new Random();
+    private final SplittableRandom random;
     private long spawnTime;
     private static final long INITIAL_DELAY = 500; // 500ms delay to allow rendering
+    private final GameClock clock;
 
     public HelpfulWizardStrategy() {
-        this.spawnTime = System.currentTimeMillis();
+        this(SystemClock.INSTANCE, new SplittableRandom());
+    }
+
+    public HelpfulWizardStrategy(GameClock clock, SplittableRandom random) {
+        this.clock = clock;
+        this.random = random;
+        this.spawnTime = clock.millis();
     }
 
     @Override
     public void executeStrategy(Hero hero, WizardMonster wizard) {
         if (!hasHelped) {
-            if (System.currentTimeMillis() - spawnTime < INITIAL_DELAY) {
+            if (clock.millis() - spawnTime < INITIAL_DELAY) {
                 return;
             }
 
             Hall hall = wizard.getCurrentHall();
             if (hall == null) return;
             
-            Position newPosition;
-            do {
-                newPosition = new Position(
-                    random.nextInt(hall.getWidth()),
-                    random.nextInt(hall.getHeight())
-                );
-            } while (hall.getCell(newPosition).getContent() != null);
+            Position newPosition = hall.getRandomEmptyPosition(random);
+            if (newPosition == null) {
+                return; // Nowhere to teleport to; try again next update
+            }
 
             hall.getCell(hero.getPosition()).setContent(null);
             hero.setPosition(newPosition);
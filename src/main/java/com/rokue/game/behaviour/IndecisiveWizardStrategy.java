@@ -2,18 +2,26 @@ package com.rokue.game.behaviour;
 
 import com.rokue.game.entities.Hero;
 import com.rokue.game.entities.monsters.WizardMonster;
+import com.rokue.game.time.GameClock;
+import com.rokue.game.time.SystemClock;
 
 public class IndecisiveWizardStrategy implements WizardStrategy {
     private long appearanceTime;
     private static final long DISAPPEAR_DELAY = 2000; // 2 seconds in milliseconds
+    private final GameClock clock;
 
     public IndecisiveWizardStrategy() {
-        this.appearanceTime = System.currentTimeMillis();
+        this(SystemClock.INSTANCE);
+    }
+
+    public IndecisiveWizardStrategy(GameClock clock) {
+        this.clock = clock;
+        this.appearanceTime = clock.millis();
     }
 
     @Override
     public void executeStrategy(Hero hero, WizardMonster wizard) {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = clock.millis();
         if (currentTime - appearanceTime >= DISAPPEAR_DELAY) {
             wizard.markForRemoval();
         }
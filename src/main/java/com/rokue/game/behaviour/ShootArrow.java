@@ -2,6 +2,9 @@ package com.rokue.game.behaviour;
 
 import com.rokue.game.entities.Hero;
 import com.rokue.game.entities.monsters.Monster;
+import com.rokue.game.time.GameClock;
+import com.rokue.game.time.SystemClock;
+import com.rokue.game.util.GameLog;
 
 public class ShootArrow implements MonsterBehaviour {
     private static final long HIT_COOLDOWN_MS = 3000; // 3 seconds cooldown after successful hit
@@ -9,6 +12,15 @@ public class ShootArrow implements MonsterBehaviour {
     private long lastShootTime = 0;
     private boolean wasLastShotHit = false;
     private boolean heroInvisible = false;
+    private final GameClock clock;
+
+    public ShootArrow() {
+        this(SystemClock.INSTANCE);
+    }
+
+    public ShootArrow(GameClock clock) {
+        this.clock = clock;
+    }
 
     public void setHeroInvisible(boolean invisible) {
         this.heroInvisible = invisible;
@@ -45,7 +57,7 @@ public class ShootArrow implements MonsterBehaviour {
             return; // Can't shoot if hero is invisible
         }
 
-        long currentTime = System.currentTimeMillis();
+        long currentTime = clock.millis();
         long cooldown = wasLastShotHit ? HIT_COOLDOWN_MS : MISS_COOLDOWN_MS;
         
         // Check cooldown
@@ -56,12 +68,12 @@ public class ShootArrow implements MonsterBehaviour {
         double dist = monster.getPosition().distance(hero.getPosition());
         if (dist <= 4.0) {
             // Hit
-            System.out.println("ShootArrow: The archer hits the hero!");
+            GameLog.info("ShootArrow: The archer hits the hero!");
             hero.getEventManager().notify("HERO_HIT_BY_ARROW", null);
             wasLastShotHit = true;
         } else {
             // Miss
-            System.out.println("ShootArrow: The arrow missed the hero. Distance: " + dist);
+            GameLog.info("ShootArrow: The arrow missed the hero. Distance: " + dist);
             wasLastShotHit = false;
         }
         lastShootTime = currentTime;
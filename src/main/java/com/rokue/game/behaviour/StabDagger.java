@@ -2,6 +2,9 @@ package com.rokue.game.behaviour;
 
 import com.rokue.game.entities.Hero;
 import com.rokue.game.entities.monsters.Monster;
+import com.rokue.game.time.GameClock;
+import com.rokue.game.time.SystemClock;
+import com.rokue.game.util.GameLog;
 import com.rokue.game.util.Position;
 
 public class StabDagger implements MonsterBehaviour {
@@ -10,6 +13,15 @@ public class StabDagger implements MonsterBehaviour {
     private long lastStabTime = 0;
     private boolean wasLastStabHit = false;
     private Position targetPosition = null;
+    private final GameClock clock;
+
+    public StabDagger() {
+        this(SystemClock.INSTANCE);
+    }
+
+    public StabDagger(GameClock clock) {
+        this.clock = clock;
+    }
 
     public void setTargetPosition(Position pos) {
         this.targetPosition = pos;
@@ -47,7 +59,7 @@ public class StabDagger implements MonsterBehaviour {
      */
 
     public void act(Hero hero, Monster monster) {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = clock.millis();
         long cooldown = wasLastStabHit ? HIT_COOLDOWN_MS : MISS_COOLDOWN_MS;
         
         if (currentTime - lastStabTime < cooldown) {
@@ -64,11 +76,11 @@ public class StabDagger implements MonsterBehaviour {
 
         double dist = monster.getPosition().distance(hero.getPosition());
         if (dist <= 1.0) {
-            System.out.println("Stab Dagger: The fighter stabs the hero!");
+            GameLog.info("Stab Dagger: The fighter stabs the hero!");
             hero.getEventManager().notify("HERO_STABBED", null);
             wasLastStabHit = true;
         } else {
-            System.out.println("Stab Dagger: Fighter is too far to stab. Distance: " + dist);
+            GameLog.info("Stab Dagger: Fighter is too far to stab. Distance: " + dist);
             wasLastStabHit = false;
         }
         lastStabTime = currentTime;
@@ -4,11 +4,24 @@ import com.rokue.game.entities.Hall;
 import com.rokue.game.entities.Hero;
 import com.rokue.game.entities.Rune;
 import com.rokue.game.entities.monsters.Monster;
+import com.rokue.game.events.GameEvent;
+import com.rokue.game.time.GameClock;
+import com.rokue.game.time.SystemClock;
+import com.rokue.game.util.GameLog;
 
 public class TeleportRune implements MonsterBehaviour {
     private static final long TELEPORT_COOLDOWN_MS = 5000; // 5 seconds
     private long lastTeleportTime = 0;
     private Hall currentHall;
+    private final GameClock clock;
+
+    public TeleportRune() {
+        this(SystemClock.INSTANCE);
+    }
+
+    public TeleportRune(GameClock clock) {
+        this.clock = clock;
+    }
 
     public void setHall(Hall hall) {
         this.currentHall = hall;
@@ -18,15 +31,15 @@ public class TeleportRune implements MonsterBehaviour {
     public void act(Hero hero, Monster monster) {
         if (currentHall == null) return;
         
-        long currentTime = System.currentTimeMillis();
+        long currentTime = clock.millis();
         if (currentTime - lastTeleportTime < TELEPORT_COOLDOWN_MS) {
             return;
         }
 
         Rune rune = currentHall.getRune();
         if (rune != null && !rune.isCollected()) {
-            System.out.println("Wizard: Teleported rune to a new location");
-            hero.getEventManager().notify("RUNE_TELEPORTED", currentHall);
+            GameLog.info("Wizard: Teleported rune to a new location");
+            hero.getEventManager().notify(GameEvent.RUNE_TELEPORTED, currentHall);
             lastTeleportTime = currentTime;
         }
     }
@@ -1,10 +1,10 @@
 package com.rokue.game.entities;
 
-import java.io.File;
 import java.io.Serializable;
 
 import javax.swing.ImageIcon;
 
+import com.rokue.game.render.AssetManager;
 import com.rokue.game.util.Position;
 
 
@@ -20,7 +20,7 @@ public class DungeonObject implements Serializable {
     public DungeonObject(String name, String iconPath, int widthInCells, int heightInCells) {
         this.name = name;
         this.iconPath = iconPath;
-        this.icon = new ImageIcon(new File(iconPath).getAbsolutePath());
+        this.icon = AssetManager.getShared().getIcon(iconPath);
         this.widthInCells = widthInCells;
         this.heightInCells = heightInCells;
     }
@@ -28,7 +28,7 @@ public class DungeonObject implements Serializable {
     // Custom deserialization to restore the icon
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
         in.defaultReadObject();
-        this.icon = new ImageIcon(new File(iconPath).getAbsolutePath());
+        this.icon = AssetManager.getShared().getIcon(iconPath);
     }
 
     public String getName() {
@@ -39,6 +39,10 @@ public class DungeonObject implements Serializable {
         return icon;
     }
 
+    public String getIconPath() {
+        return iconPath;
+    }
+
     public int getWidthInCells() {
         return widthInCells;
     }
@@ -2,7 +2,11 @@ package com.rokue.game.entities;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.rokue.game.behaviour.TeleportRune;
 import com.rokue.game.entities.enchantments.Enchantment;
@@ -10,10 +14,14 @@ import com.rokue.game.entities.monsters.FighterMonster;
 import com.rokue.game.entities.monsters.Monster;
 import com.rokue.game.entities.monsters.WizardMonster;
 import com.rokue.game.util.Cell;
+import com.rokue.game.util.CellVisitor;
+import com.rokue.game.util.DirtyCells;
+import com.rokue.game.util.OccupancyGrid;
 import com.rokue.game.util.Position;
 
 public class Hall implements Serializable {
     private static final long serialVersionUID = 1L;
+    private static final int[][] NEIGHBOR_OFFSETS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
     private String name;
     private int width;
     private int height;
@@ -25,6 +33,12 @@ public class Hall implements Serializable {
     private Position luringGemPosition;
     private List<Enchantment> enchantments;
     private Hero hero;
+    // Primitive mirror of the grid contents, kept in sync by the cells themselves
+    private transient OccupancyGrid occupancy;
+    // Row-major map from cell to (index in objects + 1); 0 means no object covers the cell
+    private transient int[] owners;
+    // Bumped whenever objects are added or removed, so renderers can cache what they draw from them
+    private transient volatile int objectVersion;
 
 
     public Hall(String name, int width, int height, int minObjectRequirement) {
@@ -32,8 +46,11 @@ public class Hall implements Serializable {
         this.width = width;
         this.height = height;
         this.grid = new Cell[width][height];
-        this.monsters = new ArrayList<>();
-        this.enchantments = new ArrayList<>();
+        this.occupancy = new OccupancyGrid(width, height);
+        this.owners = new int[width * height];
+        // Mutated by the game loop thread while the EDT iterates them for painting
+        this.monsters = new CopyOnWriteArrayList<>();
+        this.enchantments = new CopyOnWriteArrayList<>();
         this.objects = new ArrayList<>();
         this.minObjectRequirement = minObjectRequirement;
         initializeGrid();
@@ -43,7 +60,7 @@ public class Hall implements Serializable {
     private void initializeGrid() {
         for (int x = 0; x < width; x++) {
             for (int y = 0; y < height; y++) {
-                grid[x][y] = new Cell(new Position(x, y));
+                grid[x][y] = new Cell(new Position(x, y), occupancy);
             }
         }
     }
@@ -57,64 +74,139 @@ public class Hall implements Serializable {
     }
 
     public Cell getCell(Position position) {
-        if (isWithinBounds(position)) {
-            return grid[position.getX()][position.getY()];
+        return getCell(position.getX(), position.getY());
+    }
+
+    public Cell getCell(int x, int y) {
+        if (isWithinBounds(x, y)) {
+            return grid[x][y];
         }
         return null;
     }
 
+    /**
+     * Returns the cell at a packed index (see toIndex), or null if the index
+     * is outside the hall.
+     */
+    public Cell getCell(int index) {
+        if (index < 0 || index >= width * height) {
+            return null;
+        }
+        return grid[index % width][index / width];
+    }
+
     public boolean isWithinBounds(Position position) {
-        return position.getX() >= 0 && position.getX() < width
-                && position.getY() >= 0 && position.getY() < height;
+        return isWithinBounds(position.getX(), position.getY());
+    }
+
+    public boolean isWithinBounds(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /**
+     * Packs an in-bounds coordinate into a single row-major int (y * width + x).
+     * This is the same index the occupancy and ownership layers use.
+     */
+    public int toIndex(int x, int y) {
+        return y * width + x;
+    }
+
+    public int indexX(int index) {
+        return index % width;
+    }
+
+    public int indexY(int index) {
+        return index / width;
+    }
+
+    /**
+     * Returns the shared Position instance for (x, y), or null if it is out of
+     * bounds. Every call for the same cell returns the same object, so callers
+     * that need a Position do not have to allocate one.
+     */
+    public Position getPosition(int x, int y) {
+        return isWithinBounds(x, y) ? grid[x][y].getPosition() : null;
+    }
+
+    /**
+     * Returns true if (x, y) is inside the hall and nothing occupies it.
+     * Reads a single bit and never allocates.
+     */
+    public boolean isEmpty(int x, int y) {
+        return occupancy.isEmpty(x, y);
+    }
+
+    public boolean isEmpty(int index) {
+        return index >= 0 && index < width * height && occupancy.isEmpty(index % width, index / width);
+    }
+
+    /**
+     * Returns what occupies (x, y) as one of the OccupancyGrid kind constants,
+     * or OccupancyGrid.EMPTY if the cell is empty or out of bounds.
+     */
+    public byte getCellKind(int x, int y) {
+        return occupancy.getKind(x, y);
+    }
+
+    /**
+     * Picks an empty cell of this hall uniformly at random in O(1).
+     *
+     * @effects
+     *   - Returns the cell's position, or null if the hall has no empty cell
+     */
+    public Position getRandomEmptyPosition(SplittableRandom random) {
+        int index = occupancy.randomFreeCell(random);
+        return index < 0 ? null : grid[index % width][index / width].getPosition();
+    }
+
+    public int getEmptyCellCount() {
+        return occupancy.getFreeCount();
     }
 
     public List<Cell> getNeighbors(Position position) {
-        List<Cell> neighbors = new ArrayList<>();
-        int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+        List<Cell> neighbors = new ArrayList<>(NEIGHBOR_OFFSETS.length);
+        forEachNeighbor(position.getX(), position.getY(), (x, y, cell) -> neighbors.add(cell));
+        return neighbors;
+    }
 
-        for (int[] dir : directions) {
-            Position neighborPos = new Position(position.getX() + dir[0], position.getY() + dir[1]);
-            if (isWithinBounds(neighborPos)) {
-                neighbors.add(getCell(neighborPos));
+    /**
+     * Calls visitor for each in-bounds orthogonal neighbour of (x, y), in the
+     * order left, right, up, down. Allocates nothing when visitor is a
+     * non-capturing lambda or a reused instance.
+     */
+    public void forEachNeighbor(int x, int y, CellVisitor visitor) {
+        for (int[] offset : NEIGHBOR_OFFSETS) {
+            int nx = x + offset[0];
+            int ny = y + offset[1];
+            if (isWithinBounds(nx, ny)) {
+                visitor.visit(nx, ny, grid[nx][ny]);
             }
         }
-        return neighbors;
     }
 
     // Add a DungeonObject to the Hall
     public boolean addObject(DungeonObject object, Position gridPosition) {
+        // Ensure the object fits within the hall and does not collide
+        if (!canPlaceObject(object, gridPosition)) {
+            return false;
+        }
+
         int startX = gridPosition.getX();
         int startY = gridPosition.getY();
         int width = object.getWidthInCells();
         int height = object.getHeightInCells();
 
-        // Ensure the object fits within the hall
-        if (startX + width > this.width || startY + height > this.height) {
-            return false; // Object doesn't fit
-        }
-
-        // Check for collisions with existing objects
-        for (int x = startX; x < startX + width; x++) {
-            for (int y = startY; y < startY + height; y++) {
-                Cell cell = getCell(new Position(x, y));
-                if (cell == null || !cell.isEmpty()) {
-                    return false; // Collision detected
-                }
-            }
-        }
-
-        // Place the object in the grid
+        // Place the object in the grid; the footprint is known to be in bounds
         for (int x = startX; x < startX + width; x++) {
             for (int y = startY; y < startY + height; y++) {
-                Cell cell = getCell(new Position(x, y));
-                if (cell != null) {
-                    cell.setContent(object);
-                }
+                grid[x][y].setContent(object);
             }
         }
 
         object.setPosition(gridPosition);
         objects.add(object);
+        stampOwner(object, objects.size());
+        objectVersion++;
         return true;
     }
 
@@ -133,13 +225,19 @@ public class Hall implements Serializable {
             int width = object.getWidthInCells();
             int height = object.getHeightInCells();
 
-            // First: Remove from objects list
-            objects.remove(object);
+            // First: Remove from objects list by moving the last object into its slot
+            int id = owners[position.getY() * this.width + position.getX()] - 1;
+            stampOwner(object, 0);
+            DungeonObject last = objects.remove(objects.size() - 1);
+            if (id < objects.size()) {
+                objects.set(id, last);
+                stampOwner(last, id + 1);
+            }
 
             // Second: Clear ALL cells that this object occupies (matching how we add objects)
             for (int x = startX; x < startX + width; x++) {
                 for (int y = startY; y < startY + height; y++) {
-                    Cell cell = getCell(new Position(x, y));
+                    Cell cell = getCell(x, y);
                     if (cell != null) {
                         // Clear any reference to this object
                         cell.setContent(null);
@@ -147,6 +245,8 @@ public class Hall implements Serializable {
                 }
             }
 
+            objectVersion++;
+
             // Finally: If there was a rune under this object, place it
             if (rune != null && object.equals(rune.getHiddenUnder()) && !rune.isCollected()) {
                 Cell clickedCell = getCell(position);
@@ -161,18 +261,22 @@ public class Hall implements Serializable {
         return false;
     }
 
-    // Get all objects in the Hall
+    /**
+     * Returns a number that changes whenever an object is added or removed.
+     * Equal versions of the same hall mean the same set of objects.
+     */
+    public int getObjectVersion() {
+        return objectVersion;
+    }
+
+    // Get all objects in the Hall. Removal reorders the list, so do not rely on insertion order.
     public List<DungeonObject> getObjects() {
-        return objects;
+        return Collections.unmodifiableList(objects);
     }
 
+    // True if any object covers the cell, including the lower cells of tall objects
     public boolean isCellOccupied(Position position) {
-        for (DungeonObject obj : objects) {
-            if (obj.getPosition() != null && obj.getPosition().equals(position)) {
-                return true;
-            }
-        }
-        return false;
+        return getObjectAt(position) != null;
     }
 
     // Get the object at a specific position
@@ -181,22 +285,22 @@ public class Hall implements Serializable {
             return null;
         }
 
-        // Check all objects to see if this position is within their bounds
-        for (DungeonObject obj : objects) {
-            Position objPos = obj.getPosition();
-            if (objPos != null) {
-                int startX = objPos.getX();
-                int startY = objPos.getY();
-                int endX = startX + obj.getWidthInCells();
-                int endY = startY + obj.getHeightInCells();
-
-                if (position.getX() >= startX && position.getX() < endX &&
-                    position.getY() >= startY && position.getY() < endY) {
-                    return obj;
-                }
+        int owner = owners[position.getY() * width + position.getX()];
+        return owner == 0 ? null : objects.get(owner - 1);
+    }
+
+    /**
+     * Writes value into the ownership map for every cell object covers.
+     */
+    private void stampOwner(DungeonObject object, int value) {
+        Position objectPos = object.getPosition();
+        int endX = Math.min(width, objectPos.getX() + object.getWidthInCells());
+        int endY = Math.min(height, objectPos.getY() + object.getHeightInCells());
+        for (int y = objectPos.getY(); y < endY; y++) {
+            for (int x = objectPos.getX(); x < endX; x++) {
+                owners[y * width + x] = value;
             }
         }
-        return null;
     }
 
     public void addMonster(Monster monster) {
@@ -255,7 +359,7 @@ public class Hall implements Serializable {
     }
 
     public void update(Hero hero) {
-        for (Monster monster : new ArrayList<>(monsters)) {
+        for (Monster monster : monsters) {
             if (monster instanceof WizardMonster && monster.getBehaviour() instanceof TeleportRune) {
                 ((TeleportRune)monster.getBehaviour()).setHall(this);
             }
@@ -288,29 +392,11 @@ public class Hall implements Serializable {
      * Effects:
      * - Returns `true` if the object can be placed at the specified position without overlap or exceeding bounds.
      * - Returns `false` if the placement would overlap existing objects or exceed hall boundaries.
+     * - Tests each footprint row against the occupancy bitmap with word masks.
      */
     public boolean canPlaceObject(DungeonObject object, Position position) {
-        int startX = position.getX();
-        int startY = position.getY();
-        int objectWidth = object.getWidthInCells();
-        int objectHeight = object.getHeightInCells();
-
-        // Check if the object fits within the hall boundaries
-        if (startX + objectWidth > this.width || startY + objectHeight > this.height) {
-            return false; // Object doesn't fit
-        }
-
-        // Check for collisions with existing objects
-        for (int x = startX; x < startX + objectWidth; x++) {
-            for (int y = startY; y < startY + objectHeight; y++) {
-                Cell cell = getCell(new Position(x, y));
-                if (cell == null || !cell.isEmpty()) {
-                    return false; // Collision detected
-                }
-            }
-        }
-
-        return true; // Valid placement
+        return occupancy.isRectEmpty(position.getX(), position.getY(),
+                                     object.getWidthInCells(), object.getHeightInCells());
     }
 
     /**
@@ -327,6 +413,8 @@ public class Hall implements Serializable {
      */
     public void clearObjects() {
         objects.clear();
+        objectVersion++;
+        Arrays.fill(owners, 0);
         for (int x = 0; x < width; x++) {
             for (int y = 0; y < height; y++) {
                 grid[x][y].setContent(null); // Reset each cell's content
@@ -347,15 +435,58 @@ public class Hall implements Serializable {
     }
 
     public void clearMonsters() {
+        for (Monster monster : monsters) {
+            markDirty(monster.getPosition());
+        }
         monsters.clear();
     }
 
     public void clearEnchantments() {
+        for (Enchantment enchantment : enchantments) {
+            markDirty(enchantment.getPosition());
+        }
         enchantments.clear();
     }
 
     public void setHero(Hero hero) {
+        if (this.hero != null) {
+            markDirty(this.hero.getPosition());
+        }
         this.hero = hero;
+        if (hero != null) {
+            markDirty(hero.getPosition());
+        }
+    }
+
+    /**
+     * Records that the cell at position must be drawn again. Changes made
+     * through Cell.setContent are recorded without this; it is for changes
+     * the cells do not see, such as hero moves.
+     *
+     * @effects Does nothing if position is null or out of bounds
+     */
+    public void markDirty(Position position) {
+        if (position != null) {
+            markDirty(position.getX(), position.getY());
+        }
+    }
+
+    public void markDirty(int x, int y) {
+        if (isWithinBounds(x, y)) {
+            occupancy.markDirty(x, y);
+        }
+    }
+
+    public void markAllDirty() {
+        occupancy.markAllDirty();
+    }
+
+    /**
+     * Moves the cells changed since the last call into target, so each
+     * change is drawn once.
+     */
+    public void drainDirtyCells(DirtyCells target) {
+        occupancy.drainDirty(target);
     }
 
     public Hero getHero() {
@@ -416,14 +547,39 @@ public class Hall implements Serializable {
 
     public void setGrid(Cell[][] grid) {
         this.grid = grid;
+        rebuildOccupancy();
+    }
+
+    private void rebuildOccupancy() {
+        occupancy = new OccupancyGrid(width, height);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                grid[x][y].setOccupancy(occupancy);
+            }
+        }
     }
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
         in.defaultReadObject();
         // If grid is null (which shouldn't happen), initialize it
         if (grid == null) {
+            occupancy = new OccupancyGrid(width, height);
+            grid = new Cell[width][height];
             initializeGrid();
+        } else {
+            rebuildOccupancy();
+        }
+
+        owners = new int[width * height];
+        for (int i = 0; i < objects.size(); i++) {
+            if (objects.get(i).getPosition() != null) {
+                stampOwner(objects.get(i), i + 1);
+            }
         }
+
+        // Older saves stored plain ArrayLists
+        monsters = new CopyOnWriteArrayList<>(monsters);
+        enchantments = new CopyOnWriteArrayList<>(enchantments);
         
         // Restore monsters in grid cells
         for (Monster monster : monsters) {
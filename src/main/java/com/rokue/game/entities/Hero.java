@@ -14,7 +14,10 @@ import com.rokue.game.entities.enchantments.ExtraTime;
 import com.rokue.game.entities.enchantments.LuringGem;
 import com.rokue.game.entities.enchantments.Reveal;
 import com.rokue.game.events.EventManager;
+import com.rokue.game.events.GameEvent;
 import com.rokue.game.util.Cell;
+import com.rokue.game.util.GameLog;
+import com.rokue.game.util.OccupancyGrid;
 import com.rokue.game.util.Position;
 
 public class Hero implements Serializable {
@@ -47,35 +50,40 @@ public class Hero implements Serializable {
     public void move(MoveAction.Direction direction, Hall currentHall) {
         movementLock.lock();
         try {
-            Position newPosition = position;
+            // Work on plain ints and take the hall's shared Position, so a step allocates nothing
+            int newX = position.getX();
+            int newY = position.getY();
             switch (direction) {
                 case UP:
-                    if (position.getY() > 0) {
-                        newPosition = new Position(position.getX(), position.getY() - 1);
+                    if (newY > 0) {
+                        newY--;
                     }
                     break;
                 case DOWN:
-                    if (position.getY() < currentHall.getHeight() - 1) {
-                        newPosition = new Position(position.getX(), position.getY() + 1);
+                    if (newY < currentHall.getHeight() - 1) {
+                        newY++;
                     }
                     break;
                 case LEFT:
-                    newPosition = new Position(position.getX() - 1, position.getY());
+                    newX--;
                     break;
                 case RIGHT:
-                    newPosition = new Position(position.getX() + 1, position.getY());
+                    newX++;
                     break;
             }
 
-            if (currentHall != null && currentHall.getCell(newPosition) != null) {
-                Object content = currentHall.getCell(newPosition).getContent();
-                if (content == null || content instanceof Rune) {
-                    this.position = newPosition;
+            if (currentHall != null && currentHall.isWithinBounds(newX, newY)) {
+                byte kind = currentHall.getCellKind(newX, newY);
+                if (kind == OccupancyGrid.EMPTY || kind == OccupancyGrid.RUNE) {
+                    // The hero is not cell content, so tell the hall which cells to redraw
+                    currentHall.markDirty(position);
+                    this.position = currentHall.getPosition(newX, newY);
+                    currentHall.markDirty(position);
                 } else {
-                    System.out.println("Cannot move through objects.");
+                    GameLog.info("Cannot move through objects.");
                 }
             } else {
-                System.out.println("Cannot move outside the hall boundaries.");
+                GameLog.info("Cannot move outside the hall boundaries.");
             }
         } finally {
             movementLock.unlock();
@@ -88,8 +96,8 @@ public class Hero implements Serializable {
             if (rune.isRevealed() && !rune.isCollected()) {
                 rune.setCollected(true);
                 cell.setContent(null);  // Clear the cell
-                System.out.println("Hero: Collected a rune at position " + cell.getPosition());
-                eventManager.notify("RUNE_COLLECTED", currentHall);
+                GameLog.info("Hero: Collected a rune at position " + cell.getPosition());
+                eventManager.notify(GameEvent.RUNE_COLLECTED, currentHall);
             }
         } else if (cell.getContent() instanceof Enchantment) {
             Enchantment enchantment = (Enchantment) cell.getContent();
@@ -100,14 +108,14 @@ public class Hero implements Serializable {
                     cell.setContent(null);  // Clear the cell
                     enchantment.applyEffect(this);
                     if (enchantment instanceof ExtraLife) {
-                        eventManager.notify("SHOW_INFO", "Extra Life collected!");
+                        eventManager.notify(GameEvent.SHOW_INFO, "Extra Life collected!");
                     } else {
-                        eventManager.notify("SHOW_INFO", "Extra Time collected!");
+                        eventManager.notify(GameEvent.SHOW_INFO, "Extra Time collected!");
                     }
                 } else {
                     // Check inventory limit for storable enchantments
                     if (inventory.size() >= MAX_INVENTORY_SIZE) {
-                        eventManager.notify("SHOW_INFO", "Cannot collect enchantment - inventory is full (max " + MAX_INVENTORY_SIZE + " items).");
+                        eventManager.notify(GameEvent.SHOW_INFO, "Cannot collect enchantment - inventory is full (max " + MAX_INVENTORY_SIZE + " items).");
                         return;
                     }
                     
@@ -116,13 +124,13 @@ public class Hero implements Serializable {
                     
                     if (enchantment instanceof CloakOfProtection) {
                         addToInventory("CLOAK");
-                        eventManager.notify("SHOW_INFO", "Cloak added!");
+                        eventManager.notify(GameEvent.SHOW_INFO, "Cloak added!");
                     } else if (enchantment instanceof Reveal) {
                         addToInventory("REVEAL");
-                        eventManager.notify("SHOW_INFO", "Reveal enchantment added!");
+                        eventManager.notify(GameEvent.SHOW_INFO, "Reveal enchantment added!");
                     } else if (enchantment instanceof LuringGem) {
                         addToInventory("LURE");
-                        eventManager.notify("SHOW_INFO", "Luring Gem added!");
+                        eventManager.notify(GameEvent.SHOW_INFO, "Luring Gem added!");
                     }
                 }
             }
@@ -141,8 +149,8 @@ public class Hero implements Serializable {
             if (runeCell != null) {
                 runeCell.setContent(rune);
             }
-            System.out.println("Hero: Found a rune hidden under " + clickedObject.getName());
-            eventManager.notify("RUNE_REVEALED", currentHall);
+            GameLog.info("Hero: Found a rune hidden under " + clickedObject.getName());
+            eventManager.notify(GameEvent.RUNE_REVEALED, currentHall);
             return true;
         }
         return false;
@@ -156,8 +164,8 @@ public class Hero implements Serializable {
         int currentLives = lives.decrementAndGet();
         if (currentLives <= 0 && !isDead) {
             isDead = true;
-            System.out.println("Hero: Out of lives. Game Over!");
-            eventManager.notify("HERO_DEAD", null);
+            GameLog.info("Hero: Out of lives. Game Over!");
+            eventManager.notify(GameEvent.HERO_DEAD, null);
         }
     }
 
@@ -165,9 +173,17 @@ public class Hero implements Serializable {
         return lives.get();
     }
 
+    /**
+     * Restores a saved life count. Does not notify anyone, even at zero.
+     */
+    public void setLives(int lives) {
+        this.lives.set(lives);
+        this.isDead = lives <= 0;
+    }
+
     public synchronized void increaseLife() {
         lives.incrementAndGet();
-        System.out.println("Hero: Life increased. Current lives: " + lives.get());
+        GameLog.info("Hero: Life increased. Current lives: " + lives.get());
     }
 
     public void setPosition(Position newPosition) {
@@ -193,14 +209,14 @@ public class Hero implements Serializable {
 
     public void addToInventory(String item) {
         inventory.add(item);
-        System.out.println("Hero: Added " + item + " to inventory.");
+        GameLog.info("Hero: Added " + item + " to inventory.");
     }
 
     public void removeFromInventory(String item) {
         if (inventory.remove(item)) {
-            System.out.println("Hero: Removed " + item + " from inventory.");
+            GameLog.info("Hero: Removed " + item + " from inventory.");
         } else {
-            System.out.println("Hero: Item " + item + " not found in inventory.");
+            GameLog.info("Hero: Item " + item + " not found in inventory.");
         }
     }
 
@@ -213,20 +229,20 @@ public class Hero implements Serializable {
             removeFromInventory(type);
             switch (type) {
                 case "CLOAK":
-                    System.out.println("Hero: Using Cloak of Protection");
+                    GameLog.info("Hero: Using Cloak of Protection");
                     new CloakOfProtection(null).applyEffect(this);
                     break;
                 case "REVEAL":
-                    System.out.println("Hero: Using Reveal enchantment");
+                    GameLog.info("Hero: Using Reveal enchantment");
                     new Reveal(null).applyEffect(this);
                     break;
                 case "LURE":
-                    System.out.println("Hero: Using Luring Gem");
+                    GameLog.info("Hero: Using Luring Gem");
                     new LuringGem(null).applyEffect(this);
                     break;
             }
         } else {
-            System.out.println("Hero: Cannot use " + type + " - not in inventory");
+            GameLog.info("Hero: Cannot use " + type + " - not in inventory");
         }
     }
 }
\ No newline at end of file
@@ -2,23 +2,38 @@ package com.rokue.game.entities;
 
 import java.io.Serializable;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import com.rokue.game.util.Position;
 
 public class Rune implements Serializable {
     private static final long serialVersionUID = 1L;
     private Position position;
-    private Random rand = new Random();
+    private transient SplittableRandom rand;
     private boolean collected = false;
     private boolean revealed = false;
     private DungeonObject hiddenUnder;
 
     public Rune(Position position) {
+        this(position, new SplittableRandom());
+    }
+
+    public Rune(Position position, SplittableRandom rand) {
         this.position = position;
+        this.rand = rand;
         this.revealed = false;
     }
 
+    // Custom deserialization: the random stream is not part of the save
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.rand = new SplittableRandom();
+    }
+
+    public void setRandom(SplittableRandom rand) {
+        this.rand = rand;
+    }
+
     public Position getPosition() {
         return this.position;
     }
@@ -1,6 +1,8 @@
 package com.rokue.game.entities.enchantments;
 
 import com.rokue.game.entities.Hero;
+import com.rokue.game.events.GameEvent;
+import com.rokue.game.util.GameLog;
 import com.rokue.game.util.Position;
 
 public class CloakOfProtection extends Enchantment {
@@ -10,7 +12,7 @@ public class CloakOfProtection extends Enchantment {
 
     }
     public void applyEffect(Hero hero) {
-        System.out.println("CloakOfProtection: Hero is invisible to ArcherMonsters for 20 seconds.");
-        hero.getEventManager().notify("INVISIBILITY", 20);
+        GameLog.info("CloakOfProtection: Hero is invisible to ArcherMonsters for 20 seconds.");
+        hero.getEventManager().notify(GameEvent.INVISIBILITY, 20);
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.rokue.game.entities.enchantments;
 
 import com.rokue.game.entities.Hero;
+import com.rokue.game.events.GameEvent;
+import com.rokue.game.util.GameLog;
 import com.rokue.game.util.Position;
 
 public class ExtraLife extends Enchantment {
@@ -9,7 +11,7 @@ public class ExtraLife extends Enchantment {
     }
 
     public void applyEffect(Hero hero) {
-        System.out.println("ExtraLife: Adding 1 life.");
-        hero.getEventManager().notify("ADD_LIVES", null);
+        GameLog.info("ExtraLife: Adding 1 life.");
+        hero.getEventManager().notify(GameEvent.ADD_LIVES, null);
     }
 }
\ No newline at end of file
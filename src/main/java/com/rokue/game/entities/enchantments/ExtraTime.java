@@ -1,6 +1,8 @@
 package com.rokue.game.entities.enchantments;
 
 import com.rokue.game.entities.Hero;
+import com.rokue.game.events.GameEvent;
+import com.rokue.game.util.GameLog;
 import com.rokue.game.util.Position;
 
 public class ExtraTime extends Enchantment {
@@ -10,8 +12,13 @@ public class ExtraTime extends Enchantment {
         super(position);
         this.timeToAdd = timeToAdd;
     }
+
+    public int getTimeToAdd() {
+        return timeToAdd;
+    }
+
     public void applyEffect(Hero hero) {
-        System.out.println("ExtraTime: Adding " + timeToAdd + " seconds.");
-        hero.getEventManager().notify("ADD_TIME", timeToAdd);
+        GameLog.info("ExtraTime: Adding " + timeToAdd + " seconds.");
+        hero.getEventManager().notify(GameEvent.ADD_TIME, timeToAdd);
     }
 }
@@ -1,6 +1,8 @@
 package com.rokue.game.entities.enchantments;
 
 import com.rokue.game.entities.Hero;
+import com.rokue.game.events.GameEvent;
+import com.rokue.game.util.GameLog;
 import com.rokue.game.util.Position;
 
 public class LuringGem extends Enchantment {
@@ -9,7 +11,7 @@ public class LuringGem extends Enchantment {
         super(position);
     }
     public void applyEffect(Hero hero) {
-        System.out.println("LuringGem: Distracting FighterMonsters.");
-        hero.getEventManager().notify("DISTRACTION", null);
+        GameLog.info("LuringGem: Distracting FighterMonsters.");
+        hero.getEventManager().notify(GameEvent.DISTRACTION, null);
     }
 }
@@ -1,6 +1,8 @@
 package com.rokue.game.entities.enchantments;
 
 import com.rokue.game.entities.Hero;
+import com.rokue.game.events.GameEvent;
+import com.rokue.game.util.GameLog;
 import com.rokue.game.util.Position;
 
 public class Reveal extends Enchantment {
@@ -13,9 +15,9 @@ public class Reveal extends Enchantment {
 
     @Override
     public void applyEffect(Hero hero) {
-        System.out.println("Reveal: Highlighting 4x4 region containing the rune.");
+        GameLog.info("Reveal: Highlighting 4x4 region containing the rune.");
         // Calculate the region that will contain the rune
         // The event handler will handle the actual highlighting
-        hero.getEventManager().notify("REVEAL_RUNE", HIGHLIGHT_DURATION);
+        hero.getEventManager().notify(GameEvent.REVEAL_RUNE, HIGHLIGHT_DURATION);
     }
 }
\ No newline at end of file
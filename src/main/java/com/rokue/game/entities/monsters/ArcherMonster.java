@@ -1,6 +1,7 @@
 package com.rokue.game.entities.monsters;
 
 import com.rokue.game.behaviour.ShootArrow;
+import com.rokue.game.time.GameClock;
 import com.rokue.game.util.Position;
 
 public class ArcherMonster extends Monster {
@@ -10,6 +11,10 @@ public class ArcherMonster extends Monster {
         super(startPosition, new ShootArrow(), "ARCHER");
     }
 
+    public ArcherMonster(Position startPosition, GameClock clock) {
+        super(startPosition, new ShootArrow(clock), "ARCHER");
+    }
+
     // Custom deserialization to restore the transient behaviour field
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
         in.defaultReadObject();
@@ -1,25 +1,39 @@
 package com.rokue.game.entities.monsters;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import com.rokue.game.behaviour.StabDagger;
 import com.rokue.game.entities.Hall;
+import com.rokue.game.time.GameClock;
+import com.rokue.game.util.GameLog;
 import com.rokue.game.util.Position;
 
 public class FighterMonster extends Monster {
     private static final long serialVersionUID = 1L;
-    private static final Random random = new Random();
+    private transient SplittableRandom random;
     private int moveCounter = 0;
     private static final int MOVE_INTERVAL = 60; // 60 frames = 1 second at 60 FPS
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
 
     public FighterMonster(Position startPosition) {
         super(startPosition, new StabDagger(), "FIGHTER");
+        this.random = new SplittableRandom();
+    }
+
+    public FighterMonster(Position startPosition, GameClock clock) {
+        this(startPosition, clock, new SplittableRandom());
+    }
+
+    public FighterMonster(Position startPosition, GameClock clock, SplittableRandom random) {
+        super(startPosition, new StabDagger(clock), "FIGHTER");
+        this.random = random;
     }
 
     // Custom deserialization to restore the transient behaviour field
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
         in.defaultReadObject();
         this.setBehaviour(new StabDagger()); // Restore the behaviour after deserialization
+        this.random = new SplittableRandom();
     }
 
     public void move(Hall hall, Position luringGemPosition) {
@@ -38,21 +52,18 @@ public class FighterMonster extends Monster {
     }
 
     private void moveRandomly(Hall hall) {
-        int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
         int attempts = 0;
         
         while (attempts < 4) {
-            int[] dir = directions[random.nextInt(directions.length)];
-            Position newPosition = new Position(
-                position.getX() + dir[0],
-                position.getY() + dir[1]
-            );
+            int[] dir = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+            int newX = position.getX() + dir[0];
+            int newY = position.getY() + dir[1];
 
-            if (isValidMove(hall, newPosition)) {
+            if (isValidMove(hall, newX, newY)) {
                 hall.getCell(position).setContent(null);
-                position = newPosition;
+                position = hall.getPosition(newX, newY);
                 hall.getCell(position).setContent(this);
-                System.out.println("FighterMonster: Moving randomly.");
+                GameLog.info("FighterMonster: Moving randomly.");
                 break;
             }
             attempts++;
@@ -63,22 +74,18 @@ public class FighterMonster extends Monster {
         int dx = Integer.compare(luringGemPosition.getX(), position.getX());
         int dy = Integer.compare(luringGemPosition.getY(), position.getY());
         
-        Position newPosition = new Position(
-            position.getX() + dx,
-            position.getY() + dy
-        );
+        int newX = position.getX() + dx;
+        int newY = position.getY() + dy;
 
-        if (isValidMove(hall, newPosition)) {
+        if (isValidMove(hall, newX, newY)) {
             hall.getCell(position).setContent(null);
-            position = newPosition;
+            position = hall.getPosition(newX, newY);
             hall.getCell(position).setContent(this);
-            System.out.println("FighterMonster: Moving towards luring gem.");
+            GameLog.info("FighterMonster: Moving towards luring gem.");
         }
     }
 
-    private boolean isValidMove(Hall hall, Position newPosition) {
-        return hall.isWithinBounds(newPosition) && 
-               hall.getCell(newPosition) != null && 
-               hall.getCell(newPosition).getContent() == null;
+    private boolean isValidMove(Hall hall, int x, int y) {
+        return hall.isEmpty(x, y);
     }
 }
\ No newline at end of file
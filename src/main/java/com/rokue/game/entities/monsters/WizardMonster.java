@@ -1,5 +1,7 @@
 package com.rokue.game.entities.monsters;
 
+import java.util.SplittableRandom;
+
 import com.rokue.game.behaviour.ChallengingWizardStrategy;
 import com.rokue.game.behaviour.HelpfulWizardStrategy;
 import com.rokue.game.behaviour.IndecisiveWizardStrategy;
@@ -8,6 +10,8 @@ import com.rokue.game.entities.Hall;
 import com.rokue.game.entities.Hero;
 import com.rokue.game.events.EventManager;
 import com.rokue.game.states.PlayMode;
+import com.rokue.game.time.GameClock;
+import com.rokue.game.time.SystemClock;
 import com.rokue.game.util.Position;
 
 public class WizardMonster extends Monster {
@@ -70,20 +74,48 @@ public class WizardMonster extends Monster {
         return currentHall;
     }
 
+    public int getTotalTime() {
+        return totalTime;
+    }
+
+    // Falls back to wall time until the owning PlayMode is known, e.g. right after deserialization
+    private GameClock getClock() {
+        if (playMode != null && playMode.getClock() != null) {
+            return playMode.getClock();
+        }
+        return SystemClock.INSTANCE;
+    }
+
+    private SplittableRandom getRandom() {
+        if (playMode != null && playMode.getBehaviourRandom() != null) {
+            return playMode.getBehaviourRandom();
+        }
+        return new SplittableRandom();
+    }
+
     private void updateStrategy(int totalTime, int remainingTime) {
         double timeRemainingPercentage = (remainingTime * 100.0) / totalTime;
-        WizardStrategy newStrategy = null;
-
+        Class<? extends WizardStrategy> wanted;
         if (timeRemainingPercentage <= LOW_TIME_THRESHOLD) {
-            newStrategy = new HelpfulWizardStrategy();
+            wanted = HelpfulWizardStrategy.class;
         } else if (timeRemainingPercentage > HIGH_TIME_THRESHOLD) {
-            newStrategy = new ChallengingWizardStrategy();
+            wanted = ChallengingWizardStrategy.class;
         } else {
-            newStrategy = new IndecisiveWizardStrategy();
+            wanted = IndecisiveWizardStrategy.class;
         }
 
-        if (behaviour == null || behaviour.getClass() != newStrategy.getClass()) {
-            this.behaviour = newStrategy;
+        // Runs every tick, so only build a strategy when it actually changes
+        if (behaviour != null && behaviour.getClass() == wanted) {
+            return;
+        }
+
+        GameClock clock = getClock();
+        if (wanted == HelpfulWizardStrategy.class) {
+            this.behaviour = new HelpfulWizardStrategy(clock, getRandom());
+        } else if (wanted == ChallengingWizardStrategy.class) {
+            this.behaviour = new ChallengingWizardStrategy(clock);
+        } else {
+            this.behaviour = new IndecisiveWizardStrategy(clock);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,178 @@
+package com.rokue.game.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BinaryOperator;
+
+/**
+ * Listener list of one event type.
+ *
+ * Listeners are kept in an array that is replaced, never modified, on every
+ * subscribe or unsubscribe. Dispatch reads the array once and loops over it,
+ * so a listener may subscribe or unsubscribe during dispatch without a
+ * ConcurrentModificationException, and without taking a lock.
+ *
+ * A channel with a coalescing policy holds at most one pending payload; the
+ * EventManager decides when it is folded in and when it is flushed.
+ *
+ * While metrics are attached, every dispatch is timed, and each listener call
+ * is timed so slow listeners can be named.
+ */
+final class Channel {
+    private static final EventListener[] NO_LISTENERS = new EventListener[0];
+
+    private final String name;
+    private volatile EventListener[] listeners = NO_LISTENERS;
+    private volatile ChannelMetrics metrics;
+    private volatile long slowThresholdNanos;
+    private volatile CoalescePolicy policy = CoalescePolicy.KEEP_ALL;
+    private volatile BinaryOperator<Object> merger;
+
+    // Only touched on the dispatch thread
+    private boolean pending = false;
+    private Object pendingData;
+
+    Channel(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    synchronized void add(EventListener listener) {
+        EventListener[] current = listeners;
+        EventListener[] updated = new EventListener[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Removes the first registration of listener. Does nothing if listener is
+     * null or not registered.
+     */
+    synchronized void remove(EventListener listener) {
+        EventListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].equals(listener)) {
+                EventListener[] updated = new EventListener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    synchronized void clear() {
+        listeners = NO_LISTENERS;
+    }
+
+    int size() {
+        return listeners.length;
+    }
+
+    void setCoalescing(CoalescePolicy policy, BinaryOperator<Object> merger) {
+        this.merger = merger;
+        this.policy = policy;
+    }
+
+    boolean isCoalesced() {
+        return policy != CoalescePolicy.KEEP_ALL;
+    }
+
+    /**
+     * Folds data into the pending payload.
+     *
+     * @effects
+     *   - Returns true if nothing was pending before, so the caller must
+     *     schedule a flush
+     */
+    boolean coalesce(Object data) {
+        if (!pending) {
+            pending = true;
+            pendingData = data;
+            return true;
+        }
+        if (policy == CoalescePolicy.LATEST_WINS) {
+            pendingData = data;
+        } else {
+            BinaryOperator<Object> combine = merger;
+            pendingData = combine != null ? combine.apply(pendingData, data) : collect(pendingData, data);
+        }
+        return false;
+    }
+
+    /**
+     * Dispatches the pending payload, if any.
+     *
+     * @effects
+     *   - Clears the pending payload before listeners run, so a notify from a
+     *     listener starts a new one
+     */
+    void flush() {
+        if (!pending) {
+            return;
+        }
+        Object data = pendingData;
+        pending = false;
+        pendingData = null;
+        dispatch(data);
+    }
+
+    private static Object collect(Object pendingData, Object data) {
+        if (pendingData instanceof Batch) {
+            ((Batch) pendingData).add(data);
+            return pendingData;
+        }
+        Batch batch = new Batch();
+        batch.add(pendingData);
+        batch.add(data);
+        return batch;
+    }
+
+    /**
+     * Payloads merged by the default MERGE function. A distinct class, so a
+     * List posted as a payload is never mistaken for an open batch.
+     */
+    private static final class Batch extends ArrayList<Object> {
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * Attaches fresh counters, or detaches them if metrics is null.
+     */
+    void setMetrics(ChannelMetrics metrics, long slowThresholdNanos) {
+        this.slowThresholdNanos = slowThresholdNanos;
+        this.metrics = metrics;
+    }
+
+    ChannelMetrics getMetrics() {
+        return metrics;
+    }
+
+    void dispatch(Object data) {
+        EventListener[] snapshot = listeners;
+        ChannelMetrics counters = metrics;
+        if (counters == null) {
+            for (int i = 0; i < snapshot.length; i++) {
+                snapshot[i].onEvent(name, data);
+            }
+            return;
+        }
+
+        long threshold = slowThresholdNanos;
+        long start = System.nanoTime();
+        long previous = start;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i].onEvent(name, data);
+            long now = System.nanoTime();
+            if (now - previous >= threshold) {
+                counters.recordSlowListener(snapshot[i], now - previous);
+            }
+            previous = now;
+        }
+        counters.recordDispatch(previous - start);
+    }
+}
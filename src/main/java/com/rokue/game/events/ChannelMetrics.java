@@ -0,0 +1,73 @@
+package com.rokue.game.events;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.rokue.game.util.LatencyHistogram;
+
+/**
+ * Counters of one channel while metrics are enabled.
+ *
+ * The publish count and dispatch histogram are updated on every notify
+ * without allocating. Listeners are only tracked individually once a single
+ * call of theirs takes at least the slow threshold, so the per-listener table
+ * stays small and is touched off the fast path.
+ */
+final class ChannelMetrics {
+    private final LongAdder publishCount = new LongAdder();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final LatencyHistogram dispatchNanos = new LatencyHistogram();
+    private final Map<EventListener, SlowRecord> slowListeners = new IdentityHashMap<>();
+
+    void recordDispatch(long nanos) {
+        publishCount.increment();
+        totalNanos.addAndGet(nanos);
+        dispatchNanos.record(nanos);
+    }
+
+    synchronized void recordSlowListener(EventListener listener, long nanos) {
+        SlowRecord record = slowListeners.get(listener);
+        if (record == null) {
+            record = new SlowRecord();
+            slowListeners.put(listener, record);
+        }
+        record.count++;
+        record.maxNanos = Math.max(record.maxNanos, nanos);
+    }
+
+    EventMetricsSnapshot.ChannelStats snapshot(String name, int listenerCount) {
+        List<EventMetricsSnapshot.SlowListener> slow = new ArrayList<>();
+        synchronized (this) {
+            for (Map.Entry<EventListener, SlowRecord> entry : slowListeners.entrySet()) {
+                slow.add(new EventMetricsSnapshot.SlowListener(describe(entry.getKey()),
+                                                               entry.getValue().count,
+                                                               entry.getValue().maxNanos));
+            }
+        }
+        slow.sort((a, b) -> Long.compare(b.getMaxNanos(), a.getMaxNanos()));
+
+        return new EventMetricsSnapshot.ChannelStats(name, publishCount.sum(), listenerCount,
+                                                     totalNanos.get(),
+                                                     dispatchNanos.percentile(50),
+                                                     dispatchNanos.percentile(99),
+                                                     dispatchNanos.getMax(),
+                                                     slow);
+    }
+
+    /**
+     * Names a listener by its class and identity hash. For a lambda or method
+     * reference the class name starts with the class that declared it.
+     */
+    private static String describe(EventListener listener) {
+        return listener.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(listener));
+    }
+
+    private static final class SlowRecord {
+        long count;
+        long maxNanos;
+    }
+}
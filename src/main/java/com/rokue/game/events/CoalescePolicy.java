@@ -0,0 +1,26 @@
+package com.rokue.game.events;
+
+/**
+ * How repeated notifications of one event type within a tick are delivered.
+ *
+ * Coalescing only applies on an EventManager with a bound dispatch thread;
+ * pending notifications go out when that thread calls flushCoalesced().
+ */
+public enum CoalescePolicy {
+    /**
+     * Every notification is dispatched immediately. The default.
+     */
+    KEEP_ALL,
+
+    /**
+     * Listeners are called once per tick with the last payload.
+     */
+    LATEST_WINS,
+
+    /**
+     * Listeners are called once per tick with the payloads combined by a
+     * merge function. Without one, two or more payloads are delivered as a
+     * List in posting order; a single payload is delivered unchanged.
+     */
+    MERGE
+}
@@ -1,32 +1,297 @@
 package com.rokue.game.events;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
 
+/**
+ * Publish/subscribe hub for one game session.
+ *
+ * Every GameEvent has a channel created up front and indexed by ordinal, so
+ * notify(GameEvent, Object) is an array read plus a loop over a listener
+ * array. The String methods are kept for existing callers: a known name maps
+ * to the same channel, and an unknown name gets its own channel on first
+ * subscribe.
+ *
+ * Once a dispatch thread is bound, notifications posted from any other thread
+ * are not run there. They go into a lock-free ring buffer and run on the
+ * dispatch thread the next time it calls drainQueued(), so listeners only ever
+ * run on the simulation thread and never under the caller's locks.
+ *
+ * A channel may also be given a CoalescePolicy. While a dispatch thread is
+ * bound, repeated notifications of such a channel are folded together and
+ * delivered once when the thread calls flushCoalesced(), normally at the end
+ * of its tick.
+ *
+ * Metrics are off by default and cost nothing then. setMetricsEnabled(true)
+ * starts counting publishes and timing every dispatch and listener call;
+ * getMetricsSnapshot() reads the counters from any thread.
+ *
+ * @effects
+ *   - Listeners of one event run in subscription order
+ *   - Subscribing or unsubscribing during dispatch is safe; the change applies
+ *     from the next notify
+ *   - Queued notifications run in the order they were posted
+ */
 public class EventManager {
-    private Map<String, List<EventListener>> listeners = new HashMap<>();
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final long DEFAULT_SLOW_LISTENER_NANOS = 1_000_000; // 1 ms
+
+    private final Channel[] channels = new Channel[GameEvent.values().length];
+    private final ConcurrentHashMap<String, Channel> channelsByName = new ConcurrentHashMap<>();
+    private volatile Thread dispatchThread;
+    private volatile EventRingBuffer queue;
+    private volatile boolean metricsEnabled = false;
+    private volatile long slowListenerNanos = DEFAULT_SLOW_LISTENER_NANOS;
+    private final BiConsumer<Channel, Object> deliver = this::deliver;
+
+    // Channels with a pending coalesced payload; only touched on the dispatch thread
+    private List<Channel> coalesced = new ArrayList<>();
+    private List<Channel> flushing = new ArrayList<>();
+
+    public EventManager() {
+        for (GameEvent event : GameEvent.values()) {
+            Channel channel = new Channel(event.name());
+            channels[event.ordinal()] = channel;
+            channelsByName.put(event.name(), channel);
+        }
+    }
+
+    public void subscribe(GameEvent event, EventListener listener) {
+        channels[event.ordinal()].add(listener);
+    }
+
+    public void unsubscribe(GameEvent event, EventListener listener) {
+        channels[event.ordinal()].remove(listener);
+    }
+
+    public void notify(GameEvent event, Object data) {
+        dispatch(channels[event.ordinal()], data);
+    }
+
+    public void unsubscribeAll(GameEvent event) {
+        channels[event.ordinal()].clear();
+    }
 
     public void subscribe(String eventType, EventListener listener) {
-        listeners.putIfAbsent(eventType, new ArrayList<>());
-        listeners.get(eventType).add(listener);
+        channelsByName.computeIfAbsent(eventType, this::createChannel).add(listener);
     }
 
     public void unsubscribe(String eventType, EventListener listener) {
-        if (listeners.containsKey(eventType)) {
-            listeners.get(eventType).remove(listener);
+        Channel channel = channelsByName.get(eventType);
+        if (channel != null) {
+            channel.remove(listener);
         }
     }
 
     public void notify(String eventType, Object data) {
-        if (listeners.containsKey(eventType)) {
-            for (EventListener listener : listeners.get(eventType)) {
-                listener.onEvent(eventType, data);
-            }
+        Channel channel = channelsByName.get(eventType);
+        if (channel != null) {
+            dispatch(channel, data);
         }
     }
 
     public void unsubscribeAll(String eventType) {
-        if (listeners.containsKey(eventType)) {
-            listeners.get(eventType).clear();
+        Channel channel = channelsByName.get(eventType);
+        if (channel != null) {
+            channel.clear();
+        }
+    }
+
+    /**
+     * Makes thread the only thread that runs listeners.
+     *
+     * @modifies
+     *   - this.dispatchThread
+     *
+     * @effects
+     *   - From now on, a notify from any other thread is queued until thread
+     *     calls drainQueued()
+     *   - Passing null returns to running listeners on the notifying thread
+     */
+    public void bindDispatchThread(Thread thread) {
+        if (thread != null && queue == null) {
+            queue = new EventRingBuffer(QUEUE_CAPACITY);
+        }
+        dispatchThread = thread;
+    }
+
+    public boolean isDispatchThread() {
+        return Thread.currentThread() == dispatchThread;
+    }
+
+    /**
+     * Runs the notifications queued by other threads since the last drain.
+     *
+     * @effects
+     *   - Does nothing and returns 0 unless called on the bound dispatch thread
+     *   - Runs at most one buffer's worth of notifications, so listeners that
+     *     keep posting cannot stall the caller; the rest run on the next drain
+     *   - Returns the number of notifications run
+     */
+    public int drainQueued() {
+        EventRingBuffer pending = queue;
+        if (pending == null || !isDispatchThread()) {
+            return 0;
+        }
+        return pending.drain(pending.capacity(), deliver);
+    }
+
+    /**
+     * Sets how repeated notifications of event within one tick are delivered.
+     *
+     * @requires
+     *   - merger is only given with CoalescePolicy.MERGE
+     *
+     * @effects
+     *   - Applies from the next notify; a payload already pending is still
+     *     delivered by the next flushCoalesced()
+     *   - Has no visible effect while no dispatch thread is bound
+     */
+    public void setCoalescing(GameEvent event, CoalescePolicy policy, BinaryOperator<Object> merger) {
+        if (merger != null && policy != CoalescePolicy.MERGE) {
+            throw new IllegalArgumentException("Only MERGE takes a merge function");
+        }
+        channels[event.ordinal()].setCoalescing(policy, merger);
+    }
+
+    public void setCoalescing(GameEvent event, CoalescePolicy policy) {
+        setCoalescing(event, policy, null);
+    }
+
+    /**
+     * Delivers every coalesced notification that is pending.
+     *
+     * @effects
+     *   - Does nothing and returns 0 unless called on the bound dispatch thread
+     *   - Calls the listeners of each pending channel once, in the order the
+     *     channels first became pending this tick
+     *   - Notifications posted by those listeners stay pending until the next
+     *     flush, so a listener that re-posts its own event cannot loop here
+     *   - Returns the number of channels flushed
+     */
+    public int flushCoalesced() {
+        if (!isDispatchThread() || coalesced.isEmpty()) {
+            return 0;
+        }
+        List<Channel> batch = coalesced;
+        coalesced = flushing;
+        flushing = batch;
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).flush();
+            }
+            return batch.size();
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private void dispatch(Channel channel, Object data) {
+        Thread owner = dispatchThread;
+        if (owner == null) {
+            channel.dispatch(data);
+            return;
+        }
+        if (owner == Thread.currentThread()) {
+            deliver(channel, data);
+            return;
+        }
+        while (!queue.offer(channel, data)) {
+            if (!owner.isAlive()) {
+                // Nobody will ever drain; fall back to running it here
+                channel.dispatch(data);
+                return;
+            }
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Runs or coalesces one notification on the dispatch thread.
+     */
+    private void deliver(Channel channel, Object data) {
+        if (!channel.isCoalesced()) {
+            channel.dispatch(data);
+        } else if (channel.coalesce(data)) {
+            coalesced.add(channel);
+        }
+    }
+
+    /**
+     * Returns the number of listeners subscribed to the event.
+     */
+    public int getListenerCount(GameEvent event) {
+        return channels[event.ordinal()].size();
+    }
+
+    /**
+     * Turns event bus metrics on or off.
+     *
+     * @modifies
+     *   - the counters of every channel
+     *
+     * @effects
+     *   - Enabling starts every channel from zero, also when already enabled
+     *   - Disabling drops the counters and restores the untimed dispatch path
+     */
+    public synchronized void setMetricsEnabled(boolean enabled) {
+        metricsEnabled = enabled;
+        for (Channel channel : channelsByName.values()) {
+            channel.setMetrics(enabled ? new ChannelMetrics() : null, slowListenerNanos);
+        }
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /**
+     * Sets how long one listener call may take before it is reported as slow.
+     *
+     * @requires
+     *   - nanos > 0
+     *
+     * @effects
+     *   - Applies from the next setMetricsEnabled(true)
+     */
+    public void setSlowListenerThreshold(long nanos) {
+        if (nanos <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive");
+        }
+        slowListenerNanos = nanos;
+    }
+
+    /**
+     * Copies the current counters.
+     *
+     * @effects
+     *   - Returns an empty snapshot if metrics are disabled
+     *   - Otherwise lists every channel published to since metrics were
+     *     enabled, most total dispatch time first
+     */
+    public EventMetricsSnapshot getMetricsSnapshot() {
+        List<EventMetricsSnapshot.ChannelStats> stats = new ArrayList<>();
+        for (Channel channel : channelsByName.values()) {
+            ChannelMetrics counters = channel.getMetrics();
+            if (counters != null) {
+                EventMetricsSnapshot.ChannelStats channelStats = counters.snapshot(channel.getName(), channel.size());
+                if (channelStats.getPublishCount() > 0) {
+                    stats.add(channelStats);
+                }
+            }
+        }
+        stats.sort((a, b) -> Long.compare(b.getTotalNanos(), a.getTotalNanos()));
+        return new EventMetricsSnapshot(stats);
+    }
+
+    private synchronized Channel createChannel(String eventType) {
+        Channel channel = new Channel(eventType);
+        if (metricsEnabled) {
+            channel.setMetrics(new ChannelMetrics(), slowListenerNanos);
         }
+        return channel;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,153 @@
+package com.rokue.game.events;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Point-in-time copy of the event bus counters, for debug overlays and
+ * exporters. Nothing in it changes after creation.
+ */
+public final class EventMetricsSnapshot {
+    private final List<ChannelStats> channels;
+
+    EventMetricsSnapshot(List<ChannelStats> channels) {
+        this.channels = Collections.unmodifiableList(channels);
+    }
+
+    /**
+     * Returns the stats of every channel that was published to, most total
+     * dispatch time first.
+     */
+    public List<ChannelStats> getChannels() {
+        return channels;
+    }
+
+    public long getTotalPublishCount() {
+        long total = 0;
+        for (ChannelStats channel : channels) {
+            total += channel.getPublishCount();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the stats of the named channel, or null if it was never published to.
+     */
+    public ChannelStats getChannel(String eventName) {
+        for (ChannelStats channel : channels) {
+            if (channel.getEventName().equals(eventName)) {
+                return channel;
+            }
+        }
+        return null;
+    }
+
+    public ChannelStats getChannel(GameEvent event) {
+        return getChannel(event.name());
+    }
+
+    /**
+     * Counters of one event type. Times are nanoseconds spent running all of
+     * its listeners for one notify.
+     */
+    public static final class ChannelStats {
+        private final String eventName;
+        private final long publishCount;
+        private final int listenerCount;
+        private final long totalNanos;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long maxNanos;
+        private final List<SlowListener> slowListeners;
+
+        ChannelStats(String eventName, long publishCount, int listenerCount, long totalNanos,
+                     long p50Nanos, long p99Nanos, long maxNanos, List<SlowListener> slowListeners) {
+            this.eventName = eventName;
+            this.publishCount = publishCount;
+            this.listenerCount = listenerCount;
+            this.totalNanos = totalNanos;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+            this.maxNanos = maxNanos;
+            this.slowListeners = Collections.unmodifiableList(slowListeners);
+        }
+
+        public String getEventName() {
+            return eventName;
+        }
+
+        public long getPublishCount() {
+            return publishCount;
+        }
+
+        public int getListenerCount() {
+            return listenerCount;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getP50Nanos() {
+            return p50Nanos;
+        }
+
+        public long getP99Nanos() {
+            return p99Nanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Returns the listeners that took at least the slow threshold at least
+         * once, slowest first.
+         */
+        public List<SlowListener> getSlowListeners() {
+            return slowListeners;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d published, %d listeners, p50 %d ns, p99 %d ns, max %d ns, %d slow listeners",
+                                 eventName, publishCount, listenerCount, p50Nanos, p99Nanos, maxNanos,
+                                 slowListeners.size());
+        }
+    }
+
+    /**
+     * One listener that ran over the slow threshold.
+     */
+    public static final class SlowListener {
+        private final String listener;
+        private final long count;
+        private final long maxNanos;
+
+        SlowListener(String listener, long count, long maxNanos) {
+            this.listener = listener;
+            this.count = count;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * Returns the listener's class name and identity hash.
+         */
+        public String getListener() {
+            return listener;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        @Override
+        public String toString() {
+            return listener + " (" + count + " slow calls, max " + maxNanos + " ns)";
+        }
+    }
+}
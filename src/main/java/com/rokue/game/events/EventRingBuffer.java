@@ -0,0 +1,97 @@
+package com.rokue.game.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiConsumer;
+
+/**
+ * Bounded multi-producer, single-consumer queue of pending notifications.
+ *
+ * Producers claim a slot with one CAS on the tail and publish it by writing
+ * the slot's sequence number, so posting never takes a lock. Only the
+ * dispatch thread consumes, which lets the head be a plain field.
+ *
+ * @requires
+ *   - capacity is a power of two
+ *   - drain() is only ever called from one thread at a time
+ */
+final class EventRingBuffer {
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final Channel[] channels;
+    private final Object[] payloads;
+    private final AtomicLong tail = new AtomicLong();
+    private long head = 0;
+
+    EventRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two");
+        }
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        this.channels = new Channel[capacity];
+        this.payloads = new Object[capacity];
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Appends a notification. Safe from any number of threads.
+     *
+     * @effects
+     *   - Returns false without blocking if the buffer is full
+     */
+    boolean offer(Channel channel, Object data) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    channels[index] = channel;
+                    payloads[index] = data;
+                    // Publishes the slot contents to the consumer
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Hands up to max queued notifications to sink in the order they were posted.
+     *
+     * @effects
+     *   - Frees each slot before sink runs, so listeners may post again
+     *   - Returns the number of notifications dispatched
+     */
+    int drain(int max, BiConsumer<Channel, Object> sink) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break; // Empty, or the next producer has not published yet
+            }
+            Channel channel = channels[index];
+            Object data = payloads[index];
+            channels[index] = null;
+            payloads[index] = null;
+            sequences.set(index, head + mask + 1);
+            head++;
+
+            sink.accept(channel, data);
+            drained++;
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,65 @@
+package com.rokue.game.events;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Every event type the game publishes, as pre-registered EventManager channels.
+ *
+ * The constant name is the event's string name, so notify(GameEvent.X, data)
+ * and notify("X", data) reach the same listeners.
+ */
+public enum GameEvent {
+    // Simulation
+    TIMER_TICK,
+    TIME_EXPIRED,
+    ADD_TIME,
+    ADD_LIVES,
+    HERO_HIT_BY_ARROW,
+    HERO_STABBED,
+    HERO_DEAD,
+    RUNE_COLLECTED,
+    RUNE_REVEALED,
+    RUNE_TELEPORTED,
+    INVISIBILITY,
+    REVEAL_RUNE,
+    DISTRACTION,
+    HALL_COMPLETED,
+    GAME_OVER,
+    GAME_COMPLETED,
+
+    // UI
+    LOG_MESSAGE,
+    SHOW_INFO,
+    DISPLAY_INFO,
+    SHOW_HIGHLIGHT,
+    HIDE_HIGHLIGHT,
+    SHOW_HALL_COMPLETED_EFFECT,
+    SHOW_CONGRATS_SCREEN,
+
+    // State transitions
+    START_GAME,
+    LOAD_GAME,
+    SWITCH_TO_PLAY_MODE,
+    SHOW_MAIN_MENU,
+    EXIT_PLAY_MODE,
+
+    // Persistence
+    SAVE_REQUESTED,
+    GAME_SAVED;
+
+    private static final Map<String, GameEvent> BY_NAME = new HashMap<>();
+
+    static {
+        for (GameEvent event : values()) {
+            BY_NAME.put(event.name(), event);
+        }
+    }
+
+    /**
+     * Returns the event with the given name, or null if there is none.
+     */
+    public static GameEvent fromName(String name) {
+        return BY_NAME.get(name);
+    }
+}
@@ -1,6 +1,6 @@
 package com.rokue.game.factories;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import com.rokue.game.entities.Hall;
 import com.rokue.game.entities.enchantments.CloakOfProtection;
@@ -12,26 +12,28 @@ import com.rokue.game.entities.enchantments.ExtraLife;
 import com.rokue.game.util.Position;
 
 public class EnchantmentFactory {
-    private static Random rand = new Random();
 
     public static Enchantment createRandomEnchantment(Hall hall) {
+        return createRandomEnchantment(hall, new SplittableRandom());
+    }
+
+    public static Enchantment createRandomEnchantment(Hall hall, SplittableRandom rand) {
         int t = rand.nextInt(5);
-        while (true) {
-            Position spawnPos = new Position(rand.nextInt(hall.getWidth()), rand.nextInt(hall.getHeight()));
-            if (hall.getCell(spawnPos).getContent() == null) {
-                switch (t) {
-                    case 0:
-                        return new ExtraTime(new Position(spawnPos.getX(), spawnPos.getY()), 5);
-                    case 1:
-                        return new Reveal(new Position(spawnPos.getX(), spawnPos.getY()));
-                    case 2:
-                        return new CloakOfProtection(new Position(spawnPos.getX(), spawnPos.getY()));
-                    case 3:
-                        return new LuringGem(new Position(spawnPos.getX(), spawnPos.getY()));
-                    case 4:
-                        return new ExtraLife(new Position(spawnPos.getX(), spawnPos.getY()));
-                }
-            }
+        Position spawnPos = hall.getRandomEmptyPosition(rand);
+        if (spawnPos == null) {
+            return null; // Hall is full
+        }
+        switch (t) {
+            case 0:
+                return new ExtraTime(spawnPos, 5);
+            case 1:
+                return new Reveal(spawnPos);
+            case 2:
+                return new CloakOfProtection(spawnPos);
+            case 3:
+                return new LuringGem(spawnPos);
+            default:
+                return new ExtraLife(spawnPos);
         }
     }
 
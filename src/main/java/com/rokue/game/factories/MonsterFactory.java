@@ -1,6 +1,6 @@
 package com.rokue.game.factories;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import com.rokue.game.entities.Hall;
 import com.rokue.game.entities.monsters.ArcherMonster;
@@ -8,37 +8,47 @@ import com.rokue.game.entities.monsters.FighterMonster;
 import com.rokue.game.entities.monsters.Monster;
 import com.rokue.game.entities.monsters.WizardMonster;
 import com.rokue.game.states.PlayMode;
+import com.rokue.game.time.GameClock;
+import com.rokue.game.time.SystemClock;
 import com.rokue.game.util.Position;
 
 public class MonsterFactory {
-    private static Random rand = new Random();
 
     public static Monster createRandomMonster(Hall hall, PlayMode playMode) {
+        return createRandomMonster(hall, playMode, new SplittableRandom());
+    }
+
+    /**
+     * Creates a random monster on a free cell, drawing every random choice from
+     * the given stream so a seeded session spawns the same monsters every run.
+     * Returns null if the hall has no free cell.
+     */
+    public static Monster createRandomMonster(Hall hall, PlayMode playMode, SplittableRandom rand) {
         boolean wizardExists = hall.getMonsters().stream()
                 .anyMatch(monster -> monster instanceof WizardMonster);
 
         int monsterType = wizardExists ? rand.nextInt(2) : rand.nextInt(3);
+        GameClock clock = playMode.getClock() != null ? playMode.getClock() : SystemClock.INSTANCE;
 
-        while (true) {
-            Position spawnPos = new Position(rand.nextInt(hall.getWidth()), rand.nextInt(hall.getHeight()));
-            if (hall.getCell(spawnPos).getContent() == null) {
-                switch(monsterType) {
-                    case 0:
-                        return new ArcherMonster(spawnPos);
-                    case 1:
-                        return new FighterMonster(spawnPos);
-                    case 2:
-                        if (!wizardExists) {
-                            return new WizardMonster(spawnPos, 
-                                                   playMode.getEventManager(), 
-                                                   hall, 
-                                                   PlayMode.START_TIME, 
-                                                   playMode.getRemainingTime(),
-                                                   playMode);
-                        }
-                        return new FighterMonster(spawnPos);
+        Position spawnPos = hall.getRandomEmptyPosition(rand);
+        if (spawnPos == null) {
+            return null;
+        }
+        switch(monsterType) {
+            case 0:
+                return new ArcherMonster(spawnPos, clock);
+            case 2:
+                if (!wizardExists) {
+                    return new WizardMonster(spawnPos, 
+                                           playMode.getEventManager(), 
+                                           hall, 
+                                           PlayMode.START_TIME, 
+                                           playMode.getRemainingTime(),
+                                           playMode);
                 }
-            }
+                return new FighterMonster(spawnPos, clock, rand.split());
+            default:
+                return new FighterMonster(spawnPos, clock, rand.split());
         }
     }
 }
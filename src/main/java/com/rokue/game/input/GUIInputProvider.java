@@ -13,8 +13,9 @@ public class GUIInputProvider extends KeyAdapter implements IInputProvider {
     private boolean isPaused = false;
 
 
+    // Keys arrive on the EDT while the game loop polls from its own thread
     @Override
-    public void keyPressed(KeyEvent e) {
+    public synchronized void keyPressed(KeyEvent e) {
 
         if (isPaused) {
             return; // Ignore input while paused
@@ -36,24 +37,37 @@ public class GUIInputProvider extends KeyAdapter implements IInputProvider {
         }
     }
 
+    /**
+     * Queues an action from another input source, such as a mouse click, for
+     * the game loop to handle with the key presses.
+     *
+     * @effects Ignored while paused, like key presses
+     */
+    public synchronized void submit(IAction action) {
+        if (!isPaused) {
+            actions.add(action);
+        }
+    }
+
     @Override
-    public List<IAction> pollActions() {
+    public synchronized List<IAction> pollActions() {
         List<IAction> currentActions = new ArrayList<>(actions);
         actions.clear();
         return currentActions;
     }
 
     //for pause
-    public void clearActions() {
+    @Override
+    public synchronized void clearActions() {
         actions.clear();
     }
 
-    public void pause() {
+    public synchronized void pause() {
         isPaused = true;
         actions.clear(); // Clear pending actions
     }
 
-    public void resume() {
+    public synchronized void resume() {
         isPaused = false;
     }
 }
\ No newline at end of file
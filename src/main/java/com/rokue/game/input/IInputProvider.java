@@ -5,4 +5,7 @@ import java.util.List;
 
 public interface IInputProvider {
     List<IAction> pollActions();
+
+    default void clearActions() {
+    }
 }
\ No newline at end of file
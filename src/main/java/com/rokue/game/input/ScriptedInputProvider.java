@@ -0,0 +1,194 @@
+package com.rokue.game.input;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import com.rokue.game.actions.IAction;
+import com.rokue.game.actions.MoveAction;
+import com.rokue.game.actions.SearchAction;
+import com.rokue.game.entities.DungeonObject;
+import com.rokue.game.entities.Hall;
+import com.rokue.game.entities.Hero;
+import com.rokue.game.entities.Rune;
+import com.rokue.game.states.PlayMode;
+import com.rokue.game.util.Cell;
+import com.rokue.game.util.Position;
+
+/**
+ * Input provider that plays a PlayMode by a fixed script instead of a keyboard.
+ *
+ * The script is the obvious human strategy: walk to the nearest object that has
+ * not been searched yet, search it, and once the rune is revealed walk onto it.
+ * It issues at most one action every ticksPerStep polls so the hero moves at a
+ * human-like pace in game time.
+ *
+ * @requires
+ *   - playMode != null
+ *   - ticksPerStep > 0
+ */
+public class ScriptedInputProvider implements IInputProvider {
+    private static final int[][] DIRECTIONS = {{0, -1}, {0, 1}, {-1, 0}, {1, 0}};
+    private static final MoveAction.Direction[] MOVES = {
+        MoveAction.Direction.UP, MoveAction.Direction.DOWN,
+        MoveAction.Direction.LEFT, MoveAction.Direction.RIGHT
+    };
+
+    private final PlayMode playMode;
+    private final int ticksPerStep;
+    private final Set<DungeonObject> searched = Collections.newSetFromMap(new IdentityHashMap<>());
+    private Hall scriptedHall;
+    private int ticksUntilStep = 0;
+    // Search buffers, sized for the current hall and reused between steps
+    private int[] firstStep = new int[0];
+    private int[] visitedStamp = new int[0];
+    private int[] queue = new int[0];
+    private int stamp = 0;
+
+    public ScriptedInputProvider(PlayMode playMode, int ticksPerStep) {
+        if (ticksPerStep <= 0) {
+            throw new IllegalArgumentException("ticksPerStep must be positive");
+        }
+        this.playMode = playMode;
+        this.ticksPerStep = ticksPerStep;
+    }
+
+    @Override
+    public List<IAction> pollActions() {
+        if (ticksUntilStep > 0) {
+            ticksUntilStep--;
+            return Collections.emptyList();
+        }
+
+        IAction action = nextAction();
+        if (action == null) {
+            return Collections.emptyList();
+        }
+        ticksUntilStep = ticksPerStep - 1;
+        return List.of(action);
+    }
+
+    @Override
+    public void clearActions() {
+        ticksUntilStep = 0;
+    }
+
+    private IAction nextAction() {
+        Hall hall = playMode.getCurrentHall();
+        Hero hero = playMode.getHero();
+        if (hall == null || hero == null || hero.getPosition() == null) {
+            return null;
+        }
+        if (hall != scriptedHall) {
+            scriptedHall = hall;
+            searched.clear();
+            int cells = hall.getWidth() * hall.getHeight();
+            if (queue.length < cells) {
+                firstStep = new int[cells];
+                visitedStamp = new int[cells];
+                queue = new int[cells];
+                stamp = 0;
+            }
+        }
+
+        Position heroPos = hero.getPosition();
+        Rune rune = hall.getRune();
+        boolean runeVisible = rune != null && rune.isRevealed() && !rune.isCollected();
+
+        if (!runeVisible) {
+            // Search any unsearched object right next to the hero first
+            for (int[] dir : DIRECTIONS) {
+                Position next = hall.getPosition(heroPos.getX() + dir[0], heroPos.getY() + dir[1]);
+                if (next == null) {
+                    continue;
+                }
+                DungeonObject object = hall.getObjectAt(next);
+                if (object != null && !searched.contains(object)) {
+                    searched.add(object);
+                    return new SearchAction(next);
+                }
+            }
+        }
+
+        int direction = firstStepTowardsGoal(hall, heroPos, runeVisible ? rune.getPosition() : null);
+        return direction < 0 ? null : new MoveAction(MOVES[direction]);
+    }
+
+    /**
+     * Breadth-first search from the hero to the nearest goal cell. The goal is
+     * the rune cell when runeTarget is set, otherwise any walkable cell next to
+     * an unsearched object.
+     *
+     * @effects
+     *   - Returns the index into MOVES of the first step on a shortest path, or
+     *     -1 if no goal is reachable
+     */
+    private int firstStepTowardsGoal(Hall hall, Position heroPos, Position runeTarget) {
+        int width = hall.getWidth();
+        int height = hall.getHeight();
+        Cell[][] grid = hall.getGrid();
+        int start = hall.toIndex(heroPos.getX(), heroPos.getY());
+
+        // A fresh stamp marks every cell unvisited without clearing the array
+        if (++stamp == 0) {
+            Arrays.fill(visitedStamp, 0);
+            stamp = 1;
+        }
+        int head = 0;
+        int tail = 0;
+        visitedStamp[start] = stamp;
+        firstStep[start] = -1;
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int current = queue[head++];
+            int x = hall.indexX(current);
+            int y = hall.indexY(current);
+
+            if (current != start && isGoal(hall, grid, x, y, runeTarget)) {
+                return firstStep[current];
+            }
+
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                int nx = x + DIRECTIONS[d][0];
+                int ny = y + DIRECTIONS[d][1];
+                if (nx < 0 || ny < 0 || nx >= width || ny >= height) {
+                    continue;
+                }
+                int next = hall.toIndex(nx, ny);
+                if (visitedStamp[next] == stamp || !isWalkable(grid[nx][ny])) {
+                    continue;
+                }
+                visitedStamp[next] = stamp;
+                firstStep[next] = current == start ? d : firstStep[current];
+                queue[tail++] = next;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isGoal(Hall hall, Cell[][] grid, int x, int y, Position runeTarget) {
+        if (runeTarget != null) {
+            return runeTarget.getX() == x && runeTarget.getY() == y;
+        }
+        for (int[] dir : DIRECTIONS) {
+            int nx = x + dir[0];
+            int ny = y + dir[1];
+            if (nx < 0 || ny < 0 || nx >= hall.getWidth() || ny >= hall.getHeight()) {
+                continue;
+            }
+            Object content = grid[nx][ny].getContent();
+            if (content instanceof DungeonObject && !searched.contains(content)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWalkable(Cell cell) {
+        Object content = cell.getContent();
+        return content == null || content instanceof Rune;
+    }
+}
@@ -0,0 +1,229 @@
+package com.rokue.game.render;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+
+import com.rokue.game.util.LatencyHistogram;
+
+/**
+ * Decodes the images of the game once, on a pool of loader threads, and
+ * shares them between every UI.
+ *
+ * Each asset has one future, created by the first request for it, so an
+ * image is decoded at most once however many screens ask for it and however
+ * often GameSystem rebuilds them. preloadAll starts every known asset at
+ * startup, so by the time a screen is built its images are usually ready and
+ * getImage returns without blocking.
+ *
+ * Every path is resolved on the classpath. The older forms used across the
+ * code ("src/main/resources/assets/x.png", "assets/x.png") are mapped to
+ * "/assets/x.png", so saved DungeonObject paths keep working.
+ *
+ * Safe to use from any thread.
+ */
+public final class AssetManager {
+    private static final String SOURCE_ROOT = "src/main/resources/";
+
+    /**
+     * Every image a screen loads, decoded by preloadAll at startup.
+     */
+    public static final List<String> IMAGES = List.of(
+        // Main menu
+        "/assets/logo.png", "/assets/playbutton.png", "/assets/helpbutton.png", "/assets/quitbutton.png",
+        "/assets/loadbutton.png", "/assets/background.jpg", "/assets/animatedmomo.png",
+        "/assets/wooden_texture.jpeg", "/assets/backbutton.png",
+        // Build mode
+        "/assets/background.png", "/assets/banner.png", "/assets/surround_brick.png",
+        "/assets/fill_button.png", "/assets/clear_button.png", "/assets/left_arrow.png",
+        "/assets/right_arrow.png",
+        "/assets/pillar.png", "/assets/hole.png", "/assets/box.png", "/assets/crate.png",
+        "/assets/torch.png", "/assets/skull.png", "/assets/chest.png", "/assets/potion.png",
+        // Play mode
+        "/assets/player.png", "/assets/rune.png", "/assets/archer.png", "/assets/fighter.png",
+        "/assets/wizard.png", "/assets/cloak.png", "/assets/reveal.png", "/assets/lure.png",
+        "/assets/extra_life.png", "/assets/clock.png",
+        "/assets/pausebutton.png", "/assets/resumebutton.png", "/assets/savebutton.png",
+        "/assets/returnToMain.png", "/assets/Inventory.png", "/assets/heart.png", "/assets/rclock.png",
+        "/assets/watercomplete.png", "/assets/earthcomplete.png", "/assets/aircomplete.png",
+        "/assets/final_bg.png"
+    );
+
+    private static final AssetManager SHARED = new AssetManager(Runtime.getRuntime().availableProcessors());
+
+    private final ExecutorService loader;
+    private final ConcurrentMap<String, CompletableFuture<BufferedImage>> images = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ImageIcon> icons = new ConcurrentHashMap<>();
+    private final LatencyHistogram decodeTimes = new LatencyHistogram();
+    private final LatencyHistogram waitTimes = new LatencyHistogram();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile long preloadNanos = -1;
+
+    /**
+     * @requires threads > 0
+     * @effects Creates an empty cache decoding on threads daemon threads
+     */
+    public AssetManager(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        this.loader = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "asset-loader-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // The cache every screen shares
+    public static AssetManager getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the classpath path of an asset.
+     *
+     * @requires path != null
+     * @effects Strips a leading "src/main/resources/" and makes the path
+     *          absolute, e.g. "src/main/resources/assets/box.png" and
+     *          "assets/box.png" both become "/assets/box.png"
+     */
+    public static String resourcePath(String path) {
+        String resource = path.replace('\\', '/');
+        int root = resource.indexOf(SOURCE_ROOT);
+        if (root >= 0) {
+            resource = resource.substring(root + SOURCE_ROOT.length());
+        }
+        return resource.startsWith("/") ? resource : "/" + resource;
+    }
+
+    /**
+     * Returns the future of the asset at path, starting its decode if no
+     * one asked for it before.
+     *
+     * @effects The future completes with null if the asset is missing or
+     *          cannot be decoded; the failure is reported on stderr once
+     */
+    public CompletableFuture<BufferedImage> load(String path) {
+        String resource = resourcePath(path);
+        CompletableFuture<BufferedImage> image = images.get(resource);
+        if (image != null) {
+            hits.incrementAndGet();
+            return image;
+        }
+        return images.computeIfAbsent(resource, key -> {
+            misses.incrementAndGet();
+            return CompletableFuture.supplyAsync(() -> decode(key), loader);
+        });
+    }
+
+    /**
+     * Starts decoding every asset in paths.
+     *
+     * @effects Returns a future that completes once all of them are decoded,
+     *          and records how long that took for getPreloadNanos()
+     */
+    public CompletableFuture<Void> preloadAll(Collection<String> paths) {
+        long start = System.nanoTime();
+        CompletableFuture<?>[] loads = new CompletableFuture<?>[paths.size()];
+        int i = 0;
+        for (String path : paths) {
+            loads[i++] = load(path);
+        }
+        return CompletableFuture.allOf(loads).thenRun(() -> preloadNanos = System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the decoded asset at path, waiting for it if it is still
+     * being decoded.
+     *
+     * @effects Returns null if the asset is missing or unreadable. Time spent
+     *          waiting is recorded in getWaitTimes().
+     */
+    public BufferedImage getImage(String path) {
+        CompletableFuture<BufferedImage> image = load(path);
+        if (image.isDone()) {
+            return image.join();
+        }
+        long start = System.nanoTime();
+        BufferedImage decoded = image.join();
+        waitTimes.record(System.nanoTime() - start);
+        return decoded;
+    }
+
+    /**
+     * Returns a shared icon of the asset at path.
+     *
+     * @effects Returns an icon without an image if the asset is missing or
+     *          unreadable, so callers can use it like any other icon. Icons
+     *          of missing assets are not cached.
+     */
+    public ImageIcon getIcon(String path) {
+        String resource = resourcePath(path);
+        ImageIcon icon = icons.get(resource);
+        if (icon != null) {
+            return icon;
+        }
+        BufferedImage image = getImage(resource);
+        if (image == null) {
+            return new ImageIcon();
+        }
+        return icons.computeIfAbsent(resource, key -> new ImageIcon(image));
+    }
+
+    private BufferedImage decode(String resource) {
+        long start = System.nanoTime();
+        try (InputStream in = AssetManager.class.getResourceAsStream(resource)) {
+            BufferedImage image = in != null ? ImageIO.read(in) : null;
+            if (image == null) {
+                System.err.println("Asset not found: " + resource);
+            }
+            return image;
+        } catch (IOException e) {
+            System.err.println("Error loading asset " + resource + ": " + e.getMessage());
+            return null;
+        } finally {
+            decodeTimes.record(System.nanoTime() - start);
+        }
+    }
+
+    // Time taken by the last preloadAll, or -1 if none has finished yet
+    public long getPreloadNanos() {
+        return preloadNanos;
+    }
+
+    // Time taken to decode each asset, on the loader threads
+    public LatencyHistogram getDecodeTimes() {
+        return decodeTimes;
+    }
+
+    // Time callers were blocked in getImage on an asset that was not ready
+    public LatencyHistogram getWaitTimes() {
+        return waitTimes;
+    }
+
+    // Requests served by an existing future
+    public long getHits() {
+        return hits.get();
+    }
+
+    // Requests that started a decode
+    public long getMisses() {
+        return misses.get();
+    }
+
+    // Number of assets requested so far, decoded or not
+    public int size() {
+        return images.size();
+    }
+}
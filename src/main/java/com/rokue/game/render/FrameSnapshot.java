@@ -0,0 +1,224 @@
+package com.rokue.game.render;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.rokue.game.entities.DungeonObject;
+import com.rokue.game.entities.Hall;
+import com.rokue.game.entities.Hero;
+import com.rokue.game.entities.Rune;
+import com.rokue.game.entities.enchantments.CloakOfProtection;
+import com.rokue.game.entities.enchantments.Enchantment;
+import com.rokue.game.entities.enchantments.ExtraLife;
+import com.rokue.game.entities.enchantments.ExtraTime;
+import com.rokue.game.entities.enchantments.LuringGem;
+import com.rokue.game.entities.enchantments.Reveal;
+import com.rokue.game.entities.monsters.ArcherMonster;
+import com.rokue.game.entities.monsters.FighterMonster;
+import com.rokue.game.entities.monsters.Monster;
+import com.rokue.game.entities.monsters.WizardMonster;
+import com.rokue.game.util.Position;
+
+/**
+ * What one frame of play mode shows, copied out of the game state.
+ *
+ * The game loop captures a snapshot at the end of every tick and publishes
+ * it; renderers on any thread draw from the snapshot and never read the
+ * halls, which the loop keeps changing. Every field is final and every list
+ * is an unmodifiable copy.
+ *
+ * Objects rarely change, so a snapshot shares the object list of the previous
+ * one while the hall and its object version stay the same.
+ */
+public final class FrameSnapshot {
+    private final Hall hall;
+    private final int objectVersion;
+    private final List<DungeonObject> objects;
+    private final Position runePosition;
+    private final List<Sprite> sprites;
+    private final Position heroPosition;
+    private final int lives;
+    private final int remainingTime;
+    private final List<String> inventory;
+
+    private FrameSnapshot(Hall hall, int objectVersion, List<DungeonObject> objects, Position runePosition,
+                         List<Sprite> sprites, Position heroPosition, int lives, int remainingTime,
+                         List<String> inventory) {
+        this.hall = hall;
+        this.objectVersion = objectVersion;
+        this.objects = objects;
+        this.runePosition = runePosition;
+        this.sprites = sprites;
+        this.heroPosition = heroPosition;
+        this.lives = lives;
+        this.remainingTime = remainingTime;
+        this.inventory = inventory;
+    }
+
+    /**
+     * Copies the drawable state of hall and hero.
+     *
+     * @requires
+     *   - hall != null and hero != null
+     *   - Called on the thread that updates hall, between ticks
+     *
+     * @effects
+     *   - Reuses previous's object list if previous shows the same hall at
+     *     the same object version; previous may be null
+     */
+    public static FrameSnapshot capture(Hall hall, Hero hero, int remainingTime, FrameSnapshot previous) {
+        int objectVersion = hall.getObjectVersion();
+        List<DungeonObject> objects;
+        if (previous != null && previous.hall == hall && previous.objectVersion == objectVersion) {
+            objects = previous.objects;
+        } else {
+            objects = Collections.unmodifiableList(new ArrayList<>(hall.getObjects()));
+        }
+
+        Rune rune = hall.getRune();
+        Position runePosition = rune != null && rune.isRevealed() && !rune.isCollected()
+            ? rune.getPosition() : null;
+
+        List<Sprite> sprites = new ArrayList<>();
+        for (Monster monster : hall.getMonsters()) {
+            String id = spriteId(monster);
+            if (id != null) {
+                sprites.add(new Sprite(id, monster.getPosition(), false));
+            }
+        }
+        for (Enchantment enchantment : hall.getEnchantments()) {
+            String id = spriteId(enchantment);
+            if (id != null && !enchantment.isCollected()) {
+                sprites.add(new Sprite(id, enchantment.getPosition(), true));
+            }
+        }
+
+        Hero shown = hall.getHero();
+        return new FrameSnapshot(hall, objectVersion, objects, runePosition,
+                                 Collections.unmodifiableList(sprites),
+                                 shown != null ? shown.getPosition() : null,
+                                 hero.getLives(), remainingTime,
+                                 Collections.unmodifiableList(new ArrayList<>(hero.getInventory())));
+    }
+
+    /**
+     * Returns the SpriteAtlas id of monster, or null if it has no sprite.
+     */
+    public static String spriteId(Monster monster) {
+        if (monster instanceof ArcherMonster) {
+            return "archer";
+        } else if (monster instanceof FighterMonster) {
+            return "fighter";
+        } else if (monster instanceof WizardMonster) {
+            return "wizard";
+        }
+        return null;
+    }
+
+    /**
+     * Returns the SpriteAtlas id of enchantment, or null if it has no sprite.
+     * Enchantments that go to the inventory share their id with the
+     * inventory item.
+     */
+    public static String spriteId(Enchantment enchantment) {
+        if (enchantment instanceof CloakOfProtection) {
+            return "CLOAK";
+        } else if (enchantment instanceof Reveal) {
+            return "REVEAL";
+        } else if (enchantment instanceof LuringGem) {
+            return "LURE";
+        } else if (enchantment instanceof ExtraLife) {
+            return "extra_life";
+        } else if (enchantment instanceof ExtraTime) {
+            return "extra_time";
+        }
+        return null;
+    }
+
+    // The hall shown; only compare it by identity, its contents belong to the game loop
+    public Hall getHall() {
+        return hall;
+    }
+
+    public int getObjectVersion() {
+        return objectVersion;
+    }
+
+    public List<DungeonObject> getObjects() {
+        return objects;
+    }
+
+    // Position of the revealed rune, or null if it is hidden or collected
+    public Position getRunePosition() {
+        return runePosition;
+    }
+
+    // Monsters, then enchantments still on the floor
+    public List<Sprite> getSprites() {
+        return sprites;
+    }
+
+    /**
+     * Returns whether an enchantment the hero can pick up is shown at (x, y).
+     */
+    public boolean hasEnchantmentAt(int x, int y) {
+        for (Sprite sprite : sprites) {
+            if (sprite.enchantment && sprite.x == x && sprite.y == y) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Position of the hero in the hall, or null if it is not in the hall
+    public Position getHeroPosition() {
+        return heroPosition;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public int getRemainingTime() {
+        return remainingTime;
+    }
+
+    public List<String> getInventory() {
+        return inventory;
+    }
+
+    /**
+     * A sprite id at a cell of the hall.
+     */
+    public static final class Sprite {
+        private final String id;
+        private final int x;
+        private final int y;
+        private final boolean enchantment;
+
+        Sprite(String id, Position position, boolean enchantment) {
+            this.id = id;
+            this.x = position.getX();
+            this.y = position.getY();
+            this.enchantment = enchantment;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        // True for an enchantment on the floor, false for a monster
+        public boolean isEnchantment() {
+            return enchantment;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.rokue.game.render;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cell-sized sprites packed into one image that matches the screen.
+ *
+ * Every sprite is scaled once to the cell size and copied into a grid of
+ * cells, so drawing one is a 1:1 copy from a compatible image instead of a
+ * rescale on every frame. The table from sprite id to its rectangle in the
+ * atlas is rebuilt together with the image, and only when the cell size
+ * changes.
+ *
+ * The atlas is not thread safe; renderers use it from the EDT.
+ */
+public final class SpriteAtlas {
+    private final Map<String, BufferedImage> sources;
+    private final Map<String, Rectangle> regions = new LinkedHashMap<>();
+    private BufferedImage image;
+    private int cellWidth;
+    private int cellHeight;
+    private int buildCount;
+
+    /**
+     * @requires sources does not contain null values
+     * @effects Creates an empty atlas of sources; nothing is packed until the
+     *          first call to ensureCellSize
+     */
+    public SpriteAtlas(Map<String, BufferedImage> sources) {
+        this.sources = new LinkedHashMap<>(sources);
+    }
+
+    /**
+     * Reads sprites from the classpath through the shared AssetManager.
+     *
+     * @requires resources maps sprite ids to classpath paths such as
+     *           "/assets/player.png"
+     * @effects Returns an atlas of every sprite that could be read. Missing or
+     *          unreadable resources are reported on stderr and left out.
+     */
+    public static SpriteAtlas fromResources(Map<String, String> resources) {
+        return fromResources(resources, AssetManager.getShared());
+    }
+
+    /**
+     * Reads sprites from the classpath through assets.
+     *
+     * @requires resources maps sprite ids to classpath paths and assets != null
+     * @effects Same as fromResources(resources), but decoded images come from
+     *          and stay in assets
+     */
+    public static SpriteAtlas fromResources(Map<String, String> resources, AssetManager assets) {
+        Map<String, BufferedImage> sources = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : resources.entrySet()) {
+            BufferedImage sprite = assets.getImage(entry.getValue());
+            if (sprite != null) {
+                sources.put(entry.getKey(), sprite);
+            }
+        }
+        return new SpriteAtlas(sources);
+    }
+
+    /**
+     * Packs the atlas for the given cell size, unless it already is.
+     *
+     * @requires cellWidth > 0 and cellHeight > 0
+     * @modifies this
+     * @effects
+     *   - Returns true if the atlas was rebuilt, false if it already holds
+     *     sprites of this size
+     *   - The new image is created compatible with config, or as an ARGB
+     *     image when config is null (e.g. before the component is shown)
+     */
+    public boolean ensureCellSize(int cellWidth, int cellHeight, GraphicsConfiguration config) {
+        if (image != null && this.cellWidth == cellWidth && this.cellHeight == cellHeight) {
+            return false;
+        }
+
+        int count = Math.max(1, sources.size());
+        int columns = (int) Math.ceil(Math.sqrt(count));
+        int rows = (count + columns - 1) / columns;
+        int width = columns * cellWidth;
+        int height = rows * cellHeight;
+        BufferedImage packed = config != null
+                ? config.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+        regions.clear();
+        Graphics2D g = packed.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            int slot = 0;
+            for (Map.Entry<String, BufferedImage> entry : sources.entrySet()) {
+                Rectangle region = new Rectangle((slot % columns) * cellWidth, (slot / columns) * cellHeight,
+                                                 cellWidth, cellHeight);
+                g.drawImage(entry.getValue(), region.x, region.y, region.width, region.height, null);
+                regions.put(entry.getKey(), region);
+                slot++;
+            }
+        } finally {
+            g.dispose();
+        }
+
+        image = packed;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        buildCount++;
+        return true;
+    }
+
+    /**
+     * Draws sprite id with its top left corner at (x, y), at the cell size
+     * the atlas was packed for.
+     *
+     * @effects Returns false and draws nothing if the atlas is not packed yet
+     *          or has no sprite id
+     */
+    public boolean draw(Graphics g, String id, int x, int y) {
+        Rectangle region = regions.get(id);
+        if (region == null) {
+            return false;
+        }
+        g.drawImage(image, x, y, x + region.width, y + region.height,
+                    region.x, region.y, region.x + region.width, region.y + region.height, null);
+        return true;
+    }
+
+    /**
+     * Returns the rectangle of sprite id in getImage(), or null if there is
+     * none.
+     */
+    public Rectangle getRegion(String id) {
+        Rectangle region = regions.get(id);
+        return region != null ? new Rectangle(region) : null;
+    }
+
+    // Unmodifiable view of the id to rectangle table
+    public Map<String, Rectangle> getRegions() {
+        return Collections.unmodifiableMap(regions);
+    }
+
+    public boolean contains(String id) {
+        return sources.containsKey(id);
+    }
+
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    public int getCellWidth() {
+        return cellWidth;
+    }
+
+    public int getCellHeight() {
+        return cellHeight;
+    }
+
+    // Number of times the atlas has been packed
+    public int getBuildCount() {
+        return buildCount;
+    }
+}
@@ -0,0 +1,696 @@
+package com.rokue.game.save;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.rokue.game.entities.DungeonObject;
+import com.rokue.game.entities.Hall;
+import com.rokue.game.entities.Hero;
+import com.rokue.game.entities.Rune;
+import com.rokue.game.entities.enchantments.Enchantment;
+import com.rokue.game.entities.enchantments.ExtraTime;
+import com.rokue.game.entities.monsters.Monster;
+import com.rokue.game.entities.monsters.WizardMonster;
+import com.rokue.game.events.EventManager;
+import com.rokue.game.util.GameLog;
+import com.rokue.game.util.Position;
+
+/**
+ * Crash recovery for a running game: a full checkpoint plus a journal of the
+ * changes made since.
+ *
+ * The checkpoint is an ordinary binary save prefixed with a generation
+ * number. The journal is a pre-allocated, memory-mapped file:
+ *
+ *   header (16 bytes): int MAGIC, int VERSION, long generation
+ *   records: byte type, then varint arguments; a zero type byte ends the journal
+ *
+ * Most records are three or four bytes. A record is written arguments first,
+ * then a zero byte after it, then its type byte, so a crash part way through
+ * leaves the journal ending just before it. After checkpointInterval records,
+ * or when the journal is nearly full, isCheckpointDue() turns true and the
+ * owner writes a new checkpoint, which empties the journal.
+ *
+ * checkpointAsync encodes and writes the checkpoint on the writer executor.
+ * Recording goes on meanwhile under the old generation. Once the new
+ * checkpoint is in place, the records made after its snapshot are moved to
+ * the front of the journal and the journal takes the new generation.
+ *
+ * Recovery decodes the checkpoint and replays the journal onto it, but only
+ * if both carry the same generation. A crash between writing a checkpoint and
+ * moving the journal over leaves the older generation in the journal, so
+ * recovery falls back to the checkpoint alone.
+ *
+ * Nothing is recorded before the first checkpoint. Record methods never throw
+ * and may be called from any thread.
+ */
+public final class AutosaveJournal {
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 512;
+    public static final int DEFAULT_CAPACITY = 64 * 1024;
+
+    static final String JOURNAL_FILE = "autosave.journal";
+    static final String CHECKPOINT_FILE = "autosave.checkpoint";
+
+    private static final int MAGIC = 0x524B4A4E; // "RKJN"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    // Type byte and up to four varints of at most five bytes each
+    private static final int MAX_RECORD_SIZE = 21;
+    // Inventory items by their code in INVENTORY records, minus one
+    private static final String[] ITEMS = {"CLOAK", "REVEAL", "LURE"};
+    private static final int MAX_ITEMS = MAX_RECORD_SIZE - 2;
+
+    static final int END = 0;
+    static final int HERO_MOVED = 1;
+    static final int OBJECT_REMOVED = 2;
+    static final int MONSTER_SPAWNED = 3;
+    static final int ENCHANTMENT_SPAWNED = 4;
+    static final int ENCHANTMENT_REMOVED = 5;
+    static final int RUNE_REVEALED = 6;
+    static final int RUNE_HIDDEN = 7;
+    static final int HALL_ADVANCED = 8;
+    static final int LIVES = 9;
+    static final int TIME = 10;
+    static final int ENCHANTMENT_COLLECTED = 11;
+    static final int INVENTORY = 12;
+
+    private final Path directory;
+    private final int checkpointInterval;
+    private final int capacity;
+    private final Executor writer;
+    private final byte[] record = new byte[MAX_RECORD_SIZE];
+    private int recordLength;
+
+    private FileChannel channel;
+    private MappedByteBuffer journal;
+    private long generation;
+    private int writePosition;
+    private int recordsSinceCheckpoint;
+    private int lastTime = -1;
+    private boolean closed;
+    private boolean discarded;
+    // Generation of the checkpoint being written, or 0 if none is
+    private long pendingGeneration;
+    // Journal position and record count when its snapshot was taken
+    private int pendingPosition;
+    private int pendingRecords;
+
+    public AutosaveJournal(Path directory) {
+        this(directory, Runnable::run);
+    }
+
+    /**
+     * @effects checkpointAsync writes checkpoints on writer
+     */
+    public AutosaveJournal(Path directory, Executor writer) {
+        this(directory, DEFAULT_CHECKPOINT_INTERVAL, DEFAULT_CAPACITY, writer);
+    }
+
+    /**
+     * @requires
+     *   - checkpointInterval > 0
+     *   - capacity > HEADER_SIZE + MAX_RECORD_SIZE
+     */
+    public AutosaveJournal(Path directory, int checkpointInterval, int capacity) {
+        this(directory, checkpointInterval, capacity, Runnable::run);
+    }
+
+    public AutosaveJournal(Path directory, int checkpointInterval, int capacity, Executor writer) {
+        this.directory = directory;
+        this.checkpointInterval = checkpointInterval;
+        this.capacity = capacity;
+        this.writer = writer;
+    }
+
+    /**
+     * Returns true if there has been no checkpoint yet, checkpointInterval
+     * records have been written since the last one, or the journal is full.
+     * Never true while a checkpoint is being written.
+     */
+    public synchronized boolean isCheckpointDue() {
+        if (closed || pendingGeneration != 0) {
+            return false;
+        }
+        return journal == null
+            || recordsSinceCheckpoint >= checkpointInterval
+            || writePosition + MAX_RECORD_SIZE + 1 > capacity;
+    }
+
+    /**
+     * Replaces the checkpoint with snapshot and empties the journal, on the
+     * calling thread.
+     *
+     * @effects
+     *   - Creates and pre-allocates the journal file on the first call
+     *   - Does nothing once the journal is closed, or while another
+     *     checkpoint is being written
+     *   - The new checkpoint is in place before the journal is emptied, so
+     *     a crash at any point leaves something recoverable
+     */
+    public void checkpoint(SaveSnapshot snapshot) throws IOException {
+        long next = startCheckpoint(snapshot);
+        if (next != 0) {
+            writeCheckpoint(next, snapshot);
+        }
+    }
+
+    /**
+     * Replaces the checkpoint with snapshot on the writer executor.
+     *
+     * @requires
+     *   - snapshot was captured just now, so the journal holds nothing newer
+     *
+     * @effects
+     *   - Returns at once with a future that completes when the checkpoint
+     *     is in place, or exceptionally if it could not be written
+     *   - Records made until then are kept, and the journal continues from
+     *     them under the new generation
+     *   - If the write fails, the old checkpoint and journal stay in use and
+     *     the next checkpoint is due at once
+     */
+    public CompletableFuture<Void> checkpointAsync(SaveSnapshot snapshot) {
+        long next;
+        try {
+            next = startCheckpoint(snapshot);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (next == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        writer.execute(() -> {
+            try {
+                writeCheckpoint(next, snapshot);
+                result.complete(null);
+            } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Marks where the journal stands at snapshot and returns the generation
+     * of its checkpoint, or 0 if no checkpoint should be written.
+     */
+    private synchronized long startCheckpoint(SaveSnapshot snapshot) throws IOException {
+        if (closed || pendingGeneration != 0) {
+            return 0;
+        }
+        if (journal == null) {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(directory.resolve(JOURNAL_FILE), StandardOpenOption.CREATE,
+                                       StandardOpenOption.READ, StandardOpenOption.WRITE);
+            journal = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            // Start past any generation an earlier session wrote, so its journal never matches
+            generation = System.currentTimeMillis();
+            if (journal.getInt(0) == MAGIC) {
+                generation = Math.max(generation, journal.getLong(8));
+            }
+            generation++;
+            // Recording starts now, under a generation no checkpoint has
+            journal.put(HEADER_SIZE, (byte) END);
+            journal.putInt(0, MAGIC);
+            journal.putInt(4, VERSION);
+            journal.putLong(8, generation);
+            writePosition = HEADER_SIZE;
+            recordsSinceCheckpoint = 0;
+        }
+        pendingGeneration = generation + 1;
+        pendingPosition = writePosition;
+        pendingRecords = recordsSinceCheckpoint;
+        lastTime = snapshot.getRemainingTime();
+        return pendingGeneration;
+    }
+
+    private void writeCheckpoint(long next, SaveSnapshot snapshot) throws IOException {
+        boolean written = false;
+        try {
+            byte[] save = BinarySaveFormat.encode(snapshot);
+            byte[] file = new byte[Long.BYTES + save.length];
+            ByteBuffer.wrap(file).putLong(next).put(save);
+            Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+            Path temp = directory.resolve("." + CHECKPOINT_FILE + ".tmp");
+            try {
+                Files.write(temp, file);
+                GameSaveManager.moveIntoPlace(temp, checkpoint);
+                written = true;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } finally {
+            finishCheckpoint(next, written);
+        }
+    }
+
+    /**
+     * Moves the records made since the snapshot of checkpoint next to the
+     * front of the journal and switches it to generation next.
+     */
+    private synchronized void finishCheckpoint(long next, boolean written) throws IOException {
+        if (pendingGeneration != next) {
+            return;
+        }
+        pendingGeneration = 0;
+        if (!written) {
+            return;
+        }
+        if (discarded) {
+            // The game ended while this was being written
+            Files.deleteIfExists(directory.resolve(CHECKPOINT_FILE));
+            return;
+        }
+        if (journal == null) {
+            return;
+        }
+        // The journal does not match the new checkpoint until its generation changes, so order is free here
+        int tail = writePosition - pendingPosition;
+        for (int i = 0; i < tail; i++) {
+            journal.put(HEADER_SIZE + i, journal.get(pendingPosition + i));
+        }
+        journal.put(HEADER_SIZE + tail, (byte) END);
+        journal.putLong(8, next);
+        generation = next;
+        writePosition = HEADER_SIZE + tail;
+        recordsSinceCheckpoint -= pendingRecords;
+    }
+
+    public synchronized void heroMoved(Position position) {
+        if (position != null) {
+            begin(HERO_MOVED);
+            putPosition(position);
+            end();
+        }
+    }
+
+    /**
+     * Records that the object covering position was removed from the current hall.
+     */
+    public synchronized void objectRemoved(Position position) {
+        begin(OBJECT_REMOVED);
+        putPosition(position);
+        end();
+    }
+
+    public synchronized void monsterSpawned(Monster monster) {
+        begin(MONSTER_SPAWNED);
+        putVarInt(SaveSnapshot.monsterKind(monster));
+        putPosition(monster.getPosition());
+        if (monster instanceof WizardMonster) {
+            putVarInt(((WizardMonster) monster).getTotalTime());
+        }
+        end();
+    }
+
+    public synchronized void enchantmentSpawned(Enchantment enchantment) {
+        begin(ENCHANTMENT_SPAWNED);
+        int kind = SaveSnapshot.enchantmentKind(enchantment);
+        putVarInt(kind);
+        putPosition(enchantment.getPosition());
+        if (enchantment instanceof ExtraTime) {
+            putVarInt(((ExtraTime) enchantment).getTimeToAdd());
+        }
+        end();
+    }
+
+    public synchronized void enchantmentRemoved(Enchantment enchantment) {
+        begin(ENCHANTMENT_REMOVED);
+        putPosition(enchantment.getPosition());
+        end();
+    }
+
+    /**
+     * Records that the hero picked up the enchantment at position. The
+     * inventory and lives it changed are recorded separately.
+     */
+    public synchronized void enchantmentCollected(Position position) {
+        begin(ENCHANTMENT_COLLECTED);
+        putPosition(position);
+        end();
+    }
+
+    /**
+     * Records the hero's whole inventory after it changed.
+     *
+     * @requires inventory holds only "CLOAK", "REVEAL" and "LURE"
+     * @effects Unknown items and items past the first MAX_ITEMS are left out
+     */
+    public synchronized void inventoryChanged(List<String> inventory) {
+        begin(INVENTORY);
+        int countAt = recordLength++;
+        int count = 0;
+        for (String item : inventory) {
+            int code = itemCode(item);
+            if (code > 0 && count < MAX_ITEMS) {
+                record[recordLength++] = (byte) code;
+                count++;
+            }
+        }
+        record[countAt] = (byte) count;
+        end();
+    }
+
+    /**
+     * Records that the rune was found at position, before its object is removed.
+     */
+    public synchronized void runeRevealed(Position position) {
+        begin(RUNE_REVEALED);
+        putPosition(position);
+        end();
+    }
+
+    /**
+     * Records that rune is now hidden under a different object.
+     */
+    public synchronized void runeHidden(Rune rune) {
+        DungeonObject hiddenUnder = rune.getHiddenUnder();
+        if (hiddenUnder != null && hiddenUnder.getPosition() != null) {
+            begin(RUNE_HIDDEN);
+            putPosition(hiddenUnder.getPosition());
+            end();
+        }
+    }
+
+    /**
+     * Records the move to the next hall after a rune was collected, with the
+     * hero's position in the new hall.
+     */
+    public synchronized void hallAdvanced(Position heroPosition) {
+        begin(HALL_ADVANCED);
+        putPosition(heroPosition);
+        end();
+    }
+
+    public synchronized void livesChanged(int lives) {
+        begin(LIVES);
+        putVarInt(Math.max(0, lives));
+        end();
+    }
+
+    /**
+     * Records the remaining time if it changed since the last call.
+     * Cheap enough to call every tick.
+     */
+    public synchronized void timeChanged(int remainingTime) {
+        if (remainingTime != lastTime && remainingTime >= 0) {
+            lastTime = remainingTime;
+            begin(TIME);
+            putVarInt(remainingTime);
+            end();
+        }
+    }
+
+    /**
+     * Stops recording and deletes the checkpoint and journal, e.g. once the
+     * game has ended normally.
+     */
+    public synchronized void discard() {
+        close();
+        discarded = true;
+        try {
+            Files.deleteIfExists(directory.resolve(JOURNAL_FILE));
+            Files.deleteIfExists(directory.resolve(CHECKPOINT_FILE));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Stops recording and leaves the files for recovery.
+     */
+    public synchronized void close() {
+        closed = true;
+        journal = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Returns true if directory holds a checkpoint to recover from.
+     */
+    public static boolean exists(Path directory) {
+        return Files.isRegularFile(directory.resolve(CHECKPOINT_FILE));
+    }
+
+    /**
+     * Rebuilds the game as it was at the last journal record.
+     *
+     * @effects
+     *   - Returns null if there is no checkpoint
+     *   - Replays the journal only if it belongs to the checkpoint, and stops
+     *     at the first record that is torn or does not apply
+     *   - Throws SaveFormatException if the checkpoint is not readable
+     */
+    public static GameSaveData recover(Path directory, EventManager eventManager) throws IOException {
+        Path checkpointPath = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.isRegularFile(checkpointPath)) {
+            return null;
+        }
+        byte[] checkpoint = Files.readAllBytes(checkpointPath);
+        if (checkpoint.length < Long.BYTES) {
+            throw new SaveFormatException("Autosave checkpoint is truncated");
+        }
+        long generation = ByteBuffer.wrap(checkpoint).getLong();
+        GameSaveData data = BinarySaveFormat.decode(Arrays.copyOfRange(checkpoint, Long.BYTES, checkpoint.length),
+                                                    eventManager);
+
+        Path journalPath = directory.resolve(JOURNAL_FILE);
+        if (!Files.isRegularFile(journalPath)) {
+            return data;
+        }
+        byte[] journal = Files.readAllBytes(journalPath);
+        ByteBuffer header = ByteBuffer.wrap(journal);
+        if (journal.length < HEADER_SIZE || header.getInt(0) != MAGIC || header.getInt(4) != VERSION
+                || header.getLong(8) != generation) {
+            return data;
+        }
+        Replay replay = new Replay(data, eventManager);
+        replay.run(new SaveInput(journal, HEADER_SIZE, journal.length - HEADER_SIZE));
+        return replay.result();
+    }
+
+    private static int itemCode(String item) {
+        for (int i = 0; i < ITEMS.length; i++) {
+            if (ITEMS[i].equals(item)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private void begin(int type) {
+        record[0] = (byte) type;
+        recordLength = 1;
+    }
+
+    private void putPosition(Position position) {
+        putVarInt(position.getX());
+        putVarInt(position.getY());
+    }
+
+    private void putVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            record[recordLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        record[recordLength++] = (byte) value;
+    }
+
+    private void end() {
+        if (journal == null || writePosition + recordLength + 1 > capacity) {
+            // Not started, or full until the checkpoint that is now due
+            return;
+        }
+        for (int i = 1; i < recordLength; i++) {
+            journal.put(writePosition + i, record[i]);
+        }
+        journal.put(writePosition + recordLength, (byte) END);
+        journal.put(writePosition, record[0]);
+        writePosition += recordLength;
+        recordsSinceCheckpoint++;
+    }
+
+    /**
+     * Applies journal records to a decoded checkpoint, the same way PlayMode
+     * made the changes they describe.
+     */
+    private static final class Replay {
+        private final GameSaveData checkpoint;
+        private final EventManager eventManager;
+        private final Hero hero;
+        private int currentHallIndex;
+        private int remainingTime;
+        private int completedHalls;
+
+        Replay(GameSaveData checkpoint, EventManager eventManager) {
+            this.checkpoint = checkpoint;
+            this.eventManager = eventManager;
+            this.hero = checkpoint.getHero();
+            this.currentHallIndex = checkpoint.getCurrentHallIndex();
+            this.remainingTime = checkpoint.getRemainingTime();
+            this.completedHalls = checkpoint.getCompletedHalls();
+        }
+
+        void run(SaveInput in) {
+            try {
+                int type;
+                while ((type = in.readUnsignedByte()) != END) {
+                    apply(type, in, checkpoint.getHalls().get(currentHallIndex));
+                }
+            } catch (IOException | RuntimeException e) {
+                // Torn tail or a record that no longer applies; keep what was replayed
+                GameLog.info("Autosave replay stopped early: " + e.getMessage());
+            }
+        }
+
+        GameSaveData result() {
+            return new GameSaveData(checkpoint.getHalls(), currentHallIndex, hero, remainingTime, completedHalls,
+                                    checkpoint.getSkippedHalls());
+        }
+
+        private void apply(int type, SaveInput in, Hall hall) throws IOException {
+            switch (type) {
+                case HERO_MOVED:
+                    hero.setPosition(readPosition(in, hall));
+                    break;
+                case OBJECT_REMOVED:
+                    if (!hall.removeObject(readPosition(in, hall))) {
+                        throw new SaveFormatException("No object to remove in " + hall.getName());
+                    }
+                    break;
+                case MONSTER_SPAWNED: {
+                    int kind = in.readVarInt();
+                    Position position = readPosition(in, hall);
+                    int totalTime = kind == SaveSnapshot.MONSTER_WIZARD ? in.readVarInt() : 0;
+                    hall.addMonster(BinarySaveFormat.newMonster(kind, position, eventManager, hall,
+                                                                totalTime, remainingTime));
+                    break;
+                }
+                case ENCHANTMENT_SPAWNED: {
+                    int kind = in.readVarInt();
+                    Position position = readPosition(in, hall);
+                    int timeToAdd = kind == SaveSnapshot.ENCHANTMENT_EXTRA_TIME ? in.readVarInt() : 0;
+                    hall.addEnchantment(BinarySaveFormat.newEnchantment(kind, position, timeToAdd));
+                    break;
+                }
+                case ENCHANTMENT_REMOVED: {
+                    Position position = readPosition(in, hall);
+                    for (Enchantment enchantment : hall.getEnchantments()) {
+                        if (position.equals(enchantment.getPosition())) {
+                            hall.removeEnchantment(enchantment);
+                            break;
+                        }
+                    }
+                    break;
+                }
+                case RUNE_REVEALED: {
+                    Position position = readPosition(in, hall);
+                    Rune rune = requireRune(hall);
+                    rune.setRevealed(true);
+                    rune.setPosition(position);
+                    hall.getCell(position).setContent(rune);
+                    break;
+                }
+                case RUNE_HIDDEN: {
+                    DungeonObject object = hall.getObjectAt(readPosition(in, hall));
+                    if (object == null) {
+                        throw new SaveFormatException("Rune hidden under a missing object in " + hall.getName());
+                    }
+                    Rune rune = hall.getRune() != null ? hall.getRune()
+                                                       : new Rune(object.getPosition(), new SplittableRandom());
+                    rune.setHiddenUnder(object);
+                    hall.setRune(rune);
+                    break;
+                }
+                case HALL_ADVANCED: {
+                    if (currentHallIndex + 1 >= checkpoint.getHalls().size()) {
+                        throw new SaveFormatException("Advanced past the last hall");
+                    }
+                    hall.clearMonsters();
+                    hall.clearEnchantments();
+                    hall.setRune(null);
+                    hall.setHero(null);
+                    currentHallIndex++;
+                    completedHalls++;
+                    Hall next = checkpoint.getHalls().get(currentHallIndex);
+                    hero.setPosition(readPosition(in, next));
+                    next.setHero(hero);
+                    break;
+                }
+                case LIVES:
+                    hero.setLives(in.readVarInt());
+                    break;
+                case TIME:
+                    remainingTime = in.readVarInt();
+                    break;
+                case ENCHANTMENT_COLLECTED: {
+                    Position position = readPosition(in, hall);
+                    Enchantment collected = null;
+                    for (Enchantment enchantment : hall.getEnchantments()) {
+                        if (position.equals(enchantment.getPosition()) && !enchantment.isCollected()) {
+                            collected = enchantment;
+                            break;
+                        }
+                    }
+                    if (collected == null) {
+                        throw new SaveFormatException("No enchantment to collect in " + hall.getName());
+                    }
+                    collected.collect();
+                    hall.getCell(position).setContent(null);
+                    break;
+                }
+                case INVENTORY: {
+                    int count = in.readUnsignedByte();
+                    List<String> inventory = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        int code = in.readUnsignedByte();
+                        if (code < 1 || code > ITEMS.length) {
+                            throw new SaveFormatException("Unknown inventory item " + code);
+                        }
+                        inventory.add(ITEMS[code - 1]);
+                    }
+                    hero.getInventory().clear();
+                    hero.getInventory().addAll(inventory);
+                    break;
+                }
+                default:
+                    throw new SaveFormatException("Unknown journal record " + type);
+            }
+        }
+
+        private static Position readPosition(SaveInput in, Hall hall) throws IOException {
+            int x = in.readVarInt();
+            int y = in.readVarInt();
+            Position position = hall.getPosition(x, y);
+            if (position == null) {
+                throw new SaveFormatException("Position outside " + hall.getName() + ": " + x + "," + y);
+            }
+            return position;
+        }
+
+        private static Rune requireRune(Hall hall) throws SaveFormatException {
+            if (hall.getRune() == null) {
+                throw new SaveFormatException("No rune in " + hall.getName());
+            }
+            return hall.getRune();
+        }
+    }
+}
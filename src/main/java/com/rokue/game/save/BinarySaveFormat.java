@@ -0,0 +1,585 @@
+package com.rokue.game.save;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.rokue.game.entities.DungeonObject;
+import com.rokue.game.entities.Hall;
+import com.rokue.game.entities.Hero;
+import com.rokue.game.entities.Rune;
+import com.rokue.game.entities.enchantments.CloakOfProtection;
+import com.rokue.game.entities.enchantments.Enchantment;
+import com.rokue.game.entities.enchantments.ExtraLife;
+import com.rokue.game.entities.enchantments.ExtraTime;
+import com.rokue.game.entities.enchantments.LuringGem;
+import com.rokue.game.entities.enchantments.Reveal;
+import com.rokue.game.entities.monsters.ArcherMonster;
+import com.rokue.game.entities.monsters.FighterMonster;
+import com.rokue.game.entities.monsters.Monster;
+import com.rokue.game.entities.monsters.WizardMonster;
+import com.rokue.game.events.EventManager;
+import com.rokue.game.util.Position;
+
+/**
+ * Compact binary encoding of GameSaveData.
+ *
+ * Layout (all counts and coordinates are unsigned varints):
+ *
+ *   int    MAGIC
+ *   short  VERSION
+ *   varint section count
+ *   per section: byte type, byte flags, varint stored length,
+ *                varint raw length (deflated sections only), int CRC32C
+ *   section bodies, back to back in table order
+ *
+ * There is one META section, one HERO section and one HALL section per hall,
+ * in hall order. Halls store only what cannot be derived: their objects,
+ * monsters, enchantments and rune. The cell grid, occupancy and ownership
+ * layers are rebuilt by placing those again on load. Readers skip section
+ * types they do not know, so sections can be added without a version bump.
+ *
+ * Sections of MIN_DEFLATE_LENGTH bytes or more are raw-deflated at the
+ * level given to encode() when that makes them smaller, and flagged
+ * FLAG_DEFLATED. The CRC32C covers the stored bytes, so a section can be
+ * checked without inflating it. Version 1 files have neither flags nor
+ * checksums and are still read.
+ *
+ * Decoding reads the section table and the current hall only. The other
+ * halls come back as a SegmentedHallList and are decoded when first used.
+ */
+public final class BinarySaveFormat {
+    public static final int MAGIC = 0x524B5356; // "RKSV"
+    public static final int VERSION = 2;
+    // Sections are already compact; deflating four-hall saves takes about 5% off for
+    // four times the encode cost (SaveCompressionBenchmark), so it is opt-in
+    public static final int DEFAULT_LEVEL = Deflater.NO_COMPRESSION;
+
+    static final int SECTION_META = 1;
+    static final int SECTION_HERO = 2;
+    static final int SECTION_HALL = 3;
+
+    static final int FLAG_DEFLATED = 1;
+    // Deflate's block overhead outweighs what it saves on shorter sections
+    static final int MIN_DEFLATE_LENGTH = 64;
+
+    private static final int RUNE_COLLECTED = 1;
+    private static final int RUNE_REVEALED = 2;
+
+    private BinarySaveFormat() {
+    }
+
+    /**
+     * Returns true if bytes start with the binary save magic number.
+     */
+    public static boolean isBinarySave(byte[] bytes) {
+        return bytes.length >= 4
+            && ((bytes[0] & 0xFF) << 24 | (bytes[1] & 0xFF) << 16 | (bytes[2] & 0xFF) << 8 | (bytes[3] & 0xFF)) == MAGIC;
+    }
+
+    public static void write(GameSaveData data, OutputStream out) throws IOException {
+        out.write(encode(data));
+    }
+
+    /**
+     * Encodes data into a complete save file.
+     *
+     * @requires
+     *   - data, its hero and every hall are not being modified concurrently
+     */
+    public static byte[] encode(GameSaveData data) throws IOException {
+        return encode(SaveSnapshot.capture(data));
+    }
+
+    /**
+     * Encodes a snapshot into a complete save file at DEFAULT_LEVEL. Safe on
+     * any thread.
+     */
+    public static byte[] encode(SaveSnapshot snapshot) throws IOException {
+        return encode(snapshot, DEFAULT_LEVEL);
+    }
+
+    /**
+     * Encodes a snapshot into a complete save file. Safe on any thread.
+     *
+     * @requires
+     *   - level is Deflater.DEFAULT_COMPRESSION or 0 to 9
+     *
+     * @effects
+     *   - Level 0 stores every section as is; otherwise a section is stored
+     *     deflated if that makes it smaller
+     */
+    public static byte[] encode(SaveSnapshot snapshot, int level) throws IOException {
+        List<byte[]> bodies = new ArrayList<>(snapshot.halls.size() + 2);
+        List<Integer> types = new ArrayList<>(snapshot.halls.size() + 2);
+
+        SaveOutput meta = new SaveOutput();
+        meta.writeVarInt(snapshot.halls.size());
+        meta.writeVarInt(snapshot.currentHallIndex);
+        meta.writeVarInt(snapshot.remainingTime);
+        meta.writeVarInt(snapshot.completedHalls);
+        types.add(SECTION_META);
+        bodies.add(meta.toByteArray());
+
+        types.add(SECTION_HERO);
+        bodies.add(encodeHero(snapshot.hero));
+
+        for (SaveSnapshot.HallState hall : snapshot.halls) {
+            types.add(SECTION_HALL);
+            bodies.add(encodeHall(hall));
+        }
+
+        SaveOutput file = new SaveOutput();
+        file.writeInt(MAGIC);
+        file.writeShort(VERSION);
+        file.writeVarInt(bodies.size());
+        Deflater deflater = new Deflater(level, true);
+        CRC32C checksum = new CRC32C();
+        try {
+            // The table needs every stored length, so compress all sections before writing it
+            for (int i = 0; i < bodies.size(); i++) {
+                byte[] raw = bodies.get(i);
+                byte[] stored = level != Deflater.NO_COMPRESSION && raw.length >= MIN_DEFLATE_LENGTH
+                    ? deflate(deflater, raw) : raw;
+                boolean deflated = stored.length < raw.length;
+                if (!deflated) {
+                    stored = raw;
+                }
+                bodies.set(i, stored);
+                checksum.reset();
+                checksum.update(stored);
+
+                file.writeByte(types.get(i));
+                file.writeByte(deflated ? FLAG_DEFLATED : 0);
+                file.writeVarInt(stored.length);
+                if (deflated) {
+                    file.writeVarInt(raw.length);
+                }
+                file.writeInt((int) checksum.getValue());
+            }
+        } finally {
+            deflater.end();
+        }
+        for (byte[] body : bodies) {
+            file.write(body);
+        }
+        return file.toByteArray();
+    }
+
+    /**
+     * Decodes a save file, leaving every hall but the current one encoded.
+     *
+     * @effects
+     *   - Rebuilds the current hall with its grid, occupancy and ownership
+     *     layers; the others are rebuilt the same way on first access
+     *   - Checks the CRC32C of the META, HERO and HALL sections without
+     *     inflating or decoding them. A damaged hall other than the current
+     *     one is left out of the game; unknown sections are never read
+     *   - Gives the hero and every wizard eventManager; wizards get their
+     *     PlayMode later, as with Java serialized saves
+     *   - Throws SaveFormatException if bytes are not a readable save or the
+     *     META, HERO or current HALL section is damaged
+     */
+    public static GameSaveData decode(byte[] bytes, EventManager eventManager) throws IOException {
+        if (!isBinarySave(bytes)) {
+            throw new SaveFormatException("Not a binary save file");
+        }
+        SaveInput header = new SaveInput(bytes, 0, bytes.length);
+        header.readInt();
+        int version = header.readUnsignedShort();
+        if (version > VERSION) {
+            throw new SaveFormatException("Save version " + version + " is newer than supported " + VERSION);
+        }
+
+        int sectionCount = header.readVarInt();
+        // Every table entry takes at least a type byte and a length byte
+        if (sectionCount > header.available() / 2) {
+            throw new SaveFormatException("Section table of " + sectionCount + " entries does not fit the file");
+        }
+        int[] types = new int[sectionCount];
+        int[] lengths = new int[sectionCount];
+        // -1 for sections stored as is
+        int[] rawLengths = new int[sectionCount];
+        int[] checksums = new int[sectionCount];
+        for (int i = 0; i < sectionCount; i++) {
+            types[i] = header.readUnsignedByte();
+            int flags = version >= 2 ? header.readUnsignedByte() : 0;
+            lengths[i] = header.readVarInt();
+            rawLengths[i] = (flags & FLAG_DEFLATED) != 0 ? header.readVarInt() : -1;
+            checksums[i] = version >= 2 ? header.readInt() : 0;
+        }
+        int offset = bytes.length - header.available();
+
+        int hallCount = -1;
+        int currentHallIndex = -1;
+        int remainingTime = 0;
+        int completedHalls = -1;
+        int heroSection = -1;
+        int heroOffset = -1;
+        int[] hallOffsets = new int[sectionCount];
+        int[] hallLengths = new int[sectionCount];
+        int[] hallRawLengths = new int[sectionCount];
+        int hallsFound = 0;
+        List<Integer> damagedHalls = new ArrayList<>();
+        for (int i = 0; i < sectionCount; i++) {
+            if (offset + lengths[i] > bytes.length) {
+                throw new SaveFormatException("Section " + i + " runs past the end of the file");
+            }
+            boolean intact = version < 2 || types[i] > SECTION_HALL || checksum(bytes, offset, lengths[i]) == checksums[i];
+            switch (types[i]) {
+                case SECTION_META: {
+                    if (!intact) {
+                        throw new SaveFormatException("META section is damaged");
+                    }
+                    SaveInput in = sectionInput(bytes, offset, lengths[i], rawLengths[i]);
+                    hallCount = in.readVarInt();
+                    currentHallIndex = in.readVarInt();
+                    remainingTime = in.readVarInt();
+                    // Older saves end here
+                    completedHalls = in.available() > 0 ? in.readVarInt() : -1;
+                    break;
+                }
+                case SECTION_HERO:
+                    if (!intact) {
+                        throw new SaveFormatException("HERO section is damaged");
+                    }
+                    heroSection = i;
+                    heroOffset = offset;
+                    break;
+                case SECTION_HALL:
+                    if (!intact) {
+                        damagedHalls.add(hallsFound + damagedHalls.size());
+                        break;
+                    }
+                    hallOffsets[hallsFound] = offset;
+                    hallLengths[hallsFound] = lengths[i];
+                    hallRawLengths[hallsFound] = rawLengths[i];
+                    hallsFound++;
+                    break;
+                default:
+                    break; // Written by a newer build; not needed here
+            }
+            offset += lengths[i];
+        }
+
+        if (currentHallIndex < 0 || heroOffset < 0) {
+            throw new SaveFormatException("Save is missing its META or HERO section");
+        }
+        if (hallCount != hallsFound + damagedHalls.size() || currentHallIndex >= hallCount) {
+            throw new SaveFormatException("Expected " + hallCount + " halls with current hall " + currentHallIndex
+                                          + ", found " + (hallsFound + damagedHalls.size()));
+        }
+        // Play goes on without damaged halls, so the current hall's index shifts down past them
+        int savedHallIndex = currentHallIndex;
+        for (int damaged : damagedHalls) {
+            if (damaged == savedHallIndex) {
+                throw new SaveFormatException("The current hall's section is damaged");
+            }
+            if (damaged < savedHallIndex) {
+                currentHallIndex--;
+            }
+            System.err.println("Skipping damaged hall " + damaged + " of the save");
+        }
+
+        SegmentedHallList halls = new SegmentedHallList(bytes, Arrays.copyOf(hallOffsets, hallsFound),
+                                                        Arrays.copyOf(hallLengths, hallsFound),
+                                                        Arrays.copyOf(hallRawLengths, hallsFound),
+                                                        eventManager, remainingTime);
+        Hall currentHall;
+        try {
+            currentHall = halls.get(currentHallIndex);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Hero hero = decodeHero(sectionInput(bytes, heroOffset, lengths[heroSection], rawLengths[heroSection]),
+                               eventManager, currentHall);
+        return new GameSaveData(halls, currentHallIndex, hero, remainingTime,
+                                completedHalls >= 0 ? completedHalls : savedHallIndex, damagedHalls.size());
+    }
+
+    /**
+     * Returns the body of a section, inflating it first if rawLength is not -1.
+     */
+    static byte[] sectionBytes(byte[] bytes, int offset, int length, int rawLength) throws IOException {
+        if (rawLength < 0) {
+            return Arrays.copyOfRange(bytes, offset, offset + length);
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(bytes, offset, length);
+            byte[] raw = new byte[rawLength];
+            int filled = 0;
+            while (filled < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, filled, rawLength - filled);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                filled += n;
+            }
+            if (filled != rawLength) {
+                throw new SaveFormatException("Section inflated to " + filled + " bytes, expected " + rawLength);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new SaveFormatException("Section is not valid deflate data: " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    static SaveInput sectionInput(byte[] bytes, int offset, int length, int rawLength) throws IOException {
+        if (rawLength < 0) {
+            return new SaveInput(bytes, offset, length);
+        }
+        return new SaveInput(sectionBytes(bytes, offset, length, rawLength), 0, rawLength);
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        // Give up once the output is no smaller than the input
+        byte[] out = new byte[raw.length];
+        int length = 0;
+        while (!deflater.finished() && length < out.length) {
+            length += deflater.deflate(out, length, out.length - length);
+        }
+        return deflater.finished() ? Arrays.copyOf(out, length) : raw;
+    }
+
+    private static int checksum(byte[] bytes, int offset, int length) {
+        CRC32C checksum = new CRC32C();
+        checksum.update(bytes, offset, length);
+        return (int) checksum.getValue();
+    }
+
+    private static byte[] encodeHero(SaveSnapshot.HeroState hero) throws IOException {
+        SaveOutput out = new SaveOutput();
+        writePosition(out, hero.position);
+        out.writeVarInt(hero.lives);
+        out.writeVarInt(hero.inventory.length);
+        for (String item : hero.inventory) {
+            out.writeString(item);
+        }
+        return out.toByteArray();
+    }
+
+    private static Hero decodeHero(SaveInput in, EventManager eventManager, Hall currentHall) throws IOException {
+        Position position = readPosition(in, currentHall);
+        int lives = in.readVarInt();
+        int itemCount = in.readVarInt();
+        List<String> inventory = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            inventory.add(in.readString());
+        }
+        Hero hero = new Hero(position, eventManager, inventory);
+        hero.setLives(lives);
+        return hero;
+    }
+
+    static byte[] encodeHall(SaveSnapshot.HallState hall) throws IOException {
+        if (hall.segment != null) {
+            return hall.segment;
+        }
+        SaveOutput out = new SaveOutput();
+        out.writeString(hall.name);
+        out.writeVarInt(hall.width);
+        out.writeVarInt(hall.height);
+        out.writeVarInt(hall.minObjectRequirement);
+
+        out.writeVarInt(hall.objects.length);
+        for (SaveSnapshot.ObjectState object : hall.objects) {
+            writeObject(out, object);
+        }
+
+        out.writeVarInt(hall.monsterCount());
+        for (int i = 0; i < hall.monsters.length; i += 3) {
+            int kind = hall.monsters[i];
+            out.writeByte(kind);
+            writePosition(out, hall.monsters[i + 1]);
+            if (kind == SaveSnapshot.MONSTER_WIZARD) {
+                out.writeVarInt(hall.monsters[i + 2]);
+            }
+        }
+
+        out.writeVarInt(hall.enchantmentCount());
+        for (int i = 0; i < hall.enchantments.length; i += 4) {
+            int kind = hall.enchantments[i];
+            out.writeByte(kind);
+            writePosition(out, hall.enchantments[i + 1]);
+            out.writeBoolean(hall.enchantments[i + 2] != 0);
+            if (kind == SaveSnapshot.ENCHANTMENT_EXTRA_TIME) {
+                out.writeVarInt(hall.enchantments[i + 3]);
+            }
+        }
+
+        out.writeBoolean(hall.hasRune);
+        if (hall.hasRune) {
+            out.writeByte((hall.runeCollected ? RUNE_COLLECTED : 0) | (hall.runeRevealed ? RUNE_REVEALED : 0));
+            writePosition(out, hall.runePosition);
+            // 0: not hidden, 1: under an object no longer in the hall, n + 2: under objects[n]
+            if (hall.runeHiddenObject != null) {
+                out.writeVarInt(1);
+                writeObject(out, hall.runeHiddenObject);
+            } else if (hall.runeHiddenIndex >= 0) {
+                out.writeVarInt(hall.runeHiddenIndex + 2);
+            } else {
+                out.writeVarInt(0);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    static Hall decodeHall(SaveInput in, EventManager eventManager, int remainingTime) throws IOException {
+        String name = in.readString();
+        int width = in.readVarInt();
+        int height = in.readVarInt();
+        Hall hall = new Hall(name, width, height, in.readVarInt());
+
+        int objectCount = in.readVarInt();
+        List<DungeonObject> objects = new ArrayList<>(objectCount);
+        for (int i = 0; i < objectCount; i++) {
+            DungeonObject object = readObject(in);
+            if (!hall.addObject(object, object.getPosition())) {
+                throw new SaveFormatException("Object " + object.getName() + " does not fit in " + name);
+            }
+            objects.add(object);
+        }
+
+        int monsterCount = in.readVarInt();
+        for (int i = 0; i < monsterCount; i++) {
+            int kind = in.readUnsignedByte();
+            Position position = requirePosition(in, hall);
+            int totalTime = kind == SaveSnapshot.MONSTER_WIZARD ? in.readVarInt() : 0;
+            hall.addMonster(newMonster(kind, position, eventManager, hall, totalTime, remainingTime));
+        }
+
+        int enchantmentCount = in.readVarInt();
+        for (int i = 0; i < enchantmentCount; i++) {
+            int kind = in.readUnsignedByte();
+            Position position = requirePosition(in, hall);
+            boolean collected = in.readBoolean();
+            int timeToAdd = kind == SaveSnapshot.ENCHANTMENT_EXTRA_TIME ? in.readVarInt() : 0;
+            Enchantment enchantment = newEnchantment(kind, position, timeToAdd);
+            if (collected) {
+                enchantment.collect();
+            }
+            hall.addEnchantment(enchantment);
+        }
+
+        if (in.readBoolean()) {
+            int flags = in.readUnsignedByte();
+            Position position = readPosition(in, hall);
+            int hidden = in.readVarInt();
+            Rune rune = new Rune(position, new SplittableRandom());
+            if (hidden == 1) {
+                rune.setHiddenUnder(readObject(in));
+            } else if (hidden >= 2) {
+                if (hidden - 2 >= objects.size()) {
+                    throw new SaveFormatException("Rune hidden under missing object " + (hidden - 2));
+                }
+                rune.setHiddenUnder(objects.get(hidden - 2));
+            }
+            // setHiddenUnder moves and hides the rune, so restore the saved state after it
+            rune.setPosition(position);
+            rune.setRevealed((flags & RUNE_REVEALED) != 0);
+            rune.setCollected((flags & RUNE_COLLECTED) != 0);
+            hall.setRune(rune);
+        }
+        return hall;
+    }
+
+    /**
+     * Creates a monster of one of the SaveSnapshot.MONSTER_* kinds. Wizards
+     * get their PlayMode later, when the hall is attached to a session.
+     */
+    static Monster newMonster(int kind, Position position, EventManager eventManager, Hall hall,
+                              int totalTime, int remainingTime) throws SaveFormatException {
+        switch (kind) {
+            case SaveSnapshot.MONSTER_WIZARD:
+                return new WizardMonster(position, eventManager, hall, totalTime, remainingTime, null);
+            case SaveSnapshot.MONSTER_FIGHTER:
+                return new FighterMonster(position);
+            case SaveSnapshot.MONSTER_ARCHER:
+                return new ArcherMonster(position);
+            default:
+                throw new SaveFormatException("Unknown monster kind " + kind);
+        }
+    }
+
+    /**
+     * Creates an enchantment of one of the SaveSnapshot.ENCHANTMENT_* kinds.
+     */
+    static Enchantment newEnchantment(int kind, Position position, int timeToAdd) throws SaveFormatException {
+        switch (kind) {
+            case SaveSnapshot.ENCHANTMENT_CLOAK:
+                return new CloakOfProtection(position);
+            case SaveSnapshot.ENCHANTMENT_EXTRA_LIFE:
+                return new ExtraLife(position);
+            case SaveSnapshot.ENCHANTMENT_EXTRA_TIME:
+                return new ExtraTime(position, timeToAdd);
+            case SaveSnapshot.ENCHANTMENT_LURING_GEM:
+                return new LuringGem(position);
+            case SaveSnapshot.ENCHANTMENT_REVEAL:
+                return new Reveal(position);
+            default:
+                throw new SaveFormatException("Unknown enchantment kind " + kind);
+        }
+    }
+
+    private static void writeObject(SaveOutput out, SaveSnapshot.ObjectState object) throws IOException {
+        out.writeString(object.name);
+        out.writeString(object.iconPath);
+        out.writeVarInt(object.width);
+        out.writeVarInt(object.height);
+        writePosition(out, object.position);
+    }
+
+    private static DungeonObject readObject(SaveInput in) throws IOException {
+        DungeonObject object = new DungeonObject(in.readString(), in.readString(), in.readVarInt(), in.readVarInt());
+        object.setPosition(readPosition(in, null));
+        return object;
+    }
+
+    /**
+     * Writes a packed position as 0 for none, otherwise x + 1 followed by y.
+     */
+    private static void writePosition(SaveOutput out, int packed) throws IOException {
+        if (packed == SaveSnapshot.NO_POSITION) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt((packed >>> 16) + 1);
+        out.writeVarInt(packed & 0xFFFF);
+    }
+
+    /**
+     * Reads a position, taking the hall's shared instance when it is inside hall.
+     */
+    private static Position readPosition(SaveInput in, Hall hall) throws IOException {
+        int tag = in.readVarInt();
+        if (tag == 0) {
+            return null;
+        }
+        int x = tag - 1;
+        int y = in.readVarInt();
+        Position shared = hall != null ? hall.getPosition(x, y) : null;
+        return shared != null ? shared : new Position(x, y);
+    }
+
+    private static Position requirePosition(SaveInput in, Hall hall) throws IOException {
+        Position position = readPosition(in, hall);
+        if (position == null || !hall.isWithinBounds(position)) {
+            throw new SaveFormatException("Entity outside hall " + hall.getName() + ": " + position);
+        }
+        return position;
+    }
+}
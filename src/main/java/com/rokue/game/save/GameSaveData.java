@@ -18,12 +18,30 @@ public class GameSaveData implements Serializable {
     private final int currentHallIndex;
     private final Hero hero;
     private final int remainingTime;
+    private final int completedHalls;
+    // Only known right after decoding a binary save
+    private final transient int skippedHalls;
 
+    /**
+     * @effects Counts every hall before the current one as completed
+     */
     public GameSaveData(List<Hall> halls, int currentHallIndex, Hero hero, int remainingTime) {
-        this.halls = new ArrayList<>(halls);
+        this(halls, currentHallIndex, hero, remainingTime, currentHallIndex);
+    }
+
+    public GameSaveData(List<Hall> halls, int currentHallIndex, Hero hero, int remainingTime, int completedHalls) {
+        this(halls, currentHallIndex, hero, remainingTime, completedHalls, 0);
+    }
+
+    GameSaveData(List<Hall> halls, int currentHallIndex, Hero hero, int remainingTime, int completedHalls,
+                 int skippedHalls) {
+        // Copying a SegmentedHallList would decode every hall
+        this.halls = halls instanceof SegmentedHallList ? halls : new ArrayList<>(halls);
         this.currentHallIndex = currentHallIndex;
         this.hero = hero;
         this.remainingTime = remainingTime;
+        this.completedHalls = completedHalls;
+        this.skippedHalls = skippedHalls;
     }
 
     public List<Hall> getHalls() {
@@ -41,4 +59,14 @@ public class GameSaveData implements Serializable {
     public int getRemainingTime() {
         return remainingTime;
     }
+
+    // Halls the player completed in the saved session
+    public int getCompletedHalls() {
+        return completedHalls;
+    }
+
+    // Halls left out of the game because their part of the save was damaged
+    public int getSkippedHalls() {
+        return skippedHalls;
+    }
 } 
\ No newline at end of file
@@ -1,18 +1,27 @@
 package com.rokue.game.save;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32C;
 
 import com.rokue.game.entities.Hall;
 import com.rokue.game.entities.enchantments.Enchantment;
@@ -22,62 +31,174 @@ import com.rokue.game.events.EventManager;
 import com.rokue.game.states.PlayMode;
 import com.rokue.game.util.Cell;
 
+/**
+ * Reads and writes save files in one directory.
+ *
+ * Every save is first written to a hidden temp file in the same directory and
+ * then moved over its final name in one step, so a crash or a concurrent
+ * getSaveFiles() never sees a half-written save. Background saves run one at
+ * a time, in request order, on a single daemon writer thread shared by all
+ * managers.
+ *
+ * Each save also updates a memory-mapped SaveIndex with its metadata, which
+ * getSaveFiles() reads instead of opening every save.
+ */
 public class GameSaveManager {
     private static final String SAVE_DIRECTORY = "saves";
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss");
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "save-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
     private final EventManager eventManager;
+    private final Path saveDirectory;
+    private final SaveIndex index;
+    // -Drokue.saveCompression=0..9 trades save size for CPU; 0 stores sections as is
+    private volatile int compressionLevel = Integer.getInteger("rokue.saveCompression",
+                                                               BinarySaveFormat.DEFAULT_LEVEL);
     private PlayMode currentPlayMode;
 
     public GameSaveManager(EventManager eventManager) {
+        this(eventManager, Paths.get(SAVE_DIRECTORY));
+    }
+
+    public GameSaveManager(EventManager eventManager, Path saveDirectory) {
         this.eventManager = eventManager;
+        this.saveDirectory = saveDirectory;
+        this.index = new SaveIndex(saveDirectory);
         // Create saves directory if it doesn't exist
         try {
-            Files.createDirectories(Paths.get(SAVE_DIRECTORY));
+            Files.createDirectories(saveDirectory);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Sets the Deflater level for saves written from now on.
+     *
+     * @requires
+     *   - level is Deflater.DEFAULT_COMPRESSION or 0 to 9
+     */
+    public void setCompressionLevel(int level) {
+        this.compressionLevel = level;
+    }
+
     public void setCurrentPlayMode(PlayMode playMode) {
         this.currentPlayMode = playMode;
     }
 
+    /**
+     * Saves playMode on the calling thread.
+     *
+     * @requires
+     *   - playMode is not being updated concurrently
+     */
     public void saveGame(PlayMode playMode) {
-        String timestamp = DATE_FORMAT.format(new Date());
+        try {
+            writeSave(playMode.captureSnapshot());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Encodes and writes snapshot on the background writer thread.
+     *
+     * @effects
+     *   - Returns at once; the future completes with the path of the new save,
+     *     or exceptionally if it could not be written
+     *   - Never leaves a partial file under a .sav name
+     */
+    public CompletableFuture<Path> saveGameAsync(SaveSnapshot snapshot) {
+        CompletableFuture<Path> result = new CompletableFuture<>();
+        WRITER.execute(() -> {
+            try {
+                result.complete(writeSave(snapshot));
+            } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private Path writeSave(SaveSnapshot snapshot) throws IOException {
+        Date savedAt = new Date(snapshot.getCapturedAt());
+        String timestamp = FILE_DATE_FORMAT.format(savedAt.toInstant().atZone(ZoneId.systemDefault()));
         String fileName = "game_save_" + timestamp + ".sav";
-        Path savePath = Paths.get(SAVE_DIRECTORY, fileName);
+        Path savePath = saveDirectory.resolve(fileName);
+        Path tempPath = saveDirectory.resolve("." + fileName + TEMP_SUFFIX);
 
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(savePath.toFile()))) {
-            List<Hall> halls = playMode.getHalls();
-            int currentHallIndex = halls.indexOf(playMode.getCurrentHall());
-            
-            GameSaveData saveData = new GameSaveData(
-                halls,
-                currentHallIndex,
-                playMode.getHero(),
-                playMode.getRemainingTime()
-            );
-            oos.writeObject(saveData);
+        byte[] bytes = BinarySaveFormat.encode(snapshot, compressionLevel);
+        try {
+            Files.write(tempPath, bytes);
+            moveIntoPlace(tempPath, savePath);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+
+        CRC32C checksum = new CRC32C();
+        checksum.update(bytes);
+        try {
+            index.put(new SaveFileInfo(fileName, savedAt, snapshot.getCurrentHallIndex(), snapshot.getHallCount(),
+                                       snapshot.getLives(), snapshot.getRemainingTime(),
+                                       snapshot.getCompletedHalls(), bytes.length, (int) checksum.getValue()));
         } catch (IOException e) {
+            // The save itself is complete; it is listed without metadata until the next save
             e.printStackTrace();
         }
+        return savePath;
+    }
+
+    static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Same directory, so this is still a rename on every common file system
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
     }
 
+    /**
+     * Lists the saves in the save directory, newest first.
+     *
+     * @effects
+     *   - Takes metadata from the save index with one mapped read
+     *   - Lists saves missing from the index by file name only
+     *   - Leaves out index records whose file no longer exists
+     */
     public List<SaveFileInfo> getSaveFiles() {
         List<SaveFileInfo> saveFiles = new ArrayList<>();
-        File saveDir = new File(SAVE_DIRECTORY);
+        File saveDir = saveDirectory.toFile();
         
         if (saveDir.exists() && saveDir.isDirectory()) {
-            File[] files = saveDir.listFiles((dir, name) -> name.endsWith(".sav"));
-            if (files != null) {
-                for (File file : files) {
-                    try {
-                        Date saveDate = DATE_FORMAT.parse(file.getName().substring(10, 29));
-                        saveFiles.add(new SaveFileInfo(file.getName(), saveDate));
-                    } catch (Exception e) {
-                        e.printStackTrace();
+            String[] names = saveDir.list((dir, name) -> name.endsWith(".sav"));
+            Set<String> unindexed = new HashSet<>();
+            if (names != null) {
+                for (String name : names) {
+                    unindexed.add(name);
+                }
+            }
+
+            try {
+                for (SaveFileInfo info : index.readAll()) {
+                    if (unindexed.remove(info.getFileName())) {
+                        saveFiles.add(info);
                     }
                 }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+
+            for (String name : unindexed) {
+                try {
+                    LocalDateTime savedAt = LocalDateTime.parse(name.substring(10, 29), FILE_DATE_FORMAT);
+                    saveFiles.add(new SaveFileInfo(name, Date.from(savedAt.atZone(ZoneId.systemDefault()).toInstant())));
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
             }
         }
         
@@ -86,17 +207,29 @@ public class GameSaveManager {
         return saveFiles;
     }
 
+    /**
+     * Loads a save written in the binary format, or a Java serialized save
+     * from before it.
+     *
+     * @effects
+     *   - Returns null if the file cannot be read or decoded
+     */
     public GameSaveData loadGame(String fileName) {
-        Path savePath = Paths.get(SAVE_DIRECTORY, fileName);
+        Path savePath = saveDirectory.resolve(fileName);
         
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(savePath.toFile()))) {
-            GameSaveData saveData = (GameSaveData) ois.readObject();
+        try {
+            byte[] bytes = Files.readAllBytes(savePath);
+            GameSaveData saveData = BinarySaveFormat.isBinarySave(bytes)
+                ? BinarySaveFormat.decode(bytes, eventManager)
+                : readSerialized(bytes);
             
             // Restore transient fields
             saveData.getHero().setEventManager(eventManager);
             
-            // Restore all halls
-            List<Hall> halls = saveData.getHalls();
+            // Binary saves already gave wizards the event manager and decode halls
+            // lazily; walking them here would decode every hall
+            List<Hall> halls = saveData.getHalls() instanceof SegmentedHallList
+                ? ((SegmentedHallList) saveData.getHalls()).getLoadedHalls() : saveData.getHalls();
             for (Hall hall : halls) {
                 // Restore monsters with their positions and behaviors
                 for (Monster monster : hall.getMonsters()) {
@@ -117,13 +250,73 @@ public class GameSaveManager {
         }
     }
 
+    /**
+     * Returns a journal that autosaves into the save directory. Its
+     * checkpoints are written on the save writer thread, after any saves
+     * already queued.
+     */
+    public AutosaveJournal openAutosaveJournal() {
+        return new AutosaveJournal(saveDirectory, WRITER);
+    }
+
+    /**
+     * Returns true if a game that did not end normally left an autosave.
+     */
+    public boolean hasAutosave() {
+        return AutosaveJournal.exists(saveDirectory);
+    }
+
+    /**
+     * Rebuilds the game from the autosave checkpoint and journal.
+     *
+     * @effects
+     *   - Returns null if there is no autosave or it cannot be read
+     */
+    public GameSaveData recoverAutosave() {
+        try {
+            return AutosaveJournal.recover(saveDirectory, eventManager);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    static GameSaveData readSerialized(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (GameSaveData) ois.readObject();
+        }
+    }
+
+    /**
+     * A save file and, if it is in the save index, what it contains.
+     * Metadata fields are -1 for saves without an index record.
+     */
     public static class SaveFileInfo {
         private final String fileName;
         private final Date saveDate;
+        private final int currentHallIndex;
+        private final int hallCount;
+        private final int lives;
+        private final int remainingTime;
+        private final int completedHalls;
+        private final long fileSize;
+        private final int checksum;
 
         public SaveFileInfo(String fileName, Date saveDate) {
+            this(fileName, saveDate, -1, -1, -1, -1, -1, -1, 0);
+        }
+
+        public SaveFileInfo(String fileName, Date saveDate, int currentHallIndex, int hallCount, int lives,
+                            int remainingTime, int completedHalls, long fileSize, int checksum) {
             this.fileName = fileName;
             this.saveDate = saveDate;
+            this.currentHallIndex = currentHallIndex;
+            this.hallCount = hallCount;
+            this.lives = lives;
+            this.remainingTime = remainingTime;
+            this.completedHalls = completedHalls;
+            this.fileSize = fileSize;
+            this.checksum = checksum;
         }
 
         public String getFileName() {
@@ -134,9 +327,49 @@ public class GameSaveManager {
             return saveDate;
         }
 
+        public boolean hasMetadata() {
+            return hallCount >= 0;
+        }
+
+        public int getCurrentHallIndex() {
+            return currentHallIndex;
+        }
+
+        public int getHallCount() {
+            return hallCount;
+        }
+
+        public int getLives() {
+            return lives;
+        }
+
+        public int getRemainingTime() {
+            return remainingTime;
+        }
+
+        public int getCompletedHalls() {
+            return completedHalls;
+        }
+
+        public long getFileSize() {
+            return fileSize;
+        }
+
+        /**
+         * Returns the CRC32C of the whole save file as written.
+         */
+        public int getChecksum() {
+            return checksum;
+        }
+
         @Override
         public String toString() {
-            return new SimpleDateFormat("MMM dd, yyyy HH:mm:ss").format(saveDate);
+            String date = new SimpleDateFormat("MMM dd, yyyy HH:mm:ss").format(saveDate);
+            if (!hasMetadata()) {
+                return date;
+            }
+            return String.format("%s  -  Hall %d/%d, %d lives, %ds left",
+                                 date, currentHallIndex + 1, hallCount, lives, remainingTime);
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package com.rokue.game.save;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a save file is not in the binary save format, is a version
+ * this build cannot read, or is damaged.
+ */
+public class SaveFormatException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    public SaveFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,181 @@
+package com.rokue.game.save;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Fixed-record file of per-save metadata, so the load dialog can list saves
+ * without opening them.
+ *
+ * Layout, big-endian:
+ *
+ *   header (16 bytes): int MAGIC, int VERSION, int record count, int reserved
+ *   records (RECORD_SIZE bytes each):
+ *     NAME_BYTES  file name, US-ASCII, zero padded
+ *     long        saved at, epoch milliseconds
+ *     int         current hall index
+ *     int         hall count
+ *     int         lives
+ *     int         remaining time, seconds
+ *     int         completed halls
+ *     long        file size, bytes
+ *     int         CRC32C of the file
+ *
+ * Reads map the whole file once and decode records in place. Writes take a
+ * file lock, fill the record first and bump the count last, so a reader never
+ * sees a half-written record.
+ */
+final class SaveIndex {
+    static final String FILE_NAME = "saves.idx";
+
+    private static final int MAGIC = 0x524B4958; // "RKIX"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int COUNT_OFFSET = 8;
+    private static final int NAME_BYTES = 48;
+    private static final int RECORD_SIZE = 96;
+
+    private final Path file;
+
+    SaveIndex(Path directory) {
+        this.file = directory.resolve(FILE_NAME);
+    }
+
+    /**
+     * Adds info, or replaces the record with the same file name.
+     *
+     * @effects
+     *   - Creates the index file if needed
+     *   - Does nothing for a file name longer than NAME_BYTES
+     */
+    synchronized void put(GameSaveManager.SaveFileInfo info) throws IOException {
+        byte[] name = info.getFileName().getBytes(StandardCharsets.US_ASCII);
+        if (name.length > NAME_BYTES) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE)) {
+            FileLock lock = channel.lock();
+            try {
+                int count = 0;
+                if (channel.size() >= HEADER_SIZE) {
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                    channel.read(header, 0);
+                    header.flip();
+                    if (header.getInt() == MAGIC && header.getInt() == VERSION) {
+                        count = Math.min(header.getInt(), recordCapacity(channel.size()));
+                    }
+                }
+
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                                                      HEADER_SIZE + (long) (count + 1) * RECORD_SIZE);
+                int slot = find(buffer, count, name);
+                if (slot < 0) {
+                    slot = count;
+                }
+
+                writeRecord(buffer, HEADER_SIZE + slot * RECORD_SIZE, name, info);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(COUNT_OFFSET, Math.max(count, slot + 1));
+                buffer.force();
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * Returns every record in the index, in the order they were first added.
+     *
+     * @effects
+     *   - Returns an empty list if there is no index or it is not readable
+     */
+    List<GameSaveManager.SaveFileInfo> readAll() throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return new ArrayList<>();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                return new ArrayList<>();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                return new ArrayList<>();
+            }
+            int count = Math.min(buffer.getInt(COUNT_OFFSET), recordCapacity(size));
+            List<GameSaveManager.SaveFileInfo> records = new ArrayList<>(Math.max(0, count));
+            for (int i = 0; i < count; i++) {
+                records.add(readRecord(buffer, HEADER_SIZE + i * RECORD_SIZE));
+            }
+            return records;
+        }
+    }
+
+    private static int recordCapacity(long size) {
+        return (int) Math.max(0, (size - HEADER_SIZE) / RECORD_SIZE);
+    }
+
+    private static int find(ByteBuffer buffer, int count, byte[] name) {
+        outer:
+        for (int i = 0; i < count; i++) {
+            int offset = HEADER_SIZE + i * RECORD_SIZE;
+            for (int j = 0; j < NAME_BYTES; j++) {
+                byte expected = j < name.length ? name[j] : 0;
+                if (buffer.get(offset + j) != expected) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static void writeRecord(ByteBuffer buffer, int offset, byte[] name, GameSaveManager.SaveFileInfo info) {
+        for (int j = 0; j < NAME_BYTES; j++) {
+            buffer.put(offset + j, j < name.length ? name[j] : 0);
+        }
+        int at = offset + NAME_BYTES;
+        buffer.putLong(at, info.getSaveDate().getTime());
+        buffer.putInt(at + 8, info.getCurrentHallIndex());
+        buffer.putInt(at + 12, info.getHallCount());
+        buffer.putInt(at + 16, info.getLives());
+        buffer.putInt(at + 20, info.getRemainingTime());
+        buffer.putInt(at + 24, info.getCompletedHalls());
+        buffer.putLong(at + 28, info.getFileSize());
+        buffer.putInt(at + 36, info.getChecksum());
+    }
+
+    private static GameSaveManager.SaveFileInfo readRecord(ByteBuffer buffer, int offset) {
+        int length = 0;
+        while (length < NAME_BYTES && buffer.get(offset + length) != 0) {
+            length++;
+        }
+        byte[] name = new byte[length];
+        for (int j = 0; j < length; j++) {
+            name[j] = buffer.get(offset + j);
+        }
+        int at = offset + NAME_BYTES;
+        return new GameSaveManager.SaveFileInfo(new String(name, StandardCharsets.US_ASCII),
+                                                new Date(buffer.getLong(at)),
+                                                buffer.getInt(at + 8),
+                                                buffer.getInt(at + 12),
+                                                buffer.getInt(at + 16),
+                                                buffer.getInt(at + 20),
+                                                buffer.getInt(at + 24),
+                                                buffer.getLong(at + 28),
+                                                buffer.getInt(at + 36));
+    }
+}
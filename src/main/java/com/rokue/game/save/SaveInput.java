@@ -0,0 +1,50 @@
+package com.rokue.game.save;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads what SaveOutput writes.
+ */
+final class SaveInput extends DataInputStream {
+    private final List<String> strings = new ArrayList<>();
+
+    SaveInput(byte[] bytes, int offset, int length) {
+        super(new ByteArrayInputStream(bytes, offset, length));
+    }
+
+    int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new SaveFormatException("Malformed varint");
+    }
+
+    String readString() throws IOException {
+        int tag = readVarInt();
+        if (tag == 0) {
+            return null;
+        }
+        if (tag == 1) {
+            String value = readUTF();
+            strings.add(value);
+            return value;
+        }
+        int index = tag - 2;
+        if (index >= strings.size()) {
+            throw new SaveFormatException("String reference " + index + " out of range");
+        }
+        return strings.get(index);
+    }
+}
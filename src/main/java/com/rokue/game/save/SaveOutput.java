@@ -0,0 +1,65 @@
+package com.rokue.game.save;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DataOutputStream over an in-memory buffer with the primitives of the binary
+ * save format.
+ *
+ * Strings are deduplicated per stream: the first occurrence is written in
+ * full and later ones as a back reference, so the icon path shared by every
+ * object of a kind costs one or two bytes after the first.
+ */
+final class SaveOutput extends DataOutputStream {
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    SaveOutput() {
+        super(new ByteArrayOutputStream());
+    }
+
+    /**
+     * Writes value as an unsigned LEB128 varint: 7 bits per byte, low bits
+     * first, high bit set on every byte but the last.
+     *
+     * @requires
+     *   - value >= 0
+     */
+    void writeVarInt(int value) throws IOException {
+        if (value < 0) {
+            throw new IllegalArgumentException("Varints are unsigned: " + value);
+        }
+        while ((value & ~0x7F) != 0) {
+            writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+
+    /**
+     * Writes a possibly null string. 0 means null, 1 a new string that
+     * follows in modified UTF-8, and n + 2 the n-th string already written.
+     */
+    void writeString(String value) throws IOException {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        Integer index = strings.get(value);
+        if (index != null) {
+            writeVarInt(index + 2);
+            return;
+        }
+        strings.put(value, strings.size());
+        writeVarInt(1);
+        writeUTF(value);
+    }
+
+    byte[] toByteArray() throws IOException {
+        flush();
+        return ((ByteArrayOutputStream) out).toByteArray();
+    }
+}
@@ -0,0 +1,278 @@
+package com.rokue.game.save;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.rokue.game.entities.DungeonObject;
+import com.rokue.game.entities.Hall;
+import com.rokue.game.entities.Hero;
+import com.rokue.game.entities.Rune;
+import com.rokue.game.entities.enchantments.CloakOfProtection;
+import com.rokue.game.entities.enchantments.Enchantment;
+import com.rokue.game.entities.enchantments.ExtraLife;
+import com.rokue.game.entities.enchantments.ExtraTime;
+import com.rokue.game.entities.enchantments.LuringGem;
+import com.rokue.game.entities.monsters.FighterMonster;
+import com.rokue.game.entities.monsters.Monster;
+import com.rokue.game.entities.monsters.WizardMonster;
+import com.rokue.game.util.Position;
+
+/**
+ * Immutable copy of everything a save file stores, taken from live game
+ * objects in one pass.
+ *
+ * Capturing only copies primitives and strings, so it is cheap enough to do
+ * on the game loop thread between two ticks. Encoding and writing the copy
+ * can then happen on any thread while the game keeps changing the originals.
+ */
+public final class SaveSnapshot {
+    static final int MONSTER_ARCHER = 0;
+    static final int MONSTER_FIGHTER = 1;
+    static final int MONSTER_WIZARD = 2;
+
+    static final int ENCHANTMENT_CLOAK = 0;
+    static final int ENCHANTMENT_EXTRA_LIFE = 1;
+    static final int ENCHANTMENT_EXTRA_TIME = 2;
+    static final int ENCHANTMENT_LURING_GEM = 3;
+    static final int ENCHANTMENT_REVEAL = 4;
+
+    // Packed coordinate of a null Position
+    static final int NO_POSITION = -1;
+
+    final int currentHallIndex;
+    final int completedHalls;
+    final int remainingTime;
+    final HeroState hero;
+    final List<HallState> halls;
+    final long capturedAt;
+
+    private SaveSnapshot(int currentHallIndex, int completedHalls, int remainingTime, HeroState hero,
+                         List<HallState> halls) {
+        this.currentHallIndex = currentHallIndex;
+        this.completedHalls = completedHalls;
+        this.remainingTime = remainingTime;
+        this.hero = hero;
+        this.halls = halls;
+        this.capturedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Copies the state of a game.
+     *
+     * @requires
+     *   - Nothing modifies halls or hero during the call, e.g. it runs on the
+     *     game loop thread between ticks
+     *
+     * @effects
+     *   - Counts every hall before the current one as completed
+     */
+    public static SaveSnapshot capture(List<Hall> halls, int currentHallIndex, Hero hero, int remainingTime) {
+        return capture(halls, currentHallIndex, hero, remainingTime, currentHallIndex);
+    }
+
+    /**
+     * Copies the state of a game that has completed completedHalls halls.
+     *
+     * @requires
+     *   - Nothing modifies halls or hero during the call, e.g. it runs on the
+     *     game loop thread between ticks
+     */
+    public static SaveSnapshot capture(List<Hall> halls, int currentHallIndex, Hero hero, int remainingTime,
+                                       int completedHalls) {
+        List<HallState> hallStates = new ArrayList<>(halls.size());
+        if (halls instanceof SegmentedHallList) {
+            // Halls not yet loaded from a save are copied as encoded, without decoding them
+            SegmentedHallList segmented = (SegmentedHallList) halls;
+            for (int i = 0; i < segmented.size(); i++) {
+                byte[] segment = segmented.getUnloadedSegment(i);
+                hallStates.add(segment != null ? new HallState(segment) : new HallState(segmented.get(i)));
+            }
+        } else {
+            for (Hall hall : halls) {
+                hallStates.add(new HallState(hall));
+            }
+        }
+        return new SaveSnapshot(Math.max(0, currentHallIndex), Math.max(0, completedHalls),
+                                Math.max(0, remainingTime), new HeroState(hero), hallStates);
+    }
+
+    public static SaveSnapshot capture(GameSaveData data) {
+        return capture(data.getHalls(), data.getCurrentHallIndex(), data.getHero(), data.getRemainingTime(),
+                       data.getCompletedHalls());
+    }
+
+    public int getCurrentHallIndex() {
+        return currentHallIndex;
+    }
+
+    public int getCompletedHalls() {
+        return completedHalls;
+    }
+
+    public int getRemainingTime() {
+        return remainingTime;
+    }
+
+    public int getHallCount() {
+        return halls.size();
+    }
+
+    public int getLives() {
+        return hero.lives;
+    }
+
+    /**
+     * Returns the wall-clock time the snapshot was taken, in epoch milliseconds.
+     */
+    public long getCapturedAt() {
+        return capturedAt;
+    }
+
+    private static int pack(Position position) {
+        return position == null ? NO_POSITION : position.getX() << 16 | position.getY();
+    }
+
+    static final class HeroState {
+        final int position;
+        final int lives;
+        final String[] inventory;
+
+        private HeroState(Hero hero) {
+            this.position = pack(hero.getPosition());
+            this.lives = Math.max(0, hero.getLives());
+            this.inventory = hero.getInventory().toArray(new String[0]);
+        }
+    }
+
+    static final class ObjectState {
+        final String name;
+        final String iconPath;
+        final int width;
+        final int height;
+        final int position;
+
+        private ObjectState(DungeonObject object) {
+            this.name = object.getName();
+            this.iconPath = object.getIconPath();
+            this.width = object.getWidthInCells();
+            this.height = object.getHeightInCells();
+            this.position = pack(object.getPosition());
+        }
+    }
+
+    static final class HallState {
+        final String name;
+        final int width;
+        final int height;
+        final int minObjectRequirement;
+        final ObjectState[] objects;
+        // Per monster: kind, packed position, total time (wizards only)
+        final int[] monsters;
+        // Per enchantment: kind, packed position, collected (0/1), time to add (extra time only)
+        final int[] enchantments;
+        final boolean hasRune;
+        final boolean runeCollected;
+        final boolean runeRevealed;
+        final int runePosition;
+        // -1 if the rune is not hidden, otherwise an index into objects
+        final int runeHiddenIndex;
+        // Set when the rune is hidden under an object that was removed from the hall
+        final ObjectState runeHiddenObject;
+        // Encoded HALL section of a hall that was never loaded; the other fields are empty
+        final byte[] segment;
+
+        private HallState(byte[] segment) {
+            this.name = null;
+            this.width = 0;
+            this.height = 0;
+            this.minObjectRequirement = 0;
+            this.objects = new ObjectState[0];
+            this.monsters = new int[0];
+            this.enchantments = new int[0];
+            this.hasRune = false;
+            this.runeCollected = false;
+            this.runeRevealed = false;
+            this.runePosition = NO_POSITION;
+            this.runeHiddenIndex = -1;
+            this.runeHiddenObject = null;
+            this.segment = segment;
+        }
+
+        private HallState(Hall hall) {
+            this.segment = null;
+            this.name = hall.getName();
+            this.width = hall.getWidth();
+            this.height = hall.getHeight();
+            this.minObjectRequirement = hall.getMinObjectRequirement();
+
+            List<DungeonObject> liveObjects = hall.getObjects();
+            this.objects = new ObjectState[liveObjects.size()];
+            for (int i = 0; i < objects.length; i++) {
+                objects[i] = new ObjectState(liveObjects.get(i));
+            }
+
+            List<Monster> liveMonsters = new ArrayList<>(hall.getMonsters());
+            this.monsters = new int[liveMonsters.size() * 3];
+            for (int i = 0; i < liveMonsters.size(); i++) {
+                Monster monster = liveMonsters.get(i);
+                monsters[i * 3] = monsterKind(monster);
+                monsters[i * 3 + 1] = pack(monster.getPosition());
+                if (monster instanceof WizardMonster) {
+                    monsters[i * 3 + 2] = ((WizardMonster) monster).getTotalTime();
+                }
+            }
+
+            List<Enchantment> liveEnchantments = new ArrayList<>(hall.getEnchantments());
+            this.enchantments = new int[liveEnchantments.size() * 4];
+            for (int i = 0; i < liveEnchantments.size(); i++) {
+                Enchantment enchantment = liveEnchantments.get(i);
+                enchantments[i * 4] = enchantmentKind(enchantment);
+                enchantments[i * 4 + 1] = pack(enchantment.getPosition());
+                enchantments[i * 4 + 2] = enchantment.isCollected() ? 1 : 0;
+                if (enchantment instanceof ExtraTime) {
+                    enchantments[i * 4 + 3] = ((ExtraTime) enchantment).getTimeToAdd();
+                }
+            }
+
+            Rune rune = hall.getRune();
+            this.hasRune = rune != null;
+            this.runeCollected = rune != null && rune.isCollected();
+            this.runeRevealed = rune != null && rune.isRevealed();
+            this.runePosition = rune != null ? pack(rune.getPosition()) : NO_POSITION;
+            DungeonObject hiddenUnder = rune != null ? rune.getHiddenUnder() : null;
+            int hiddenIndex = hiddenUnder != null ? liveObjects.indexOf(hiddenUnder) : -1;
+            this.runeHiddenIndex = hiddenIndex;
+            this.runeHiddenObject = hiddenUnder != null && hiddenIndex < 0 ? new ObjectState(hiddenUnder) : null;
+        }
+
+        int monsterCount() {
+            return monsters.length / 3;
+        }
+
+        int enchantmentCount() {
+            return enchantments.length / 4;
+        }
+    }
+
+    static int monsterKind(Monster monster) {
+        if (monster instanceof WizardMonster) {
+            return MONSTER_WIZARD;
+        } else if (monster instanceof FighterMonster) {
+            return MONSTER_FIGHTER;
+        }
+        return MONSTER_ARCHER;
+    }
+
+    static int enchantmentKind(Enchantment enchantment) {
+        if (enchantment instanceof CloakOfProtection) {
+            return ENCHANTMENT_CLOAK;
+        } else if (enchantment instanceof ExtraLife) {
+            return ENCHANTMENT_EXTRA_LIFE;
+        } else if (enchantment instanceof ExtraTime) {
+            return ENCHANTMENT_EXTRA_TIME;
+        } else if (enchantment instanceof LuringGem) {
+            return ENCHANTMENT_LURING_GEM;
+        }
+        return ENCHANTMENT_REVEAL;
+    }
+}
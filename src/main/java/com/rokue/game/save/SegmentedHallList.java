@@ -0,0 +1,131 @@
+package com.rokue.game.save;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.rokue.game.entities.Hall;
+import com.rokue.game.events.EventManager;
+
+/**
+ * Halls of a binary save that are decoded the first time they are asked for.
+ *
+ * The list keeps the save bytes and the offset of every HALL section, so
+ * loading a game only has to decode the hall the player is in. The others
+ * stay encoded until get() reaches them, e.g. when PlayMode moves on to the
+ * next hall. Halls that were never decoded are saved again from their
+ * original bytes.
+ *
+ * The list cannot be modified. All methods are synchronized, so halls may be
+ * faulted in from any thread.
+ */
+public final class SegmentedHallList extends AbstractList<Hall> {
+    private final byte[] bytes;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final int[] rawLengths;
+    private final EventManager eventManager;
+    private final int remainingTime;
+    private final Hall[] loaded;
+
+    /**
+     * @requires
+     *   - rawLengths[i] is the inflated length of hall i, or -1 if it is
+     *     stored as is
+     */
+    SegmentedHallList(byte[] bytes, int[] offsets, int[] lengths, int[] rawLengths,
+                      EventManager eventManager, int remainingTime) {
+        this.bytes = bytes;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.rawLengths = rawLengths;
+        this.eventManager = eventManager;
+        this.remainingTime = remainingTime;
+        this.loaded = new Hall[offsets.length];
+    }
+
+    /**
+     * Returns the hall at index, decoding it first if needed.
+     *
+     * @effects
+     *   - Returns the same Hall instance on every call for the same index
+     *   - Throws UncheckedIOException if the hall's section cannot be decoded
+     */
+    @Override
+    public synchronized Hall get(int index) {
+        Hall hall = loaded[index];
+        if (hall == null) {
+            try {
+                SaveInput in = BinarySaveFormat.sectionInput(bytes, offsets[index], lengths[index],
+                                                             rawLengths[index]);
+                hall = BinarySaveFormat.decodeHall(in, eventManager, remainingTime);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Hall " + index + " of the save is damaged", e);
+            }
+            loaded[index] = hall;
+        }
+        return hall;
+    }
+
+    @Override
+    public int size() {
+        return offsets.length;
+    }
+
+    /**
+     * Returns the index of hall, looking only at halls already decoded.
+     * A hall that was never decoded cannot have been handed out, so this
+     * never needs to decode anything.
+     */
+    @Override
+    public synchronized int indexOf(Object hall) {
+        for (int i = 0; i < loaded.length; i++) {
+            if (loaded[i] != null && loaded[i] == hall) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public synchronized int lastIndexOf(Object hall) {
+        return indexOf(hall);
+    }
+
+    public synchronized boolean isLoaded(int index) {
+        return loaded[index] != null;
+    }
+
+    /**
+     * Returns the halls decoded so far, in hall order.
+     */
+    public synchronized List<Hall> getLoadedHalls() {
+        List<Hall> halls = new ArrayList<>();
+        for (Hall hall : loaded) {
+            if (hall != null) {
+                halls.add(hall);
+            }
+        }
+        return halls;
+    }
+
+    /**
+     * Returns the uncompressed HALL section at index, or null once it has
+     * been decoded and may have changed since.
+     *
+     * @effects
+     *   - Throws UncheckedIOException if the section cannot be inflated
+     */
+    synchronized byte[] getUnloadedSegment(int index) {
+        if (loaded[index] != null) {
+            return null;
+        }
+        try {
+            return BinarySaveFormat.sectionBytes(bytes, offsets[index], lengths[index], rawLengths[index]);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Hall " + index + " of the save is damaged", e);
+        }
+    }
+}
@@ -2,11 +2,13 @@ package com.rokue.game.states;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import com.rokue.game.GameSystem;
 import com.rokue.game.entities.DungeonObject;
 import com.rokue.game.entities.Hall;
 import com.rokue.game.events.EventManager;
+import com.rokue.game.util.GameLog;
 import com.rokue.game.util.Position;
 
 public class BuildMode implements GameState {
@@ -15,9 +17,15 @@ public class BuildMode implements GameState {
     private Hall currentHall; // Currently active hall
     private DungeonObject selectedObject; // Object being placed
     private EventManager eventManager;
+    private final SplittableRandom random;
 
     public BuildMode(EventManager eventManager) {
+        this(eventManager, new SplittableRandom());
+    }
+
+    public BuildMode(EventManager eventManager, SplittableRandom random) {
         this.eventManager = eventManager;
+        this.random = random;
         this.halls = new ArrayList<>();
 
         // Adding halls with their distinct names and minimum object requirements
@@ -33,18 +41,18 @@ public class BuildMode implements GameState {
 
     @Override
     public void enter(GameSystem system) {
-        System.out.println("Entering Build Mode");
+        GameLog.info("Entering Build Mode");
     }
 
     @Override
     public void update(GameSystem system) {
         // No automatic updates in Build Mode; this would handle state changes as needed
-        System.out.println("Updating Build Mode");
+        GameLog.info("Updating Build Mode");
     }
 
     @Override
     public void exit(GameSystem system) {
-        System.out.println("Exiting Build Mode");
+        GameLog.info("Exiting Build Mode");
     }
 
     public Hall getCurrentHall() {
@@ -55,9 +63,9 @@ public class BuildMode implements GameState {
         int currentIndex = halls.indexOf(currentHall);
         if (currentIndex < halls.size() - 1) {
             currentHall = halls.get(currentIndex + 1);
-            System.out.println("Switched to next hall: " + currentHall.getName());
+            GameLog.info("Switched to next hall: " + currentHall.getName());
         } else {
-            System.out.println("This is the last hall.");
+            GameLog.info("This is the last hall.");
         }
     }
 
@@ -65,9 +73,9 @@ public class BuildMode implements GameState {
         int currentIndex = halls.indexOf(currentHall);
         if (currentIndex > 0) {
             currentHall = halls.get(currentIndex - 1);
-            System.out.println("Switched to previous hall: " + currentHall.getName());
+            GameLog.info("Switched to previous hall: " + currentHall.getName());
         } else {
-            System.out.println("This is the first hall.");
+            GameLog.info("This is the first hall.");
         }
     }
 
@@ -125,7 +133,7 @@ public class BuildMode implements GameState {
 
         int attempts = 0; // To prevent infinite loops
         for (int i = 0; i < minObjects; ) {
-            String name = objectNames.get((int) (Math.random() * objectNames.size()));
+            String name = objectNames.get(random.nextInt(objectNames.size()));
             int[] size = getObjectSize(name);
 
             Position position = null;
@@ -133,8 +141,8 @@ public class BuildMode implements GameState {
 
             while (!validPosition && attempts < 10000) {
                 attempts++;
-                int x = (int) (Math.random() * hall.getWidth());
-                int y = (int) (Math.random() * hall.getHeight());
+                int x = random.nextInt(hall.getWidth());
+                int y = random.nextInt(hall.getHeight());
                 position = new Position(x, y);
 
                 // Create a temporary object for placement check
@@ -147,12 +155,12 @@ public class BuildMode implements GameState {
                 hall.addObject(object, position);
                 i++; // Increment only when an object is successfully added
             } else {
-                System.out.println("Could not place object after several attempts.");
+                GameLog.info("Could not place object after several attempts.");
                 break;
             }
         }
 
-        System.out.println("Randomly filled " + hall.getName() + " with " + hall.getObjects().size() + " objects.");
+        GameLog.info("Randomly filled " + hall.getName() + " with " + hall.getObjects().size() + " objects.");
     }
 
 
@@ -2,6 +2,7 @@ package com.rokue.game.states;
 
 import com.rokue.game.GameSystem;
 import com.rokue.game.events.EventManager;
+import com.rokue.game.util.GameLog;
 
 public class MainMenu implements GameState{
     private EventManager eventManager;
@@ -10,14 +11,14 @@ public class MainMenu implements GameState{
         this.eventManager = eventManager;
     }
     public void enter(GameSystem system) {
-        System.out.println("Entering Main Menu");
+        GameLog.info("Entering Main Menu");
     }
 
     public void update(GameSystem system) {
     }
 
     public void exit(GameSystem system) {
-        System.out.println("Exiting Main Menu");
+        GameLog.info("Exiting Main Menu");
     }
 
     public EventManager getEventManager() {
@@ -5,7 +5,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.concurrent.locks.ReentrantLock;
 
 import javax.swing.JButton;
@@ -20,10 +20,14 @@ import java.awt.Font;
 
 import com.rokue.game.GameSystem;
 import com.rokue.game.GameTimer;
+import com.rokue.game.actions.CollectEnchantmentAction;
 import com.rokue.game.actions.IAction;
 import com.rokue.game.actions.MoveAction;
+import com.rokue.game.actions.SearchAction;
+import com.rokue.game.actions.UseEnchantmentAction;
 import com.rokue.game.behaviour.ShootArrow;
 import com.rokue.game.behaviour.StabDagger;
+import com.rokue.game.entities.DungeonObject;
 import com.rokue.game.entities.Hall;
 import com.rokue.game.entities.Hero;
 import com.rokue.game.entities.Rune;
@@ -34,9 +38,23 @@ import com.rokue.game.entities.monsters.Monster;
 import com.rokue.game.entities.monsters.WizardMonster;
 import com.rokue.game.events.EventListener;
 import com.rokue.game.events.EventManager;
+import com.rokue.game.events.GameEvent;
 import com.rokue.game.factories.EnchantmentFactory;
 import com.rokue.game.factories.MonsterFactory;
+import com.rokue.game.render.FrameSnapshot;
+import com.rokue.game.save.AutosaveJournal;
 import com.rokue.game.save.GameSaveData;
+import com.rokue.game.save.GameSaveManager;
+import com.rokue.game.save.SaveSnapshot;
+import com.rokue.game.save.SegmentedHallList;
+import com.rokue.game.time.GameClock;
+import com.rokue.game.time.GameScheduler;
+import com.rokue.game.time.ScheduledTask;
+import com.rokue.game.time.SystemClock;
+import com.rokue.game.util.Cell;
+import com.rokue.game.util.DirtyCells;
+import com.rokue.game.util.FrameProfiler;
+import com.rokue.game.util.GameLog;
 import com.rokue.game.util.Position;
 import com.rokue.ui.MainMenuUI;
 
@@ -81,14 +99,32 @@ public class PlayMode implements GameState {
     private long lastMonsterSpawnTime = 0;
     private long lastEnchantmentSpawnTime = 0;
     private Map<Enchantment, Long> enchantmentDespawnTimes = new HashMap<>();
-    private Random rand = new Random();
+    private final SplittableRandom runeRandom;
+    private final SplittableRandom monsterRandom;
+    private final SplittableRandom enchantmentRandom;
+    private final SplittableRandom behaviourRandom;
     private volatile boolean paused = false;
     private final ReentrantLock updateLock = new ReentrantLock();
     private final ReentrantLock hallTransitionLock = new ReentrantLock();
     private final Object enchantmentLock = new Object();
-    private long currentTime = System.currentTimeMillis();
+    private final GameClock clock;
+    private final GameScheduler scheduler = new GameScheduler();
+    private long lastSchedulerMillis;
     private int initialTime;
     private int completedHallsCount = 0;
+    private GameSaveManager saveManager;
+    private boolean autosaveEnabled;
+    private final EventListener saveListener = (eventType, data) -> saveInBackground();
+    // Null unless autosave is enabled
+    private volatile AutosaveJournal journal;
+    // Latest frame for renderers, replaced by the game loop after every update
+    private volatile FrameSnapshot frame;
+    // Guards publishing a frame together with changedCells
+    private final Object frameLock = new Object();
+    // Cells changed since a renderer last took a frame
+    private DirtyCells changedCells;
+    // Off until the profiler overlay is shown
+    private final FrameProfiler profiler = new FrameProfiler();
 
     /**
      * Creates a new PlayMode instance with the given halls, hero, and event manager.
@@ -114,96 +150,139 @@ public class PlayMode implements GameState {
     }
 
     public PlayMode(List<Hall> halls, Hero hero, EventManager eventManager, int initialTime) {
+        this(halls, hero, eventManager, initialTime, SystemClock.INSTANCE);
+    }
+
+    /**
+     * Creates a PlayMode that reads all game time from the given clock.
+     *
+     * @requires
+     *   - clock != null
+     *
+     * @effects
+     *   - Spawn intervals, despawn timers, monster cooldowns and wizard strategies
+     *     of this session all follow clock instead of wall time
+     */
+    public PlayMode(List<Hall> halls, Hero hero, EventManager eventManager, int initialTime, GameClock clock) {
+        this(halls, hero, eventManager, initialTime, clock, new SplittableRandom());
+    }
+
+    /**
+     * Creates a PlayMode whose randomness all derives from one session stream.
+     *
+     * @requires
+     *   - clock != null
+     *   - random != null
+     *
+     * @effects
+     *   - Splits an independent child stream off random for rune placement,
+     *     monster spawning, enchantment spawning and monster behaviour, so two
+     *     sessions built from the same seed play out identically and sessions on
+     *     different threads never share a generator
+     */
+    public PlayMode(List<Hall> halls, Hero hero, EventManager eventManager, int initialTime, GameClock clock,
+                    SplittableRandom random) {
+        this.clock = clock;
+        this.runeRandom = random.split();
+        this.monsterRandom = random.split();
+        this.enchantmentRandom = random.split();
+        this.behaviourRandom = random.split();
         this.halls = halls;
         this.currentHall = halls.get(0);
         this.hero = hero;
         this.eventManager = eventManager;
         this.initialTime = initialTime;
+        this.lastSchedulerMillis = clock.millis();
         this.currentHall.setHero(hero);
     }
 
     public void enter(GameSystem system) {
-        System.out.println("Entering Play Mode");
-        gameTimer = new GameTimer(eventManager);
+        GameLog.info("Entering Play Mode");
+        gameTimer = new GameTimer(eventManager, scheduler);
         gameTimer.start(initialTime);
+        lastSchedulerMillis = clock.millis();
 
         spawnInitialRune();
         registerEventHandlers();
+        eventManager.subscribe(GameEvent.SAVE_REQUESTED, saveListener);
+        publishFrame();
+        startAutosave();
     }
     private void spawnInitialRune() {
-        Position runePos = new Position(rand.nextInt(currentHall.getWidth()), rand.nextInt(currentHall.getHeight()));
-        Rune rune = new Rune(runePos);
+        Position runePos = new Position(runeRandom.nextInt(currentHall.getWidth()), runeRandom.nextInt(currentHall.getHeight()));
+        Rune rune = new Rune(runePos, runeRandom);
         currentHall.setRune(rune);
     }
 
     private void registerEventHandlers() {
         // Arrow hit event
-        eventManager.subscribe("HERO_HIT_BY_ARROW", new EventListener() {
+        eventManager.subscribe(GameEvent.HERO_HIT_BY_ARROW, new EventListener() {
             @Override
             public void onEvent(String eventType, Object data) {
                 synchronized (hero) {
                     if (!isPaused() && hero.getLives() > 0) {
                         hero.decreaseLife();
-                        eventManager.notify("LOG_MESSAGE", "Hero hit by arrow!");
+                        recordLives();
+                        eventManager.notify(GameEvent.LOG_MESSAGE, "Hero hit by arrow!");
                     }
                 }
             }
         });
 
         // Stab event
-        eventManager.subscribe("HERO_STABBED", new EventListener() {
+        eventManager.subscribe(GameEvent.HERO_STABBED, new EventListener() {
             @Override
             public void onEvent(String eventType, Object data) {
                 synchronized (hero) {
                     if (!isPaused() && hero.getLives() > 0) {
                         hero.decreaseLife();
-                        eventManager.notify("LOG_MESSAGE", "Hero stabbed by fighter!");
+                        recordLives();
+                        eventManager.notify(GameEvent.LOG_MESSAGE, "Hero stabbed by fighter!");
                     }
                 }
             }
         });
 
         // Info message event
-        eventManager.subscribe("SHOW_INFO", new EventListener() {
+        eventManager.subscribe(GameEvent.SHOW_INFO, new EventListener() {
             @Override
             public void onEvent(String eventType, Object data) {
                 if (data instanceof String) {
-                    eventManager.notify("LOG_MESSAGE", data);
-                    eventManager.notify("DISPLAY_INFO", data);
+                    eventManager.notify(GameEvent.LOG_MESSAGE, data);
+                    eventManager.notify(GameEvent.DISPLAY_INFO, data);
                 }
             }
         });
 
         // Add lives event
-        eventManager.subscribe("ADD_LIVES", new EventListener() {
+        eventManager.subscribe(GameEvent.ADD_LIVES, new EventListener() {
             @Override
             public void onEvent(String eventType, Object data) {
                 synchronized (hero) {
                     if (!isPaused()) {
                         int currentLives = hero.getLives();
                         currentLives++;
-                       // eventManager.notify("LOG_MESSAGE", "PlayMode: Added 1 life. Lives: " + currentLives);
+                       // eventManager.notify(GameEvent.LOG_MESSAGE, "PlayMode: Added 1 life. Lives: " + currentLives);
                     }
                 }
             }
         });
 
         // Add time event
-        eventManager.subscribe("ADD_TIME", new EventListener() {
+        eventManager.subscribe(GameEvent.ADD_TIME, new EventListener() {
             @Override
             public void onEvent(String eventType, Object data) {
                 if (!isPaused() && data instanceof Integer) {
                     int seconds = (Integer) data;
                     gameTimer.addTime(seconds);
-                    eventManager.notify("LOG_MESSAGE", "Added " + seconds + " seconds");
+                    eventManager.notify(GameEvent.LOG_MESSAGE, "Added " + seconds + " seconds");
                 }
             }
         });
 
         // Invisibility event
-        eventManager.subscribe("INVISIBILITY", new EventListener() {
-            private long invisibilityEndTime = 0;
-            private boolean isInvisible = false;
+        eventManager.subscribe(GameEvent.INVISIBILITY, new EventListener() {
+            private volatile ScheduledTask visibilityRestore;
 
             @Override
             public void onEvent(String eventType, Object data) {
@@ -216,44 +295,28 @@ public class PlayMode implements GameState {
                         }
                     }
                     
-                    isInvisible = true;
-                    invisibilityEndTime = System.currentTimeMillis() + (duration * 1000);
-                    eventManager.notify("LOG_MESSAGE", "Hero invisible now.");
-
-                    // Start a timer to check invisibility status periodically
-                    new Thread(() -> {
-                        while (isInvisible && System.currentTimeMillis() < invisibilityEndTime) {
-                            if (isPaused()) {
-                                // If game is paused, extend the end time by the pause duration
-                                invisibilityEndTime += 100; // Extend by the sleep duration
-                            }
-                            try {
-                                Thread.sleep(100); // Check every 100ms
-                            } catch (InterruptedException e) {
-                                Thread.currentThread().interrupt();
-                                break;
-                            }
-                        }
-                        
-                        // Only remove invisibility if it hasn't been removed already
-                        if (isInvisible) {
-                            isInvisible = false;
-                            if (!isPaused()) {
-                                for (Monster monster : currentHall.getMonsters()) {
-                                    if (monster instanceof ArcherMonster) {
-                                        ((ShootArrow)monster.getBehaviour()).setHeroInvisible(false);
-                                    }
-                                }
-                                eventManager.notify("LOG_MESSAGE", "Hero visibility restored");
+                    eventManager.notify(GameEvent.LOG_MESSAGE, "Hero invisible now.");
+
+                    // A second cloak restarts the countdown instead of racing the first one
+                    ScheduledTask previous = visibilityRestore;
+                    if (previous != null) {
+                        previous.cancel();
+                    }
+                    visibilityRestore = scheduler.schedule(duration * 1000L, () -> {
+                        visibilityRestore = null;
+                        for (Monster monster : currentHall.getMonsters()) {
+                            if (monster instanceof ArcherMonster) {
+                                ((ShootArrow)monster.getBehaviour()).setHeroInvisible(false);
                             }
                         }
-                    }).start();
+                        eventManager.notify(GameEvent.LOG_MESSAGE, "Hero visibility restored");
+                    });
                 }
             }
         });
 
         // Reveal rune event
-        eventManager.subscribe("REVEAL_RUNE", new EventListener() {
+        eventManager.subscribe(GameEvent.REVEAL_RUNE, new EventListener() {
             @Override
             public void onEvent(String eventType, Object data) {
                 if (!isPaused() && data instanceof Integer) {
@@ -279,29 +342,22 @@ public class PlayMode implements GameState {
                         Map<String, Position> highlightData = new HashMap<>();
                         highlightData.put("start", highlightStart);
                         highlightData.put("end", highlightEnd);
-                        eventManager.notify("SHOW_HIGHLIGHT", highlightData);
+                        eventManager.notify(GameEvent.SHOW_HIGHLIGHT, highlightData);
                         
                         // Schedule highlight removal
-                        new Thread(() -> {
-                            try {
-                                Thread.sleep(duration * 1000);
-                                if (!isPaused()) {
-                                    eventManager.notify("HIDE_HIGHLIGHT", null);
-                                   // eventManager.notify("LOG_MESSAGE", "PlayMode: Rune highlight removed");
-                                }
-                            } catch (InterruptedException e) {
-                                Thread.currentThread().interrupt();
-                            }
-                        }).start();
+                        scheduler.schedule(duration * 1000L, () -> {
+                            eventManager.notify(GameEvent.HIDE_HIGHLIGHT, null);
+                           // eventManager.notify(GameEvent.LOG_MESSAGE, "PlayMode: Rune highlight removed");
+                        });
                         
-                        eventManager.notify("LOG_MESSAGE", "Rune highlighted.");
+                        eventManager.notify(GameEvent.LOG_MESSAGE, "Rune highlighted.");
                     }
                 }
             }
         });
 
         // Distraction event
-        eventManager.subscribe("DISTRACTION", new EventListener() {
+        eventManager.subscribe(GameEvent.DISTRACTION, new EventListener() {
             @Override
             public void onEvent(String eventType, Object data) {
                 if (!isPaused() && data instanceof Position) {
@@ -312,13 +368,13 @@ public class PlayMode implements GameState {
                             ((StabDagger)monster.getBehaviour()).setTargetPosition(targetPos);
                         }
                     }
-                    eventManager.notify("LOG_MESSAGE", "Fighter monsters distracted." );
+                    eventManager.notify(GameEvent.LOG_MESSAGE, "Fighter monsters distracted." );
                 }
             }
         });
 
         // Rune collected event
-        eventManager.subscribe("RUNE_COLLECTED", new EventListener() {
+        eventManager.subscribe(GameEvent.RUNE_COLLECTED, new EventListener() {
             @Override
             public void onEvent(String eventType, Object data) {
                 synchronized (PlayMode.this) {
@@ -329,7 +385,7 @@ public class PlayMode implements GameState {
             }
         });
 
-        eventManager.subscribe("RUNE_TELEPORTED", new EventListener() {
+        eventManager.subscribe(GameEvent.RUNE_TELEPORTED, new EventListener() {
             @Override
             public void onEvent(String eventType, Object data) {
                 synchronized (currentHall) {
@@ -338,32 +394,37 @@ public class PlayMode implements GameState {
                         if (rune != null) {
                             rune.moveToRandomObject(currentHall);
                             currentHall.setRune(rune);
+                            AutosaveJournal journal = PlayMode.this.journal;
+                            if (journal != null) {
+                                journal.runeHidden(rune);
+                            }
                         }
                     }
                 }
             }
         });
 
-        eventManager.subscribe("ADD_LIVES", new EventListener() {
+        eventManager.subscribe(GameEvent.ADD_LIVES, new EventListener() {
             @Override
             public void onEvent(String eventType, Object data) {
                 synchronized (hero) {
                     if (!isPaused()) {
                         hero.increaseLife();
-                      //  eventManager.notify("LOG_MESSAGE", "PlayMode: Added 1 life. Lives: " + hero.getLives());
+                        recordLives();
+                      //  eventManager.notify(GameEvent.LOG_MESSAGE, "PlayMode: Added 1 life. Lives: " + hero.getLives());
                     }
                 }
             }
         });
 
-        eventManager.subscribe("HERO_DEAD", new EventListener() {
+        eventManager.subscribe(GameEvent.HERO_DEAD, new EventListener() {
             @Override
             public void onEvent(String eventType, Object data) {
                 synchronized (PlayMode.this) {
                     if (!isPaused()) {
                         gameTimer.stop();
-                        eventManager.notify("LOG_MESSAGE", "Hero is dead. Game Over!");
-                        eventManager.notify("GAME_OVER", null);
+                        eventManager.notify(GameEvent.LOG_MESSAGE, "Hero is dead. Game Over!");
+                        eventManager.notify(GameEvent.GAME_OVER, null);
                     }
                 }
             }
@@ -390,30 +451,46 @@ public class PlayMode implements GameState {
      *   - Spawns monsters if interval reached
      *   - Spawns enchantments if interval reached
      *   - Updates enchantment timers and removes expired enchantments
+     *   - Advances the scheduler by the game time since the last unpaused
+     *     update, running the countdown and any delayed effects that fall due
      */
     public void update(GameSystem system) {
+        AutosaveJournal journal = this.journal;
         if (!paused) {
             updateLock.lock();
             try {
+                long phaseStart = profiler.start();
                 currentHall.update(hero);
+                profiler.stop(FrameProfiler.Phase.HALL_UPDATE, phaseStart);
                 
-                long currentTime = System.currentTimeMillis();
+                long currentTime = clock.millis();
+                phaseStart = profiler.start();
                 
                 // Monster spawning
                 if (currentTime - lastMonsterSpawnTime >= MONSTER_SPAWN_INTERVAL_MS) {
-                    Monster monster = MonsterFactory.createRandomMonster(currentHall, this);
-                    synchronized(currentHall) {
-                        currentHall.addMonster(monster);
+                    Monster monster = MonsterFactory.createRandomMonster(currentHall, this, monsterRandom);
+                    if (monster != null) {
+                        synchronized(currentHall) {
+                            currentHall.addMonster(monster);
+                        }
+                        if (journal != null) {
+                            journal.monsterSpawned(monster);
+                        }
                     }
                     lastMonsterSpawnTime = currentTime;
                 }
 
                 // Enchantment spawning
                 if (currentTime - lastEnchantmentSpawnTime >= ENCHANTMENT_SPAWN_INTERVAL_MS) {
-                    Enchantment enchantment = EnchantmentFactory.createRandomEnchantment(currentHall);
-                    synchronized(enchantmentLock) {
-                        currentHall.addEnchantment(enchantment);
-                        enchantmentDespawnTimes.put(enchantment, currentTime + ENCHANTMENT_DESPAWN_TIME_MS);
+                    Enchantment enchantment = EnchantmentFactory.createRandomEnchantment(currentHall, enchantmentRandom);
+                    if (enchantment != null) {
+                        synchronized(enchantmentLock) {
+                            currentHall.addEnchantment(enchantment);
+                            enchantmentDespawnTimes.put(enchantment, currentTime + ENCHANTMENT_DESPAWN_TIME_MS);
+                        }
+                        if (journal != null) {
+                            journal.enchantmentSpawned(enchantment);
+                        }
                     }
                     lastEnchantmentSpawnTime = currentTime;
                 }
@@ -429,13 +506,95 @@ public class PlayMode implements GameState {
                         if (currentTime >= despawnTime) {
                             currentHall.removeEnchantment(enchantment);
                             it.remove();
+                            if (journal != null) {
+                                journal.enchantmentRemoved(enchantment);
+                            }
                         }
                     }
                 }
+                profiler.stop(FrameProfiler.Phase.SPAWN, phaseStart);
+
+                // Run delayed effects and the countdown last, since they may end the hall
+                scheduler.advance(Math.max(0, currentTime - lastSchedulerMillis));
+                lastSchedulerMillis = currentTime;
             } finally {
                 updateLock.unlock();
             }
         }
+
+        if (journal != null) {
+            journal.timeChanged(getRemainingTime());
+            if (journal.isCheckpointDue()) {
+                // Outside updateLock: the snapshot takes hallTransitionLock.
+                // Only the capture happens here; encoding and disk I/O run on the save writer thread.
+                journal.checkpointAsync(captureSnapshot()).exceptionally(error -> {
+                    error.printStackTrace();
+                    return null;
+                });
+            }
+        }
+
+        publishFrame();
+    }
+
+    /**
+     * Replaces the published frame with a copy of the current hall and hero.
+     */
+    private void publishFrame() {
+        Hall hall = getCurrentHall();
+        Hero shownHero = getHero();
+        if (hall == null || shownHero == null) {
+            return;
+        }
+        synchronized (frameLock) {
+            FrameSnapshot previous = frame;
+            if (changedCells == null || previous == null || previous.getHall() != hall) {
+                // A new hall is drawn from scratch
+                changedCells = new DirtyCells(hall.getWidth(), hall.getHeight());
+                changedCells.markAll();
+            }
+            // Drain before capturing: a change made in between is then in this frame and redrawn once more next time
+            hall.drainDirtyCells(changedCells);
+            synchronized (hall) {
+                frame = FrameSnapshot.capture(hall, shownHero, getRemainingTime(), previous);
+            }
+        }
+    }
+
+    /**
+     * Returns the frame published after the latest update, or null before
+     * play mode is entered. Safe to call from any thread.
+     */
+    public FrameSnapshot getFrame() {
+        return frame;
+    }
+
+    /**
+     * Returns the profiler that times this session's ticks and frames.
+     */
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Returns the latest frame, like getFrame(), and moves the hall cells
+     * that changed since the previous call into changed.
+     *
+     * @requires Only one renderer calls this
+     * @modifies changed
+     * @effects
+     *   - Adds to changed every cell that looks different in the returned
+     *     frame than in the frame returned by the previous call
+     *   - Marks all of changed if it does not have the hall's dimensions
+     */
+    public FrameSnapshot takeFrame(DirtyCells changed) {
+        synchronized (frameLock) {
+            if (changedCells != null) {
+                changed.addAll(changedCells);
+                changedCells.clear();
+            }
+            return frame;
+        }
     }
 
 
@@ -480,6 +639,8 @@ public class PlayMode implements GameState {
     public synchronized void resume() {
         if (paused) {
             this.paused = false;
+            // Time spent paused never reaches the scheduler
+            lastSchedulerMillis = clock.millis();
             if (gameTimer != null) {
                 gameTimer.resume();
             }
@@ -493,18 +654,25 @@ public class PlayMode implements GameState {
 
 
     public void exit(GameSystem system) {
-        System.out.println("Exiting Play Mode");
+        GameLog.info("Exiting Play Mode");
         updateLock.lock();
         try {
             if (gameTimer != null) {
                 gameTimer.stop();
             }
+            scheduler.cancelAll();
             // Unsubscribe from all events
-            eventManager.unsubscribe("RUNE_COLLECTED", null);
-            eventManager.unsubscribe("HERO_HIT_BY_ARROW", null);
-            eventManager.unsubscribe("HERO_STABBED", null);
-            eventManager.unsubscribe("RUNE_TELEPORTED", null);
-            eventManager.unsubscribe("HERO_DEAD", null);
+            eventManager.unsubscribe(GameEvent.RUNE_COLLECTED, null);
+            eventManager.unsubscribe(GameEvent.HERO_HIT_BY_ARROW, null);
+            eventManager.unsubscribe(GameEvent.HERO_STABBED, null);
+            eventManager.unsubscribe(GameEvent.RUNE_TELEPORTED, null);
+            eventManager.unsubscribe(GameEvent.HERO_DEAD, null);
+            eventManager.unsubscribe(GameEvent.SAVE_REQUESTED, saveListener);
+            // Leaving play normally means there is nothing to recover
+            if (journal != null) {
+                journal.discard();
+                journal = null;
+            }
 
             // Reset all game state
             resetGameState();
@@ -537,14 +705,16 @@ public class PlayMode implements GameState {
         hallTransitionLock.lock();
         try {
             // Reset all counters and collections
-            lastMonsterSpawnTime = System.currentTimeMillis();
-            lastEnchantmentSpawnTime = System.currentTimeMillis();
+            lastMonsterSpawnTime = clock.millis();
+            lastEnchantmentSpawnTime = clock.millis();
             synchronized(enchantmentLock) {
                 enchantmentDespawnTimes.clear();
             }
 
-            // Reset all halls
-            for (Hall hall : halls) {
+            // Reset all halls; halls a save has not loaded yet have nothing to reset
+            List<Hall> loadedHalls = halls instanceof SegmentedHallList
+                ? ((SegmentedHallList) halls).getLoadedHalls() : halls;
+            for (Hall hall : loadedHalls) {
                 synchronized(hall) {
                     hall.clearMonsters();
                     hall.clearEnchantments();
@@ -563,10 +733,12 @@ public class PlayMode implements GameState {
                 currentHall.setHero(hero);
                 
                 // Create and set initial rune for the first hall
-                Position runePos = new Position(rand.nextInt(currentHall.getWidth()), 
-                                             rand.nextInt(currentHall.getHeight()));
-                Rune rune = new Rune(runePos);
+                Position runePos = new Position(runeRandom.nextInt(currentHall.getWidth()), 
+                                             runeRandom.nextInt(currentHall.getHeight()));
+                Rune rune = new Rune(runePos, runeRandom);
                 currentHall.setRune(rune);
+                // The hero moved back to the start without stepping
+                currentHall.markAllDirty();
             }
 
             // Reset pause state
@@ -582,8 +754,8 @@ private void handleGameEnd() {
     resetState();
 
     // Notify the UI to show the congratulations screen
-    eventManager.notify("GAME_COMPLETED", null);
-    eventManager.notify("EXIT_PLAY_MODE", null);
+    eventManager.notify(GameEvent.GAME_COMPLETED, null);
+    eventManager.notify(GameEvent.EXIT_PLAY_MODE, null);
 }
 
 // Then call handleGameEnd() wherever you detect the game is finished:
@@ -597,8 +769,8 @@ private void handleGameEnd() {
     private void resetState() {
         updateLock.lock();
         try {
-            lastMonsterSpawnTime = System.currentTimeMillis();
-            lastEnchantmentSpawnTime = System.currentTimeMillis();
+            lastMonsterSpawnTime = clock.millis();
+            lastEnchantmentSpawnTime = clock.millis();
             synchronized(enchantmentLock) {
                 enchantmentDespawnTimes.clear();
             }
@@ -638,10 +810,10 @@ private void handleGameEnd() {
     private void onRuneCollected() {
         hallTransitionLock.lock();
         try {
-            System.out.println("Rune collected!");
+            GameLog.info("Rune collected!");
 
             // Clear any existing highlight
-            eventManager.notify("HIDE_HIGHLIGHT", null);
+            eventManager.notify(GameEvent.HIDE_HIGHLIGHT, null);
 
             int nextHallIndex = halls.indexOf(currentHall) + 1;
             if (nextHallIndex < halls.size()) {
@@ -653,9 +825,10 @@ private void handleGameEnd() {
                     currentHall.setRune(null);
                     currentHall.setHero(null);
                     
-                    // Set up next hall
+                    // Set up next hall, loading it from the save if this is its first use
                     currentHall = halls.get(nextHallIndex);
-                    System.out.println("Moving to the next hall: " + currentHall.getName());
+                    attachHall(currentHall);
+                    GameLog.info("Moving to the next hall: " + currentHall.getName());
                     
                     if (gameTimer != null) {
                         gameTimer.stop(); // Ensure old timer is stopped
@@ -666,10 +839,16 @@ private void handleGameEnd() {
                     hero.setPosition(START_POSITION);
                     currentHall.setHero(hero);
                     
-                    Position runePos = new Position(rand.nextInt(currentHall.getWidth()), 
-                                                  rand.nextInt(currentHall.getHeight()));
-                    Rune rune = new Rune(runePos);
+                    Position runePos = new Position(runeRandom.nextInt(currentHall.getWidth()), 
+                                                  runeRandom.nextInt(currentHall.getHeight()));
+                    Rune rune = new Rune(runePos, runeRandom);
                     currentHall.setRune(rune);
+
+                    AutosaveJournal journal = this.journal;
+                    if (journal != null) {
+                        journal.hallAdvanced(hero.getPosition());
+                        journal.runeHidden(rune);
+                    }
                 }
                 onHallCompleted();
             } else {
@@ -681,7 +860,7 @@ private void handleGameEnd() {
                     currentHall.setRune(null);
                     currentHall.setHero(null);
                     checkGameOver();
-                    System.out.println("All halls completed. You win!");
+                    GameLog.info("All halls completed. You win!");
                 }
             }
         } finally {
@@ -691,7 +870,7 @@ private void handleGameEnd() {
 
     private void onHallCompleted() {
         completedHallsCount++;
-        getEventManager().notify("HALL_COMPLETED", completedHallsCount);
+        getEventManager().notify(GameEvent.HALL_COMPLETED, completedHallsCount);
     }
 
     public synchronized Hall getCurrentHall() {
@@ -714,15 +893,260 @@ private void handleGameEnd() {
         return eventManager;
     }
 
+    public GameClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Returns the scheduler that runs this session's countdown and delayed
+     * effects. It only advances while the game is running and unpaused.
+     */
+    public GameScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public SplittableRandom getBehaviourRandom() {
+        return behaviourRandom;
+    }
+
+    public int getCompletedHallsCount() {
+        return completedHallsCount;
+    }
+
     public void handleActions(List<IAction> actions) {
         for (IAction action : actions) {
             if (action instanceof MoveAction) {
                 MoveAction moveAction = (MoveAction) action;
+                Position before = hero.getPosition();
                 this.hero.move(moveAction.getDirection(), this.currentHall);
+                AutosaveJournal journal = this.journal;
+                if (journal != null && hero.getPosition() != before) {
+                    journal.heroMoved(hero.getPosition());
+                }
+            } else if (action instanceof SearchAction) {
+                searchObjectAt(((SearchAction) action).getTarget());
+            } else if (action instanceof CollectEnchantmentAction) {
+                collectEnchantmentAt(((CollectEnchantmentAction) action).getTarget());
+            } else if (action instanceof UseEnchantmentAction) {
+                UseEnchantmentAction use = (UseEnchantmentAction) action;
+                useEnchantment(use.getType(), use.getTarget());
             }
         }
     }
 
+    /**
+     * Searches the object covering the given cell for the hidden rune.
+     *
+     * @requires
+     *   - position != null
+     *
+     * @modifies
+     *   - currentHall objects and rune
+     *
+     * @effects
+     *   - If an object covers position, the hero is orthogonally adjacent to
+     *     position and the rune is hidden under that object: reveals the rune,
+     *     removes the object and returns true
+     *   - Otherwise returns false and changes nothing
+     */
+    public boolean searchObjectAt(Position position) {
+        Hall hall = currentHall;
+        if (hall == null || !hall.isWithinBounds(position)) {
+            return false;
+        }
+
+        DungeonObject object = hall.getObjectAt(position);
+        if (object == null || !isAdjacentToHero(position, hero.getPosition())) {
+            return false;
+        }
+
+        if (hero.checkForRune(hero.getPosition(), hall, object)) {
+            AutosaveJournal journal = this.journal;
+            if (journal != null) {
+                journal.runeRevealed(object.getPosition());
+            }
+            hall.removeObject(position);
+            if (journal != null) {
+                journal.objectRemoved(position);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Picks up the enchantment at the given cell of the current hall.
+     *
+     * @requires
+     *   - position != null
+     *   - Called on the game loop thread
+     *
+     * @modifies
+     *   - currentHall, hero
+     *
+     * @effects
+     *   - If an uncollected enchantment lies at position: the hero collects
+     *     it as Hero.interactWithObject describes and returns whether it was
+     *     collected
+     *   - Otherwise returns false and changes nothing
+     */
+    public boolean collectEnchantmentAt(Position position) {
+        Hall hall = currentHall;
+        if (hall == null || !hall.isWithinBounds(position)) {
+            return false;
+        }
+
+        Cell cell = hall.getCell(position);
+        if (cell == null || !(cell.getContent() instanceof Enchantment)) {
+            return false;
+        }
+        Enchantment enchantment = (Enchantment) cell.getContent();
+        int lives = hero.getLives();
+        hero.interactWithObject(cell, hall);
+        if (!enchantment.isCollected()) {
+            return false;
+        }
+        AutosaveJournal journal = this.journal;
+        if (journal != null) {
+            journal.enchantmentCollected(position);
+            journal.inventoryChanged(hero.getInventory());
+            if (hero.getLives() != lives) {
+                journal.livesChanged(hero.getLives());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Uses an enchantment from the hero's inventory.
+     *
+     * @requires
+     *   - type != null, and target != null if type is "LURE"
+     *   - Called on the game loop thread
+     *
+     * @modifies
+     *   - hero
+     *
+     * @effects
+     *   - Returns false and changes nothing if the hero does not hold type
+     *   - A Luring Gem leaves the inventory and publishes DISTRACTION with
+     *     target; other enchantments go through Hero.useEnchantment
+     */
+    public boolean useEnchantment(String type, Position target) {
+        if (!hero.hasItem(type)) {
+            return false;
+        }
+        if ("LURE".equals(type)) {
+            hero.removeFromInventory("LURE");
+            eventManager.notify(GameEvent.DISTRACTION, target);
+        } else {
+            hero.useEnchantment(type);
+        }
+        AutosaveJournal journal = this.journal;
+        if (journal != null) {
+            journal.inventoryChanged(hero.getInventory());
+        }
+        return true;
+    }
+
+    private boolean isAdjacentToHero(Position objectPos, Position heroPos) {
+        int dx = Math.abs(objectPos.getX() - heroPos.getX());
+        int dy = Math.abs(objectPos.getY() - heroPos.getY());
+        return (dx == 1 && dy == 0) || (dx == 0 && dy == 1);
+    }
+
+    /**
+     * Asks for the game to be saved without blocking the caller.
+     *
+     * @effects
+     *   - The snapshot is taken on the game loop thread at the start of its
+     *     next tick; encoding and disk I/O happen on the save writer thread
+     *   - GAME_SAVED is published with the new file's Path, or with the
+     *     Throwable that stopped it
+     */
+    public void requestSave() {
+        eventManager.notify(GameEvent.SAVE_REQUESTED, null);
+    }
+
+    /**
+     * Copies the state a save file needs.
+     *
+     * @requires
+     *   - Called between ticks, so no update is running
+     */
+    public SaveSnapshot captureSnapshot() {
+        hallTransitionLock.lock();
+        try {
+            return SaveSnapshot.capture(halls, halls.indexOf(currentHall), hero, getRemainingTime(),
+                                        completedHallsCount);
+        } finally {
+            hallTransitionLock.unlock();
+        }
+    }
+
+    /**
+     * Records this session to the autosave journal in the save directory,
+     * for recovery after a crash.
+     *
+     * @effects
+     *   - Recording starts once the session is set up: at the end of enter(),
+     *     and again from the loaded state at the end of loadFromSaveData()
+     *   - The first checkpoint is taken at the end of the next update
+     *   - The journal and checkpoint are deleted when play mode is exited
+     */
+    public void enableAutosave() {
+        enableAutosave(saveManager != null ? saveManager : new GameSaveManager(eventManager));
+    }
+
+    /**
+     * Like enableAutosave(), writing to the save directory of saveManager.
+     *
+     * @requires saveManager != null
+     */
+    public void enableAutosave(GameSaveManager saveManager) {
+        this.saveManager = saveManager;
+        autosaveEnabled = true;
+        if (gameTimer != null) {
+            // Already entered
+            startAutosave();
+        }
+    }
+
+    /**
+     * Opens a new journal whose first checkpoint is the session as it is now.
+     *
+     * @effects Discards the journal of an earlier state of this session, e.g.
+     *          the one opened by enter() before a save was loaded over it.
+     *          Both journals write on the save writer thread in order, so a
+     *          discarded checkpoint never replaces the new one.
+     */
+    private void startAutosave() {
+        if (!autosaveEnabled) {
+            return;
+        }
+        AutosaveJournal previous = journal;
+        if (previous != null) {
+            previous.discard();
+        }
+        journal = saveManager.openAutosaveJournal();
+    }
+
+    private void recordLives() {
+        AutosaveJournal journal = this.journal;
+        if (journal != null) {
+            journal.livesChanged(hero.getLives());
+        }
+    }
+
+    private void saveInBackground() {
+        SaveSnapshot snapshot = captureSnapshot();
+        if (saveManager == null) {
+            saveManager = new GameSaveManager(eventManager);
+        }
+        saveManager.saveGameAsync(snapshot).whenComplete((path, error) ->
+            eventManager.notify(GameEvent.GAME_SAVED, error != null ? error : path));
+    }
+
     public void loadFromSaveData(GameSaveData saveData) {
         hallTransitionLock.lock();
         try {
@@ -731,6 +1155,7 @@ private void handleGameEnd() {
             
             // Set current hall
             this.currentHall = halls.get(saveData.getCurrentHallIndex());
+            this.completedHallsCount = saveData.getCompletedHalls();
             
             // Set up hero
             this.hero = saveData.getHero();
@@ -738,25 +1163,43 @@ private void handleGameEnd() {
             
             // Initialize timer if needed
             if (gameTimer == null) {
-                gameTimer = new GameTimer(eventManager);
+                gameTimer = new GameTimer(eventManager, scheduler);
             }
             
             // Restart timer with saved time
             gameTimer.stop();
             gameTimer.start(saveData.getRemainingTime());
+            lastSchedulerMillis = clock.millis();
             
-            // Make sure all halls have their event managers and play mode set
-            for (Hall hall : halls) {
-                for (Monster monster : hall.getMonsters()) {
-                    if (monster instanceof WizardMonster) {
-                        WizardMonster wizard = (WizardMonster) monster;
-                        wizard.setEventManager(eventManager);
-                        wizard.setPlayMode(this);
-                    }
-                }
-            }
+            // Later halls are attached as play reaches them, so loading never waits on them
+            attachHall(currentHall);
+            publishFrame();
+            startAutosave();
         } finally {
             hallTransitionLock.unlock();
         }
     }
+
+    /**
+     * Connects a hall that came from a save file to this session.
+     *
+     * @modifies
+     *   - hall's rune and wizards
+     *
+     * @effects
+     *   - Gives the rune this session's random source
+     *   - Gives every wizard this session's event manager and PlayMode
+     */
+    private void attachHall(Hall hall) {
+        if (hall.getRune() != null) {
+            hall.getRune().setRandom(runeRandom);
+        }
+        for (Monster monster : hall.getMonsters()) {
+            if (monster instanceof WizardMonster) {
+                WizardMonster wizard = (WizardMonster) monster;
+                wizard.setEventManager(eventManager);
+                wizard.setPlayMode(this);
+            }
+        }
+    }
 }
\ No newline at end of file
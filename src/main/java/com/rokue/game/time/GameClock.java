@@ -0,0 +1,18 @@
+package com.rokue.game.time;
+
+/**
+ * Source of game time in milliseconds.
+ *
+ * Everything in a play session that measures cooldowns, spawn intervals or
+ * delays reads time through the session's GameClock instead of calling
+ * System.currentTimeMillis() directly. This lets a headless session swap in a
+ * ManualClock and run faster than wall time.
+ */
+public interface GameClock {
+
+    /**
+     * Returns the current game time in milliseconds. Only differences between
+     * two readings are meaningful; the origin is implementation defined.
+     */
+    long millis();
+}
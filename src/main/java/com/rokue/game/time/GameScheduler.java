@@ -0,0 +1,275 @@
+package com.rokue.game.time;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs delayed and repeating game effects on game time.
+ *
+ * Tasks live in a hierarchical timing wheel: LEVELS wheels of SLOTS buckets
+ * each, where a bucket of level n covers SLOTS^n milliseconds. Scheduling and
+ * cancelling are O(1), and a task is moved down a level at most LEVELS - 1
+ * times before it fires. Time only moves when advance() is called, so a
+ * session that stops advancing (for example while paused) also stops every
+ * pending effect without any extra bookkeeping.
+ *
+ * @effects
+ *   - Tasks run on the thread that calls advance(), never while the scheduler
+ *     lock is held, so a task may schedule or cancel other tasks
+ *   - Tasks due at the same millisecond run in the order they were scheduled
+ */
+public class GameScheduler {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY = 1L << (SLOT_BITS * LEVELS); // about 4.6 hours
+
+    private final Bucket[][] wheels = new Bucket[LEVELS][SLOTS];
+    private long now = 0;
+    private int size = 0;
+
+    public GameScheduler() {
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheels[level][slot] = new Bucket();
+            }
+        }
+    }
+
+    /**
+     * Runs task once after the given amount of game time.
+     *
+     * @requires
+     *   - delayMillis >= 0
+     *   - task != null
+     *
+     * @effects
+     *   - A delay of 0 runs the task on the next advance()
+     *   - Returns a handle that can cancel the task
+     */
+    public ScheduledTask schedule(long delayMillis, Runnable task) {
+        return scheduleAtFixedRate(delayMillis, 0, task);
+    }
+
+    /**
+     * Runs task after the given delay and then every periodMillis of game time
+     * until it is cancelled. A period of 0 runs it only once.
+     *
+     * @requires
+     *   - delayMillis >= 0
+     *   - periodMillis >= 0
+     *   - task != null
+     *
+     * @effects
+     *   - Runs at fixed rate: if one advance() covers several periods, the task
+     *     runs once for each of them
+     */
+    public synchronized ScheduledTask scheduleAtFixedRate(long delayMillis, long periodMillis, Runnable task) {
+        if (delayMillis < 0 || periodMillis < 0) {
+            throw new IllegalArgumentException("Delay and period must not be negative");
+        }
+        if (task == null) {
+            throw new IllegalArgumentException("Task must not be null");
+        }
+        ScheduledTask scheduled = new ScheduledTask(this, task, now + Math.max(1, delayMillis), periodMillis);
+        insert(scheduled);
+        size++;
+        return scheduled;
+    }
+
+    /**
+     * Moves game time forward and runs every task that falls due.
+     *
+     * @requires
+     *   - millis >= 0
+     *
+     * @modifies
+     *   - this.now
+     *
+     * @effects
+     *   - Runs due tasks in deadline order on the calling thread
+     *   - Skips straight to the target time when nothing is scheduled
+     */
+    public void advance(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Game time cannot run backwards");
+        }
+
+        long target;
+        synchronized (this) {
+            target = now + millis;
+        }
+
+        List<ScheduledTask> due = new ArrayList<>();
+        while (true) {
+            synchronized (this) {
+                if (now >= target) {
+                    return;
+                }
+                if (size == 0) {
+                    now = target;
+                    return;
+                }
+                now++;
+                cascade();
+                collectDue(due);
+            }
+
+            for (int i = 0; i < due.size(); i++) {
+                ScheduledTask task = due.get(i);
+                if (!task.isCancelled()) {
+                    task.getTask().run();
+                }
+            }
+            due.clear();
+        }
+    }
+
+    /**
+     * Cancels every pending task.
+     */
+    public synchronized void cancelAll() {
+        for (Bucket[] wheel : wheels) {
+            for (Bucket bucket : wheel) {
+                ScheduledTask task = bucket.head;
+                while (task != null) {
+                    ScheduledTask next = task.next;
+                    task.markCancelled();
+                    task.prev = null;
+                    task.next = null;
+                    task.bucket = null;
+                    task = next;
+                }
+                bucket.head = null;
+                bucket.tail = null;
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * Returns the game time in milliseconds since this scheduler was created.
+     */
+    public synchronized long now() {
+        return now;
+    }
+
+    /**
+     * Returns the number of tasks waiting to run.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    synchronized void cancel(ScheduledTask task) {
+        if (task.isCancelled()) {
+            return;
+        }
+        task.markCancelled();
+        if (task.bucket != null) {
+            task.bucket.remove(task);
+            size--;
+        }
+    }
+
+    private void insert(ScheduledTask task) {
+        long delay = task.getDeadline() - now;
+        long slotTime = task.getDeadline();
+        if (delay >= MAX_DELAY) {
+            // Park it as far out as the wheels reach; it is re-placed when that slot cascades
+            delay = MAX_DELAY - 1;
+            slotTime = now + delay;
+        }
+
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) (slotTime >>> (SLOT_BITS * level)) & SLOT_MASK;
+        wheels[level][slot].add(task);
+    }
+
+    /**
+     * Whenever a lower wheel wraps around, moves the tasks of the matching
+     * bucket one level down so they are re-placed with a finer resolution.
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((now & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                return;
+            }
+            int slot = (int) (now >>> (SLOT_BITS * level)) & SLOT_MASK;
+            Bucket bucket = wheels[level][slot];
+            ScheduledTask task = bucket.head;
+            bucket.head = null;
+            bucket.tail = null;
+            while (task != null) {
+                ScheduledTask next = task.next;
+                task.prev = null;
+                task.next = null;
+                task.bucket = null;
+                insert(task);
+                task = next;
+            }
+        }
+    }
+
+    private void collectDue(List<ScheduledTask> due) {
+        Bucket bucket = wheels[0][(int) now & SLOT_MASK];
+        ScheduledTask task = bucket.head;
+        bucket.head = null;
+        bucket.tail = null;
+        while (task != null) {
+            ScheduledTask next = task.next;
+            task.prev = null;
+            task.next = null;
+            task.bucket = null;
+            due.add(task);
+            if (task.getPeriod() > 0) {
+                task.setDeadline(task.getDeadline() + task.getPeriod());
+                insert(task);
+            } else {
+                size--;
+            }
+            task = next;
+        }
+    }
+
+    /**
+     * Doubly linked list of the tasks in one wheel slot, so a cancelled task
+     * can unlink itself in O(1).
+     */
+    static final class Bucket {
+        private ScheduledTask head;
+        private ScheduledTask tail;
+
+        void add(ScheduledTask task) {
+            task.bucket = this;
+            task.prev = tail;
+            task.next = null;
+            if (tail == null) {
+                head = task;
+            } else {
+                tail.next = task;
+            }
+            tail = task;
+        }
+
+        void remove(ScheduledTask task) {
+            if (task.prev == null) {
+                head = task.next;
+            } else {
+                task.prev.next = task.next;
+            }
+            if (task.next == null) {
+                tail = task.prev;
+            } else {
+                task.next.prev = task.prev;
+            }
+            task.prev = null;
+            task.next = null;
+            task.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.rokue.game.time;
+
+import com.rokue.game.GameLoop;
+
+/**
+ * GameClock that only moves when told to.
+ *
+ * A headless driver calls tick() once per simulated frame, so a full session
+ * can be played in however little wall time the CPU needs.
+ *
+ * @effects
+ *   - millis() returns the start time plus all time advanced so far
+ *   - Time is tracked in nanoseconds so repeated 1/60 s ticks do not drift
+ */
+public class ManualClock implements GameClock {
+    private final long tickNanos;
+    private volatile long nanos;
+
+    public ManualClock() {
+        this(0, GameLoop.NANOS_PER_TICK);
+    }
+
+    public ManualClock(long startMillis, long tickNanos) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Tick length must be positive");
+        }
+        this.nanos = startMillis * 1_000_000L;
+        this.tickNanos = tickNanos;
+    }
+
+    @Override
+    public long millis() {
+        return nanos / 1_000_000L;
+    }
+
+    /**
+     * Advances the clock by one tick.
+     */
+    public void tick() {
+        nanos += tickNanos;
+    }
+
+    /**
+     * Advances the clock by the given number of milliseconds.
+     *
+     * @requires
+     *   - millis >= 0
+     */
+    public void advance(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Game time cannot run backwards");
+        }
+        nanos += millis * 1_000_000L;
+    }
+}
@@ -0,0 +1,58 @@
+package com.rokue.game.time;
+
+/**
+ * Handle for a task waiting in a GameScheduler.
+ *
+ * @effects
+ *   - cancel() stops the task from running again; cancelling twice is harmless
+ */
+public final class ScheduledTask {
+    private final GameScheduler scheduler;
+    private final Runnable task;
+    private final long period;
+    private long deadline;
+    private volatile boolean cancelled = false;
+
+    // Wheel slot links, guarded by the scheduler lock
+    GameScheduler.Bucket bucket;
+    ScheduledTask prev;
+    ScheduledTask next;
+
+    ScheduledTask(GameScheduler scheduler, Runnable task, long deadline, long period) {
+        this.scheduler = scheduler;
+        this.task = task;
+        this.deadline = deadline;
+        this.period = period;
+    }
+
+    public void cancel() {
+        scheduler.cancel(this);
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Returns the game time, in scheduler milliseconds, at which the task runs next.
+     */
+    public long getDeadline() {
+        return deadline;
+    }
+
+    public long getPeriod() {
+        return period;
+    }
+
+    Runnable getTask() {
+        return task;
+    }
+
+    void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    void markCancelled() {
+        cancelled = true;
+    }
+}
@@ -0,0 +1,16 @@
+package com.rokue.game.time;
+
+/**
+ * GameClock backed by the wall clock. This is what interactive play uses.
+ */
+public final class SystemClock implements GameClock {
+    public static final SystemClock INSTANCE = new SystemClock();
+
+    private SystemClock() {
+    }
+
+    @Override
+    public long millis() {
+        return System.currentTimeMillis();
+    }
+}
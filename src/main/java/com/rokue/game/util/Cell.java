@@ -6,10 +6,20 @@ public class Cell implements Serializable {
     private static final long serialVersionUID = 1L;
     private Position position;
     private Object content;
+    // Rebuilt by the owning Hall after loading, so it is not part of the save
+    private transient OccupancyGrid occupancy;
 
     public Cell(Position position) {
+        this(position, null);
+    }
+
+    /**
+     * Creates a cell that reports every content change to occupancy.
+     */
+    public Cell(Position position, OccupancyGrid occupancy) {
         this.position = position;
         this.content = null;
+        this.occupancy = occupancy;
     }
 
     public Position getPosition() {
@@ -18,6 +28,9 @@ public class Cell implements Serializable {
 
     public void setContent(Object content) {
         this.content = content;
+        if (occupancy != null) {
+            occupancy.set(position.getX(), position.getY(), content);
+        }
     }
 
     public Object getContent() {
@@ -27,4 +40,14 @@ public class Cell implements Serializable {
     public boolean isEmpty() {
         return content == null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Attaches this cell to occupancy and records its current content there.
+     */
+    public void setOccupancy(OccupancyGrid occupancy) {
+        this.occupancy = occupancy;
+        if (occupancy != null) {
+            occupancy.set(position.getX(), position.getY(), content);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.rokue.game.util;
+
+/**
+ * Callback for walking cells by coordinate without building a collection.
+ */
+@FunctionalInterface
+public interface CellVisitor {
+    void visit(int x, int y, Cell cell);
+}
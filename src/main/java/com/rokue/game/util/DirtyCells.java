@@ -0,0 +1,174 @@
+package com.rokue.game.util;
+
+import java.util.Arrays;
+
+/**
+ * Set of the cells of a hall that changed since they were last drawn.
+ *
+ * Cells are indexed row-major (y * width + x) in a bitset, like
+ * OccupancyGrid. forEachRegion turns the set into a few rectangles, so a
+ * renderer can repaint what changed instead of the whole hall.
+ *
+ * Not thread safe; owners synchronize access.
+ */
+public final class DirtyCells {
+    private final int width;
+    private final int height;
+    private final long[] bits;
+    // Scratch for forEachRegion: open regions of the previous row
+    private final int[] openX;
+    private final int[] openWidth;
+    private final int[] openY;
+    private final int[] nextX;
+    private final int[] nextWidth;
+    private final int[] nextY;
+
+    /**
+     * Visits one rectangle of dirty cells, in cell coordinates.
+     */
+    public interface RegionVisitor {
+        void visit(int x, int y, int width, int height);
+    }
+
+    public DirtyCells(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid dimensions must be positive");
+        }
+        this.width = width;
+        this.height = height;
+        this.bits = new long[(width * height + 63) >>> 6];
+        int maxRuns = (width + 1) / 2;
+        this.openX = new int[maxRuns];
+        this.openWidth = new int[maxRuns];
+        this.openY = new int[maxRuns];
+        this.nextX = new int[maxRuns];
+        this.nextWidth = new int[maxRuns];
+        this.nextY = new int[maxRuns];
+    }
+
+    /**
+     * Marks the cell at (x, y). Does nothing if it is out of bounds.
+     */
+    public void mark(int x, int y) {
+        if (x >= 0 && x < width && y >= 0 && y < height) {
+            int index = y * width + x;
+            bits[index >>> 6] |= 1L << index;
+        }
+    }
+
+    public void markAll() {
+        Arrays.fill(bits, -1L);
+        int tail = (width * height) & 63;
+        if (tail != 0) {
+            bits[bits.length - 1] = (1L << tail) - 1;
+        }
+    }
+
+    /**
+     * Marks every cell marked in other.
+     *
+     * @effects Marks every cell if other has different dimensions
+     */
+    public void addAll(DirtyCells other) {
+        if (other.width != width || other.height != height) {
+            markAll();
+            return;
+        }
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] |= other.bits[i];
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(bits, 0L);
+    }
+
+    public boolean isDirty(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return false;
+        }
+        int index = y * width + x;
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public boolean isEmpty() {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getCount() {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Visits rectangles that together cover exactly the marked cells.
+     *
+     * @effects
+     *   - Each row is split into runs of consecutive marked cells, and a run
+     *     that spans the same columns as a region of the row above extends
+     *     that region downwards
+     *   - Never allocates
+     */
+    public void forEachRegion(RegionVisitor visitor) {
+        int openCount = 0;
+        for (int y = 0; y < height; y++) {
+            int nextCount = 0;
+            int x = 0;
+            while (x < width) {
+                if (!isDirty(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < width && isDirty(x, y)) {
+                    x++;
+                }
+                int runWidth = x - start;
+
+                // Continue a region of the row above with the same span, if any
+                int top = y;
+                for (int i = 0; i < openCount; i++) {
+                    if (openX[i] == start && openWidth[i] == runWidth) {
+                        top = openY[i];
+                        openWidth[i] = 0;
+                        break;
+                    }
+                }
+                nextX[nextCount] = start;
+                nextWidth[nextCount] = runWidth;
+                nextY[nextCount] = top;
+                nextCount++;
+            }
+
+            // Regions of the row above that did not continue are complete
+            for (int i = 0; i < openCount; i++) {
+                if (openWidth[i] != 0) {
+                    visitor.visit(openX[i], openY[i], openWidth[i], y - openY[i]);
+                }
+            }
+            System.arraycopy(nextX, 0, openX, 0, nextCount);
+            System.arraycopy(nextWidth, 0, openWidth, 0, nextCount);
+            System.arraycopy(nextY, 0, openY, 0, nextCount);
+            openCount = nextCount;
+        }
+        for (int i = 0; i < openCount; i++) {
+            visitor.visit(openX[i], openY[i], openWidth[i], height - openY[i]);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.rokue.game.util;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Rolling timings of each phase of a tick and a frame, plus GC and
+ * allocation figures from the JMX beans, for the in-game profiler overlay.
+ *
+ * Each phase keeps its last WINDOW durations in a preallocated ring, so
+ * percentiles follow recent frames rather than the whole session. Recording
+ * does nothing while the profiler is disabled and never allocates while it is
+ * enabled. Each phase is recorded by one thread (the game loop for tick
+ * phases, the painting thread for draw phases) and may be read from any.
+ *
+ * @effects
+ *   - percentile() works on a preallocated scratch copy of the ring, using
+ *     in-place selection instead of a sort
+ */
+public class FrameProfiler {
+    public static final int WINDOW = 256;
+
+    /**
+     * Timed phases, in the order the overlay lists them.
+     */
+    public enum Phase {
+        POLL_INPUT("pollActions", true),
+        HANDLE_ACTIONS("handleActions", true),
+        HALL_UPDATE("Hall.update", true),
+        SPAWN("spawn/despawn", true),
+        STATIC_LAYER("static layer", false),
+        SURROUNDING_WALLS("drawSurroundingWalls", false),
+        HALL("drawHall", false),
+        UI("drawUI", false),
+        INVENTORY("drawInventory", false),
+        NOTIFICATIONS("drawNotifications", false);
+
+        private final String label;
+        private final boolean tick;
+
+        Phase(String label, boolean tick) {
+            this.label = label;
+            this.tick = tick;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        // True for phases that run on the game loop, false for render layers
+        public boolean isTick() {
+            return tick;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final AtomicLongArray samples = new AtomicLongArray(PHASES.length * WINDOW);
+    private final AtomicLongArray recorded = new AtomicLongArray(PHASES.length);
+    private final long[] scratch = new long[WINDOW];
+    private volatile boolean enabled;
+
+    // Threads whose allocations count towards the allocation rate
+    private volatile long tickThreadId;
+    private volatile long paintThreadId;
+
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private long sampledAtNanos;
+    private long gcCount;
+    private long gcMillis;
+    private long allocatedBytes;
+    private long gcCountDelta;
+    private long gcMillisDelta;
+    private long allocationRate;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns recording on or off. Turning it on starts from empty windows.
+     */
+    public synchronized void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) {
+            for (int i = 0; i < PHASES.length; i++) {
+                recorded.set(i, 0);
+            }
+            sampledAtNanos = 0;
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns a start time for stop(), or 0 if the profiler is disabled.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time since start as one sample of phase.
+     *
+     * @effects Does nothing if start is 0, i.e. the profiler was disabled
+     *          when the phase started
+     */
+    public void stop(Phase phase, long start) {
+        if (start == 0) {
+            return;
+        }
+        record(phase, System.nanoTime() - start);
+    }
+
+    /**
+     * Records one duration of phase, in nanoseconds.
+     */
+    public void record(Phase phase, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        int index = phase.ordinal();
+        long count = recorded.get(index);
+        samples.set(index * WINDOW + (int) (count % WINDOW), nanos);
+        // Publish the sample before counting it
+        recorded.set(index, count + 1);
+
+        if (phase.isTick()) {
+            if (tickThreadId == 0) {
+                tickThreadId = Thread.currentThread().getId();
+            }
+        } else if (paintThreadId == 0) {
+            paintThreadId = Thread.currentThread().getId();
+        }
+    }
+
+    /**
+     * Returns the number of samples of phase in the window.
+     */
+    public int getSampleCount(Phase phase) {
+        return (int) Math.min(WINDOW, recorded.get(phase.ordinal()));
+    }
+
+    /**
+     * Returns the given percentile of phase over the window, in nanoseconds.
+     *
+     * @requires 0 <= percentile <= 100
+     * @effects Returns 0 if phase has no samples
+     */
+    public synchronized long percentile(Phase phase, double percentile) {
+        int count = getSampleCount(phase);
+        if (count == 0) {
+            return 0;
+        }
+        int base = phase.ordinal() * WINDOW;
+        for (int i = 0; i < count; i++) {
+            scratch[i] = samples.get(base + i);
+        }
+        int rank = (int) Math.ceil(count * (percentile / 100.0)) - 1;
+        return select(scratch, count, Math.max(0, Math.min(count - 1, rank)));
+    }
+
+    /**
+     * Reads the GC and allocation counters and works out their change since
+     * the previous call.
+     *
+     * @effects
+     *   - Does nothing if less than intervalNanos passed since the previous
+     *     sample; returns whether it sampled
+     *   - The allocation rate covers the game loop and painting threads
+     */
+    public synchronized boolean sampleRuntime(long intervalNanos) {
+        long now = System.nanoTime();
+        if (sampledAtNanos != 0 && now - sampledAtNanos < intervalNanos) {
+            return false;
+        }
+
+        long count = 0;
+        long millis = 0;
+        for (int i = 0; i < collectors.size(); i++) {
+            GarbageCollectorMXBean collector = collectors.get(i);
+            count += Math.max(0, collector.getCollectionCount());
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        long bytes = threadAllocatedBytes(tickThreadId) + threadAllocatedBytes(paintThreadId);
+
+        if (sampledAtNanos != 0) {
+            long elapsed = now - sampledAtNanos;
+            gcCountDelta = count - gcCount;
+            gcMillisDelta = millis - gcMillis;
+            allocationRate = elapsed > 0 ? (long) ((bytes - allocatedBytes) * (1e9 / elapsed)) : 0;
+        }
+        sampledAtNanos = now;
+        gcCount = count;
+        gcMillis = millis;
+        allocatedBytes = bytes;
+        return true;
+    }
+
+    private long threadAllocatedBytes(long threadId) {
+        if (threadId == 0 || !(threads instanceof com.sun.management.ThreadMXBean)) {
+            return 0;
+        }
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        if (!allocations.isThreadAllocatedMemorySupported() || !allocations.isThreadAllocatedMemoryEnabled()) {
+            return 0;
+        }
+        return Math.max(0, allocations.getThreadAllocatedBytes(threadId));
+    }
+
+    // Collections between the last two runtime samples
+    public synchronized long getGcCount() {
+        return gcCountDelta;
+    }
+
+    // Milliseconds spent in GC between the last two runtime samples
+    public synchronized long getGcMillis() {
+        return gcMillisDelta;
+    }
+
+    // Bytes per second allocated by the game loop and painting threads
+    public synchronized long getAllocationRate() {
+        return allocationRate;
+    }
+
+    /**
+     * Returns the k-th smallest of values[0..count), reordering them.
+     */
+    private static long select(long[] values, int count, int k) {
+        int left = 0;
+        int right = count - 1;
+        while (left < right) {
+            long pivot = values[(left + right) >>> 1];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    long swap = values[i];
+                    values[i] = values[j];
+                    values[j] = swap;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return values[k];
+            }
+        }
+        return values[k];
+    }
+}
@@ -0,0 +1,41 @@
+package com.rokue.game.util;
+
+import java.io.PrintStream;
+
+/**
+ * Where the game model writes its running commentary ("Hero: Added CLOAK to
+ * inventory.", "Entering Play Mode", ...).
+ *
+ * The commentary goes to stdout by default. Headless runs that play
+ * thousands of sessions switch it off with setSink(null) or
+ * -Drokue.quietLog=true; errors and stack traces are not written through
+ * here and are never silenced.
+ */
+public final class GameLog {
+    private static volatile PrintStream sink = Boolean.getBoolean("rokue.quietLog") ? null : System.out;
+
+    private GameLog() {
+    }
+
+    /**
+     * Writes one line of commentary, or nothing if the log is off.
+     */
+    public static void info(String message) {
+        PrintStream out = sink;
+        if (out != null) {
+            out.println(message);
+        }
+    }
+
+    /**
+     * Sends commentary to sink from now on; null switches it off.
+     */
+    public static void setSink(PrintStream sink) {
+        GameLog.sink = sink;
+    }
+
+    // The current sink, or null if the log is off
+    public static PrintStream getSink() {
+        return sink;
+    }
+}
@@ -0,0 +1,266 @@
+package com.rokue.game.util;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import com.rokue.game.entities.DungeonObject;
+import com.rokue.game.entities.Hero;
+import com.rokue.game.entities.Rune;
+import com.rokue.game.entities.enchantments.Enchantment;
+import com.rokue.game.entities.monsters.Monster;
+
+/**
+ * Primitive mirror of what every cell of a hall holds.
+ *
+ * Cells are indexed row-major (y * width + x). One bit per cell in a long[]
+ * answers "is this cell empty", and one byte per cell says what kind of thing
+ * is there. Cells keep this in sync from Cell.setContent, so callers never
+ * update it by hand.
+ *
+ * Empty cells are also kept in a dense array with a reverse index, so a random
+ * empty cell can be picked, added or removed in O(1) however full the hall is.
+ *
+ * Every change is also recorded in a DirtyCells set until a renderer drains
+ * it, so only changed cells need to be drawn again.
+ *
+ * @effects
+ *   - Reads never allocate
+ *   - A rectangular footprint is checked one row at a time with word masks
+ *     instead of one cell at a time
+ */
+public class OccupancyGrid {
+    public static final byte EMPTY = 0;
+    public static final byte OBJECT = 1;
+    public static final byte MONSTER = 2;
+    public static final byte ENCHANTMENT = 3;
+    public static final byte RUNE = 4;
+    public static final byte HERO = 5;
+    public static final byte OTHER = 6;
+
+    private final int width;
+    private final int height;
+    private final long[] occupied;
+    private final byte[] kinds;
+    private int occupiedCount = 0;
+    private final int[] freeCells;
+    private final int[] freeSlot;
+    private int freeCount;
+    private final DirtyCells dirty;
+
+    public OccupancyGrid(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid dimensions must be positive");
+        }
+        this.width = width;
+        this.height = height;
+        this.occupied = new long[(width * height + 63) >>> 6];
+        this.kinds = new byte[width * height];
+        this.freeCells = new int[width * height];
+        this.freeSlot = new int[width * height];
+        this.dirty = new DirtyCells(width, height);
+        resetFreeCells();
+    }
+
+    /**
+     * Returns the cell kind constant that matches content.
+     */
+    public static byte kindOf(Object content) {
+        if (content == null) {
+            return EMPTY;
+        } else if (content instanceof DungeonObject) {
+            return OBJECT;
+        } else if (content instanceof Monster) {
+            return MONSTER;
+        } else if (content instanceof Enchantment) {
+            return ENCHANTMENT;
+        } else if (content instanceof Rune) {
+            return RUNE;
+        } else if (content instanceof Hero) {
+            return HERO;
+        }
+        return OTHER;
+    }
+
+    /**
+     * Records that the cell at (x, y) now holds content.
+     *
+     * @requires
+     *   - 0 <= x < width and 0 <= y < height
+     *
+     * @modifies
+     *   - The occupancy bit and kind of that cell
+     */
+    public synchronized void set(int x, int y, Object content) {
+        int index = y * width + x;
+        byte kind = kindOf(content);
+        long bit = 1L << index;
+        boolean wasOccupied = (occupied[index >>> 6] & bit) != 0;
+
+        kinds[index] = kind;
+        dirty.mark(x, y);
+        if (kind == EMPTY) {
+            occupied[index >>> 6] &= ~bit;
+            if (wasOccupied) {
+                occupiedCount--;
+                addFree(index);
+            }
+        } else {
+            occupied[index >>> 6] |= bit;
+            if (!wasOccupied) {
+                occupiedCount++;
+                removeFree(index);
+            }
+        }
+    }
+
+    /**
+     * Marks every cell empty.
+     */
+    public synchronized void clear() {
+        Arrays.fill(occupied, 0L);
+        Arrays.fill(kinds, EMPTY);
+        occupiedCount = 0;
+        resetFreeCells();
+        dirty.markAll();
+    }
+
+    /**
+     * Records that the cell at (x, y) looks different although its content
+     * did not change, e.g. because the hero stepped on or off it.
+     */
+    public synchronized void markDirty(int x, int y) {
+        dirty.mark(x, y);
+    }
+
+    public synchronized void markAllDirty() {
+        dirty.markAll();
+    }
+
+    /**
+     * Moves the cells changed since the last call into target.
+     *
+     * @modifies target, this
+     * @effects Adds every changed cell to target, then forgets them here
+     */
+    public synchronized void drainDirty(DirtyCells target) {
+        target.addAll(dirty);
+        dirty.clear();
+    }
+
+    /**
+     * Picks an empty cell uniformly at random.
+     *
+     * @effects
+     *   - Returns its row-major index (y * width + x), or -1 if every cell is
+     *     occupied
+     *   - Draws exactly one value from random when a cell is free
+     */
+    public synchronized int randomFreeCell(SplittableRandom random) {
+        if (freeCount == 0) {
+            return -1;
+        }
+        return freeCells[random.nextInt(freeCount)];
+    }
+
+    public synchronized int getFreeCount() {
+        return freeCount;
+    }
+
+    public boolean isWithinBounds(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /**
+     * Returns true if (x, y) is inside the grid and holds nothing.
+     */
+    public boolean isEmpty(int x, int y) {
+        if (!isWithinBounds(x, y)) {
+            return false;
+        }
+        int index = y * width + x;
+        return (occupied[index >>> 6] & (1L << index)) == 0;
+    }
+
+    /**
+     * Returns the kind of the cell at (x, y), or EMPTY if it is out of bounds.
+     */
+    public byte getKind(int x, int y) {
+        return isWithinBounds(x, y) ? kinds[y * width + x] : EMPTY;
+    }
+
+    /**
+     * Returns true if the w x h rectangle with its top-left corner at (x, y)
+     * lies inside the grid and every cell in it is empty.
+     *
+     * @requires
+     *   - w > 0 and h > 0
+     */
+    public boolean isRectEmpty(int x, int y, int w, int h) {
+        if (x < 0 || y < 0 || w <= 0 || h <= 0 || x + w > width || y + h > height) {
+            return false;
+        }
+        for (int row = y; row < y + h; row++) {
+            if (!isRangeEmpty(row * width + x, row * width + x + w)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getOccupiedCount() {
+        return occupiedCount;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    private void resetFreeCells() {
+        for (int i = 0; i < freeCells.length; i++) {
+            freeCells[i] = i;
+            freeSlot[i] = i;
+        }
+        freeCount = freeCells.length;
+    }
+
+    private void addFree(int index) {
+        freeCells[freeCount] = index;
+        freeSlot[index] = freeCount;
+        freeCount++;
+    }
+
+    // Swap-remove: move the last free cell into the removed cell's slot
+    private void removeFree(int index) {
+        int slot = freeSlot[index];
+        int last = freeCells[--freeCount];
+        freeCells[slot] = last;
+        freeSlot[last] = slot;
+    }
+
+    /**
+     * Tests the bit range [from, to) with at most one mask per touched word.
+     */
+    private boolean isRangeEmpty(int from, int to) {
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+
+        if (firstWord == lastWord) {
+            return (occupied[firstWord] & firstMask & lastMask) == 0;
+        }
+        if ((occupied[firstWord] & firstMask) != 0) {
+            return false;
+        }
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            if (occupied[word] != 0) {
+                return false;
+            }
+        }
+        return (occupied[lastWord] & lastMask) == 0;
+    }
+}
@@ -2,10 +2,16 @@ package com.rokue.game.util;
 
 import java.io.Serializable;
 
+/**
+ * Immutable grid coordinate.
+ *
+ * Positions are shared freely: Hall hands out one instance per cell (see
+ * Hall.getPosition(int, int)), so stepping around a hall allocates nothing.
+ */
 public class Position implements Serializable {
     private static final long serialVersionUID = 1L;
-    private int x;
-    private int y;
+    private final int x;
+    private final int y;
 
     public Position(int x, int y) {
         this.x = x;
@@ -20,14 +26,6 @@ public class Position implements Serializable {
         return y;
     }
 
-    public void setX(int x) {
-        this.x = x;
-    }
-
-    public void setY(int y) {
-        this.y = y;
-    }
-
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
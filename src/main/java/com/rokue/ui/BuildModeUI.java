@@ -2,6 +2,8 @@ package com.rokue.ui;
 
 import com.rokue.game.entities.DungeonObject;
 import com.rokue.game.entities.Hall;
+import com.rokue.game.events.GameEvent;
+import com.rokue.game.render.AssetManager;
 import com.rokue.game.render.IRenderer;
 import com.rokue.game.states.BuildMode;
 import com.rokue.game.states.GameState;
@@ -20,11 +22,9 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.datatransfer.DataFlavor;
 import java.awt.datatransfer.StringSelection;
-import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.List;
-import javax.imageio.ImageIO;
 
 public class BuildModeUI extends ImagePanel implements IRenderer {
     private BuildMode buildMode;
@@ -55,16 +55,11 @@ public class BuildModeUI extends ImagePanel implements IRenderer {
     private final int maxObjects = 50;
 
     public BuildModeUI(BuildMode buildMode) {
-         super("src/main/resources/assets/background.png");
+         super("/assets/background.png");
         this.buildMode = buildMode;
 
         // Load the wall texture image
-        try {
-            wallTexture = ImageIO.read(getClass().getResource("/assets/surround_brick.png"));
-        } catch (IOException e) {
-            System.err.println("Error loading wall texture.");
-            e.printStackTrace();
-        }
+        wallTexture = AssetManager.getShared().getImage("/assets/surround_brick.png");
 
         // Initialize SoundManager
         soundManager = new SoundManager();
@@ -78,7 +73,7 @@ public class BuildModeUI extends ImagePanel implements IRenderer {
         add(bannerPanel);
 
         // Add Fill Button
-        JButton fillButton = createImageButton("src/main/resources/assets/fill_button.png", e -> {
+        JButton fillButton = createImageButton("/assets/fill_button.png", e -> {
             buildMode.randomlyFillCurrentHall();
             updateProgressBar();
         });
@@ -86,7 +81,7 @@ public class BuildModeUI extends ImagePanel implements IRenderer {
         add(fillButton);
 
         // Add Clear Button
-        JButton clearButton = createImageButton("src/main/resources/assets/clear_button.png", e -> {
+        JButton clearButton = createImageButton("/assets/clear_button.png", e -> {
             buildMode.clearCurrentHallObjects();
             updateProgressBar();
         });
@@ -95,7 +90,7 @@ public class BuildModeUI extends ImagePanel implements IRenderer {
 
 
         // Add Navigation Buttons
-        JButton leftButton = createImageButton("src/main/resources/assets/left_arrow.png", e -> {
+        JButton leftButton = createImageButton("/assets/left_arrow.png", e -> {
             startFadeAnimation(() -> {
                 buildMode.switchToPreviousHall();
                 updateProgressBar();
@@ -104,7 +99,7 @@ public class BuildModeUI extends ImagePanel implements IRenderer {
         leftButton.setBounds(hallX, hallY + hallHeight + 30, 50, 50);
         add(leftButton);
 
-        JButton rightButton = createImageButton("src/main/resources/assets/right_arrow.png", e -> {
+        JButton rightButton = createImageButton("/assets/right_arrow.png", e -> {
             startFadeAnimation(() -> {
                 buildMode.switchToNextHall();
                 updateProgressBar();
@@ -115,7 +110,7 @@ public class BuildModeUI extends ImagePanel implements IRenderer {
         add(rightButton);
 
         // Add Play Button
-        JButton playButton = createImageButton("src/main/resources/assets/playbutton.png", e -> switchToPlayMode());
+        JButton playButton = createImageButton("/assets/playbutton.png", e -> switchToPlayMode());
         playButton.setBounds(hallX + hallWidth / 2 - 85, hallY + hallHeight + 10, 190, 90);
         add(playButton);
 
@@ -185,7 +180,7 @@ public class BuildModeUI extends ImagePanel implements IRenderer {
 
     
     private JPanel createBannerPanel() {
-        JPanel panel = new ImagePanel("src/main/resources/assets/banner.png");
+        JPanel panel = new ImagePanel("/assets/banner.png");
         panel.setLayout(new GridLayout(4, 2, 5, 5)); // 4x2 grid with spacing
         panel.setBackground(new Color(30, 30, 30)); // Dark background
 
@@ -240,7 +235,7 @@ public class BuildModeUI extends ImagePanel implements IRenderer {
     }
 
     private JButton createImageButton(String imagePath, java.awt.event.ActionListener action) {
-        ImageIcon icon = new ImageIcon(new File(imagePath).getAbsolutePath());
+        ImageIcon icon = AssetManager.getShared().getIcon(imagePath);
         JButton button = new JButton(icon);
         button.setContentAreaFilled(false);
         button.setBorderPainted(false);
@@ -260,7 +255,7 @@ public class BuildModeUI extends ImagePanel implements IRenderer {
                 "Cannot Start Game",
                 JOptionPane.WARNING_MESSAGE);
         } else {
-            buildMode.getEventManager().notify("SWITCH_TO_PLAY_MODE", buildMode.getHalls());
+            buildMode.getEventManager().notify(GameEvent.SWITCH_TO_PLAY_MODE, buildMode.getHalls());
         }
     }
 
@@ -1,5 +1,7 @@
 package com.rokue.ui;
 
+import com.rokue.game.events.GameEvent;
+import com.rokue.game.render.AssetManager;
 import com.rokue.game.render.IRenderer;
 import com.rokue.game.states.GameState;
 import com.rokue.game.states.MainMenu;
@@ -17,9 +19,6 @@ import java.awt.event.MouseEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.ActionEvent;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import javax.imageio.ImageIO;
 import java.awt.geom.AffineTransform;
 import java.util.ArrayList;
 import java.net.URL;
@@ -39,7 +38,7 @@ public class MainMenuUI extends JPanel implements IRenderer {
         
         // load the image
         try {
-            ImageIcon originalIcon = new ImageIcon(new File("src/main/resources/assets/logo.png").getAbsolutePath());
+            ImageIcon originalIcon = AssetManager.getShared().getIcon("/assets/logo.png");
             Image originalImage = originalIcon.getImage();
             Image resizedImage = originalImage.getScaledInstance(200, 150, Image.SCALE_SMOOTH);
             ImageIcon resizedIcon = new ImageIcon(resizedImage);
@@ -52,10 +51,10 @@ public class MainMenuUI extends JPanel implements IRenderer {
             menuPanel.add(Box.createVerticalStrut(50));
 
             // images for buttons
-            ImageIcon playIcon = new ImageIcon(new File("src/main/resources/assets/playbutton.png").getAbsolutePath());
-            ImageIcon helpIcon = new ImageIcon(new File("src/main/resources/assets/helpbutton.png").getAbsolutePath());
-            ImageIcon exitIcon = new ImageIcon(new File("src/main/resources/assets/quitbutton.png").getAbsolutePath());
-            ImageIcon loadIcon = new ImageIcon(new File("src/main/resources/assets/loadbutton.png").getAbsolutePath());
+            ImageIcon playIcon = AssetManager.getShared().getIcon("/assets/playbutton.png");
+            ImageIcon helpIcon = AssetManager.getShared().getIcon("/assets/helpbutton.png");
+            ImageIcon exitIcon = AssetManager.getShared().getIcon("/assets/quitbutton.png");
+            ImageIcon loadIcon = AssetManager.getShared().getIcon("/assets/loadbutton.png");
 
             // create and setup buttons
             JButton playButton = createStyledButton(playIcon);
@@ -67,7 +66,7 @@ public class MainMenuUI extends JPanel implements IRenderer {
                 @Override
                 public void mousePressed(MouseEvent e) {
                     animateButtonClick(playButton, playIcon);
-                    mainMenu.getEventManager().notify("START_GAME", null);
+                    mainMenu.getEventManager().notify(GameEvent.START_GAME, null);
                 }
             });
 
@@ -127,12 +126,8 @@ public class MainMenuUI extends JPanel implements IRenderer {
         private final int TRAIL_LENGTH = 20;
 
         public AnimatedBackgroundPanel() {
-            try {
-                backgroundImage = ImageIO.read(new File("src/main/resources/assets/background.jpg"));
-                animatedImage = ImageIO.read(new File("src/main/resources/assets/animatedmomo.png"));
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            backgroundImage = AssetManager.getShared().getImage("/assets/background.jpg");
+            animatedImage = AssetManager.getShared().getImage("/assets/animatedmomo.png");
             
             trail = new ArrayList<>();
             Timer timer = new Timer(30, e -> {
@@ -264,7 +259,7 @@ public class MainMenuUI extends JPanel implements IRenderer {
 
         // panel for the help with animated background
         JPanel helpPanel = new JPanel() {
-            private Image backgroundImage = new ImageIcon("/assets/background.jpg").getImage();
+            private Image backgroundImage = AssetManager.getShared().getImage("/assets/background.jpg");
 
             @Override
             protected void paintComponent(Graphics g) {
@@ -281,12 +276,7 @@ public class MainMenuUI extends JPanel implements IRenderer {
         textBackgroundPanel.setLayout(new BorderLayout());
 
         //wooden texture border 
-        BufferedImage woodenTexture = null;
-        try {
-            woodenTexture = ImageIO.read(new File("src/main/resources/assets/wooden_texture.jpeg"));
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        BufferedImage woodenTexture = AssetManager.getShared().getImage("/assets/wooden_texture.jpeg");
         if (woodenTexture != null) {
             Border woodenBorder = new ImageBorder(woodenTexture, 30); // Slightly smaller border size
             Border emptyBorder = new EmptyBorder(10, 10, 10, 10);
@@ -407,7 +397,7 @@ public class MainMenuUI extends JPanel implements IRenderer {
                         + "  <h2>Enchantments</h2>"
                         + "  <div class='enchantment'>"
                         + "    <strong>Reveal Enchantment:</strong> Temporarily reveals hidden areas and traps."
-                        + "    <img src='file:" + new File("src/main/resources/assets/reveal.png").getAbsolutePath() + "' alt='Reveal Enchantment'/>"
+                        + "    <img src='" + getClass().getResource("/assets/reveal.png") + "' alt='Reveal Enchantment'/>"
                         + "  </div>"
                         + "  <div class='enchantment'>"
                         + "    <strong>Cloak of Protection:</strong> Grants temporary invisibility."
@@ -459,7 +449,7 @@ public class MainMenuUI extends JPanel implements IRenderer {
         );
 
       
-        ImageIcon backIcon = new ImageIcon(new File("src/main/resources/assets/backbutton.png").getAbsolutePath());
+        ImageIcon backIcon = AssetManager.getShared().getIcon("/assets/backbutton.png");
         JButton backButton = new JButton(backIcon);
         backButton.setContentAreaFilled(false);
         backButton.setBorderPainted(false);
@@ -524,6 +514,26 @@ public class MainMenuUI extends JPanel implements IRenderer {
 
     private void showLoadGameDialog() {
         GameSaveManager saveManager = new GameSaveManager(mainMenu.getEventManager());
+
+        // A game that did not end normally left an autosave behind
+        if (saveManager.hasAutosave()) {
+            int choice = JOptionPane.showConfirmDialog(this,
+                "A game was interrupted. Resume it from the autosave?",
+                "Load Game",
+                JOptionPane.YES_NO_OPTION);
+            if (choice == JOptionPane.YES_OPTION) {
+                GameSaveData saveData = saveManager.recoverAutosave();
+                if (saveData != null) {
+                    startLoadedGame(this, saveData);
+                    return;
+                }
+                JOptionPane.showMessageDialog(this,
+                    "Error loading autosave.",
+                    "Load Error",
+                    JOptionPane.ERROR_MESSAGE);
+            }
+        }
+
         List<GameSaveManager.SaveFileInfo> saveFiles = saveManager.getSaveFiles();
 
         if (saveFiles.isEmpty()) {
@@ -538,7 +548,7 @@ public class MainMenuUI extends JPanel implements IRenderer {
         JFrame parentFrame = (JFrame) SwingUtilities.getWindowAncestor(this);
         JDialog loadDialog = new JDialog(parentFrame, "Load Game", true);
         loadDialog.setLayout(new BorderLayout());
-        loadDialog.setSize(400, 300);
+        loadDialog.setSize(520, 300);
         loadDialog.setLocationRelativeTo(this);
 
         // Create a list model and JList
@@ -576,7 +586,7 @@ public class MainMenuUI extends JPanel implements IRenderer {
             if (selected != null) {
                 GameSaveData saveData = saveManager.loadGame(selected.getFileName());
                 if (saveData != null) {
-                    mainMenu.getEventManager().notify("LOAD_GAME", saveData);
+                    startLoadedGame(loadDialog, saveData);
                     loadDialog.dispose();
                 } else {
                     JOptionPane.showMessageDialog(loadDialog,
@@ -593,6 +603,22 @@ public class MainMenuUI extends JPanel implements IRenderer {
         loadDialog.setVisible(true);
     }
 
+    /**
+     * Starts a loaded game, first telling the player about any halls that
+     * were damaged in the save and left out.
+     */
+    private void startLoadedGame(Component parent, GameSaveData saveData) {
+        int skipped = saveData.getSkippedHalls();
+        if (skipped > 0) {
+            JOptionPane.showMessageDialog(parent,
+                (skipped == 1 ? "1 hall was" : skipped + " halls were")
+                    + " damaged in this save and will be skipped.",
+                "Load Game",
+                JOptionPane.WARNING_MESSAGE);
+        }
+        mainMenu.getEventManager().notify(GameEvent.LOAD_GAME, saveData);
+    }
+
     private void styleDialogButton(JButton button) {
         button.setFont(new Font("SansSerif", Font.BOLD, 14));
         button.setForeground(Color.BLACK);
@@ -10,21 +10,22 @@ import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.Image;
 import java.awt.RenderingHints;
+import java.awt.Transparency;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-import javax.imageio.ImageIO;
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.Clip;
@@ -40,29 +41,26 @@ import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 
+import com.rokue.game.actions.CollectEnchantmentAction;
+import com.rokue.game.actions.SearchAction;
+import com.rokue.game.actions.UseEnchantmentAction;
 import com.rokue.game.entities.DungeonObject;
 import com.rokue.game.entities.Hall;
-import com.rokue.game.entities.Hero;
-import com.rokue.game.entities.Rune;
-import com.rokue.game.entities.enchantments.CloakOfProtection;
-import com.rokue.game.entities.enchantments.Enchantment;
-import com.rokue.game.entities.enchantments.ExtraLife;
-import com.rokue.game.entities.enchantments.ExtraTime;
-import com.rokue.game.entities.enchantments.LuringGem;
-import com.rokue.game.entities.enchantments.Reveal;
-import com.rokue.game.entities.monsters.ArcherMonster;
-import com.rokue.game.entities.monsters.FighterMonster;
-import com.rokue.game.entities.monsters.Monster;
-import com.rokue.game.entities.monsters.WizardMonster;
+import com.rokue.game.events.GameEvent;
+import com.rokue.game.input.GUIInputProvider;
+import com.rokue.game.render.AssetManager;
+import com.rokue.game.render.FrameSnapshot;
 import com.rokue.game.render.IRenderer;
-import com.rokue.game.save.GameSaveManager;
+import com.rokue.game.render.SpriteAtlas;
 import com.rokue.game.states.GameState;
 import com.rokue.game.states.PlayMode;
-import com.rokue.game.util.Cell;
+import com.rokue.game.util.DirtyCells;
+import com.rokue.game.util.FrameProfiler;
+import com.rokue.game.util.LatencyHistogram;
 import com.rokue.game.util.Position;
+import com.rokue.ui.components.ActiveRenderCanvas;
 import com.rokue.ui.components.ImagePanel;
 
-import java.util.ArrayList;
 
 public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
     private PlayMode playMode;
@@ -78,7 +76,40 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
     private final int hallHeight = 640;
     private final Color BACKGROUND_COLOR = new Color(43, 27, 44); // Match BuildModeUI background
 
-    private boolean isPaused = false;
+    // -Drokue.activeRendering=true paints frames on a render thread instead of the EDT
+    private static final boolean ACTIVE_RENDERING = Boolean.getBoolean("rokue.activeRendering");
+    private static final int TARGET_FPS = Integer.getInteger("rokue.targetFps", 60);
+    // Set in active rendering mode; it then does all the painting
+    private ActiveRenderCanvas canvas;
+    private final LatencyHistogram frameIntervals = new LatencyHistogram();
+    private final LatencyHistogram paintTimes = new LatencyHistogram();
+    private long lastFrameNanos;
+
+    // Background, walls, grid and objects, pre-rendered once per hall layout.
+    // Only touched by the thread that paints frames.
+    private BufferedImage staticLayer;
+    private Hall staticLayerHall;
+    private int staticLayerVersion;
+
+    // Partial repaints in passive mode; only touched on the EDT
+    private final DirtyCells.RegionVisitor cellRepainter = this::repaintCells;
+    private DirtyCells repaintCells;
+    private FrameSnapshot renderedFrame;
+    private boolean infoMessageShown;
+
+    // Profiler overlay, toggled with F3
+    private static final long PROFILER_REFRESH_NANOS = 500_000_000L;
+    private static final int PROFILER_X = 30;
+    private static final int PROFILER_Y = 30;
+    private static final int PROFILER_WIDTH = 330;
+    private static final int PROFILER_LINE_HEIGHT = 14;
+    private final Color PROFILER_BACKGROUND = new Color(0, 0, 0, 170);
+    private final Font PROFILER_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+    private final String[] profilerLines = new String[FrameProfiler.Phase.values().length + 5];
+    private long profilerRefreshedAt;
+
+    // UI state below is written on the EDT and may be read by the render thread
+    private volatile boolean isPaused = false;
     private BufferedImage pauseImage;
     private BufferedImage resumeImage;
     private BufferedImage saveImage;
@@ -94,34 +125,36 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
     private final int inventoryItemSize = 32;
     private final int inventorySpacing = 5;
     private final int INVENTORY_GRID_SIZE = 3; // 3x2 grid
-    private String infoMessage = ""; // For displaying game info
-    private long infoMessageTime = 0;
+    private volatile String infoMessage = ""; // For displaying game info
+    private volatile long infoMessageTime = 0;
     private static final long INFO_MESSAGE_DURATION = 5000; // 3 seconds
 
-    private BufferedImage playerImage;
-    private BufferedImage runeImage;
     private BufferedImage inventoryBgImage;
     private Image wallTexture; // Load your wall texture image
 
-    // Monster images
-    private BufferedImage archerImage;
-    private BufferedImage fighterImage;
-    private BufferedImage wizardImage;
-
-    // Enchantment images
-    private BufferedImage extraTimeImage;
-    private BufferedImage revealImage;
-    private BufferedImage cloakImage;
-    private BufferedImage luringGemImage;
-    private BufferedImage extraLifeImage;
+    // Hero, rune, monster and enchantment sprites, pre-scaled to one cell
+    private static final Map<String, String> SPRITES = Map.ofEntries(
+            Map.entry("player", "/assets/player.png"),
+            Map.entry("rune", "/assets/rune.png"),
+            Map.entry("archer", "/assets/archer.png"),
+            Map.entry("fighter", "/assets/fighter.png"),
+            Map.entry("wizard", "/assets/wizard.png"),
+            Map.entry("CLOAK", "/assets/cloak.png"),
+            Map.entry("REVEAL", "/assets/reveal.png"),
+            Map.entry("LURE", "/assets/lure.png"),
+            Map.entry("extra_life", "/assets/extra_life.png"),
+            Map.entry("extra_time", "/assets/clock.png"));
+    private SpriteAtlas sprites;
+    private GUIInputProvider inputProvider;
+
     private BufferedImage heartImage;
     private BufferedImage remainingTimeImage;
     private BufferedImage waterCompleteImage;
     private BufferedImage earthCompleteImage;
     private BufferedImage airCompleteImage;
 
-    private Position highlightStart = null;
-    private Position highlightEnd = null;
+    private volatile Position highlightStart = null;
+    private volatile Position highlightEnd = null;
     private final Color HIGHLIGHT_COLOR = new Color(255, 255, 0, 50); // Semi-transparent yellow
     private final int wallThickness = 10; // Define wall thickness
 
@@ -132,11 +165,14 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
 
     private boolean waitingForLuringDirection = false;
 
-    private List<String> notifications = new ArrayList<>();
+    private final List<String> notifications = new CopyOnWriteArrayList<>();
+    // Hall completed effect, drawn by the render thread since the canvas hides Swing children
+    private volatile FadingPanel effectOverlay;
+    private volatile BufferedImage effectImage;
 
     
     public PlayModeUI(PlayMode playMode, JFrame gameWindow) {
-        super("src/main/resources/assets/background.png");
+        super("/assets/background.png");
         this.playMode = playMode;
         this.gameWindow = gameWindow;
         this.setPreferredSize(new Dimension(900, 800));
@@ -144,15 +180,11 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
         addMouseListener(this);
         loadImages();
 
-        try {
-            wallTexture = ImageIO.read(getClass().getResource("/assets/surround_brick.png"));
-        } catch (IOException e) {
-            System.err.println("Error loading wall texture.");
-            e.printStackTrace();
-        }
+        wallTexture = AssetManager.getShared().getImage("/assets/surround_brick.png");
 
         // Subscribe to highlight events
-        playMode.getEventManager().subscribe("SHOW_HIGHLIGHT", (eventType, data) -> {
+        // Game events are raised on the game loop thread, so UI state is only touched on the EDT
+        playMode.getEventManager().subscribe(GameEvent.SHOW_HIGHLIGHT, (eventType, data) -> SwingUtilities.invokeLater(() -> {
             if (data instanceof Map) {
                 @SuppressWarnings("unchecked")
                 Map<String, Position> highlightData = (Map<String, Position>) data;
@@ -160,42 +192,68 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
                 highlightEnd = highlightData.get("end");
                 repaint();
             }
-        });
+        }));
 
         // Inside the PlayModeUI constructor or an initialization method
-        playMode.getEventManager().subscribe("SHOW_CONGRATS_SCREEN", (eventType, data) -> {
-            showImprovedCongratulationsScreen();
-});
+        playMode.getEventManager().subscribe(GameEvent.SHOW_CONGRATS_SCREEN,
+                (eventType, data) -> SwingUtilities.invokeLater(this::showImprovedCongratulationsScreen));
 
-        playMode.getEventManager().subscribe("HIDE_HIGHLIGHT", (eventType, data) -> {
+        playMode.getEventManager().subscribe(GameEvent.HIDE_HIGHLIGHT, (eventType, data) -> SwingUtilities.invokeLater(() -> {
             highlightStart = null;
             highlightEnd = null;
             repaint();
-        });
+        }));
         
-        playMode.getEventManager().subscribe("SHOW_HALL_COMPLETED_EFFECT", (eventType, data) -> {
+        playMode.getEventManager().subscribe(GameEvent.SHOW_HALL_COMPLETED_EFFECT, (eventType, data) -> SwingUtilities.invokeLater(() -> {
             if (data instanceof Integer) {
                 showHallCompletedEffect((Integer)data);
             }
-        });
+        }));
+
+        // Messages of one tick may arrive merged into a List
+        playMode.getEventManager().subscribe(GameEvent.GAME_SAVED, (eventType, data) -> SwingUtilities.invokeLater(() -> {
+            if (data instanceof Throwable) {
+                showInfoMessage("Save failed: " + ((Throwable) data).getMessage());
+            } else {
+                showInfoMessage("Game saved successfully!");
+            }
+        }));
 
-        playMode.getEventManager().subscribe("LOG_MESSAGE", (eventType, data) -> {
+        playMode.getEventManager().subscribe(GameEvent.LOG_MESSAGE, (eventType, data) -> SwingUtilities.invokeLater(() -> {
             if (data instanceof String) {
                 notifications.add((String) data);
                 repaint();
+            } else if (data instanceof List) {
+                for (Object message : (List<?>) data) {
+                    if (message instanceof String) {
+                        notifications.add((String) message);
+                    }
+                }
+                repaint();
             }
-        });
+        }));
 
         // Add key listener for enchantment shortcuts
         this.addKeyListener(new java.awt.event.KeyAdapter() {
             @Override
             public void keyPressed(java.awt.event.KeyEvent e) {
-                if (!playMode.isPaused()) {
-                    Hero hero = playMode.getHero();
+                if (e.getKeyCode() == java.awt.event.KeyEvent.VK_F3) {
+                    FrameProfiler profiler = playMode.getProfiler();
+                    profiler.setEnabled(!profiler.isEnabled());
+                    repaint();
+                    return;
+                }
+                // The hero belongs to the game loop: check the published frame and queue the use for the loop
+                FrameSnapshot frame = playMode.getFrame();
+                if (!playMode.isPaused() && frame != null && inputProvider != null) {
+                    List<String> inventory = frame.getInventory();
                     char key = Character.toUpperCase(e.getKeyChar());
                     
                     if (waitingForLuringDirection) {
-                        Position heroPos = hero.getPosition();
+                        Position heroPos = frame.getHeroPosition();
+                        if (heroPos == null) {
+                            return;
+                        }
                         Position targetPos = null;
                         
                         switch (key) {
@@ -216,27 +274,26 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
                         }
                         
                         if (targetPos != null) {
-                            hero.removeFromInventory("LURE");
-                            playMode.getEventManager().notify("DISTRACTION", targetPos);
+                            inputProvider.submit(new UseEnchantmentAction("LURE", targetPos));
                             showInfoMessage(getEnchantmentMessage("LURE"));
                         }
                         waitingForLuringDirection = false;
                     } else {
                         switch (key) {
                             case 'R':
-                                if (hero.hasItem("REVEAL")) {
-                                    hero.useEnchantment("REVEAL");
+                                if (inventory.contains("REVEAL")) {
+                                    inputProvider.submit(new UseEnchantmentAction("REVEAL"));
                                     showInfoMessage(getEnchantmentMessage("REVEAL"));
                                 }
                                 break;
                             case 'P':
-                                if (hero.hasItem("CLOAK")) {
-                                    hero.useEnchantment("CLOAK");
+                                if (inventory.contains("CLOAK")) {
+                                    inputProvider.submit(new UseEnchantmentAction("CLOAK"));
                                     showInfoMessage(getEnchantmentMessage("CLOAK"));
                                 }
                                 break;
                             case 'B':
-                                if (hero.hasItem("LURE")) {
+                                if (inventory.contains("LURE")) {
                                     waitingForLuringDirection = true;
                                     showInfoMessage("Press WASD to choose the direction for the Luring Gem");
                                 }
@@ -255,13 +312,64 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
         this.requestFocusInWindow();
 
         // Subscribe to HALL_COMPLETED event to clear notifications
-        playMode.getEventManager().subscribe("HALL_COMPLETED", (eventType, data) -> {
+        playMode.getEventManager().subscribe(GameEvent.HALL_COMPLETED, (eventType, data) -> SwingUtilities.invokeLater(() -> {
             notifications.clear();
             repaint();
-        });
+        }));
+
+        if (ACTIVE_RENDERING) {
+            canvas = new ActiveRenderCanvas(this::paintFrame, TARGET_FPS);
+            // The canvas covers the panel, so it receives the input the panel would
+            canvas.addMouseListener(this);
+            for (KeyListener listener : getKeyListeners()) {
+                canvas.addKeyListener(listener);
+            }
+            setLayout(new BorderLayout());
+            add(canvas, BorderLayout.CENTER);
+        }
     }
 
-    private void drawHall(Graphics2D g, Hall hall) {
+    /**
+     * Draws the parts of the frame that only change when the hall's objects
+     * or the panel size change, from a cached off-screen image.
+     *
+     * @modifies this
+     * @effects
+     *   - Re-renders the cached image first if hall, its object version or
+     *     the panel size differ from when it was last rendered
+     *   - Draws the cached image at the panel origin
+     */
+    private void drawStaticLayer(Graphics2D g, FrameSnapshot frame) {
+        int width = Math.max(1, getWidth());
+        int height = Math.max(1, getHeight());
+        Hall hall = frame.getHall();
+        int version = frame.getObjectVersion();
+        if (staticLayer == null || staticLayer.getWidth() != width || staticLayer.getHeight() != height
+                || staticLayerHall != hall || staticLayerVersion != version) {
+            if (staticLayer == null || staticLayer.getWidth() != width || staticLayer.getHeight() != height) {
+                GraphicsConfiguration config = getGraphicsConfiguration();
+                staticLayer = config != null
+                        ? config.createCompatibleImage(width, height, Transparency.OPAQUE)
+                        : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            }
+            Graphics2D layer = staticLayer.createGraphics();
+            try {
+                layer.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                super.paintComponent(layer);
+                long wallsStart = playMode.getProfiler().start();
+                drawSurroundingWalls(layer);
+                playMode.getProfiler().stop(FrameProfiler.Phase.SURROUNDING_WALLS, wallsStart);
+                drawHallLayout(layer, hall, frame.getObjects());
+            } finally {
+                layer.dispose();
+            }
+            staticLayerHall = hall;
+            staticLayerVersion = version;
+        }
+        g.drawImage(staticLayer, 0, 0, null);
+    }
+
+    private void drawHallLayout(Graphics2D g, Hall hall, List<DungeonObject> objects) {
         // Draw grid
         g.setColor(new Color(255, 255, 255, 30));
         for (int x = 0; x <= hall.getWidth(); x++) {
@@ -274,7 +382,7 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
         }
 
         // Draw objects
-        for (DungeonObject obj : hall.getObjects()) {
+        for (DungeonObject obj : objects) {
             Position pos = obj.getPosition();
             int x = hallX + pos.getX() * cellWidth;
             int y = hallY + pos.getY() * cellHeight;
@@ -286,76 +394,38 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
                 g.drawImage(icon.getImage(), x, y, width, height, this);
             }
         }
+    }
+
+    private void drawHall(Graphics2D g, FrameSnapshot frame) {
+        // Repacks only if the cell size changed since the last frame
+        sprites.ensureCellSize(cellWidth, cellHeight, getGraphicsConfiguration());
 
         // Draw rune only if revealed
-        Rune rune = hall.getRune();
-        if (rune != null && rune.isRevealed() && !rune.isCollected()) {
-            Position runePos = rune.getPosition();
-            g.drawImage(runeImage, 
-                       hallX + runePos.getX() * cellWidth, 
-                       hallY + runePos.getY() * cellHeight, 
-                       cellWidth, cellHeight, this);
+        Position runePos = frame.getRunePosition();
+        if (runePos != null) {
+            sprites.draw(g, "rune",
+                         hallX + runePos.getX() * cellWidth,
+                         hallY + runePos.getY() * cellHeight);
         }
 
-        // Draw monsters
-        for (Monster monster : hall.getMonsters()) {
-            Position monsterPos = monster.getPosition();
-            BufferedImage monsterImage = null;
-            
-            if (monster instanceof ArcherMonster) {
-                monsterImage = archerImage;
-            } else if (monster instanceof FighterMonster) {
-                monsterImage = fighterImage;
-            } else if (monster instanceof WizardMonster) {
-                monsterImage = wizardImage;
-            }
-            
-            if (monsterImage != null) {
-                g.drawImage(monsterImage, 
-                           hallX + monsterPos.getX() * cellWidth, 
-                           hallY + monsterPos.getY() * cellHeight, 
-                           cellWidth, cellHeight, this);
-            }
-        }
-
-        // Draw enchantments
-        for (Enchantment enchantment : hall.getEnchantments()) {
-            if (!enchantment.isCollected()) {
-                Position enchantPos = enchantment.getPosition();
-                BufferedImage enchantmentImage = null;
-
-                if (enchantment instanceof CloakOfProtection) {
-                    enchantmentImage = cloakImage;
-                } else if (enchantment instanceof Reveal) {
-                    enchantmentImage = revealImage;
-                } else if (enchantment instanceof LuringGem) {
-                    enchantmentImage = luringGemImage;
-                } else if (enchantment instanceof ExtraLife) {
-                    enchantmentImage = extraLifeImage;
-                } else if (enchantment instanceof ExtraTime) {
-                    enchantmentImage = extraTimeImage;
-                }
-
-                if (enchantmentImage != null) {
-                    g.drawImage(enchantmentImage,
-                               hallX + enchantPos.getX() * cellWidth,
-                               hallY + enchantPos.getY() * cellHeight,
-                               cellWidth, cellHeight, this);
-                }
-            }
+        // Draw monsters, then enchantments
+        for (FrameSnapshot.Sprite sprite : frame.getSprites()) {
+            sprites.draw(g, sprite.getId(),
+                         hallX + sprite.getX() * cellWidth,
+                         hallY + sprite.getY() * cellHeight);
         }
 
         // Draw hero
-        Hero hero = hall.getHero();
-        if (hero != null) {
-            Position heroPos = hero.getPosition();
-            g.drawImage(playerImage, 
-                       hallX + heroPos.getX() * cellWidth, 
-                       hallY + heroPos.getY() * cellHeight, 
-                       cellWidth, cellHeight, this);
+        Position heroPos = frame.getHeroPosition();
+        if (heroPos != null) {
+            sprites.draw(g, "player",
+                         hallX + heroPos.getX() * cellWidth,
+                         hallY + heroPos.getY() * cellHeight);
         }
 
         // Draw highlight area if active
+        Position highlightStart = this.highlightStart;
+        Position highlightEnd = this.highlightEnd;
         if (highlightStart != null && highlightEnd != null) {
             g.setColor(HIGHLIGHT_COLOR);
             int x = hallX + highlightStart.getX() * cellWidth;
@@ -371,7 +441,44 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
         if (state instanceof PlayMode) {
             this.playMode = (PlayMode) state;
         }
-        repaint();
+        if (canvas != null) {
+            return;
+        }
+
+        // Repaint only the hall cells and side panel that changed since the last frame
+        FrameSnapshot previous = renderedFrame;
+        Hall hall = playMode.getCurrentHall();
+        if (repaintCells == null && hall != null) {
+            repaintCells = new DirtyCells(hall.getWidth(), hall.getHeight());
+        }
+        FrameSnapshot frame = repaintCells != null ? playMode.takeFrame(repaintCells) : null;
+        if (frame == null || previous == null) {
+            renderedFrame = frame;
+            if (repaintCells != null) {
+                repaintCells.clear();
+            }
+            repaint();
+            return;
+        }
+        renderedFrame = frame;
+        repaintCells.forEachRegion(cellRepainter);
+        repaintCells.clear();
+
+        boolean infoMessageVisible = System.currentTimeMillis() - infoMessageTime < INFO_MESSAGE_DURATION;
+        if (frame.getRemainingTime() != previous.getRemainingTime() || frame.getLives() != previous.getLives()
+                || !frame.getInventory().equals(previous.getInventory()) || infoMessageVisible != infoMessageShown) {
+            int sideX = hallX + hallWidth + wallThickness;
+            repaint(sideX, 0, getWidth() - sideX, getHeight());
+        }
+        infoMessageShown = infoMessageVisible;
+
+        if (playMode.getProfiler().isEnabled() && System.nanoTime() - profilerRefreshedAt >= PROFILER_REFRESH_NANOS) {
+            repaint(PROFILER_X, PROFILER_Y, PROFILER_WIDTH, getProfilerHeight());
+        }
+    }
+
+    private void repaintCells(int x, int y, int width, int height) {
+        repaint(hallX + x * cellWidth, hallY + y * cellHeight, width * cellWidth, height * cellHeight);
     }
 
     @Override
@@ -388,30 +495,16 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
             int gridY = (e.getY() - hallY) / cellHeight;
             Position clickPos = new Position(gridX, gridY);
 
-            Hall currentHall = playMode.getCurrentHall();
-            if (currentHall != null && currentHall.isWithinBounds(clickPos)) {
-                Cell clickedCell = currentHall.getCell(clickPos);
-                if (clickedCell != null) {
-                    // Check if clicked on an enchantment
-                    if (clickedCell.getContent() instanceof Enchantment) {
-                        Hero hero = playMode.getHero();
-                        hero.interactWithObject(clickedCell, currentHall);
-                        repaint();
-                        return;
-                    }
-
-                    // Check for rune under objects (existing logic)
-                    DungeonObject clickedObject = currentHall.getObjectAt(clickPos);
-                    if (clickedObject != null) {
-                        Hero hero = playMode.getHero();
-                        if (isAdjacentToHero(clickPos, hero.getPosition())) {
-                            if (hero.checkForRune(hero.getPosition(), currentHall, clickedObject)) {
-                                currentHall.removeObject(clickPos);
-                                repaint();
-                            }
-                        }
-                    }
+            // The halls belong to the game loop: decide from the published frame and queue the click for the loop
+            FrameSnapshot frame = playMode.getFrame();
+            if (frame != null && frame.getHall().isWithinBounds(clickPos) && inputProvider != null) {
+                if (frame.hasEnchantmentAt(gridX, gridY)) {
+                    inputProvider.submit(new CollectEnchantmentAction(clickPos));
+                    return;
                 }
+
+                // Check for rune under objects
+                inputProvider.submit(new SearchAction(clickPos));
             }
         }
         checkPauseButtonClick(e.getX(), e.getY());
@@ -461,10 +554,8 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
 
         if (mouseX >= buttonX && mouseX <= buttonX + BUTTON_SIZE &&
                 mouseY >= buttonY && mouseY <= buttonY + BUTTON_SIZE) {
-            GameSaveManager saveManager = new GameSaveManager(playMode.getEventManager());
-            saveManager.setCurrentPlayMode(playMode);  // Set the current PlayMode for WizardMonsters
-            saveManager.saveGame(playMode);
-            showInfoMessage("Game saved successfully!");
+            // Snapshot on the loop thread, write in the background; GAME_SAVED reports the result
+            playMode.requestSave();
         }
     }
 
@@ -475,23 +566,53 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
         if (mouseX >= buttonX && mouseX <= buttonX + BUTTON_SIZE &&
                 mouseY >= buttonY && mouseY <= buttonY + BUTTON_SIZE) {
             stopBackgroundMusic();
-            playMode.getEventManager().notify("SHOW_MAIN_MENU", null);
+            playMode.getEventManager().notify(GameEvent.SHOW_MAIN_MENU, null);
         }
     }
 
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        
-        if (playMode == null) return;
+        if (playMode == null || canvas != null) {
+            super.paintComponent(g);
+            return;
+        }
+        paintFrame((Graphics2D) g);
+    }
 
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    /**
+     * Paints one frame from the frame PlayMode published last.
+     *
+     * @requires Called by one thread only: the EDT, or the render thread in
+     *           active rendering mode
+     * @modifies this
+     * @effects Records the time since the previous frame and the time spent
+     *          painting this one
+     */
+    private void paintFrame(Graphics2D g2d) {
+        long start = System.nanoTime();
+        if (lastFrameNanos != 0) {
+            frameIntervals.record(start - lastFrameNanos);
+        }
+        lastFrameNanos = start;
 
-        Hall hall = playMode.getCurrentHall();
-        drawSurroundingWalls(g2d);
-        drawHall(g2d, hall);
-        drawUI(g2d, playMode.getHero());
+        FrameSnapshot frame = playMode.getFrame();
+        if (frame == null) {
+            g2d.setColor(BACKGROUND_COLOR);
+            g2d.fillRect(0, 0, getWidth(), getHeight());
+            return;
+        }
+
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        FrameProfiler profiler = playMode.getProfiler();
+        long phaseStart = profiler.start();
+        drawStaticLayer(g2d, frame);
+        profiler.stop(FrameProfiler.Phase.STATIC_LAYER, phaseStart);
+        phaseStart = profiler.start();
+        drawHall(g2d, frame);
+        profiler.stop(FrameProfiler.Phase.HALL, phaseStart);
+        phaseStart = profiler.start();
+        drawUI(g2d, frame);
+        profiler.stop(FrameProfiler.Phase.UI, phaseStart);
 
         BufferedImage currentImage = isPaused ? resumeImage : pauseImage;
         int x = getWidth() - BUTTON_SIZE - BUTTON_MARGIN;
@@ -510,9 +631,93 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
             }
         }
 
-        Graphics2D g2dNotifications = (Graphics2D) g.create();
+        Graphics2D g2dNotifications = (Graphics2D) g2d.create();
+        phaseStart = profiler.start();
         drawNotifications(g2dNotifications);
+        profiler.stop(FrameProfiler.Phase.NOTIFICATIONS, phaseStart);
         g2dNotifications.dispose();
+
+        drawEffectOverlay(g2d);
+        paintTimes.record(System.nanoTime() - start);
+        if (profiler.isEnabled()) {
+            drawProfiler(g2d, profiler);
+        }
+    }
+
+    /**
+     * Draws p50/p95/p99 of every profiled phase and of the time between and
+     * spent painting frames, GC activity and the allocation rate in a box
+     * over the top left of the hall.
+     *
+     * @effects Rebuilds the text at most every PROFILER_REFRESH_NANOS, so the
+     *          overlay only allocates when its numbers change
+     */
+    private void drawProfiler(Graphics2D g, FrameProfiler profiler) {
+        long now = System.nanoTime();
+        if (profilerLines[0] == null || now - profilerRefreshedAt >= PROFILER_REFRESH_NANOS) {
+            profiler.sampleRuntime(PROFILER_REFRESH_NANOS);
+            profilerLines[0] = String.format("%-20s %7s %7s %7s", "phase (us)", "p50", "p95", "p99");
+            FrameProfiler.Phase[] phases = FrameProfiler.Phase.values();
+            for (int i = 0; i < phases.length; i++) {
+                profilerLines[i + 1] = String.format("%-20s %7.1f %7.1f %7.1f", phases[i].getLabel(),
+                        profiler.percentile(phases[i], 50) / 1000.0,
+                        profiler.percentile(phases[i], 95) / 1000.0,
+                        profiler.percentile(phases[i], 99) / 1000.0);
+            }
+            profilerLines[phases.length + 1] = histogramLine("frame interval", frameIntervals);
+            profilerLines[phases.length + 2] = histogramLine("frame paint", paintTimes);
+            profilerLines[phases.length + 3] = String.format("GC: %d collections, %d ms",
+                    profiler.getGcCount(), profiler.getGcMillis());
+            profilerLines[phases.length + 4] = String.format("Allocation: %.1f MB/s",
+                    profiler.getAllocationRate() / (1024.0 * 1024.0));
+            profilerRefreshedAt = now;
+        }
+
+        g.setColor(PROFILER_BACKGROUND);
+        g.fillRect(PROFILER_X, PROFILER_Y, PROFILER_WIDTH, getProfilerHeight());
+        g.setFont(PROFILER_FONT);
+        g.setColor(Color.WHITE);
+        for (int i = 0; i < profilerLines.length; i++) {
+            g.drawString(profilerLines[i], PROFILER_X + 6, PROFILER_Y + (i + 1) * PROFILER_LINE_HEIGHT);
+        }
+    }
+
+    private static String histogramLine(String label, LatencyHistogram histogram) {
+        return String.format("%-20s %7.1f %7.1f %7.1f", label,
+                histogram.percentile(50) / 1000.0,
+                histogram.percentile(95) / 1000.0,
+                histogram.percentile(99) / 1000.0);
+    }
+
+    private int getProfilerHeight() {
+        return (profilerLines.length + 1) * PROFILER_LINE_HEIGHT;
+    }
+
+    private void drawEffectOverlay(Graphics2D g) {
+        FadingPanel overlay = effectOverlay;
+        BufferedImage image = effectImage;
+        if (overlay == null || image == null) {
+            return;
+        }
+        Graphics2D faded = (Graphics2D) g.create();
+        faded.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, overlay.getAlpha()));
+        faded.drawImage(image, (getWidth() - image.getWidth()) / 2, (getHeight() - image.getHeight()) / 2, null);
+        faded.dispose();
+    }
+
+    /**
+     * Returns the time between painted frames, in nanoseconds, in either
+     * rendering mode.
+     */
+    public LatencyHistogram getFrameIntervals() {
+        return frameIntervals;
+    }
+
+    /**
+     * Returns the time spent painting each frame, in nanoseconds.
+     */
+    public LatencyHistogram getPaintTimes() {
+        return paintTimes;
     }
 
     private void drawSurroundingWalls(Graphics2D g) {
@@ -564,17 +769,17 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
     
  
 
-    private void drawUI(Graphics2D g, Hero hero) {
+    private void drawUI(Graphics2D g, FrameSnapshot frame) {
                 // Draw UI background with transparency
         Color semiTransparentColor = new Color(124, 166, 171, 0); // Alpha set to 150 for semi-transparency
         g.setColor(semiTransparentColor);
         g.fillRect(hallX + hallWidth + 20, 200, uiPanelWidth, uiPanelHeight);
-        drawTime(g);
+        drawTime(g, frame.getRemainingTime());
         // Draw lives using heart icon
         int heartSize = 40;
         int heartX = hallX + hallWidth + 50;
         int heartY = 280;  // Moved from 230 to 280
-        for (int i = 0; i < hero.getLives(); i++) {
+        for (int i = 0; i < frame.getLives(); i++) {
             if (heartImage != null) {
                 g.drawImage(heartImage, 
                             heartX + (i * (heartSize + 5)), 
@@ -590,14 +795,16 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
         }
 
         // Draw inventory
-        drawInventory(g, hero);
+        long inventoryStart = playMode.getProfiler().start();
+        drawInventory(g, frame.getInventory());
+        playMode.getProfiler().stop(FrameProfiler.Phase.INVENTORY, inventoryStart);
     }
 
-    private void drawTime(Graphics g) {
+    private void drawTime(Graphics g, int remainingTime) {
         Graphics2D g2d = (Graphics2D) g;
     
         // Text and icon configuration
-        String timeText = "Time: " + playMode.getRemainingTime() + " seconds";
+        String timeText = "Time: " + remainingTime + " seconds";
         int iconSize = 50; // Reduced icon size
         int padding = -10;
     
@@ -642,7 +849,7 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
         g2d.drawString(timeText, timeX + iconSize + padding, timeY);
     }
 
-    private void drawInventory(Graphics2D g, Hero hero) {
+    private void drawInventory(Graphics2D g, List<String> inventory) {
         int inventoryX = hallX + hallWidth + 40;  // Changed from 30 to 40
         
         // Draw inventory background
@@ -651,7 +858,6 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
         // Calculate grid positions
         int gridStartX = inventoryX + 28;  // Changed from 25 to 35
         int gridStartY = inventoryStartY + 40;
-        List<String> inventory = hero.getInventory();
         
         // Draw items in a 3x2 grid
         for (int i = 0; i < Math.min(6, inventory.size()); i++) {
@@ -660,26 +866,13 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
             int x = gridStartX + col * (inventoryItemSize + inventorySpacing);
             int y = gridStartY + row * (inventoryItemSize + inventorySpacing);
             
+            // Item names are sprite ids, and a slot is exactly one cell
             String item = inventory.get(i);
-            BufferedImage itemImage = null;
-            switch (item) {
-                case "CLOAK":
-                    itemImage = cloakImage;
-                    break;
-                case "REVEAL":
-                    itemImage = revealImage;
-                    break;
-                case "LURE":
-                    itemImage = luringGemImage;
-                    break;
-            }
-            
-            if (itemImage != null) {
-                g.drawImage(itemImage, x, y, inventoryItemSize, inventoryItemSize, null);
-            }
+            sprites.draw(g, item, x, y);
         }
 
         // Draw info message if active
+        String infoMessage = this.infoMessage;
         if (System.currentTimeMillis() - infoMessageTime < INFO_MESSAGE_DURATION) {
             g.setColor(Color.RED);
             g.setFont(new Font("Arial", Font.BOLD, 12));
@@ -710,50 +903,35 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
     }
 
     private void loadImages() {
-        try {
-            playerImage = ImageIO.read(getClass().getResource("/assets/player.png"));
-            runeImage = ImageIO.read(getClass().getResource("/assets/rune.png"));
-            archerImage = ImageIO.read(getClass().getResource("/assets/archer.png"));
-            fighterImage = ImageIO.read(getClass().getResource("/assets/fighter.png"));
-            wizardImage = ImageIO.read(getClass().getResource("/assets/wizard.png"));
-            pauseImage = ImageIO.read(getClass().getResource("/assets/pausebutton.png"));
-            resumeImage = ImageIO.read(getClass().getResource("/assets/resumebutton.png"));
-            saveImage = ImageIO.read(getClass().getResource("/assets/savebutton.png"));
-            returnToMainImage = ImageIO.read(getClass().getResource("/assets/returnToMain.png"));
-            inventoryBgImage = ImageIO.read(getClass().getResource("/assets/Inventory.png"));
-    
-            // Load enchantment images
-            cloakImage = ImageIO.read(getClass().getClassLoader().getResource("assets/cloak.png"));
-            revealImage = ImageIO.read(getClass().getClassLoader().getResource("assets/reveal.png"));
-            luringGemImage = ImageIO.read(getClass().getClassLoader().getResource("assets/lure.png"));
-            extraLifeImage = ImageIO.read(getClass().getClassLoader().getResource("assets/extra_life.png"));
-            extraTimeImage = ImageIO.read(getClass().getClassLoader().getResource("assets/clock.png"));
-            heartImage = ImageIO.read(getClass().getClassLoader().getResource("assets/heart.png")); // Load heart image
-            remainingTimeImage = ImageIO.read(getClass().getClassLoader().getResource("assets/rclock.png")); // Load heart image
-            waterCompleteImage = ImageIO.read(new File("src/main/resources/assets/watercomplete.png"));
-            earthCompleteImage = ImageIO.read(new File("src/main/resources/assets/earthcomplete.png"));
-            airCompleteImage = ImageIO.read(new File("src/main/resources/assets/aircomplete.png"));
-    
-            // Make the panel focusable to receive keyboard events
-            setFocusable(true);
-            
-            // Add key listener from the game window
-            for (KeyListener listener : gameWindow.getKeyListeners()) {
-                addKeyListener(listener);
+        // Decoded once by the shared AssetManager, usually during the startup preload
+        AssetManager assets = AssetManager.getShared();
+        sprites = SpriteAtlas.fromResources(SPRITES, assets);
+        pauseImage = assets.getImage("/assets/pausebutton.png");
+        resumeImage = assets.getImage("/assets/resumebutton.png");
+        saveImage = assets.getImage("/assets/savebutton.png");
+        returnToMainImage = assets.getImage("/assets/returnToMain.png");
+        inventoryBgImage = assets.getImage("/assets/Inventory.png");
+
+        heartImage = assets.getImage("/assets/heart.png"); // Load heart image
+        remainingTimeImage = assets.getImage("/assets/rclock.png");
+        waterCompleteImage = assets.getImage("/assets/watercomplete.png");
+        earthCompleteImage = assets.getImage("/assets/earthcomplete.png");
+        airCompleteImage = assets.getImage("/assets/aircomplete.png");
+
+        // Make the panel focusable to receive keyboard events
+        setFocusable(true);
+
+        // Add key listener from the game window
+        for (KeyListener listener : gameWindow.getKeyListeners()) {
+            addKeyListener(listener);
+            if (listener instanceof GUIInputProvider) {
+                // Clicks go through the same queue as key presses
+                inputProvider = (GUIInputProvider) listener;
             }
-            
-            // Request focus when created
-            requestFocusInWindow();
-        } catch (IOException e) {
-            e.printStackTrace();
-            System.err.println("Failed to load game assets: " + e.getMessage());
         }
-    }
 
-    private boolean isAdjacentToHero(Position objectPos, Position heroPos) {
-        int dx = Math.abs(objectPos.getX() - heroPos.getX());
-        int dy = Math.abs(objectPos.getY() - heroPos.getY());
-        return (dx == 1 && dy == 0) || (dx == 0 && dy == 1);
+        // Request focus when created
+        requestFocusInWindow();
     }
 
     private boolean isInventoryClick(int x, int y) {
@@ -795,7 +973,7 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
      * A custom JPanel that supports fading by adjusting its alpha transparency.
      */
     private class FadingPanel extends JPanel {
-        private float alpha = 1.0f;
+        private volatile float alpha = 1.0f;
         public void setAlpha(float value) {
             alpha = value;
             repaint();
@@ -817,136 +995,125 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
      * Displays the improved Congratulations screen with enhanced visuals and a fade-in effect.
      */
     private void showImprovedCongratulationsScreen() {
-        SwingUtilities.invokeLater(() -> {
-            // Create a new JFrame for the end-game screen
-            JFrame endFrame = new JFrame("Game Complete");
-            endFrame.setSize(800, 600);
-            endFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-            endFrame.setResizable(false);
-
-            // Create a panel with a background image
-            JPanel panel = new JPanel() {
-                BufferedImage bgImage;
-
-                {
-                    try {
-                        // Replace "/assets/final_bg.png" with the actual path to your background image in the resources
-                        bgImage = ImageIO.read(getClass().getResource("/assets/final_bg.png"));
-                    } catch (IOException e) {
-                        e.printStackTrace();
-                    }
-                }
+        // Create a new JFrame for the end-game screen
+        JFrame endFrame = new JFrame("Game Complete");
+        endFrame.setSize(800, 600);
+        endFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        endFrame.setResizable(false);
 
-                @Override
-                protected void paintComponent(Graphics g) {
-                    super.paintComponent(g);
-                    if (bgImage != null) {
-                        g.drawImage(bgImage, 0, 0, getWidth(), getHeight(), this);
-                    }
-                }
-            };
-            panel.setLayout(new BorderLayout());
-
-            // Create a FadingPanel for the overlay content
-            FadingPanel overlayPanel = new FadingPanel();
-            overlayPanel.setOpaque(false);
-            overlayPanel.setLayout(new BorderLayout());
-
-             // Congratulations Label at the Top
-           /*   JLabel congratsLabel = new JLabel("🎉 Congratulations! You Completed the Game! 🎉", SwingConstants.CENTER);
-             congratsLabel.setFont(new Font("SansSerif", Font.BOLD, 32));
-             congratsLabel.setForeground(Color.BLACK); // Black text for visibility against white background
-             congratsLabel.setBorder(BorderFactory.createEmptyBorder(50, 10, 10, 10)); // Top padding
-             overlayPanel.add(congratsLabel, BorderLayout.NORTH); */
- 
-             // Button Panel at the Bottom
-             JPanel buttonPanel = new JPanel();
-             buttonPanel.setOpaque(false);
-             buttonPanel.setLayout(new FlowLayout(FlowLayout.CENTER, 20, 50)); // Centered with padding
- 
-                        // Create the back button
-            JButton backButton = new JButton("Go Back to Main Screen");
-
-            // Style the button
-            styleButton(backButton);
-
-            // Set the background to white
-            backButton.setBackground(Color.WHITE);
+        // Create a panel with a background image
+        JPanel panel = new JPanel() {
+            BufferedImage bgImage = AssetManager.getShared().getImage("/assets/final_bg.png");
 
-            // Optional: Set the text color for better visibility
-            backButton.setForeground(Color.BLACK);
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                if (bgImage != null) {
+                    g.drawImage(bgImage, 0, 0, getWidth(), getHeight(), this);
+                }
+            }
+        };
+        panel.setLayout(new BorderLayout());
+
+        // Create a FadingPanel for the overlay content
+        FadingPanel overlayPanel = new FadingPanel();
+        overlayPanel.setOpaque(false);
+        overlayPanel.setLayout(new BorderLayout());
+
+         // Congratulations Label at the Top
+       /*   JLabel congratsLabel = new JLabel("🎉 Congratulations! You Completed the Game! 🎉", SwingConstants.CENTER);
+         congratsLabel.setFont(new Font("SansSerif", Font.BOLD, 32));
+         congratsLabel.setForeground(Color.BLACK); // Black text for visibility against white background
+         congratsLabel.setBorder(BorderFactory.createEmptyBorder(50, 10, 10, 10)); // Top padding
+         overlayPanel.add(congratsLabel, BorderLayout.NORTH); */
+
+         // Button Panel at the Bottom
+         JPanel buttonPanel = new JPanel();
+         buttonPanel.setOpaque(false);
+         buttonPanel.setLayout(new FlowLayout(FlowLayout.CENTER, 20, 50)); // Centered with padding
+
+                    // Create the back button
+        JButton backButton = new JButton("Go Back to Main Screen");
+
+        // Style the button
+        styleButton(backButton);
+
+        // Set the background to white
+        backButton.setBackground(Color.WHITE);
+
+        // Optional: Set the text color for better visibility
+        backButton.setForeground(Color.BLACK);
+
+        // Ensure the background color is visible
+        backButton.setOpaque(true);
+        backButton.setBorderPainted(false);
+
+        // Optional: Remove focus painting
+        backButton.setFocusPainted(false);
+
+         backButton.addMouseListener(new MouseListener() {
+             @Override
+             public void mousePressed(MouseEvent e) {
+                 // Scale down effect
+                 backButton.setFont(new Font("SansSerif", Font.BOLD, 16));
+                 backButton.setBorder(BorderFactory.createLineBorder(Color.BLACK, 1, true));
+                 
+                 // Stop the background music
+                 stopBackgroundMusic();
+
+                 // Close the end-game frame
+                 endFrame.dispose();
+
+                 // Notify GameSystem to show the main menu
+                 playMode.getEventManager().notify(GameEvent.SHOW_MAIN_MENU, null);
+             }
+             
+             @Override
+             public void mouseReleased(MouseEvent e) {
+                 // Restore original size
+                 backButton.setFont(new Font("SansSerif", Font.BOLD, 18));
+                 backButton.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2, true));
+             }
+
+             @Override
+             public void mouseClicked(MouseEvent e) {}
+
+             @Override
+             public void mouseEntered(MouseEvent e) {}
+
+             @Override
+             public void mouseExited(MouseEvent e) {}
+         });
 
-            // Ensure the background color is visible
-            backButton.setOpaque(true);
-            backButton.setBorderPainted(false);
+         buttonPanel.add(backButton);
+         overlayPanel.add(buttonPanel, BorderLayout.SOUTH);
 
-            // Optional: Remove focus painting
-            backButton.setFocusPainted(false);
- 
-             backButton.addMouseListener(new MouseListener() {
-                 @Override
-                 public void mousePressed(MouseEvent e) {
-                     // Scale down effect
-                     backButton.setFont(new Font("SansSerif", Font.BOLD, 16));
-                     backButton.setBorder(BorderFactory.createLineBorder(Color.BLACK, 1, true));
-                     
-                     // Stop the background music
-                     stopBackgroundMusic();
-
-                     // Close the end-game frame
-                     endFrame.dispose();
- 
-                     // Notify GameSystem to show the main menu
-                     playMode.getEventManager().notify("SHOW_MAIN_MENU", null);
-                 }
-                 
-                 @Override
-                 public void mouseReleased(MouseEvent e) {
-                     // Restore original size
-                     backButton.setFont(new Font("SansSerif", Font.BOLD, 18));
-                     backButton.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2, true));
-                 }
+         // Add the overlay panel to the main panel
+         panel.add(overlayPanel, BorderLayout.CENTER);
 
-                 @Override
-                 public void mouseClicked(MouseEvent e) {}
+         endFrame.add(panel);
+         endFrame.setLocationRelativeTo(null);
+         endFrame.setVisible(true);
 
-                 @Override
-                 public void mouseEntered(MouseEvent e) {}
+         // Start the fade-in effect using a Swing Timer
+         Timer timer = new Timer(50, null); // 50ms delay
+         timer.addActionListener(new ActionListener() {
+             float alpha = 0f;
 
-                 @Override
-                 public void mouseExited(MouseEvent e) {}
-             });
- 
-             buttonPanel.add(backButton);
-             overlayPanel.add(buttonPanel, BorderLayout.SOUTH);
- 
-             // Add the overlay panel to the main panel
-             panel.add(overlayPanel, BorderLayout.CENTER);
- 
-             endFrame.add(panel);
-             endFrame.setLocationRelativeTo(null);
-             endFrame.setVisible(true);
- 
-             // Start the fade-in effect using a Swing Timer
-             Timer timer = new Timer(50, null); // 50ms delay
-             timer.addActionListener(new ActionListener() {
-                 float alpha = 0f;
-
-                 @Override
-                 public void actionPerformed(ActionEvent e) {
-                     alpha += 0.05f; // Increment alpha
-                     if (alpha >= 1f) {
-                         alpha = 1f;
-                         timer.stop();
-                     }
-                     overlayPanel.setAlpha(alpha);
+             @Override
+             public void actionPerformed(ActionEvent e) {
+                 alpha += 0.05f; // Increment alpha
+                 if (alpha >= 1f) {
+                     alpha = 1f;
+                     timer.stop();
                  }
-             });
-             timer.start();
-
-             // Start playing background music
-             playBackgroundMusic("/assets/end_music.wav");
+                 overlayPanel.setAlpha(alpha);
+             }
          });
+         timer.start();
+
+         // Start playing background music
+         playBackgroundMusic("/assets/end_music.wav");
      }
  
 
@@ -1027,7 +1194,13 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
                              overlayImage.getWidth(), 
                              overlayImage.getHeight());
         overlay.add(imageLabel);
-        add(overlay);
+        if (canvas != null) {
+            // The heavyweight canvas would hide the overlay, so paintFrame draws it instead
+            effectImage = overlayImage;
+            effectOverlay = overlay;
+        } else {
+            add(overlay);
+        }
         overlay.setAlpha(0f);
         overlay.setVisible(true);
 
@@ -1042,6 +1215,9 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
                         if (alpha <= 0f) {
                             overlay.setAlpha(0f);
                             remove(overlay);
+                            if (effectOverlay == overlay) {
+                                effectOverlay = null;
+                            }
                             repaint();
                             ((Timer)f.getSource()).stop();
                         } else {
@@ -1058,24 +1234,33 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
         fadeInTimer.start();
         String soundPath;
         if (hallNumber == 1) {
-            soundPath = "src/main/resources/assets/earth.wav";
+            soundPath = "/assets/earth.wav";
         } else if (hallNumber == 2) {
-            soundPath = "src/main/resources/assets/air.wav";
+            soundPath = "/assets/air.wav";
         } else {
-            soundPath = "src/main/resources/assets/water.wav";
+            soundPath = "/assets/water.wav";
         }
         playSoundEffect(soundPath);
         // ...existing code...
     }
 
+    /**
+     * Plays a sound effect once.
+     *
+     * @param audioPath The path to the audio file in the resources.
+     */
     private void playSoundEffect(String audioPath) {
         try {
-            File audioFile = new File(audioPath);
-            AudioInputStream audioIn = AudioSystem.getAudioInputStream(audioFile);
+            URL soundURL = getClass().getResource(audioPath);
+            if (soundURL == null) {
+                System.err.println("Audio file not found: " + audioPath);
+                return;
+            }
+            AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundURL);
             Clip clip = AudioSystem.getClip();
             clip.open(audioIn);
             clip.start();
-        } catch (Exception e) {
+        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
             e.printStackTrace();
         }
     }
@@ -1087,6 +1272,11 @@ public class PlayModeUI extends ImagePanel implements IRenderer, MouseListener {
         int x = getWidth() - notifWidth - 5;
         // Ensure notifications stack upwards without going off-screen
         int startY = getHeight() - 20 - notifHeight;
+        if (notifications.isEmpty()) {
+            return;
+        }
+        // The EDT may add messages while the render thread draws
+        List<String> notifications = List.copyOf(this.notifications);
         for (int i = notifications.size() - 1; i >= 0; i--) {
             String message = notifications.get(i);
             int y = startY - (notifications.size() - 1 - i) * (notifHeight + spacing);
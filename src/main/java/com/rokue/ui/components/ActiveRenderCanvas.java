@@ -0,0 +1,143 @@
+package com.rokue.ui.components;
+
+import java.awt.Canvas;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Canvas painted by its own render thread through a BufferStrategy.
+ *
+ * Swing coalesces repaint() calls and paints whenever the EDT gets to them,
+ * so frame timing depends on everything else the EDT does. This canvas
+ * ignores repaint requests and presents a frame every 1/framesPerSecond
+ * seconds instead, using absolute deadlines so the pace does not drift. A
+ * frame that runs late pushes the schedule back rather than being followed
+ * by a burst of catch-up frames.
+ *
+ * The painter is called on the render thread, so it may only read state that
+ * is safe to read from any thread, e.g. a published snapshot.
+ *
+ * @effects
+ *   - The render thread starts when the canvas becomes displayable and stops
+ *     before it is removed from its window
+ */
+public class ActiveRenderCanvas extends Canvas implements Runnable {
+    private static final long serialVersionUID = 1L;
+    private static final int BUFFERS = 2;
+
+    /**
+     * Draws one frame into the back buffer.
+     */
+    public interface Painter {
+        void paintFrame(Graphics2D g);
+    }
+
+    private final transient Painter painter;
+    private final long nanosPerFrame;
+    private volatile boolean running;
+    private transient Thread thread;
+
+    /**
+     * @requires
+     *   - painter != null
+     *   - framesPerSecond > 0
+     */
+    public ActiveRenderCanvas(Painter painter, int framesPerSecond) {
+        this.painter = painter;
+        this.nanosPerFrame = 1_000_000_000L / framesPerSecond;
+        setIgnoreRepaint(true);
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        start();
+    }
+
+    @Override
+    public void removeNotify() {
+        // The buffers go away with the peer, so the thread must stop drawing first
+        stop();
+        super.removeNotify();
+    }
+
+    private synchronized void start() {
+        if (running) {
+            return;
+        }
+        createBufferStrategy(BUFFERS);
+        running = true;
+        thread = new Thread(this, "render");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void stop() {
+        Thread renderThread;
+        synchronized (this) {
+            running = false;
+            renderThread = thread;
+            thread = null;
+        }
+        if (renderThread != null && renderThread != Thread.currentThread()) {
+            LockSupport.unpark(renderThread);
+            try {
+                renderThread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        BufferStrategy strategy = getBufferStrategy();
+        long deadline = System.nanoTime();
+
+        while (running) {
+            try {
+                present(strategy);
+            } catch (RuntimeException e) {
+                // A single faulty frame must not kill the render thread
+                e.printStackTrace();
+            }
+
+            deadline += nanosPerFrame;
+            long now = System.nanoTime();
+            if (now - deadline > nanosPerFrame) {
+                // More than a frame behind: start a new schedule from now
+                deadline = now;
+            }
+            long remaining;
+            while (running && (remaining = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(remaining);
+            }
+        }
+    }
+
+    private void present(BufferStrategy strategy) {
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    painter.paintFrame(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (running && strategy.contentsRestored());
+            strategy.show();
+        } while (running && strategy.contentsLost());
+        // Flush the pipeline now so the frame is on screen at this deadline, not at the next one
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getNanosPerFrame() {
+        return nanosPerFrame;
+    }
+}
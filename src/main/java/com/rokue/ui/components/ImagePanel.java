@@ -3,15 +3,14 @@ package com.rokue.ui.components;
 import javax.swing.*;
 import java.awt.*;
 
+import com.rokue.game.render.AssetManager;
+
 public class ImagePanel extends JPanel {
     private Image backgroundImage;
 
     public ImagePanel(String imagePath) {
-        try {
-            backgroundImage = new ImageIcon(imagePath).getImage();
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        // Backgrounds are shared by every panel showing them
+        backgroundImage = AssetManager.getShared().getImage(imagePath);
     }
 
     @Override
@@ -0,0 +1,66 @@
+package com.rokue.game;
+
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rokue.game.BatchSimulation.BatchReport;
+import com.rokue.game.BatchSimulation.Outcome;
+import com.rokue.game.BatchSimulation.SessionResult;
+import com.rokue.game.util.GameLog;
+
+class BatchSimulationTest {
+    private PrintStream sink;
+
+    @BeforeEach
+    void setUp() {
+        sink = GameLog.getSink();
+        GameLog.setSink(null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        GameLog.setSink(sink);
+    }
+
+    /**
+     * Test Case 1: A session plays to an outcome, and the same seed plays the
+     * same session again.
+     */
+    @Test
+    void testSessionIsReproducible() {
+        SessionResult first = BatchSimulation.runSession(7L);
+        SessionResult second = BatchSimulation.runSession(7L);
+
+        assertNotNull(first.getOutcome());
+        assertTrue(first.getTicks() > 0);
+        assertEquals(first.getTicks(), first.getTickCost().getCount(), "One cost sample per tick");
+        assertEquals(first.getOutcome(), second.getOutcome());
+        assertEquals(first.getTicks(), second.getTicks());
+        assertEquals(first.getCompletedHalls(), second.getCompletedHalls());
+    }
+
+    /**
+     * Test Case 2: A short seeded batch gives the same results on one thread
+     * and on several.
+     */
+    @Test
+    void testBatchIsIndependentOfThreads() {
+        BatchReport serial = BatchSimulation.run(3, 1, 42L);
+        BatchReport parallel = BatchSimulation.run(3, 2, 42L);
+
+        int sessions = 0;
+        for (Outcome outcome : Outcome.values()) {
+            assertEquals(serial.getOutcomeCount(outcome), parallel.getOutcomeCount(outcome), outcome.name());
+            sessions += serial.getOutcomeCount(outcome);
+        }
+        assertEquals(3, sessions);
+        assertEquals(serial.getTotalTicks(), parallel.getTotalTicks());
+        assertEquals(serial.getTotalTicks(), serial.getTickCost().getCount());
+    }
+}
@@ -0,0 +1,87 @@
+package com.rokue.game;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class GameLoopTest {
+
+    /**
+     * Test Case 1: Manual stepping runs exactly the requested number of ticks
+     * without starting a thread.
+     */
+    @Test
+    void testRunTicksIsHeadless() {
+        AtomicInteger ticks = new AtomicInteger();
+        GameLoop loop = new GameLoop(ticks::incrementAndGet);
+
+        loop.runTicks(600);
+
+        assertEquals(600, ticks.get(), "Every requested tick should run");
+        assertEquals(600, loop.getTickCount(), "Tick counter should match");
+        assertFalse(loop.isRunning(), "Manual stepping should not start the loop thread");
+    }
+
+    /**
+     * Test Case 2: The loop thread ticks at roughly the fixed rate and stops cleanly.
+     */
+    @Test
+    void testThreadedLoopTicksAtFixedRate() throws InterruptedException {
+        AtomicInteger ticks = new AtomicInteger();
+        GameLoop loop = new GameLoop(ticks::incrementAndGet);
+
+        loop.start();
+        Thread.sleep(500);
+        loop.stop();
+
+        int ticked = ticks.get();
+        assertTrue(ticked >= 15 && ticked <= 45, "Expected about 30 ticks in 500 ms but got " + ticked);
+        assertFalse(loop.isRunning(), "Loop should report stopped");
+
+        Thread.sleep(100);
+        assertEquals(ticked, ticks.get(), "No ticks should run after stop()");
+    }
+
+    /**
+     * Test Case 3: A failing tick stops the loop and is reported instead of
+     * being repeated, and manual stepping is refused while the loop thread
+     * owns the simulation.
+     */
+    @Test
+    void testFaultyTickAndManualStepWhileRunning() throws InterruptedException {
+        AtomicInteger ticks = new AtomicInteger();
+        GameLoop manual = new GameLoop(() -> {
+            if (ticks.incrementAndGet() == 1) {
+                throw new IllegalStateException("boom");
+            }
+        });
+        assertThrows(IllegalStateException.class, () -> manual.runTicks(3));
+        assertEquals(1, ticks.get(), "No tick should run after a failed one");
+
+        CountDownLatch reported = new CountDownLatch(1);
+        AtomicInteger failingTicks = new AtomicInteger();
+        GameLoop failing = new GameLoop(() -> {
+            failingTicks.incrementAndGet();
+            throw new IllegalStateException("boom");
+        }, error -> reported.countDown());
+        failing.start();
+        assertTrue(reported.await(2, TimeUnit.SECONDS), "The failure should reach the error handler");
+        assertFalse(failing.isRunning(), "The loop should stop after a failed tick");
+        assertEquals(1, failingTicks.get(), "The failed tick should not be repeated");
+        assertTrue(failing.getFailure() instanceof IllegalStateException);
+
+        GameLoop loop = new GameLoop(() -> { });
+        loop.start();
+        try {
+            assertThrows(IllegalStateException.class, () -> loop.runTicks(1));
+        } finally {
+            loop.stop();
+        }
+    }
+}
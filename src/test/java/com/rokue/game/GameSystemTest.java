@@ -0,0 +1,84 @@
+package com.rokue.game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.rokue.game.events.EventManager;
+import com.rokue.game.events.GameEvent;
+import com.rokue.game.states.GameState;
+import com.rokue.game.states.MainMenu;
+
+class GameSystemTest {
+
+    /**
+     * Records what the current state of its system was while it was entered,
+     * updated and exited.
+     */
+    private static final class RecordingState implements GameState {
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        public void enter(GameSystem system) {
+            calls.add("enter, current " + describe(system.getCurrentState()));
+        }
+
+        @Override
+        public void update(GameSystem system) {
+            calls.add("update");
+        }
+
+        @Override
+        public void exit(GameSystem system) {
+            calls.add("exit, current " + describe(system.getCurrentState()));
+        }
+
+        private String describe(GameState state) {
+            return state == null ? "none" : state == this ? "self" : "other";
+        }
+    }
+
+    /**
+     * Test Case 1: A state is only current once its enter() has finished, and
+     * stops being current before its exit() starts, so the game loop never
+     * ticks a state that is not set up.
+     */
+    @Test
+    void testStateIsCurrentOnlyBetweenEnterAndExit() {
+        GameSystem system = new GameSystem(new EventManager());
+        RecordingState first = new RecordingState();
+        RecordingState second = new RecordingState();
+
+        system.transitionTo(first, null);
+        assertSame(first, system.getCurrentState());
+        system.tick();
+
+        system.setState(second);
+        assertSame(second, system.getCurrentState());
+
+        assertEquals(List.of("enter, current none", "update", "exit, current none"), first.calls);
+        assertEquals(List.of("enter, current none"), second.calls);
+    }
+
+    /**
+     * Test Case 2: A transition event builds and shows the next screen and
+     * records how long that took.
+     */
+    @Test
+    void testTransitionEventsAreTimed() {
+        EventManager eventManager = new EventManager();
+        GameSystem system = new GameSystem(eventManager);
+        assertEquals(0, system.getTransitionTimes().getCount());
+
+        eventManager.notify(GameEvent.SHOW_MAIN_MENU, null);
+
+        assertInstanceOf(MainMenu.class, system.getCurrentState());
+        assertEquals(1, system.getTransitionTimes().getCount());
+        assertTrue(system.getTransitionTimes().getMax() > 0);
+    }
+}
@@ -11,6 +11,7 @@ import org.mockito.MockitoAnnotations;
 import com.rokue.game.entities.Hero;
 import com.rokue.game.entities.monsters.Monster;
 import com.rokue.game.events.EventManager;
+import com.rokue.game.time.ManualClock;
 import com.rokue.game.util.Position;
 
 class ShootArrowTest {
@@ -132,4 +133,31 @@ class ShootArrowTest {
         shootArrow.act(hero, monster);
         verify(hero.getEventManager(), times(2)).notify("HERO_HIT_BY_ARROW", null);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Test Case 4: Cooldowns follow the injected game clock
+     * Tests that with a ManualClock the hit cooldown elapses without any
+     * wall-clock waiting:
+     * - Hit
+     * - Blocked at 2.9 s of game time
+     * - Hit again at 3 s of game time
+     */
+    @Test
+    void testCooldownFollowsManualClock() {
+        ManualClock clock = new ManualClock(10_000, 1_000_000);
+        ShootArrow clockedArrow = new ShootArrow(clock);
+        when(hero.getPosition()).thenReturn(new Position(0, 0));
+        when(monster.getPosition()).thenReturn(new Position(2, 2));
+
+        clockedArrow.act(hero, monster);
+        verify(hero.getEventManager(), times(1)).notify("HERO_HIT_BY_ARROW", null);
+
+        clock.advance(2900);
+        clockedArrow.act(hero, monster);
+        verify(hero.getEventManager(), times(1)).notify("HERO_HIT_BY_ARROW", null);
+
+        clock.advance(100);
+        clockedArrow.act(hero, monster);
+        verify(hero.getEventManager(), times(2)).notify("HERO_HIT_BY_ARROW", null);
+    }
+}
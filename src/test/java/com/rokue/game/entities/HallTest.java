@@ -0,0 +1,231 @@
+package com.rokue.game.entities;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rokue.game.actions.MoveAction;
+import com.rokue.game.entities.monsters.ArcherMonster;
+import com.rokue.game.util.Cell;
+import com.rokue.game.util.DirtyCells;
+import com.rokue.game.util.OccupancyGrid;
+import com.rokue.game.util.Position;
+
+class HallTest {
+    private Hall hall;
+
+    @BeforeEach
+    void setUp() {
+        // 70 wide so footprint rows straddle long word boundaries
+        hall = new Hall("Test Hall", 70, 5, 1);
+    }
+
+    /**
+     * Test Case 1: The occupancy layer follows every way content enters or
+     * leaves a cell, including direct Cell.setContent calls.
+     */
+    @Test
+    void testOccupancyFollowsCellContent() {
+        DungeonObject chest = new DungeonObject("chest", "testPath", 2, 2);
+        assertTrue(hall.addObject(chest, new Position(62, 1)));
+        assertEquals(OccupancyGrid.OBJECT, hall.getCellKind(63, 2));
+        assertFalse(hall.isEmpty(62, 1));
+
+        ArcherMonster archer = new ArcherMonster(new Position(10, 0));
+        hall.addMonster(archer);
+        assertEquals(OccupancyGrid.MONSTER, hall.getCellKind(10, 0));
+
+        hall.getCell(new Position(10, 0)).setContent(null);
+        assertTrue(hall.isEmpty(10, 0), "Direct cell writes must reach the bitmap");
+
+        assertTrue(hall.removeObject(new Position(63, 2)));
+        assertTrue(hall.isEmpty(62, 1) && hall.isEmpty(63, 2), "Removal should clear the whole footprint");
+        assertFalse(hall.isEmpty(-1, 0), "Out of bounds is never empty");
+    }
+
+    /**
+     * Test Case 2: Footprint checks reject overlap and overflow across word
+     * boundaries and accept free space.
+     */
+    @Test
+    void testFootprintChecks() {
+        DungeonObject blocker = new DungeonObject("blocker", "testPath", 1, 1);
+        hall.addObject(blocker, new Position(64, 3));
+
+        DungeonObject table = new DungeonObject("table", "testPath", 4, 2);
+        assertFalse(hall.canPlaceObject(table, new Position(61, 2)), "Overlaps the blocker");
+        assertFalse(hall.canPlaceObject(table, new Position(67, 0)), "Runs past the right wall");
+        assertFalse(hall.canPlaceObject(table, new Position(0, 4)), "Runs past the bottom wall");
+        assertTrue(hall.canPlaceObject(table, new Position(60, 0)));
+        assertTrue(hall.canPlaceObject(table, new Position(65, 3)));
+    }
+
+    /**
+     * Test Case 3: Lookup covers every footprint cell and stays correct after
+     * swap-removes reorder the object table.
+     */
+    @Test
+    void testObjectLookupAfterSwapRemove() {
+        DungeonObject[] pillars = new DungeonObject[10];
+        for (int i = 0; i < pillars.length; i++) {
+            pillars[i] = new DungeonObject("pillar" + i, "testPath", 1, 2);
+            assertTrue(hall.addObject(pillars[i], new Position(i * 3, 1)));
+        }
+
+        assertEquals(pillars[4], hall.getObjectAt(new Position(12, 2)), "Lower cell belongs to the pillar");
+        assertTrue(hall.isCellOccupied(new Position(12, 2)));
+
+        assertTrue(hall.removeObject(new Position(0, 1)));
+        assertTrue(hall.removeObject(new Position(12, 2)));
+        assertEquals(8, hall.getObjects().size());
+        assertNull(hall.getObjectAt(new Position(0, 1)));
+        assertNull(hall.getObjectAt(new Position(12, 1)));
+        for (int i = 1; i < pillars.length; i++) {
+            if (i != 4) {
+                assertEquals(pillars[i], hall.getObjectAt(new Position(i * 3, 2)),
+                             "Moved objects must keep their cells");
+            }
+        }
+    }
+
+    /**
+     * Test Case 4: Random empty-cell picks only return empty cells, follow
+     * every add and remove, and report a full hall instead of spinning.
+     */
+    @Test
+    void testRandomEmptyPosition() {
+        Hall small = new Hall("Small", 3, 2, 1);
+        SplittableRandom random = new SplittableRandom(7);
+        assertEquals(6, small.getEmptyCellCount());
+
+        for (int x = 0; x < 3; x++) {
+            small.addObject(new DungeonObject("box", "testPath", 1, 1), new Position(x, 0));
+        }
+        small.addMonster(new ArcherMonster(new Position(0, 1)));
+        assertEquals(2, small.getEmptyCellCount());
+        for (int i = 0; i < 50; i++) {
+            Position pick = small.getRandomEmptyPosition(random);
+            assertTrue(small.isEmpty(pick.getX(), pick.getY()), "Picked cell must be empty");
+        }
+
+        small.addObject(new DungeonObject("box", "testPath", 1, 1), new Position(1, 1));
+        small.addObject(new DungeonObject("box", "testPath", 1, 1), new Position(2, 1));
+        assertNull(small.getRandomEmptyPosition(random), "A full hall has no empty cell");
+
+        small.removeObject(new Position(1, 0));
+        assertEquals(new Position(1, 0), small.getRandomEmptyPosition(random));
+    }
+
+    /**
+     * Test Case 5: Primitive accessors agree with the Position based ones, the
+     * hero steps onto shared Position instances, and the neighbour visitor
+     * sees the same cells as getNeighbors.
+     */
+    @Test
+    void testPrimitiveCoordinateApi() {
+        int index = hall.toIndex(65, 3);
+        assertEquals(65, hall.indexX(index));
+        assertEquals(3, hall.indexY(index));
+        assertSame(hall.getCell(new Position(65, 3)), hall.getCell(index));
+        assertSame(hall.getCell(65, 3), hall.getCell(index));
+        assertSame(hall.getPosition(65, 3), hall.getPosition(65, 3), "Positions are flyweights");
+        assertNull(hall.getPosition(70, 0));
+
+        Hero hero = new Hero(hall.getPosition(0, 0), null, new ArrayList<>());
+        hero.move(MoveAction.Direction.RIGHT, hall);
+        assertSame(hall.getPosition(1, 0), hero.getPosition(), "A step should reuse the hall's Position");
+
+        List<Cell> visited = new ArrayList<>();
+        hall.forEachNeighbor(0, 0, (x, y, cell) -> visited.add(cell));
+        assertEquals(hall.getNeighbors(new Position(0, 0)), visited);
+        assertEquals(2, visited.size(), "A corner has two neighbours");
+    }
+
+    /**
+     * Test Case 6: A loaded hall rebuilds its occupancy and ownership layers.
+     */
+    @Test
+    void testOccupancyRebuiltAfterLoad() throws Exception {
+        hall.addObject(new DungeonObject("chest", "testPath", 1, 1), new Position(3, 3));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(hall);
+        }
+        Hall loaded;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            loaded = (Hall) in.readObject();
+        }
+
+        assertEquals(OccupancyGrid.OBJECT, loaded.getCellKind(3, 3));
+        assertEquals("chest", loaded.getObjectAt(new Position(3, 3)).getName());
+        loaded.getCell(new Position(4, 4)).setContent(new DungeonObject("box", "testPath", 1, 1));
+        assertFalse(loaded.isEmpty(4, 4), "Loaded cells must be attached to the new layer");
+    }
+
+    /**
+     * Test Case 7: The object version changes on every add, remove and clear,
+     * and not when a placement or removal fails.
+     */
+    @Test
+    void testObjectVersionTracksObjectChanges() {
+        int version = hall.getObjectVersion();
+        assertTrue(hall.addObject(new DungeonObject("chest", "testPath", 1, 1), new Position(1, 1)));
+        assertFalse(hall.getObjectVersion() == version, "Adding an object bumps the version");
+
+        version = hall.getObjectVersion();
+        assertFalse(hall.addObject(new DungeonObject("barrel", "testPath", 1, 1), new Position(1, 1)));
+        assertFalse(hall.removeObject(new Position(3, 3)));
+        assertEquals(version, hall.getObjectVersion(), "Failed changes keep the version");
+
+        assertTrue(hall.removeObject(new Position(1, 1)));
+        assertFalse(hall.getObjectVersion() == version, "Removing an object bumps the version");
+
+        version = hall.getObjectVersion();
+        hall.clearObjects();
+        assertFalse(hall.getObjectVersion() == version, "Clearing bumps the version");
+    }
+
+    /**
+     * Test Case 8: Cell changes, monster moves and hero steps are recorded
+     * as dirty cells until drained, and drain into few rectangles.
+     */
+    @Test
+    void testDirtyCellsRecordedAndCoalesced() {
+        hall.drainDirtyCells(new DirtyCells(hall.getWidth(), hall.getHeight()));
+        DirtyCells dirty = new DirtyCells(hall.getWidth(), hall.getHeight());
+
+        hall.addObject(new DungeonObject("chest", "testPath", 2, 2), new Position(10, 1));
+        hall.addMonster(new ArcherMonster(new Position(40, 4)));
+        Hero hero = new Hero(hall.getPosition(0, 0), null, new ArrayList<>());
+        hero.move(MoveAction.Direction.RIGHT, hall);
+        hall.drainDirtyCells(dirty);
+
+        assertEquals(7, dirty.getCount(), "Four object cells, one monster cell and both hero cells");
+        assertTrue(dirty.isDirty(11, 2));
+        assertTrue(dirty.isDirty(40, 4));
+        assertTrue(dirty.isDirty(0, 0) && dirty.isDirty(1, 0));
+
+        List<int[]> regions = new ArrayList<>();
+        dirty.forEachRegion((x, y, width, height) -> regions.add(new int[] {x, y, width, height}));
+        assertEquals(3, regions.size(), "The 2x2 object is one region, not two rows");
+        assertTrue(regions.stream().anyMatch(r -> r[0] == 10 && r[1] == 1 && r[2] == 2 && r[3] == 2));
+        assertTrue(regions.stream().anyMatch(r -> r[0] == 0 && r[1] == 0 && r[2] == 2 && r[3] == 1));
+
+        DirtyCells again = new DirtyCells(hall.getWidth(), hall.getHeight());
+        hall.drainDirtyCells(again);
+        assertTrue(again.isEmpty(), "Draining forgets what was drained");
+    }
+}
@@ -0,0 +1,88 @@
+package com.rokue.game.events;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Microbenchmark for EventManager dispatch cost.
+ *
+ * Compares the original HashMap-of-ArrayList dispatch (copied below as
+ * LegacyEventManager) with the string compatibility path and the typed
+ * GameEvent path, each with the same listeners on TIMER_TICK and
+ * HERO_HIT_BY_ARROW. Not a unit test; run it with:
+ *
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.rokue.game.events.EventDispatchBenchmark
+ */
+public class EventDispatchBenchmark {
+    private static final int LISTENERS = 3;
+    private static final int ROUNDS = 5;
+    private static final int NOTIFIES_PER_ROUND = 20_000_000;
+
+    private static long sink = 0;
+
+    public static void main(String[] args) {
+        LegacyEventManager legacy = new LegacyEventManager();
+        EventManager current = new EventManager();
+        for (int i = 0; i < LISTENERS; i++) {
+            legacy.subscribe("TIMER_TICK", EventDispatchBenchmark::consume);
+            legacy.subscribe("HERO_HIT_BY_ARROW", EventDispatchBenchmark::consume);
+            current.subscribe(GameEvent.TIMER_TICK, EventDispatchBenchmark::consume);
+            current.subscribe(GameEvent.HERO_HIT_BY_ARROW, EventDispatchBenchmark::consume);
+        }
+
+        System.out.printf("%d listeners per event, %d notifies per round%n", LISTENERS, NOTIFIES_PER_ROUND);
+        for (int round = 1; round <= ROUNDS; round++) {
+            double legacyNs = time(() -> {
+                for (int i = 0; i < NOTIFIES_PER_ROUND; i++) {
+                    legacy.notify((i & 1) == 0 ? "TIMER_TICK" : "HERO_HIT_BY_ARROW", null);
+                }
+            });
+            double stringNs = time(() -> {
+                for (int i = 0; i < NOTIFIES_PER_ROUND; i++) {
+                    current.notify((i & 1) == 0 ? "TIMER_TICK" : "HERO_HIT_BY_ARROW", null);
+                }
+            });
+            double typedNs = time(() -> {
+                for (int i = 0; i < NOTIFIES_PER_ROUND; i++) {
+                    current.notify((i & 1) == 0 ? GameEvent.TIMER_TICK : GameEvent.HERO_HIT_BY_ARROW, null);
+                }
+            });
+            System.out.printf("round %d: legacy %.2f ns/notify, string %.2f ns/notify, typed %.2f ns/notify%n",
+                              round, legacyNs, stringNs, typedNs);
+        }
+        System.out.println("(sink " + sink + ")");
+    }
+
+    private static void consume(String eventType, Object data) {
+        sink += eventType.length();
+    }
+
+    private static double time(Runnable body) {
+        long start = System.nanoTime();
+        body.run();
+        return (System.nanoTime() - start) / (double) NOTIFIES_PER_ROUND;
+    }
+
+    /**
+     * The EventManager implementation before typed channels.
+     */
+    private static class LegacyEventManager {
+        private Map<String, List<EventListener>> listeners = new HashMap<>();
+
+        void subscribe(String eventType, EventListener listener) {
+            listeners.putIfAbsent(eventType, new ArrayList<>());
+            listeners.get(eventType).add(listener);
+        }
+
+        void notify(String eventType, Object data) {
+            if (listeners.containsKey(eventType)) {
+                for (EventListener listener : listeners.get(eventType)) {
+                    listener.onEvent(eventType, data);
+                }
+            }
+        }
+    }
+}
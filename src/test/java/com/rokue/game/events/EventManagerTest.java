@@ -0,0 +1,175 @@
+package com.rokue.game.events;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EventManagerTest {
+    private EventManager eventManager;
+    private List<String> received;
+
+    @BeforeEach
+    void setUp() {
+        eventManager = new EventManager();
+        received = new ArrayList<>();
+    }
+
+    /**
+     * Test Case 1: Typed and string notifies reach the same listeners, and
+     * names without a GameEvent still work through the string API.
+     */
+    @Test
+    void testTypedAndStringApisShareChannels() {
+        eventManager.subscribe(GameEvent.LOG_MESSAGE, (eventType, data) -> received.add(eventType + ":" + data));
+        eventManager.subscribe("LOG_MESSAGE", (eventType, data) -> received.add("string:" + data));
+        eventManager.subscribe("CUSTOM_EVENT", (eventType, data) -> received.add(eventType + ":" + data));
+
+        eventManager.notify("LOG_MESSAGE", "a");
+        eventManager.notify(GameEvent.LOG_MESSAGE, "b");
+        eventManager.notify("CUSTOM_EVENT", "c");
+        eventManager.notify("NOBODY_LISTENS", "d");
+
+        assertEquals(List.of("LOG_MESSAGE:a", "string:a", "LOG_MESSAGE:b", "string:b", "CUSTOM_EVENT:c"), received);
+        assertEquals(2, eventManager.getListenerCount(GameEvent.LOG_MESSAGE));
+    }
+
+    /**
+     * Test Case 2: Subscribing and unsubscribing from inside a listener takes
+     * effect from the next notify instead of throwing.
+     */
+    @Test
+    void testSubscribeDuringDispatch() {
+        EventListener late = (eventType, data) -> received.add("late");
+        EventListener[] self = new EventListener[1];
+        self[0] = (eventType, data) -> {
+            received.add("first");
+            eventManager.subscribe(GameEvent.TIMER_TICK, late);
+            eventManager.unsubscribe(GameEvent.TIMER_TICK, self[0]);
+        };
+        eventManager.subscribe(GameEvent.TIMER_TICK, self[0]);
+
+        eventManager.notify(GameEvent.TIMER_TICK, 1);
+        eventManager.notify(GameEvent.TIMER_TICK, 2);
+
+        assertEquals(List.of("first", "late"), received);
+
+        eventManager.unsubscribeAll("TIMER_TICK");
+        eventManager.notify(GameEvent.TIMER_TICK, 3);
+        assertEquals(2, received.size(), "No listener should remain");
+    }
+
+    /**
+     * Test Case 3: With a dispatch thread bound, notifies from other threads
+     * wait for drainQueued() on that thread and run in posting order, while
+     * notifies on the dispatch thread itself still run inline.
+     */
+    @Test
+    void testForeignNotifiesQueuedUntilDrain() throws Exception {
+        eventManager.subscribe(GameEvent.LOG_MESSAGE, (eventType, data) ->
+            received.add(Thread.currentThread().getName() + ":" + data));
+        eventManager.bindDispatchThread(Thread.currentThread());
+        String self = Thread.currentThread().getName();
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 5000; i++) {
+                eventManager.notify(GameEvent.LOG_MESSAGE, i);
+            }
+        }, "producer");
+        producer.start();
+
+        int drained = 0;
+        while (producer.isAlive() || drained < 5000) {
+            drained += eventManager.drainQueued();
+        }
+        producer.join();
+
+        assertEquals(5000, received.size());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(self + ":" + i, received.get(i), "Queued events run on the dispatch thread, in order");
+        }
+
+        eventManager.notify(GameEvent.LOG_MESSAGE, "inline");
+        assertEquals(self + ":inline", received.get(5000));
+        assertEquals(0, eventManager.drainQueued());
+        assertTrue(eventManager.isDispatchThread());
+    }
+
+    /**
+     * Test Case 4: Metrics count publishes per channel, time dispatches, and
+     * name a listener that runs over the slow threshold.
+     */
+    @Test
+    void testMetricsSnapshot() {
+        eventManager.setSlowListenerThreshold(2_000_000);
+        eventManager.setMetricsEnabled(true);
+        EventListener slow = (eventType, data) -> {
+            long until = System.nanoTime() + 3_000_000;
+            while (System.nanoTime() < until) {
+                Thread.onSpinWait();
+            }
+        };
+        eventManager.subscribe(GameEvent.TIMER_TICK, (eventType, data) -> received.add("fast"));
+        eventManager.subscribe(GameEvent.TIMER_TICK, slow);
+        eventManager.subscribe(GameEvent.LOG_MESSAGE, (eventType, data) -> received.add("log"));
+
+        eventManager.notify(GameEvent.TIMER_TICK, 1);
+        for (int i = 0; i < 10; i++) {
+            eventManager.notify(GameEvent.LOG_MESSAGE, i);
+        }
+
+        EventMetricsSnapshot snapshot = eventManager.getMetricsSnapshot();
+        assertEquals(11, snapshot.getTotalPublishCount());
+        EventMetricsSnapshot.ChannelStats tick = snapshot.getChannels().get(0);
+        assertEquals("TIMER_TICK", tick.getEventName(), "The slowest channel comes first");
+        assertEquals(2, tick.getListenerCount());
+        assertTrue(tick.getMaxNanos() >= 3_000_000);
+        assertEquals(1, tick.getSlowListeners().size(), "Only the spinning listener is slow");
+        assertTrue(tick.getSlowListeners().get(0).getListener().startsWith(EventManagerTest.class.getName()));
+        assertEquals(10, snapshot.getChannel(GameEvent.LOG_MESSAGE).getPublishCount());
+        assertNull(snapshot.getChannel(GameEvent.HERO_DEAD), "Silent channels are left out");
+
+        eventManager.setMetricsEnabled(false);
+        assertEquals(0, eventManager.getMetricsSnapshot().getChannels().size());
+    }
+
+    /**
+     * Test Case 5: Within a tick, latest-wins keeps the last payload, merge
+     * collects payloads in order, keep-all dispatches at once, and a
+     * listener's own re-post waits for the next flush.
+     */
+    @Test
+    void testCoalescingPerTick() {
+        eventManager.bindDispatchThread(Thread.currentThread());
+        eventManager.setCoalescing(GameEvent.TIMER_TICK, CoalescePolicy.LATEST_WINS);
+        eventManager.setCoalescing(GameEvent.LOG_MESSAGE, CoalescePolicy.MERGE);
+        eventManager.setCoalescing(GameEvent.ADD_TIME, CoalescePolicy.MERGE, (a, b) -> (int) a + (int) b);
+        eventManager.subscribe(GameEvent.TIMER_TICK, (eventType, data) -> {
+            received.add("tick:" + data);
+            eventManager.notify(GameEvent.TIMER_TICK, "again");
+        });
+        eventManager.subscribe(GameEvent.LOG_MESSAGE, (eventType, data) -> received.add("log:" + data));
+        eventManager.subscribe(GameEvent.ADD_TIME, (eventType, data) -> received.add("time:" + data));
+        eventManager.subscribe(GameEvent.HERO_DEAD, (eventType, data) -> received.add("dead"));
+
+        eventManager.notify(GameEvent.TIMER_TICK, 3);
+        eventManager.notify(GameEvent.LOG_MESSAGE, "a");
+        eventManager.notify(GameEvent.TIMER_TICK, 2);
+        eventManager.notify(GameEvent.LOG_MESSAGE, "b");
+        eventManager.notify(GameEvent.ADD_TIME, 5);
+        eventManager.notify(GameEvent.ADD_TIME, 5);
+        eventManager.notify(GameEvent.HERO_DEAD, null);
+        assertEquals(List.of("dead"), received, "Only keep-all events run before the flush");
+
+        assertEquals(3, eventManager.flushCoalesced());
+        assertEquals(List.of("dead", "tick:2", "log:[a, b]", "time:10"), received);
+
+        eventManager.notify(GameEvent.LOG_MESSAGE, "c");
+        assertEquals(2, eventManager.flushCoalesced());
+        assertEquals(List.of("dead", "tick:2", "log:[a, b]", "time:10", "tick:again", "log:c"), received);
+    }
+}
@@ -2,7 +2,9 @@ package com.rokue.game.factories;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.SplittableRandom;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -87,4 +89,19 @@ class MonsterFactoryTest {
             assertNull(testHall.getCell(position).getContent(), "Monster should not spawn in an occupied cell.");
         }
     }
+
+    @Test
+    void testSameSeedSpawnsSameMonsters() {
+        SplittableRandom first = new SplittableRandom(42);
+        SplittableRandom second = new SplittableRandom(42);
+        Hall otherHall = new Hall("OtherHall", 10, 10, 1);
+
+        for (int i = 0; i < 20; i++) {
+            Monster a = MonsterFactory.createRandomMonster(testHall, mockPlayMode, first);
+            Monster b = MonsterFactory.createRandomMonster(otherHall, mockPlayMode, second);
+
+            assertEquals(a.getClass(), b.getClass(), "Seeded streams should pick the same monster type.");
+            assertEquals(a.getPosition(), b.getPosition(), "Seeded streams should pick the same spawn cell.");
+        }
+    }
 }
@@ -0,0 +1,95 @@
+package com.rokue.game.input;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rokue.game.actions.IAction;
+import com.rokue.game.actions.MoveAction;
+import com.rokue.game.actions.SearchAction;
+import com.rokue.game.entities.DungeonObject;
+import com.rokue.game.entities.Hall;
+import com.rokue.game.entities.Hero;
+import com.rokue.game.entities.Rune;
+import com.rokue.game.events.EventManager;
+import com.rokue.game.states.PlayMode;
+import com.rokue.game.util.Position;
+
+class ScriptedInputProviderTest {
+    private Hall hall;
+    private Hero hero;
+    private PlayMode playMode;
+
+    @BeforeEach
+    void setUp() {
+        EventManager eventManager = new EventManager();
+        List<Hall> halls = new ArrayList<>();
+        hall = new Hall("Test Hall", 10, 10, 1);
+        halls.add(hall);
+        hero = new Hero(PlayMode.START_POSITION, eventManager, new ArrayList<>());
+        playMode = new PlayMode(halls, hero, eventManager);
+    }
+
+    /**
+     * Test Case 1: The hero walks a shortest path to the nearest object,
+     * searches it once, and then heads for the next one.
+     */
+    @Test
+    void testWalksToNearestObjectAndSearchesIt() {
+        hall.addObject(new DungeonObject("chest", "testPath", 1, 1), new Position(5, 3));
+        hall.addObject(new DungeonObject("box", "testPath", 1, 1), new Position(9, 9));
+        ScriptedInputProvider input = new ScriptedInputProvider(playMode, 1);
+
+        int moves = 0;
+        IAction action = input.pollActions().get(0);
+        while (action instanceof MoveAction && moves < 100) {
+            moves++;
+            playMode.handleActions(List.of(action));
+            action = input.pollActions().get(0);
+        }
+
+        // (0,0) to (4,3) or (5,2) is 7 moves
+        assertEquals(7, moves);
+        assertInstanceOf(SearchAction.class, action);
+        assertEquals(new Position(5, 3), ((SearchAction) action).getTarget());
+        Position heroPos = hero.getPosition();
+        assertEquals(1, Math.abs(heroPos.getX() - 5) + Math.abs(heroPos.getY() - 3), "Next to the chest");
+
+        // The chest is not searched twice; the hero moves on to the box
+        playMode.handleActions(List.of(action));
+        assertInstanceOf(MoveAction.class, input.pollActions().get(0));
+    }
+
+    /**
+     * Test Case 2: Once the rune is revealed the hero walks straight onto it,
+     * pausing ticksPerStep - 1 polls between moves, and then waits there for
+     * the hall to collect it.
+     */
+    @Test
+    void testWalksOntoRevealedRune() {
+        Rune rune = new Rune(new Position(3, 6));
+        rune.setRevealed(true);
+        hall.setRune(rune);
+        ScriptedInputProvider input = new ScriptedInputProvider(playMode, 2);
+
+        int polls = 0;
+        int moves = 0;
+        while (!rune.getPosition().equals(hero.getPosition()) && polls < 100) {
+            List<IAction> actions = input.pollActions();
+            polls++;
+            moves += actions.size();
+            playMode.handleActions(actions);
+        }
+
+        assertEquals(rune.getPosition(), hero.getPosition());
+        assertEquals(9, moves, "Manhattan distance from the start");
+        assertEquals(17, polls, "One move every other poll");
+        assertTrue(input.pollActions().isEmpty());
+        assertTrue(input.pollActions().isEmpty(), "Nothing left to do on the rune");
+    }
+}
@@ -0,0 +1,62 @@
+package com.rokue.game.render;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.rokue.game.entities.DungeonObject;
+
+class AssetManagerTest {
+
+    /**
+     * Test Case 1: Source tree, relative and absolute paths of one asset
+     * resolve to the same classpath resource and share one decode.
+     */
+    @Test
+    void testPathsShareOneFuture() {
+        assertEquals("/assets/box.png", AssetManager.resourcePath("src/main/resources/assets/box.png"));
+        assertEquals("/assets/box.png", AssetManager.resourcePath("assets/box.png"));
+        assertEquals("/assets/box.png", AssetManager.resourcePath("/assets/box.png"));
+
+        AssetManager assets = new AssetManager(2);
+        CompletableFuture<BufferedImage> first = assets.load("src/main/resources/assets/box.png");
+        assertSame(first, assets.load("/assets/box.png"));
+        assertEquals(1, assets.getMisses());
+        assertEquals(1, assets.getHits());
+
+        BufferedImage box = assets.getImage("assets/box.png");
+        assertNotNull(box);
+        assertSame(box, first.join());
+        assertSame(assets.getIcon("/assets/box.png"), assets.getIcon("src/main/resources/assets/box.png"));
+        assertEquals(1, assets.size());
+    }
+
+    /**
+     * Test Case 2: Preloading decodes every asset and reports its time; a
+     * missing asset completes with null instead of failing the preload.
+     */
+    @Test
+    void testPreloadAndMissingAsset() {
+        AssetManager assets = new AssetManager(4);
+        assertEquals(-1, assets.getPreloadNanos());
+
+        assets.preloadAll(List.of("/assets/player.png", "/assets/rune.png", "/assets/missing.png")).join();
+        assertTrue(assets.getPreloadNanos() >= 0);
+        assertEquals(3, assets.getDecodeTimes().getCount());
+        assertNotNull(assets.getImage("/assets/player.png"));
+        assertNull(assets.getImage("/assets/missing.png"));
+        assertNull(assets.getIcon("/assets/missing.png").getImage());
+        assertEquals(0, assets.getWaitTimes().getCount(), "Preloaded assets never block");
+
+        // Objects built from saved source tree paths get their icon from the shared cache
+        DungeonObject object = new DungeonObject("box", "src/main/resources/assets/box.png", 1, 1);
+        assertSame(AssetManager.getShared().getIcon("/assets/box.png"), object.getIcon());
+    }
+}
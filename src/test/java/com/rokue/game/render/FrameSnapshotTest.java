@@ -0,0 +1,80 @@
+package com.rokue.game.render;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rokue.game.entities.DungeonObject;
+import com.rokue.game.entities.Hall;
+import com.rokue.game.entities.Hero;
+import com.rokue.game.entities.Rune;
+import com.rokue.game.entities.enchantments.CloakOfProtection;
+import com.rokue.game.entities.monsters.ArcherMonster;
+import com.rokue.game.events.EventManager;
+import com.rokue.game.util.Position;
+
+class FrameSnapshotTest {
+    private Hall hall;
+    private Hero hero;
+
+    @BeforeEach
+    void setUp() {
+        hall = new Hall("Earth", 16, 16, 1);
+        hall.addObject(new DungeonObject("chest", "testPath", 1, 1), new Position(4, 4));
+        hero = new Hero(new Position(1, 1), new EventManager(), new ArrayList<>());
+        hall.setHero(hero);
+    }
+
+    /**
+     * Test Case 1: A snapshot copies what a frame shows and does not follow
+     * later changes to the hall or hero.
+     */
+    @Test
+    void testCaptureCopiesFrameState() {
+        hall.addMonster(new ArcherMonster(new Position(7, 2)));
+        hall.addEnchantment(new CloakOfProtection(new Position(3, 9)));
+        Rune rune = new Rune(new Position(5, 5));
+        hall.setRune(rune);
+        hero.addToInventory("REVEAL");
+
+        FrameSnapshot frame = FrameSnapshot.capture(hall, hero, 42, null);
+        assertNull(frame.getRunePosition(), "A hidden rune is not drawn");
+        assertEquals(2, frame.getSprites().size());
+        assertEquals("archer", frame.getSprites().get(0).getId());
+        assertEquals(7, frame.getSprites().get(0).getX());
+        assertEquals("CLOAK", frame.getSprites().get(1).getId());
+        assertEquals(new Position(1, 1), frame.getHeroPosition());
+        assertEquals(42, frame.getRemainingTime());
+
+        hall.clearMonsters();
+        hero.setPosition(new Position(2, 1));
+        hero.addToInventory("LURE");
+        rune.setRevealed(true);
+        assertEquals(2, frame.getSprites().size());
+        assertEquals(new Position(1, 1), frame.getHeroPosition());
+        assertEquals(1, frame.getInventory().size());
+        assertEquals(rune.getPosition(), FrameSnapshot.capture(hall, hero, 42, frame).getRunePosition());
+    }
+
+    /**
+     * Test Case 2: The object list is shared while the object version stays
+     * the same, and copied again once it changes.
+     */
+    @Test
+    void testObjectListSharedUntilObjectsChange() {
+        FrameSnapshot first = FrameSnapshot.capture(hall, hero, 10, null);
+        FrameSnapshot second = FrameSnapshot.capture(hall, hero, 9, first);
+        assertSame(first.getObjects(), second.getObjects());
+
+        hall.removeObject(new Position(4, 4));
+        FrameSnapshot third = FrameSnapshot.capture(hall, hero, 8, second);
+        assertNotSame(second.getObjects(), third.getObjects());
+        assertEquals(1, second.getObjects().size());
+        assertEquals(0, third.getObjects().size());
+    }
+}
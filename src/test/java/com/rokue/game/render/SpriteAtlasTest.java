@@ -0,0 +1,77 @@
+package com.rokue.game.render;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class SpriteAtlasTest {
+
+    private static BufferedImage solid(int size, Color color) {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, size, size);
+        g.dispose();
+        return image;
+    }
+
+    /**
+     * Test Case 1: Sprites are scaled to the cell size into separate cells of
+     * one image, and drawing copies a sprite's cell 1:1.
+     */
+    @Test
+    void testSpritesPackedAtCellSize() {
+        Map<String, BufferedImage> sources = new LinkedHashMap<>();
+        sources.put("red", solid(64, Color.RED));
+        sources.put("green", solid(16, Color.GREEN));
+        sources.put("blue", solid(100, Color.BLUE));
+        SpriteAtlas atlas = new SpriteAtlas(sources);
+        assertNull(atlas.getRegion("red"), "Nothing is packed before the cell size is known");
+
+        assertTrue(atlas.ensureCellSize(32, 32, null));
+        assertEquals(64, atlas.getImage().getWidth());
+        assertEquals(64, atlas.getImage().getHeight());
+        Rectangle red = atlas.getRegion("red");
+        Rectangle green = atlas.getRegion("green");
+        Rectangle blue = atlas.getRegion("blue");
+        assertEquals(new Rectangle(0, 0, 32, 32), red);
+        assertFalse(red.intersects(green) || red.intersects(blue) || green.intersects(blue));
+        assertEquals(Color.GREEN.getRGB(), atlas.getImage().getRGB(green.x + 31, green.y + 31));
+
+        BufferedImage target = new BufferedImage(40, 40, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        assertTrue(atlas.draw(g, "blue", 4, 4));
+        assertFalse(atlas.draw(g, "missing", 0, 0));
+        g.dispose();
+        assertEquals(Color.BLUE.getRGB(), target.getRGB(4, 4));
+        assertEquals(Color.BLUE.getRGB(), target.getRGB(35, 35));
+        assertEquals(0, target.getRGB(36, 36), "Exactly one cell is copied");
+    }
+
+    /**
+     * Test Case 2: The atlas is packed again only when the cell size changes.
+     */
+    @Test
+    void testRebuildOnlyOnCellSizeChange() {
+        SpriteAtlas atlas = new SpriteAtlas(Map.of("red", solid(8, Color.RED)));
+        assertTrue(atlas.ensureCellSize(32, 32, null));
+        BufferedImage packed = atlas.getImage();
+
+        assertFalse(atlas.ensureCellSize(32, 32, null));
+        assertEquals(1, atlas.getBuildCount());
+        assertEquals(packed, atlas.getImage());
+
+        assertTrue(atlas.ensureCellSize(48, 48, null));
+        assertEquals(2, atlas.getBuildCount());
+        assertEquals(new Rectangle(0, 0, 48, 48), atlas.getRegion("red"));
+    }
+}
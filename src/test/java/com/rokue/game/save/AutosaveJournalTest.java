@@ -0,0 +1,202 @@
+package com.rokue.game.save;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.rokue.game.entities.DungeonObject;
+import com.rokue.game.entities.Hall;
+import com.rokue.game.entities.Hero;
+import com.rokue.game.entities.Rune;
+import com.rokue.game.entities.enchantments.CloakOfProtection;
+import com.rokue.game.entities.enchantments.Enchantment;
+import com.rokue.game.entities.enchantments.ExtraTime;
+import com.rokue.game.entities.enchantments.Reveal;
+import com.rokue.game.entities.monsters.FighterMonster;
+import com.rokue.game.events.EventManager;
+import com.rokue.game.util.Position;
+
+class AutosaveJournalTest {
+    @TempDir
+    Path directory;
+
+    private EventManager eventManager;
+    private Hall earth;
+    private Hall air;
+    private Hero hero;
+
+    @BeforeEach
+    void setUp() {
+        eventManager = new EventManager();
+        earth = new Hall("Earth", 16, 16, 1);
+        earth.addObject(new DungeonObject("chest", "testPath", 1, 1), new Position(2, 2));
+        earth.addObject(new DungeonObject("barrel", "testPath", 1, 1), new Position(6, 6));
+        Rune rune = new Rune(null);
+        rune.setHiddenUnder(earth.getObjects().get(0));
+        earth.setRune(rune);
+        air = new Hall("Air", 16, 16, 1);
+        air.addObject(new DungeonObject("pillar", "testPath", 1, 1), new Position(9, 9));
+        hero = new Hero(new Position(2, 3), eventManager, new ArrayList<>());
+    }
+
+    /**
+     * Test Case 1: Recovery replays every kind of record onto the checkpoint.
+     * Records cost a few bytes each, and nothing is recorded before the first
+     * checkpoint.
+     */
+    @Test
+    void testRecoverReplaysJournal() throws Exception {
+        AutosaveJournal journal = new AutosaveJournal(directory);
+        assertTrue(journal.isCheckpointDue(), "The first checkpoint is due at once");
+        journal.heroMoved(new Position(5, 5)); // Not started yet; dropped
+        journal.checkpoint(SaveSnapshot.capture(List.of(earth, air), 0, hero, 90));
+        assertFalse(journal.isCheckpointDue());
+
+        journal.heroMoved(new Position(3, 2));
+        journal.monsterSpawned(new FighterMonster(new Position(10, 10)));
+        journal.enchantmentSpawned(new ExtraTime(new Position(12, 1), 7));
+        journal.livesChanged(2);
+        journal.timeChanged(85);
+        journal.runeRevealed(new Position(2, 2));
+        journal.objectRemoved(new Position(2, 2));
+        journal.timeChanged(80);
+        journal.close();
+        byte[] bytes = Files.readAllBytes(directory.resolve(AutosaveJournal.JOURNAL_FILE));
+        assertEquals(AutosaveJournal.TIME, bytes[16 + 22], "Eight records take 24 bytes");
+        assertEquals(AutosaveJournal.END, bytes[16 + 24]);
+
+        GameSaveData recovered = AutosaveJournal.recover(directory, eventManager);
+
+        assertEquals(0, recovered.getCurrentHallIndex());
+        assertEquals(80, recovered.getRemainingTime());
+        assertEquals(new Position(3, 2), recovered.getHero().getPosition());
+        assertEquals(2, recovered.getHero().getLives());
+        Hall hall = recovered.getHalls().get(0);
+        assertInstanceOf(FighterMonster.class, hall.getMonsters().get(0));
+        assertEquals(7, ((ExtraTime) hall.getEnchantments().get(0)).getTimeToAdd());
+        assertEquals(1, hall.getObjects().size());
+        assertTrue(hall.getRune().isRevealed());
+        assertEquals(new Position(2, 2), hall.getRune().getPosition());
+    }
+
+    /**
+     * Test Case 2: A hall change moves the hero and rune to the next hall, a
+     * damaged record ends the replay, and a journal from another generation is
+     * ignored.
+     */
+    @Test
+    void testReplayStopsAtDamageAndChecksGeneration() throws Exception {
+        AutosaveJournal journal = new AutosaveJournal(directory, 2, AutosaveJournal.DEFAULT_CAPACITY);
+        journal.checkpoint(SaveSnapshot.capture(List.of(earth, air), 0, hero, 90));
+        journal.hallAdvanced(new Position(0, 0));
+        Rune rune = new Rune(null);
+        rune.setHiddenUnder(air.getObjects().get(0));
+        journal.runeHidden(rune);
+        assertTrue(journal.isCheckpointDue(), "Due after checkpointInterval records");
+        journal.heroMoved(new Position(1, 0));
+        journal.close();
+
+        // Damage the last record's type byte
+        Path journalPath = directory.resolve(AutosaveJournal.JOURNAL_FILE);
+        byte[] bytes = Files.readAllBytes(journalPath);
+        bytes[16 + 3 + 3] = 99;
+        Files.write(journalPath, bytes);
+
+        GameSaveData recovered = AutosaveJournal.recover(directory, eventManager);
+        assertEquals(1, recovered.getCurrentHallIndex());
+        assertEquals(1, recovered.getCompletedHalls());
+        assertEquals(new Position(0, 0), recovered.getHero().getPosition());
+        Hall next = recovered.getHalls().get(1);
+        assertEquals("pillar", next.getRune().getHiddenUnder().getName());
+        assertNull(recovered.getHalls().get(0).getRune());
+
+        // A checkpoint of a newer generation makes the old journal stale
+        AutosaveJournal newer = new AutosaveJournal(directory);
+        newer.checkpoint(SaveSnapshot.capture(List.of(earth, air), 0, hero, 50));
+        newer.close();
+        Files.write(journalPath, bytes);
+        recovered = AutosaveJournal.recover(directory, eventManager);
+        assertEquals(0, recovered.getCurrentHallIndex());
+        assertEquals(50, recovered.getRemainingTime());
+
+        newer.discard();
+        assertFalse(AutosaveJournal.exists(directory));
+    }
+
+    /**
+     * Test Case 3: A checkpoint written on another executor keeps the records
+     * made while it is written, and they apply once whether recovery runs
+     * before or after it is in place.
+     */
+    @Test
+    void testAsyncCheckpointKeepsLaterRecords() throws Exception {
+        List<Runnable> writes = new ArrayList<>();
+        AutosaveJournal journal = new AutosaveJournal(directory, AutosaveJournal.DEFAULT_CHECKPOINT_INTERVAL,
+                                                      AutosaveJournal.DEFAULT_CAPACITY, writes::add);
+        journal.checkpoint(SaveSnapshot.capture(List.of(earth, air), 0, hero, 90));
+        journal.heroMoved(new Position(4, 4));
+        hero.setPosition(new Position(4, 4));
+
+        CompletableFuture<Void> written = journal.checkpointAsync(SaveSnapshot.capture(List.of(earth, air), 0, hero, 80));
+        assertEquals(1, writes.size(), "Nothing is written on the calling thread");
+        assertFalse(journal.isCheckpointDue(), "No second checkpoint while one is being written");
+        // Made after the snapshot, while the checkpoint is being written
+        journal.objectRemoved(new Position(6, 6));
+        journal.heroMoved(new Position(5, 6));
+
+        GameSaveData before = AutosaveJournal.recover(directory, eventManager);
+        assertEquals(90, before.getRemainingTime(), "The old checkpoint is still in use");
+        assertEquals(new Position(5, 6), before.getHero().getPosition());
+        assertEquals(1, before.getHalls().get(0).getObjects().size());
+
+        writes.remove(0).run();
+        assertTrue(written.isDone() && !written.isCompletedExceptionally());
+        journal.timeChanged(75);
+
+        GameSaveData after = AutosaveJournal.recover(directory, eventManager);
+        assertEquals(75, after.getRemainingTime());
+        assertEquals(new Position(5, 6), after.getHero().getPosition());
+        assertEquals(1, after.getHalls().get(0).getObjects().size(), "The later removal applies once");
+        journal.close();
+    }
+
+    /**
+     * Test Case 4: A collected enchantment leaves the floor and the hero's
+     * inventory is restored, so nothing picked up since the checkpoint is
+     * lost or can be picked up twice.
+     */
+    @Test
+    void testReplayRestoresPickupsAndInventory() throws Exception {
+        earth.addEnchantment(new CloakOfProtection(new Position(8, 8)));
+        earth.addEnchantment(new Reveal(new Position(9, 8)));
+        AutosaveJournal journal = new AutosaveJournal(directory);
+        journal.checkpoint(SaveSnapshot.capture(List.of(earth, air), 0, hero, 90));
+
+        journal.enchantmentCollected(new Position(8, 8));
+        journal.inventoryChanged(List.of("CLOAK"));
+        journal.enchantmentCollected(new Position(9, 8));
+        journal.inventoryChanged(List.of("CLOAK", "REVEAL"));
+        // Reveal used
+        journal.inventoryChanged(List.of("CLOAK"));
+        journal.close();
+
+        GameSaveData recovered = AutosaveJournal.recover(directory, eventManager);
+        assertEquals(List.of("CLOAK"), recovered.getHero().getInventory());
+        Hall hall = recovered.getHalls().get(0);
+        for (Enchantment enchantment : hall.getEnchantments()) {
+            assertTrue(enchantment.isCollected(), "Both enchantments were picked up");
+            assertNull(hall.getCell(enchantment.getPosition()).getContent());
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.rokue.game.save;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rokue.game.entities.DungeonObject;
+import com.rokue.game.entities.Hall;
+import com.rokue.game.entities.Hero;
+import com.rokue.game.entities.Rune;
+import com.rokue.game.entities.enchantments.ExtraTime;
+import com.rokue.game.entities.monsters.ArcherMonster;
+import com.rokue.game.entities.monsters.FighterMonster;
+import com.rokue.game.entities.monsters.WizardMonster;
+import com.rokue.game.events.EventManager;
+import com.rokue.game.util.OccupancyGrid;
+import com.rokue.game.util.Position;
+
+class BinarySaveFormatTest {
+    private EventManager eventManager;
+    private GameSaveData saveData;
+
+    @BeforeEach
+    void setUp() {
+        eventManager = new EventManager();
+
+        Hall earth = new Hall("Earth", 16, 16, 2);
+        earth.addObject(new DungeonObject("chest", "testPath", 1, 1), new Position(2, 2));
+        earth.addObject(new DungeonObject("pillar", "testPath", 1, 2), new Position(5, 5));
+        earth.addMonster(new ArcherMonster(new Position(8, 8)));
+        earth.addMonster(new WizardMonster(new Position(9, 9), eventManager, earth, 60, 40, null));
+        earth.addEnchantment(new ExtraTime(new Position(1, 14), 5));
+        Rune earthRune = new Rune(null);
+        earthRune.setHiddenUnder(earth.getObjects().get(1));
+        earth.setRune(earthRune);
+
+        // The rune was found: its object is gone and the rune lies in the open
+        Hall air = new Hall("Air", 16, 16, 1);
+        DungeonObject barrel = new DungeonObject("barrel", "testPath", 1, 1);
+        air.addObject(barrel, new Position(3, 4));
+        air.addObject(new DungeonObject("chest", "testPath", 1, 1), new Position(10, 10));
+        air.addMonster(new FighterMonster(new Position(0, 0)));
+        Rune airRune = new Rune(null);
+        airRune.setHiddenUnder(barrel);
+        air.setRune(airRune);
+        air.removeObject(new Position(3, 4));
+        airRune.setRevealed(true);
+        air.getCell(new Position(3, 4)).setContent(airRune);
+
+        Hero hero = new Hero(new Position(4, 4), eventManager, new ArrayList<>(List.of("CLOAK", "REVEAL", "CLOAK")));
+        hero.decreaseLife();
+        saveData = new GameSaveData(List.of(earth, air), 1, hero, 37);
+    }
+
+    /**
+     * Test Case 1: A round trip keeps every saved field and rebuilds the grid,
+     * occupancy and ownership layers of each hall.
+     */
+    @Test
+    void testRoundTrip() throws Exception {
+        GameSaveData loaded = BinarySaveFormat.decode(BinarySaveFormat.encode(saveData), eventManager);
+
+        assertEquals(1, loaded.getCurrentHallIndex());
+        assertEquals(37, loaded.getRemainingTime());
+        Hero hero = loaded.getHero();
+        assertEquals(new Position(4, 4), hero.getPosition());
+        assertSame(loaded.getHalls().get(1).getPosition(4, 4), hero.getPosition(), "Hero stands on a shared Position");
+        assertEquals(2, hero.getLives());
+        assertEquals(List.of("CLOAK", "REVEAL", "CLOAK"), hero.getInventory());
+        assertSame(eventManager, hero.getEventManager());
+
+        Hall earth = loaded.getHalls().get(0);
+        assertEquals("Earth", earth.getName());
+        assertEquals(2, earth.getMinObjectRequirement());
+        assertEquals(2, earth.getObjects().size());
+        assertEquals("pillar", earth.getObjectAt(new Position(5, 6)).getName(), "Ownership covers the whole footprint");
+        assertEquals(OccupancyGrid.MONSTER, earth.getCellKind(8, 8));
+        assertInstanceOf(WizardMonster.class, earth.getMonsters().get(1));
+        assertEquals(60, ((WizardMonster) earth.getMonsters().get(1)).getTotalTime());
+        assertEquals(5, ((ExtraTime) earth.getEnchantments().get(0)).getTimeToAdd());
+        assertEquals(OccupancyGrid.ENCHANTMENT, earth.getCellKind(1, 14));
+        assertSame(earth.getObjects().get(1), earth.getRune().getHiddenUnder());
+        assertFalse(earth.getRune().isRevealed());
+
+        Hall air = loaded.getHalls().get(1);
+        assertEquals(1, air.getObjects().size());
+        Rune rune = air.getRune();
+        assertTrue(rune.isRevealed());
+        assertEquals(new Position(3, 4), rune.getPosition());
+        assertEquals("barrel", rune.getHiddenUnder().getName(), "A removed hiding object is kept with the rune");
+        assertEquals(OccupancyGrid.RUNE, air.getCellKind(3, 4));
+        assertEquals(OccupancyGrid.MONSTER, air.getCellKind(0, 0));
+    }
+
+    /**
+     * Test Case 2: Damaged or foreign input fails with SaveFormatException,
+     * and unknown sections from newer builds are skipped.
+     */
+    @Test
+    void testRejectsDamagedInput() throws Exception {
+        byte[] bytes = BinarySaveFormat.encode(saveData);
+        assertTrue(BinarySaveFormat.isBinarySave(bytes));
+
+        assertThrows(SaveFormatException.class,
+                     () -> BinarySaveFormat.decode(Arrays.copyOf(bytes, bytes.length - 10), eventManager));
+        assertThrows(SaveFormatException.class,
+                     () -> BinarySaveFormat.decode(new byte[] {(byte) 0xAC, (byte) 0xED, 0, 5}, eventManager));
+
+        byte[] newer = bytes.clone();
+        newer[5] = (byte) (BinarySaveFormat.VERSION + 1);
+        assertThrows(SaveFormatException.class, () -> BinarySaveFormat.decode(newer, eventManager));
+
+        // A section count far beyond the file must not size the section table
+        byte[] huge = new byte[bytes.length + 4];
+        System.arraycopy(bytes, 0, huge, 0, 6);
+        byte[] maxCount = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        System.arraycopy(maxCount, 0, huge, 6, maxCount.length);
+        System.arraycopy(bytes, 7, huge, 11, bytes.length - 7);
+        assertThrows(SaveFormatException.class, () -> BinarySaveFormat.decode(huge, eventManager));
+
+        // Append a section of unknown type 99: bump the count and splice a table entry in
+        int tableStart = 7;
+        int sectionCount = bytes[6];
+        byte[] entry = {99, 0, 3, 0, 0, 0, 0}; // type, flags, length, CRC32C
+        byte[] extended = new byte[bytes.length + entry.length + 3];
+        System.arraycopy(bytes, 0, extended, 0, tableStart);
+        extended[6] = (byte) (sectionCount + 1);
+        int tableEnd = tableStart;
+        for (int i = 0; i < sectionCount; i++) {
+            boolean deflated = (bytes[tableEnd + 1] & BinarySaveFormat.FLAG_DEFLATED) != 0;
+            tableEnd += 2; // type, flags
+            for (int varints = deflated ? 2 : 1; varints > 0; varints--) {
+                while ((bytes[tableEnd] & 0x80) != 0) {
+                    tableEnd++;
+                }
+                tableEnd++;
+            }
+            tableEnd += 4; // CRC32C
+        }
+        System.arraycopy(bytes, tableStart, extended, tableStart, tableEnd - tableStart);
+        System.arraycopy(entry, 0, extended, tableEnd, entry.length);
+        System.arraycopy(bytes, tableEnd, extended, tableEnd + entry.length, bytes.length - tableEnd);
+        GameSaveData loaded = BinarySaveFormat.decode(extended, eventManager);
+        assertEquals(2, loaded.getHalls().size());
+        assertNotSame(saveData.getHalls().get(0), loaded.getHalls().get(0));
+    }
+
+    /**
+     * Test Case 3: Only the current hall is decoded on load. Other halls are
+     * decoded on first access, and saving again before that copies their
+     * encoded bytes unchanged.
+     */
+    @Test
+    void testHallsLoadOnDemand() throws Exception {
+        byte[] bytes = BinarySaveFormat.encode(saveData);
+        GameSaveData loaded = BinarySaveFormat.decode(bytes, eventManager);
+
+        SegmentedHallList halls = assertInstanceOf(SegmentedHallList.class, loaded.getHalls());
+        assertFalse(halls.isLoaded(0));
+        assertTrue(halls.isLoaded(1));
+        assertEquals(1, halls.indexOf(halls.get(1)));
+        assertFalse(halls.isLoaded(0), "indexOf must not decode other halls");
+
+        byte[] resaved = BinarySaveFormat.encode(SaveSnapshot.capture(halls, 1, loaded.getHero(), 37));
+        assertEquals(bytes.length, resaved.length);
+        assertFalse(halls.isLoaded(0), "Saving must not decode other halls");
+
+        Hall earth = halls.get(0);
+        assertSame(earth, halls.get(0));
+        assertEquals("Earth", earth.getName());
+        assertEquals(2, earth.getMonsters().size());
+        assertEquals(List.of(earth, halls.get(1)), halls.getLoadedHalls());
+    }
+
+    /**
+     * Test Case 4: Every compression level round trips, and a section whose
+     * checksum fails is skipped if it is not the current hall.
+     */
+    @Test
+    void testChecksumsSkipDamagedHalls() throws Exception {
+        SaveSnapshot snapshot = SaveSnapshot.capture(saveData);
+        for (int level = 0; level <= 9; level++) {
+            GameSaveData loaded = BinarySaveFormat.decode(BinarySaveFormat.encode(snapshot, level), eventManager);
+            assertEquals(2, loaded.getHalls().get(0).getObjects().size(), "Level " + level);
+        }
+        assertTrue(BinarySaveFormat.encode(snapshot, 9).length < BinarySaveFormat.encode(snapshot, 0).length);
+
+        // Sections are stored in table order, so the last byte belongs to the current hall, Air
+        byte[] damagedCurrent = BinarySaveFormat.encode(snapshot, 0);
+        damagedCurrent[damagedCurrent.length - 1] ^= 1;
+        assertThrows(SaveFormatException.class, () -> BinarySaveFormat.decode(damagedCurrent, eventManager));
+
+        // Earth is not current: play continues in Air, which is now the only hall
+        SaveSnapshot inAir = SaveSnapshot.capture(List.of(saveData.getHalls().get(1), saveData.getHalls().get(0)),
+                                                  0, saveData.getHero(), 37);
+        byte[] damagedOther = BinarySaveFormat.encode(inAir, 0);
+        damagedOther[damagedOther.length - 1] ^= 1;
+        GameSaveData loaded = BinarySaveFormat.decode(damagedOther, eventManager);
+        assertEquals(1, loaded.getHalls().size());
+        assertEquals("Air", loaded.getHalls().get(0).getName());
+        assertEquals(0, loaded.getCurrentHallIndex());
+        assertEquals(1, loaded.getSkippedHalls(), "The player is told a hall was left out");
+    }
+}
@@ -0,0 +1,143 @@
+package com.rokue.game.save;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.rokue.game.entities.DungeonObject;
+import com.rokue.game.entities.Hall;
+import com.rokue.game.entities.Hero;
+import com.rokue.game.events.EventManager;
+import com.rokue.game.states.PlayMode;
+import com.rokue.game.util.Position;
+
+class GameSaveManagerTest {
+    @TempDir
+    Path saveDirectory;
+
+    private EventManager eventManager;
+    private GameSaveManager saveManager;
+    private Hall hall;
+    private Hero hero;
+
+    @BeforeEach
+    void setUp() {
+        eventManager = new EventManager();
+        saveManager = new GameSaveManager(eventManager, saveDirectory);
+        hall = new Hall("Earth", 16, 16, 1);
+        hall.addObject(new DungeonObject("chest", "testPath", 1, 1), new Position(2, 2));
+        hero = new Hero(new Position(0, 0), eventManager, new ArrayList<>());
+    }
+
+    /**
+     * Test Case 1: A background save is written from the snapshot, not from
+     * the live hall, and only its final .sav file is left in the directory.
+     */
+    @Test
+    void testBackgroundSaveWritesSnapshot() throws Exception {
+        SaveSnapshot snapshot = SaveSnapshot.capture(List.of(hall), 0, hero, 42);
+        // Changes after the snapshot must not reach the file
+        hall.addObject(new DungeonObject("barrel", "testPath", 1, 1), new Position(5, 5));
+        hero.setPosition(new Position(1, 0));
+
+        Path saved = saveManager.saveGameAsync(snapshot).get(10, TimeUnit.SECONDS);
+
+        try (Stream<Path> files = Files.list(saveDirectory)) {
+            List<Path> saves = files.filter(file -> !file.endsWith(SaveIndex.FILE_NAME)).toList();
+            assertEquals(List.of(saved), saves, "No temp file may remain");
+        }
+        assertEquals(saved.getFileName().toString(), saveManager.getSaveFiles().get(0).getFileName());
+
+        GameSaveData loaded = saveManager.loadGame(saved.getFileName().toString());
+        assertEquals(42, loaded.getRemainingTime());
+        assertEquals(1, loaded.getHalls().get(0).getObjects().size());
+        assertEquals(new Position(0, 0), loaded.getHero().getPosition());
+    }
+
+    /**
+     * Test Case 2: A failed write completes the future exceptionally and
+     * leaves no file behind.
+     */
+    @Test
+    void testFailedSaveLeavesNothing() throws Exception {
+        SaveSnapshot snapshot = SaveSnapshot.capture(List.of(hall), 0, hero, 42);
+        GameSaveManager broken = new GameSaveManager(eventManager, saveDirectory.resolve("missing"));
+        Files.delete(saveDirectory.resolve("missing"));
+
+        Throwable error = broken.saveGameAsync(snapshot).handle((path, e) -> e).get(10, TimeUnit.SECONDS);
+
+        assertTrue(error != null, "Writing into a missing directory must fail");
+        try (Stream<Path> files = Files.list(saveDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    /**
+     * Test Case 3: Saves are listed with metadata from the index, and a save
+     * that is not in the index is still listed by its file name.
+     */
+    @Test
+    void testSaveFilesComeFromIndex() throws Exception {
+        // A game loaded in the second hall has completed no halls of its own yet
+        SaveSnapshot snapshot = SaveSnapshot.capture(List.of(hall, new Hall("Air", 16, 16, 1)), 1, hero, 42, 0);
+        Path saved = saveManager.saveGameAsync(snapshot).get(10, TimeUnit.SECONDS);
+        Files.write(saveDirectory.resolve("game_save_2020-01-01_10-00-00.sav"), new byte[0]);
+
+        List<GameSaveManager.SaveFileInfo> saves = saveManager.getSaveFiles();
+
+        assertEquals(2, saves.size());
+        GameSaveManager.SaveFileInfo indexed = saves.get(0);
+        assertEquals(saved.getFileName().toString(), indexed.getFileName());
+        assertTrue(indexed.hasMetadata());
+        assertEquals(1, indexed.getCurrentHallIndex());
+        assertEquals(2, indexed.getHallCount());
+        assertEquals(0, indexed.getCompletedHalls());
+        assertEquals(hero.getLives(), indexed.getLives());
+        assertEquals(42, indexed.getRemainingTime());
+        assertEquals(Files.size(saved), indexed.getFileSize());
+        assertFalse(saves.get(1).hasMetadata(), "Unindexed saves have no metadata");
+
+        GameSaveData loaded = saveManager.loadGame(indexed.getFileName());
+        assertFalse(((SegmentedHallList) loaded.getHalls()).isLoaded(0), "Loading decodes only the current hall");
+
+        // Deleted saves drop out of the list even though the index still has them
+        Files.delete(saved);
+        assertEquals(1, saveManager.getSaveFiles().size());
+    }
+
+    /**
+     * Test Case 4: The completed-hall count is stored in the save, so saving
+     * a loaded game again lists the same count.
+     */
+    @Test
+    void testCompletedHallsSurviveSaveAndLoad() throws Exception {
+        List<Hall> halls = List.of(hall, new Hall("Air", 16, 16, 1), new Hall("Water", 16, 16, 1));
+        SaveSnapshot snapshot = SaveSnapshot.capture(halls, 2, hero, 42, 2);
+        Path saved = saveManager.saveGameAsync(snapshot).get(10, TimeUnit.SECONDS);
+        GameSaveData loaded = saveManager.loadGame(saved.getFileName().toString());
+        assertEquals(2, loaded.getCompletedHalls());
+
+        PlayMode playMode = new PlayMode(loaded.getHalls(), loaded.getHero(), eventManager, loaded.getRemainingTime());
+        playMode.enter(null);
+        playMode.loadFromSaveData(loaded);
+        assertEquals(2, playMode.getCompletedHallsCount());
+
+        Path resaved = saveManager.saveGameAsync(playMode.captureSnapshot()).get(10, TimeUnit.SECONDS);
+        playMode.exit(null);
+        GameSaveManager.SaveFileInfo info = saveManager.getSaveFiles().stream()
+            .filter(save -> save.getFileName().equals(resaved.getFileName().toString()))
+            .findFirst().orElseThrow();
+        assertEquals(2, info.getCompletedHalls());
+        assertEquals(2, saveManager.loadGame(info.getFileName()).getCompletedHalls());
+    }
+}
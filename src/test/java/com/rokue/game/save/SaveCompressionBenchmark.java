@@ -0,0 +1,124 @@
+package com.rokue.game.save;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.rokue.game.entities.Hall;
+import com.rokue.game.entities.Hero;
+import com.rokue.game.entities.enchantments.Enchantment;
+import com.rokue.game.entities.monsters.Monster;
+import com.rokue.game.events.EventManager;
+import com.rokue.game.factories.EnchantmentFactory;
+import com.rokue.game.factories.MonsterFactory;
+import com.rokue.game.states.BuildMode;
+import com.rokue.game.states.PlayMode;
+
+/**
+ * Size and CPU cost of every Deflater level on four-hall saves.
+ *
+ * Each save is built the way BatchSimulation builds a session: four halls
+ * filled by BuildMode.randomlyFillCurrentHall. Each hall then gets the
+ * monsters and enchantments of a hall played for a while. Decoding touches
+ * every hall, so lazily inflated halls are counted too. The whole table is
+ * measured twice and only the second pass is printed, so the first rows do
+ * not pay for JIT warmup. Not a unit test; run it from the project root with:
+ *
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.rokue.game.save.SaveCompressionBenchmark \
+ *       -Dexec.args="[saves] [seed]"
+ */
+public class SaveCompressionBenchmark {
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1000;
+    private static final int MONSTERS_PER_HALL = 8;
+    private static final int ENCHANTMENTS_PER_HALL = 4;
+
+    public static void main(String[] args) throws Exception {
+        int saveCount = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+        EventManager eventManager = new EventManager();
+        SplittableRandom random = new SplittableRandom(seed);
+
+        List<SaveSnapshot> snapshots = new ArrayList<>(saveCount);
+        for (int i = 0; i < saveCount; i++) {
+            BuildMode buildMode = new BuildMode(eventManager, random.split());
+            for (int h = 0; h < buildMode.getHalls().size(); h++) {
+                buildMode.randomlyFillCurrentHall();
+                buildMode.switchToNextHall();
+            }
+            List<Hall> halls = buildMode.getHalls();
+            Hero hero = new Hero(PlayMode.START_POSITION, eventManager, new ArrayList<>());
+            PlayMode playMode = new PlayMode(halls, hero, eventManager);
+            for (Hall hall : halls) {
+                for (int m = 0; m < MONSTERS_PER_HALL; m++) {
+                    Monster monster = MonsterFactory.createRandomMonster(hall, playMode, random);
+                    if (monster != null) {
+                        hall.addMonster(monster);
+                    }
+                }
+                for (int e = 0; e < ENCHANTMENTS_PER_HALL; e++) {
+                    Enchantment enchantment = EnchantmentFactory.createRandomEnchantment(hall, random);
+                    if (enchantment != null) {
+                        hall.addEnchantment(enchantment);
+                    }
+                }
+            }
+            snapshots.add(SaveSnapshot.capture(halls, 0, hero, PlayMode.START_TIME));
+        }
+
+        measure(snapshots, eventManager, false);
+        System.out.printf("%d saves of %d halls%n", saveCount, snapshots.get(0).getHallCount());
+        System.out.printf("%-6s %10s %8s %12s %12s%n", "level", "mean B", "ratio", "encode", "decode");
+        measure(snapshots, eventManager, true);
+    }
+
+    private static void measure(List<SaveSnapshot> snapshots, EventManager eventManager, boolean print)
+            throws Exception {
+        double storedSize = 0;
+        for (int level = 0; level <= 9; level++) {
+            long totalSize = 0;
+            double encode = 0;
+            double decode = 0;
+            for (SaveSnapshot snapshot : snapshots) {
+                int saveLevel = level;
+                byte[] bytes = BinarySaveFormat.encode(snapshot, saveLevel);
+                totalSize += bytes.length;
+                encode += time(() -> BinarySaveFormat.encode(snapshot, saveLevel));
+                decode += time(() -> {
+                    GameSaveData data = BinarySaveFormat.decode(bytes, eventManager);
+                    for (Hall hall : data.getHalls()) {
+                        hall.getName();
+                    }
+                    return data;
+                });
+            }
+            double meanSize = (double) totalSize / snapshots.size();
+            if (level == 0) {
+                storedSize = meanSize;
+            }
+            if (print) {
+                System.out.printf("%-6d %10.0f %7.2fx %9.1f us %9.1f us%n", level, meanSize, storedSize / meanSize,
+                                  encode / snapshots.size(), decode / snapshots.size());
+            }
+        }
+    }
+
+    /**
+     * Returns the mean microseconds per call of body after a warmup.
+     */
+    private static double time(Task body) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            body.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            body.run();
+        }
+        return (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+    }
+
+    private interface Task {
+        Object run() throws Exception;
+    }
+}
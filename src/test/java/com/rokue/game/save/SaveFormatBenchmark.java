@@ -0,0 +1,90 @@
+package com.rokue.game.save;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.rokue.game.events.EventManager;
+
+/**
+ * Compares Java serialization with BinarySaveFormat on the saves in saves/.
+ *
+ * Each save is read once with the old ObjectInputStream path, then both
+ * formats encode and decode the same GameSaveData. Saves that no longer
+ * deserialize are reported and skipped. Not a unit test; run it from the
+ * project root with:
+ *
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.rokue.game.save.SaveFormatBenchmark
+ */
+public class SaveFormatBenchmark {
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1000;
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Paths.get(args.length > 0 ? args[0] : "saves");
+        EventManager eventManager = new EventManager();
+
+        System.out.printf("%-36s %9s %9s %10s %10s %10s %10s%n",
+                          "save", "java B", "binary B", "java enc", "bin enc", "java dec", "bin dec");
+        try (DirectoryStream<Path> saves = Files.newDirectoryStream(directory, "*.sav")) {
+            for (Path save : saves) {
+                byte[] original = Files.readAllBytes(save);
+                GameSaveData data;
+                try {
+                    data = BinarySaveFormat.isBinarySave(original)
+                        ? BinarySaveFormat.decode(original, eventManager)
+                        : GameSaveManager.readSerialized(original);
+                    if (data.getHalls() == null) {
+                        throw new IOException("no halls");
+                    }
+                } catch (Exception e) {
+                    System.out.printf("%-36s skipped (%s)%n", save.getFileName(), e);
+                    continue;
+                }
+
+                byte[] serialized = serialize(data);
+                byte[] binary = BinarySaveFormat.encode(data);
+
+                double javaEncode = time(() -> serialize(data));
+                double binaryEncode = time(() -> BinarySaveFormat.encode(data));
+                double javaDecode = time(() -> GameSaveManager.readSerialized(serialized));
+                double binaryDecode = time(() -> BinarySaveFormat.decode(binary, eventManager));
+
+                System.out.printf("%-36s %9d %9d %8.1f us %8.1f us %8.1f us %8.1f us%n",
+                                  save.getFileName(), serialized.length, binary.length,
+                                  javaEncode, binaryEncode, javaDecode, binaryDecode);
+            }
+        }
+    }
+
+    private static byte[] serialize(GameSaveData data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns the mean microseconds per call of body after a warmup.
+     */
+    private static double time(Task body) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            body.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            body.run();
+        }
+        return (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+    }
+
+    private interface Task {
+        Object run() throws Exception;
+    }
+}
@@ -1,21 +1,33 @@
 package com.rokue.game.states;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import static org.mockito.Mockito.mock;
 
 import com.rokue.game.GameSystem;
+import com.rokue.game.actions.CollectEnchantmentAction;
+import com.rokue.game.actions.UseEnchantmentAction;
+import com.rokue.game.entities.DungeonObject;
 import com.rokue.game.entities.Hall;
 import com.rokue.game.entities.Hero;
 import com.rokue.game.entities.Rune;
+import com.rokue.game.entities.enchantments.CloakOfProtection;
 import com.rokue.game.entities.enchantments.Enchantment;
 import com.rokue.game.events.EventManager;
+import com.rokue.game.save.AutosaveJournal;
+import com.rokue.game.save.GameSaveData;
+import com.rokue.game.save.GameSaveManager;
 import com.rokue.game.util.Position;
 
 class PlayModeTest {
@@ -116,4 +128,61 @@ class PlayModeTest {
         assertTrue(firstHall.getRune().isCollected(), "Rune should be marked as collected");
         assertTrue(repOk(), "Rep invariant should hold after rune collection");
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testEnchantmentActionsRunOnTheLoop() {
+        Position cloakPosition = new Position(3, 3);
+        firstHall.addEnchantment(new CloakOfProtection(cloakPosition));
+
+        // Clicks and shortcuts are queued by the UI and applied by handleActions on the loop thread
+        playMode.handleActions(List.of(new CollectEnchantmentAction(new Position(4, 4))));
+        assertFalse(hero.hasItem("CLOAK"), "An empty cell has nothing to collect");
+
+        playMode.handleActions(List.of(new CollectEnchantmentAction(cloakPosition)));
+        assertTrue(hero.hasItem("CLOAK"), "Cloak should be in the inventory");
+        assertNull(firstHall.getCell(cloakPosition).getContent(), "Cloak should be gone from the floor");
+
+        playMode.handleActions(List.of(new UseEnchantmentAction("CLOAK")));
+        assertFalse(hero.hasItem("CLOAK"), "Using the cloak should take it from the inventory");
+        assertTrue(repOk(), "Rep invariant should hold after using an enchantment");
+    }
+
+    @Test
+    void testAutosaveStartsFromTheLoadedGame(@TempDir Path saveDirectory) throws Exception {
+        GameSaveManager saveManager = new GameSaveManager(eventManager, saveDirectory);
+        playMode.enableAutosave(saveManager);
+        playMode.enter(null);
+        playMode.update(null);
+
+        // The first checkpoint of a new game already has its timer and rune
+        waitForSaveWriter(saveManager);
+        GameSaveData fresh = AutosaveJournal.recover(saveDirectory, eventManager);
+        assertEquals(0, fresh.getCurrentHallIndex());
+        assertTrue(fresh.getRemainingTime() > 0, "Checkpoint taken after the timer started");
+        assertNotNull(fresh.getHalls().get(0).getRune(), "Checkpoint taken after the rune spawned");
+
+        // Loading over the running session restarts the journal from the loaded state
+        Hall savedHall = new Hall("Saved Hall", 12, 12, 1);
+        savedHall.addObject(new DungeonObject("chest", "testPath", 1, 1), new Position(6, 6));
+        savedHall.setRune(new Rune(new Position(6, 6)));
+        Hero savedHero = new Hero(new Position(2, 3), eventManager, new ArrayList<>());
+        playMode.loadFromSaveData(new GameSaveData(List.of(new Hall("Earth Hall", 12, 12, 1), savedHall),
+                                                   1, savedHero, 42));
+        playMode.update(null);
+
+        waitForSaveWriter(saveManager);
+        GameSaveData loaded = AutosaveJournal.recover(saveDirectory, eventManager);
+        assertEquals(1, loaded.getCurrentHallIndex());
+        assertTrue(loaded.getRemainingTime() <= 42 && loaded.getRemainingTime() >= 40);
+        assertEquals(new Position(2, 3), loaded.getHero().getPosition());
+        assertNotNull(loaded.getHalls().get(1).getRune());
+
+        playMode.exit(null);
+        assertFalse(AutosaveJournal.exists(saveDirectory), "Leaving play discards the autosave");
+    }
+
+    // Checkpoints are written on the save writer thread; a save queued after them finishes after them
+    private void waitForSaveWriter(GameSaveManager saveManager) throws Exception {
+        saveManager.saveGameAsync(playMode.captureSnapshot()).get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,87 @@
+package com.rokue.game.time;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.rokue.game.GameTimer;
+import com.rokue.game.events.EventManager;
+
+class GameSchedulerTest {
+
+    /**
+     * Test Case 1: Tasks fire at their deadline across every wheel level, in
+     * deadline order, and not a millisecond early.
+     */
+    @Test
+    void testTasksFireAtDeadlineAcrossLevels() {
+        GameScheduler scheduler = new GameScheduler();
+        List<Long> fired = new ArrayList<>();
+        long[] delays = {1, 63, 64, 65, 4095, 4096, 300_000, 20_000_000};
+        for (int i = delays.length - 1; i >= 0; i--) {
+            long delay = delays[i];
+            scheduler.schedule(delay, () -> fired.add(scheduler.now()));
+        }
+
+        scheduler.advance(62);
+        assertEquals(List.of(1L), fired, "Only the 1 ms task should be due");
+
+        scheduler.advance(20_000_000);
+        List<Long> expected = new ArrayList<>();
+        for (long delay : delays) {
+            expected.add(delay);
+        }
+        assertEquals(expected, fired, "Every task should fire exactly at its deadline");
+        assertEquals(0, scheduler.size(), "No task should be left");
+    }
+
+    /**
+     * Test Case 2: Cancelled tasks never run and repeating tasks run once per period.
+     */
+    @Test
+    void testCancelAndFixedRate() {
+        GameScheduler scheduler = new GameScheduler();
+        int[] runs = new int[2];
+        ScheduledTask cancelled = scheduler.schedule(500, () -> runs[0]++);
+        ScheduledTask repeating = scheduler.scheduleAtFixedRate(0, 1000, () -> runs[1]++);
+
+        cancelled.cancel();
+        scheduler.advance(3500);
+
+        assertEquals(0, runs[0], "Cancelled task should not run");
+        assertEquals(4, runs[1], "Repeating task should run at 1, 1001, 2001 and 3001 ms");
+
+        repeating.cancel();
+        scheduler.advance(5000);
+        assertEquals(4, runs[1], "Repeating task should stop after cancel");
+        assertEquals(0, scheduler.size());
+    }
+
+    /**
+     * Test Case 3: The hall countdown follows the scheduler, so time that is
+     * never advanced (a paused game) does not count.
+     */
+    @Test
+    void testGameTimerOnlyCountsAdvancedTime() {
+        GameScheduler scheduler = new GameScheduler();
+        EventManager eventManager = new EventManager();
+        boolean[] expired = new boolean[1];
+        eventManager.subscribe("TIME_EXPIRED", (eventType, data) -> expired[0] = true);
+
+        GameTimer timer = new GameTimer(eventManager, scheduler);
+        timer.start(3);
+        assertEquals(3, timer.getRemainingTime());
+
+        scheduler.advance(2500);
+        assertEquals(0, timer.getRemainingTime(), "Ticks at 1, 1001 and 2001 ms");
+        assertFalse(expired[0], "Time should not expire before the next tick");
+
+        scheduler.advance(1000);
+        assertTrue(expired[0], "Time should expire on the tick after reaching zero");
+        assertEquals(0, scheduler.size(), "Expired countdown should cancel itself");
+    }
+}
@@ -0,0 +1,60 @@
+package com.rokue.game.util;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class FrameProfilerTest {
+
+    /**
+     * Test Case 1: Nothing is recorded while disabled, and percentiles cover
+     * only the last WINDOW samples.
+     */
+    @Test
+    void testPercentilesOverRollingWindow() {
+        FrameProfiler profiler = new FrameProfiler();
+        assertEquals(0, profiler.start());
+        profiler.record(FrameProfiler.Phase.HALL, 5);
+        assertEquals(0, profiler.getSampleCount(FrameProfiler.Phase.HALL));
+
+        profiler.setEnabled(true);
+        for (int i = 1; i <= 100; i++) {
+            profiler.record(FrameProfiler.Phase.HALL, i);
+        }
+        assertEquals(50, profiler.percentile(FrameProfiler.Phase.HALL, 50));
+        assertEquals(95, profiler.percentile(FrameProfiler.Phase.HALL, 95));
+        assertEquals(100, profiler.percentile(FrameProfiler.Phase.HALL, 100));
+        assertEquals(0, profiler.percentile(FrameProfiler.Phase.UI, 50), "Phases are kept apart");
+
+        // A full window of slow samples pushes the fast ones out
+        for (int i = 0; i < FrameProfiler.WINDOW; i++) {
+            profiler.record(FrameProfiler.Phase.HALL, 1000);
+        }
+        assertEquals(FrameProfiler.WINDOW, profiler.getSampleCount(FrameProfiler.Phase.HALL));
+        assertEquals(1000, profiler.percentile(FrameProfiler.Phase.HALL, 1));
+    }
+
+    /**
+     * Test Case 2: Recording does not allocate.
+     */
+    @Test
+    void testRecordingDoesNotAllocate() {
+        FrameProfiler profiler = new FrameProfiler();
+        profiler.setEnabled(true);
+        for (int i = 0; i < 20_000; i++) {
+            profiler.stop(FrameProfiler.Phase.SPAWN, profiler.start());
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            profiler.stop(FrameProfiler.Phase.SPAWN, profiler.start());
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertTrue(allocated < 1024, "Recording allocated " + allocated + " bytes");
+        assertTrue(profiler.sampleRuntime(0));
+    }
+}
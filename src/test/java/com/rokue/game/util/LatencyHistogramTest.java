@@ -0,0 +1,89 @@
+package com.rokue.game.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    /**
+     * Test Case 1: Values below 16 have a bucket of their own, wider values
+     * report the upper bound of their bucket, and no bucket is wider than an
+     * eighth of its values.
+     */
+    @Test
+    void testBucketBoundaries() {
+        for (long value = 0; value < 16; value++) {
+            assertEquals(value, lowestPercentileWith(value), "Exact bucket for " + value);
+        }
+        assertEquals(17, lowestPercentileWith(16));
+        assertEquals(17, lowestPercentileWith(17));
+        assertEquals(19, lowestPercentileWith(18));
+        assertEquals(1023, lowestPercentileWith(1000));
+        assertEquals(1023, lowestPercentileWith(1023));
+        assertEquals(1151, lowestPercentileWith(1024));
+
+        long[] samples = {31, 100, 4095, 65_537, 1_000_000_007L};
+        for (long value : samples) {
+            long bound = lowestPercentileWith(value);
+            assertTrue(bound >= value && bound - value <= value / 8, "Bucket of " + value);
+        }
+    }
+
+    /**
+     * Test Case 2: An empty histogram reports 0, percentiles never exceed the
+     * largest sample, and negative samples are clamped to zero.
+     */
+    @Test
+    void testPercentileBoundaries() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(50));
+        assertEquals(0.0, histogram.getMean());
+
+        histogram.record(1000);
+        assertEquals(1000, histogram.percentile(50), "Capped at the largest sample");
+        assertEquals(1000, histogram.percentile(100));
+
+        histogram.record(2);
+        histogram.record(-5);
+        assertEquals(3, histogram.getCount());
+        assertEquals(0, histogram.percentile(0), "Rank 0 reports the smallest sample");
+        assertEquals(0, histogram.percentile(33));
+        assertEquals(2, histogram.percentile(34));
+        assertEquals(1000, histogram.percentile(100));
+        assertEquals(334.0, histogram.getMean());
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.percentile(100));
+    }
+
+    /**
+     * Test Case 3: Adding a histogram merges its counts, total and maximum.
+     */
+    @Test
+    void testAdd() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        for (int i = 1; i <= 10; i++) {
+            first.record(i);
+            second.record(i + 10);
+        }
+
+        first.add(second);
+        assertEquals(20, first.getCount());
+        assertEquals(20, first.getMax());
+        assertEquals(10.5, first.getMean());
+        assertEquals(10, first.percentile(50));
+        assertEquals(10, second.getCount(), "The added histogram is unchanged");
+    }
+
+    // The reported bucket bound of value, read through a larger second sample
+    private static long lowestPercentileWith(long value) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(value);
+        histogram.record(Long.MAX_VALUE / 2);
+        return histogram.percentile(50);
+    }
+}